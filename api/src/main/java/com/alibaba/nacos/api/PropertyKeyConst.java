@@ -87,6 +87,10 @@ public class PropertyKeyConst {
     
     public static final String ENABLE_REMOTE_SYNC_CONFIG = "enableRemoteSyncConfig";
     
+    public static final String ENABLE_CONFIG_CONTENT_REF = "enableConfigContentRef";
+    
+    public static final String CONFIG_COMPRESSION_THRESHOLD = "configCompressionThreshold";
+    
     public static final String NAMING_LOAD_CACHE_AT_START = "namingLoadCacheAtStart";
     
     public static final String NAMING_CACHE_REGISTRY_DIR = "namingCacheRegistryDir";
@@ -37,6 +37,42 @@ public enum AbilityKey {
     SERVER_SUPPORT_PERSISTENT_INSTANCE_BY_GRPC("supportPersistentInstanceByGrpc",
             "support persistent instance by grpc", AbilityMode.SERVER),
     
+    /**
+     * Server support accept and send compressed config content.
+     */
+    SERVER_SUPPORT_CONFIG_COMPRESSION("supportConfigCompression", "support compressed config content",
+            AbilityMode.SERVER),
+    
+    /**
+     * Server support accept and send grpc payloads encoded by binary codec.
+     */
+    SERVER_SUPPORT_BINARY_PAYLOAD_CODEC("supportBinaryPayloadCodec", "support binary payload codec",
+            AbilityMode.SERVER),
+    
+    /**
+     * Sdk client support apply incremental naming push by {@code NotifySubscriberDeltaRequest}.
+     */
+    SDK_CLIENT_SUPPORT_NAMING_DELTA_PUSH("supportNamingDeltaPush", "support apply incremental naming push",
+            AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Sdk client support handle config change notify of several configs by {@code ConfigBatchChangeNotifyRequest}.
+     */
+    SDK_CLIENT_SUPPORT_CONFIG_BATCH_NOTIFY("supportConfigBatchNotify", "support config batch change notify",
+            AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Sdk client support accept compressed config content.
+     */
+    SDK_CLIENT_SUPPORT_CONFIG_COMPRESSION("supportConfigCompression", "support compressed config content",
+            AbilityMode.SDK_CLIENT),
+    
+    /**
+     * Sdk client support accept and send grpc payloads encoded by binary codec.
+     */
+    SDK_CLIENT_SUPPORT_BINARY_PAYLOAD_CODEC("supportBinaryPayloadCodec", "support binary payload codec",
+            AbilityMode.SDK_CLIENT),
+    
     /**
      * For Test temporarily.
      */
@@ -264,6 +264,8 @@ public class Constants {
         public static final String CONFIG_MODULE = "config";
         
         public static final String NOTIFY_HEADER = "notify";
+        
+        public static final String CONTENT_ENCODING_GZIP = "gzip";
     }
     
     /**
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.api.config.remote.request;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request of notifying a batch of changed configs to the client in one push, only sent to the clients which declare
+ * the ability {@code supportConfigBatchNotify}.
+ *
+ * @author Nacos
+ */
+public class ConfigBatchChangeNotifyRequest extends ServerRequest {
+    
+    private List<ChangedConfig> changedConfigs = new ArrayList<>();
+    
+    /**
+     * add changed config.
+     *
+     * @param dataId dataId.
+     * @param group  group.
+     * @param tenant tenant.
+     */
+    public void addChangedConfig(String dataId, String group, String tenant) {
+        ChangedConfig changedConfig = new ChangedConfig();
+        changedConfig.dataId = dataId;
+        changedConfig.group = group;
+        changedConfig.tenant = tenant;
+        changedConfigs.add(changedConfig);
+    }
+    
+    public List<ChangedConfig> getChangedConfigs() {
+        return changedConfigs;
+    }
+    
+    public void setChangedConfigs(List<ChangedConfig> changedConfigs) {
+        this.changedConfigs = changedConfigs;
+    }
+    
+    @Override
+    public String getModule() {
+        return Constants.Config.CONFIG_MODULE;
+    }
+    
+    public static class ChangedConfig {
+        
+        String dataId;
+        
+        String group;
+        
+        String tenant;
+        
+        public String getDataId() {
+            return dataId;
+        }
+        
+        public void setDataId(String dataId) {
+            this.dataId = dataId;
+        }
+        
+        public String getGroup() {
+            return group;
+        }
+        
+        public void setGroup(String group) {
+            this.group = group;
+        }
+        
+        public String getTenant() {
+            return tenant;
+        }
+        
+        public void setTenant(String tenant) {
+            this.tenant = tenant;
+        }
+        
+        @Override
+        public String toString() {
+            return "ChangedConfig{" + "dataId='" + dataId + '\'' + ", group='" + group + '\'' + ", tenant='" + tenant
+                    + '\'' + '}';
+        }
+    }
+}
@@ -31,6 +31,13 @@ public class ConfigPublishRequest extends AbstractConfigRequest {
     
     String casMd5;
     
+    /**
+     * Encoding of {@link #compressedContent}, such as gzip. The content is null if the compressed content is sent.
+     */
+    String contentEncoding;
+    
+    byte[] compressedContent;
+    
     private Map<String, String> additionMap;
     
     public ConfigPublishRequest() {
@@ -103,6 +110,22 @@ public class ConfigPublishRequest extends AbstractConfigRequest {
         this.casMd5 = casMd5;
     }
     
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+    
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+    
+    public byte[] getCompressedContent() {
+        return compressedContent;
+    }
+    
+    public void setCompressedContent(byte[] compressedContent) {
+        this.compressedContent = compressedContent;
+    }
+    
     /**
      * Getter method for property <tt>casMd5</tt>.
      *
@@ -18,6 +18,8 @@ package com.alibaba.nacos.api.config.remote.request;
 
 import com.alibaba.nacos.api.common.Constants;
 
+import java.util.List;
+
 /**
  * request to query config content.
  *
@@ -28,6 +30,12 @@ public class ConfigQueryRequest extends AbstractConfigRequest {
     
     private String tag;
     
+    /**
+     * Md5 of contents the client already holds. If the queried content is one of them, server answers with a content
+     * reference instead of the content.
+     */
+    private List<String> knownContentMd5s;
+    
     /**
      * request builder.
      *
@@ -62,6 +70,14 @@ public class ConfigQueryRequest extends AbstractConfigRequest {
         this.tag = tag;
     }
     
+    public List<String> getKnownContentMd5s() {
+        return knownContentMd5s;
+    }
+    
+    public void setKnownContentMd5s(List<String> knownContentMd5s) {
+        this.knownContentMd5s = knownContentMd5s;
+    }
+    
     public boolean isNotify() {
         String notify = getHeader(Constants.Config.NOTIFY_HEADER, Boolean.FALSE.toString());
         return Boolean.parseBoolean(notify);
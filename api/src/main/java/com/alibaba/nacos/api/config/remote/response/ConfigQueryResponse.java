@@ -44,6 +44,18 @@ public class ConfigQueryResponse extends Response {
     
     String tag;
     
+    /**
+     * Whether the content is omitted because the client already holds the content of {@link #md5}.
+     */
+    boolean contentRef;
+    
+    /**
+     * Encoding of {@link #compressedContent}, such as gzip. The content is null if the compressed content is sent.
+     */
+    String contentEncoding;
+    
+    byte[] compressedContent;
+    
     public ConfigQueryResponse() {
     }
     
@@ -122,6 +134,30 @@ public class ConfigQueryResponse extends Response {
         this.content = content;
     }
     
+    public boolean isContentRef() {
+        return contentRef;
+    }
+    
+    public void setContentRef(boolean contentRef) {
+        this.contentRef = contentRef;
+    }
+    
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+    
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+    
+    public byte[] getCompressedContent() {
+        return compressedContent;
+    }
+    
+    public void setCompressedContent(byte[] compressedContent) {
+        this.compressedContent = compressedContent;
+    }
+    
     public void setEncryptedDataKey(String encryptedDataKey) {
         this.encryptedDataKey = encryptedDataKey;
     }
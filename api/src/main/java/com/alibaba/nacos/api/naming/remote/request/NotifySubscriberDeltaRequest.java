@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.api.naming.remote.request;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+
+import java.util.List;
+
+import static com.alibaba.nacos.api.common.Constants.Naming.NAMING_MODULE;
+
+/**
+ * Incremental notify subscriber request.
+ *
+ * <p>Only carries the instances changed from {@link #baseRevision} to {@link #revision}. Client should apply it only
+ * when the current service info of client is exactly the {@link #baseRevision}, otherwise should reply failure and
+ * server will push full service info by {@link NotifySubscriberRequest}.
+ *
+ * @author Nacos
+ */
+public class NotifySubscriberDeltaRequest extends ServerRequest {
+    
+    private static final String INSTANCE_KEY_SEPARATOR = "#";
+    
+    private String serviceName;
+    
+    private String groupName;
+    
+    private String clusters;
+    
+    private long cacheMillis;
+    
+    private long baseRevision;
+    
+    private long revision;
+    
+    /**
+     * Added or modified instances.
+     */
+    private List<Instance> modifiedInstances;
+    
+    private List<Instance> removedInstances;
+    
+    @Override
+    public String getModule() {
+        return NAMING_MODULE;
+    }
+    
+    /**
+     * Build the key of instance for incremental push, instances with same key will be treated as same instance.
+     *
+     * @param instance instance
+     * @return instance key
+     */
+    public static String buildInstanceKey(Instance instance) {
+        return instance.toInetAddr() + INSTANCE_KEY_SEPARATOR + instance.getClusterName();
+    }
+    
+    public String getServiceName() {
+        return serviceName;
+    }
+    
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+    
+    public String getGroupName() {
+        return groupName;
+    }
+    
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+    
+    public String getClusters() {
+        return clusters;
+    }
+    
+    public void setClusters(String clusters) {
+        this.clusters = clusters;
+    }
+    
+    public long getCacheMillis() {
+        return cacheMillis;
+    }
+    
+    public void setCacheMillis(long cacheMillis) {
+        this.cacheMillis = cacheMillis;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public List<Instance> getModifiedInstances() {
+        return modifiedInstances;
+    }
+    
+    public void setModifiedInstances(List<Instance> modifiedInstances) {
+        this.modifiedInstances = modifiedInstances;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public void setRemovedInstances(List<Instance> removedInstances) {
+        this.removedInstances = removedInstances;
+    }
+}
@@ -36,6 +36,12 @@ public class NotifySubscriberRequest extends ServerRequest {
     
     private ServiceInfo serviceInfo;
     
+    /**
+     * Revision of pushed service info, used as base revision for following incremental pushes. {@code 0} means no
+     * revision.
+     */
+    private long revision;
+    
     public NotifySubscriberRequest() {
     }
     
@@ -52,6 +58,19 @@ public class NotifySubscriberRequest extends ServerRequest {
         return new NotifySubscriberRequest(serviceInfo);
     }
     
+    /**
+     * Build notify subscriber request with revision.
+     *
+     * @param serviceInfo service info
+     * @param revision    revision of service info
+     * @return notify subscriber request
+     */
+    public static NotifySubscriberRequest buildNotifySubscriberRequest(ServiceInfo serviceInfo, long revision) {
+        NotifySubscriberRequest result = new NotifySubscriberRequest(serviceInfo);
+        result.setRevision(revision);
+        return result;
+    }
+    
     public ServiceInfo getServiceInfo() {
         return serviceInfo;
     }
@@ -60,6 +79,14 @@ public class NotifySubscriberRequest extends ServerRequest {
         this.serviceInfo = serviceInfo;
     }
     
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
     public String getNamespace() {
         return namespace;
     }
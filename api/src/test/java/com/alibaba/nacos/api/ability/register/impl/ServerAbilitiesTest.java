@@ -32,5 +32,7 @@ class ServerAbilitiesTest {
     @Test
     void testSupportPersistentInstanceByGrpcAbilities() {
         assertTrue(ServerAbilities.getStaticAbilities().get(AbilityKey.SERVER_SUPPORT_PERSISTENT_INSTANCE_BY_GRPC));
+        assertTrue(ServerAbilities.getStaticAbilities().get(AbilityKey.SERVER_SUPPORT_CONFIG_COMPRESSION));
+        assertTrue(ServerAbilities.getStaticAbilities().get(AbilityKey.SERVER_SUPPORT_BINARY_PAYLOAD_CODEC));
     }
 }
\ No newline at end of file
@@ -21,7 +21,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ConfigPublishRequestTest extends BasedConfigRequestTest {
@@ -73,4 +75,18 @@ class ConfigPublishRequestTest extends BasedConfigRequestTest {
         assertEquals(TAG_PARAM, actual.getAdditionParam(TAG_PARAM));
         assertEquals(APP_NAME_PARAM, actual.getAdditionParam(APP_NAME_PARAM));
     }
+    
+    @Test
+    void testSerializeCompressedContent() throws JsonProcessingException {
+        configPublishRequest.setContent(null);
+        configPublishRequest.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        configPublishRequest.setCompressedContent(new byte[] {1, 2, 3});
+        String json = mapper.writeValueAsString(configPublishRequest);
+        assertTrue(json.contains("\"contentEncoding\":\"gzip\""));
+        assertTrue(json.contains("\"compressedContent\":\"AQID\""));
+        ConfigPublishRequest actual = mapper.readValue(json, ConfigPublishRequest.class);
+        assertNull(actual.getContent());
+        assertEquals(Constants.Config.CONTENT_ENCODING_GZIP, actual.getContentEncoding());
+        assertArrayEquals(new byte[] {1, 2, 3}, actual.getCompressedContent());
+    }
 }
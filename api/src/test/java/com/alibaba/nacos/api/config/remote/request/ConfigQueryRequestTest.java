@@ -21,6 +21,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,6 +42,7 @@ class ConfigQueryRequestTest extends BasedConfigRequestTest {
         configQueryRequest = ConfigQueryRequest.build(DATA_ID, GROUP, TENANT);
         configQueryRequest.putAllHeader(headers);
         configQueryRequest.setTag(TAG);
+        configQueryRequest.setKnownContentMd5s(Collections.singletonList(MD5));
         requestId = injectRequestUuId(configQueryRequest);
     }
     
@@ -58,6 +60,7 @@ class ConfigQueryRequestTest extends BasedConfigRequestTest {
         assertTrue(json.contains("\"group\":\"" + GROUP));
         assertTrue(json.contains("\"tenant\":\"" + TENANT));
         assertTrue(json.contains("\"tag\":\"" + TAG));
+        assertTrue(json.contains("\"knownContentMd5s\":[\"" + MD5 + "\"]"));
         assertTrue(json.contains("\"requestId\":\"" + requestId));
     }
     
@@ -65,12 +68,14 @@ class ConfigQueryRequestTest extends BasedConfigRequestTest {
     @Test
     public void testDeserialize() throws JsonProcessingException {
         String json = "{\"headers\":{\"notify\":\"true\"},\"dataId\":\"test_data\",\"group\":\"group\","
-                + "\"tenant\":\"test_tenant\",\"notify\":true,\"module\":\"config\",\"tag\":\"tag\"}";
+                + "\"tenant\":\"test_tenant\",\"notify\":true,\"module\":\"config\",\"tag\":\"tag\","
+                + "\"knownContentMd5s\":[\"test_MD5\"]}";
         ConfigQueryRequest actual = mapper.readValue(json, ConfigQueryRequest.class);
         assertEquals(DATA_ID, actual.getDataId());
         assertEquals(GROUP, actual.getGroup());
         assertEquals(TENANT, actual.getTenant());
         assertEquals(TAG, actual.getTag());
+        assertEquals(Collections.singletonList(MD5), actual.getKnownContentMd5s());
         assertEquals(Constants.Config.CONFIG_MODULE, actual.getModule());
     }
 }
@@ -16,12 +16,15 @@
 
 package com.alibaba.nacos.api.config.remote.response;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ConfigQueryResponseTest extends BasedConfigResponseTest {
@@ -69,7 +72,7 @@ class ConfigQueryResponseTest extends BasedConfigResponseTest {
     public void testDeserialize() throws JsonProcessingException {
         String json = "{\"resultCode\":200,\"errorCode\":0,\"requestId\":\"2239753e-e682-441c-83cf-fb8129ca68a4\","
                 + "\"content\":\"success\",\"encryptedDataKey\":\"encryptedKey\",\"contentType\":\"text\",\"md5\":\"test_MD5\","
-                + "\"lastModified\":1111111,\"tag\":\"tag\",\"beta\":false,\"success\":true}\n";
+                + "\"lastModified\":1111111,\"tag\":\"tag\",\"beta\":false,\"contentRef\":true,\"success\":true}\n";
         ConfigQueryResponse actual = mapper.readValue(json, ConfigQueryResponse.class);
         assertTrue(actual.isSuccess());
         assertEquals(ResponseCode.SUCCESS.getCode(), actual.getResultCode());
@@ -80,5 +83,20 @@ class ConfigQueryResponseTest extends BasedConfigResponseTest {
         assertEquals(TAG, actual.getTag());
         assertEquals("text", actual.getContentType());
         assertEquals(1111111L, actual.getLastModified());
+        assertTrue(actual.isContentRef());
+    }
+    
+    @Test
+    void testSerializeCompressedContent() throws JsonProcessingException {
+        ConfigQueryResponse response = ConfigQueryResponse.buildSuccessResponse(null);
+        response.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        response.setCompressedContent(new byte[] {1, 2, 3});
+        String json = mapper.writeValueAsString(response);
+        assertTrue(json.contains("\"contentEncoding\":\"gzip\""));
+        assertTrue(json.contains("\"compressedContent\":\"AQID\""));
+        ConfigQueryResponse actual = mapper.readValue(json, ConfigQueryResponse.class);
+        assertNull(actual.getContent());
+        assertEquals(Constants.Config.CONTENT_ENCODING_GZIP, actual.getContentEncoding());
+        assertArrayEquals(new byte[] {1, 2, 3}, actual.getCompressedContent());
     }
 }
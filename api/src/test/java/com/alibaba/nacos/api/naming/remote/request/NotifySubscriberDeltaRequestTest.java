@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.api.naming.remote.request;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static com.alibaba.nacos.api.common.Constants.Naming.NAMING_MODULE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotifySubscriberDeltaRequestTest {
+    
+    private static ObjectMapper mapper;
+    
+    @BeforeAll
+    static void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+    
+    @Test
+    void testSerializeAndDeserialize() throws JsonProcessingException {
+        NotifySubscriberDeltaRequest request = new NotifySubscriberDeltaRequest();
+        request.setServiceName("service");
+        request.setGroupName("group");
+        request.setClusters("c1");
+        request.setCacheMillis(10000L);
+        request.setBaseRevision(1L);
+        request.setRevision(3L);
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        instance.setClusterName("c1");
+        request.setModifiedInstances(Collections.singletonList(instance));
+        request.setRemovedInstances(Collections.emptyList());
+        String json = mapper.writeValueAsString(request);
+        NotifySubscriberDeltaRequest actual = mapper.readValue(json, NotifySubscriberDeltaRequest.class);
+        assertEquals(NAMING_MODULE, actual.getModule());
+        assertEquals("service", actual.getServiceName());
+        assertEquals("group", actual.getGroupName());
+        assertEquals("c1", actual.getClusters());
+        assertEquals(10000L, actual.getCacheMillis());
+        assertEquals(1L, actual.getBaseRevision());
+        assertEquals(3L, actual.getRevision());
+        assertEquals(instance, actual.getModifiedInstances().get(0));
+        assertEquals(0, actual.getRemovedInstances().size());
+    }
+    
+    @Test
+    void testBuildInstanceKey() {
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        instance.setClusterName("c1");
+        assertEquals("1.1.1.1:8848#c1", NotifySubscriberDeltaRequest.buildInstanceKey(instance));
+    }
+}
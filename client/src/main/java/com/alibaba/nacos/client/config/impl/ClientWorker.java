@@ -17,10 +17,14 @@
 package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
 import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.config.remote.request.ClientConfigMetricRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchChangeNotifyRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchChangeNotifyRequest.ChangedConfig;
 import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
@@ -40,6 +44,7 @@ import com.alibaba.nacos.client.address.ServerListChangeEvent;
 import com.alibaba.nacos.client.config.common.GroupKey;
 import com.alibaba.nacos.client.config.filter.impl.ConfigFilterChainManager;
 import com.alibaba.nacos.client.config.filter.impl.ConfigResponse;
+import com.alibaba.nacos.client.config.utils.ContentCompressUtils;
 import com.alibaba.nacos.client.env.NacosClientProperties;
 import com.alibaba.nacos.client.env.SourceType;
 import com.alibaba.nacos.client.monitor.MetricsMonitor;
@@ -76,8 +81,10 @@ import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -147,6 +154,19 @@ public class ClientWorker implements Closeable {
     
     private boolean enableRemoteSyncConfig = false;
     
+    /**
+     * Whether to send md5 of the local content when querying config, so that server answers with a reference if the
+     * content is not changed.
+     */
+    private boolean enableConfigContentRef = false;
+    
+    /**
+     * Min bytes of published content compressed when server supports, 0 or negative means never compress.
+     */
+    private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 16 * 1024;
+    
     private static final int MIN_THREAD_NUM = 2;
     
     private static final int THREAD_MULTIPLE = 1;
@@ -523,6 +543,10 @@ public class ClientWorker implements Closeable {
         
         this.enableRemoteSyncConfig = Boolean.parseBoolean(
                 properties.getProperty(PropertyKeyConst.ENABLE_REMOTE_SYNC_CONFIG));
+        this.enableConfigContentRef = Boolean.parseBoolean(
+                properties.getProperty(PropertyKeyConst.ENABLE_CONFIG_CONTENT_REF));
+        this.compressionThreshold = ConvertUtils.toInt(
+                properties.getProperty(PropertyKeyConst.CONFIG_COMPRESSION_THRESHOLD), DEFAULT_COMPRESSION_THRESHOLD);
         initAppLabels(properties.getProperties(SourceType.PROPERTIES));
     }
     
@@ -685,6 +709,29 @@ public class ClientWorker implements Closeable {
             return new ConfigChangeNotifyResponse();
         }
         
+        ConfigChangeNotifyResponse handleConfigBatchChangeNotifyRequest(
+                ConfigBatchChangeNotifyRequest configBatchChangeNotifyRequest, String clientName) {
+            LOGGER.info("[{}] [server-push] configs changed. size={}, configs={}", clientName,
+                    configBatchChangeNotifyRequest.getChangedConfigs().size(),
+                    configBatchChangeNotifyRequest.getChangedConfigs());
+            boolean changed = false;
+            for (ChangedConfig each : configBatchChangeNotifyRequest.getChangedConfigs()) {
+                String groupKey = GroupKey.getKeyTenant(each.getDataId(), each.getGroup(), each.getTenant());
+                CacheData cacheData = cacheMap.get().get(groupKey);
+                if (cacheData != null) {
+                    synchronized (cacheData) {
+                        cacheData.getReceiveNotifyChanged().set(true);
+                        cacheData.setConsistentWithServer(false);
+                    }
+                    changed = true;
+                }
+            }
+            if (changed) {
+                notifyListenConfig();
+            }
+            return new ConfigChangeNotifyResponse();
+        }
+        
         ClientConfigMetricResponse handleClientMetricsRequest(ClientConfigMetricRequest configMetricRequest) {
             ClientConfigMetricResponse response = new ClientConfigMetricResponse();
             response.setMetrics(getMetrics(configMetricRequest.getMetricsKeys()));
@@ -703,6 +750,14 @@ public class ClientWorker implements Closeable {
                 return null;
             });
             
+            rpcClientInner.registerServerRequestHandler((request, connection) -> {
+                if (request instanceof ConfigBatchChangeNotifyRequest) {
+                    return handleConfigBatchChangeNotifyRequest((ConfigBatchChangeNotifyRequest) request,
+                            rpcClientInner.getName());
+                }
+                return null;
+            });
+            
             rpcClientInner.registerServerRequestHandler((request, connection) -> {
                 if (request instanceof ClientConfigMetricRequest) {
                     return handleClientMetricsRequest((ClientConfigMetricRequest) request);
@@ -1162,13 +1217,27 @@ public class ClientWorker implements Closeable {
                 long readTimeouts, boolean notify) throws NacosException {
             ConfigQueryRequest request = ConfigQueryRequest.build(dataId, group, tenant);
             request.putHeader(NOTIFY_HEADER, String.valueOf(notify));
+            String knownContent = enableConfigContentRef ? getKnownContent(dataId, group, tenant) : null;
+            String knownMd5 = knownContent == null ? null : MD5Utils.md5Hex(knownContent, ENCODE);
+            if (knownMd5 != null) {
+                request.setKnownContentMd5s(Collections.singletonList(knownMd5));
+            }
             
             ConfigQueryResponse response = (ConfigQueryResponse) requestProxy(rpcClient, request, readTimeouts);
             
             ConfigResponse configResponse = new ConfigResponse();
             if (response.isSuccess()) {
-                LocalConfigInfoProcessor.saveSnapshot(this.getName(), dataId, group, tenant, response.getContent());
-                configResponse.setContent(response.getContent());
+                String content = decodeContent(response);
+                if (response.isContentRef()) {
+                    if (knownMd5 == null || !knownMd5.equals(response.getMd5())) {
+                        throw new NacosException(NacosException.SERVER_ERROR,
+                                "unknown content reference, dataId=" + dataId + ",group=" + group + ",tenant="
+                                        + tenant + ",md5=" + response.getMd5());
+                    }
+                    content = knownContent;
+                }
+                LocalConfigInfoProcessor.saveSnapshot(this.getName(), dataId, group, tenant, content);
+                configResponse.setContent(content);
                 String configType;
                 if (StringUtils.isNotBlank(response.getContentType())) {
                     configType = response.getContentType();
@@ -1201,6 +1270,37 @@ public class ClientWorker implements Closeable {
             }
         }
         
+        /**
+         * Get the content of response, decompress it if the server sent the compressed content.
+         */
+        private String decodeContent(ConfigQueryResponse response) throws NacosException {
+            String contentEncoding = response.getContentEncoding();
+            if (StringUtils.isEmpty(contentEncoding)) {
+                return response.getContent();
+            }
+            if (!Constants.Config.CONTENT_ENCODING_GZIP.equals(contentEncoding)
+                    || null == response.getCompressedContent()) {
+                throw new NacosException(NacosException.SERVER_ERROR,
+                        "unsupported content encoding " + contentEncoding);
+            }
+            try {
+                return ContentCompressUtils.decompress(response.getCompressedContent());
+            } catch (IOException e) {
+                throw new NacosException(NacosException.SERVER_ERROR, "invalid compressed content", e);
+            }
+        }
+        
+        /**
+         * Get the content held by client, which is the content in cache or the local snapshot.
+         */
+        private String getKnownContent(String dataId, String group, String tenant) {
+            CacheData cacheData = cacheMap.get().get(GroupKey.getKeyTenant(dataId, group, tenant));
+            if (cacheData != null && cacheData.getContent() != null) {
+                return cacheData.getContent();
+            }
+            return LocalConfigInfoProcessor.getSnapshot(this.getName(), dataId, group, tenant);
+        }
+        
         private Response requestProxy(RpcClient rpcClientInner, Request request) throws NacosException {
             return requestProxy(rpcClientInner, request, requestTimeout);
         }
@@ -1259,14 +1359,16 @@ public class ClientWorker implements Closeable {
                 String betaIps, String content, String encryptedDataKey, String casMd5, String type)
                 throws NacosException {
             try {
+                RpcClient rpcClient = getOneRunningClient();
                 ConfigPublishRequest request = new ConfigPublishRequest(dataId, group, tenant, content);
+                compressContent(rpcClient, request);
                 request.setCasMd5(casMd5);
                 request.putAdditionalParam(TAG_PARAM, tag);
                 request.putAdditionalParam(APP_NAME_PARAM, appName);
                 request.putAdditionalParam(BETAIPS_PARAM, betaIps);
                 request.putAdditionalParam(TYPE_PARAM, type);
                 request.putAdditionalParam(ENCRYPTED_DATA_KEY_PARAM, encryptedDataKey == null ? "" : encryptedDataKey);
-                ConfigPublishResponse response = (ConfigPublishResponse) requestProxy(getOneRunningClient(), request);
+                ConfigPublishResponse response = (ConfigPublishResponse) requestProxy(rpcClient, request);
                 if (!response.isSuccess()) {
                     LOGGER.warn("[{}] [publish-single] fail, dataId={}, group={}, tenant={}, code={}, msg={}",
                             this.getName(), dataId, group, tenant, response.getErrorCode(), response.getMessage());
@@ -1283,6 +1385,22 @@ public class ClientWorker implements Closeable {
             }
         }
         
+        /**
+         * Replace the content with its gzip bytes if the server can decompress and the content is large enough.
+         */
+        private void compressContent(RpcClient rpcClient, ConfigPublishRequest request) {
+            if (rpcClient.getConnectionAbility(AbilityKey.SERVER_SUPPORT_CONFIG_COMPRESSION)
+                    != AbilityStatus.SUPPORTED) {
+                return;
+            }
+            byte[] compressed = ContentCompressUtils.compress(request.getContent(), compressionThreshold);
+            if (null != compressed) {
+                request.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+                request.setCompressedContent(compressed);
+                request.setContent(null);
+            }
+        }
+        
         @Override
         public boolean removeConfig(String dataId, String group, String tenant, String tag) throws NacosException {
             ConfigRemoveRequest request = new ConfigRemoveRequest(dataId, group, tenant, tag);
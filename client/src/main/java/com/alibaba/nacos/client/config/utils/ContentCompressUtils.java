@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.config.utils;
+
+import com.alibaba.nacos.client.monitor.MetricsMonitor;
+import com.alibaba.nacos.common.utils.IoUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Gzip compression of config contents sent over grpc, with the bytes and cpu time recorded as metrics.
+ *
+ * @author Nacos
+ */
+public class ContentCompressUtils {
+    
+    private static final String COMPRESS = "compress";
+    
+    private static final String DECOMPRESS = "decompress";
+    
+    private static final String RAW = "raw";
+    
+    private static final String COMPRESSED = "compressed";
+    
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+    
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    
+    private ContentCompressUtils() {
+    }
+    
+    /**
+     * Compress the content if it is not smaller than threshold and compression saves bytes.
+     *
+     * @param content   content
+     * @param threshold min bytes of content to compress, 0 or negative means never
+     * @return gzip bytes, or null if the content should be sent without compression
+     */
+    public static byte[] compress(String content, int threshold) {
+        // a char takes at most 3 bytes in UTF-8, skip encoding for contents surely smaller than threshold.
+        if (threshold <= 0 || null == content || (long) content.length() * 3 < threshold) {
+            return null;
+        }
+        byte[] raw = content.getBytes(UTF_8);
+        if (raw.length < threshold) {
+            return null;
+        }
+        long start = currentCpuTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            // never happens with byte array output stream.
+            throw new IllegalStateException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        record(COMPRESS, start, raw.length, compressed.length);
+        return compressed.length < raw.length ? compressed : null;
+    }
+    
+    /**
+     * Decompress the gzip content.
+     *
+     * @param compressed gzip bytes
+     * @return content
+     * @throws IOException if the bytes are not gzip
+     */
+    public static String decompress(byte[] compressed) throws IOException {
+        long start = currentCpuTime();
+        byte[] raw = IoUtils.tryDecompress(new ByteArrayInputStream(compressed));
+        record(DECOMPRESS, start, raw.length, compressed.length);
+        return new String(raw, UTF_8);
+    }
+    
+    private static void record(String method, long start, int rawBytes, int compressedBytes) {
+        MetricsMonitor.getConfigCompressionCpuMonitor(method).observe((currentCpuTime() - start) / NANOS_PER_SECOND);
+        MetricsMonitor.getConfigCompressionBytesMonitor(method, RAW).inc(rawBytes);
+        MetricsMonitor.getConfigCompressionBytesMonitor(method, COMPRESSED).inc(compressedBytes);
+    }
+    
+    private static long currentCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        }
+        return System.nanoTime();
+    }
+}
@@ -38,6 +38,14 @@ public class MetricsMonitor {
             .name("nacos_client_naming_request_failed_total").help("nacos_client_naming_request_failed_total")
             .labelNames("module", "req_class", "res_status", "res_code", "err_class").register();
     
+    private static final Counter NACOS_CLIENT_CONFIG_COMPRESSION_BYTES = Counter.build()
+            .name("nacos_client_config_compression_bytes").help("nacos_client_config_compression_bytes")
+            .labelNames("module", "method", "type").register();
+    
+    private static final Histogram NACOS_CLIENT_CONFIG_COMPRESSION_CPU = Histogram.build()
+            .name("nacos_client_config_compression_cpu_seconds").help("nacos_client_config_compression_cpu_seconds")
+            .labelNames("module", "method").register();
+    
     public static Gauge.Child getServiceInfoMapSizeMonitor() {
         return NACOS_MONITOR.labels("naming", "serviceInfoMapSize");
     }
@@ -54,6 +62,14 @@ public class MetricsMonitor {
         return NACOS_CLIENT_REQUEST_HISTOGRAM.labels("naming", method, url, code);
     }
     
+    public static Counter.Child getConfigCompressionBytesMonitor(String method, String type) {
+        return NACOS_CLIENT_CONFIG_COMPRESSION_BYTES.labels("config", method, type);
+    }
+    
+    public static Histogram.Child getConfigCompressionCpuMonitor(String method) {
+        return NACOS_CLIENT_CONFIG_COMPRESSION_CPU.labels("config", method);
+    }
+    
     public static Counter.Child getNamingRequestFailedMonitor(String reqClass, String resStatus, String resCode,
             String errClass) {
         return NACOS_CLIENT_NAMING_REQUEST_FAILED_TOTAL.labels("naming", reqClass, resStatus, resCode, errClass);
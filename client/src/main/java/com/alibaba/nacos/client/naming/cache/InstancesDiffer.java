@@ -18,13 +18,16 @@ package com.alibaba.nacos.client.naming.cache;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.client.naming.event.InstancesDiff;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -116,4 +119,31 @@ public final class InstancesDiffer {
         }
         return instancesDiff;
     }
+    
+    /**
+     * Apply the incremental changes to old service info and build the new instance list.
+     *
+     * @param oldService        old service info
+     * @param modifiedInstances added or modified instances
+     * @param removedInstances  removed instances
+     * @return new instance list after applying changes
+     */
+    public List<Instance> applyDelta(ServiceInfo oldService, Collection<Instance> modifiedInstances,
+            Collection<Instance> removedInstances) {
+        Map<String, Instance> hostMap = new LinkedHashMap<>(oldService.getHosts().size());
+        for (Instance each : oldService.getHosts()) {
+            hostMap.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+        }
+        if (null != removedInstances) {
+            for (Instance each : removedInstances) {
+                hostMap.remove(NotifySubscriberDeltaRequest.buildInstanceKey(each));
+            }
+        }
+        if (null != modifiedInstances) {
+            for (Instance each : modifiedInstances) {
+                hostMap.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+            }
+        }
+        return new ArrayList<>(hostMap.values());
+    }
 }
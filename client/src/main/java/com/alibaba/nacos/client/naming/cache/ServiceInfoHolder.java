@@ -19,6 +19,7 @@ package com.alibaba.nacos.client.naming.cache;
 import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.client.env.NacosClientProperties;
 import com.alibaba.nacos.client.monitor.MetricsMonitor;
@@ -53,6 +54,11 @@ public class ServiceInfoHolder implements Closeable {
     
     private final InstancesDiffer instancesDiffer;
     
+    /**
+     * service key -> revision of pushed service info, used as base revision of incremental push.
+     */
+    private final ConcurrentMap<String, ServiceRevision> serviceRevisions;
+    
     private String cacheDir;
     
     private String notifierEventScope;
@@ -60,6 +66,7 @@ public class ServiceInfoHolder implements Closeable {
     public ServiceInfoHolder(String namespace, String notifierEventScope, NacosClientProperties properties) {
         cacheDir = CacheDirUtil.initCacheDir(namespace, properties);
         instancesDiffer = new InstancesDiffer();
+        serviceRevisions = new ConcurrentHashMap<>(16);
         if (isLoadCacheAtStart(properties)) {
             this.serviceInfoMap = new ConcurrentHashMap<>(DiskCache.read(this.cacheDir));
         } else {
@@ -152,6 +159,54 @@ public class ServiceInfoHolder implements Closeable {
         return serviceInfo;
     }
     
+    /**
+     * Process service info pushed with revision.
+     *
+     * @param serviceInfo new service info
+     * @param revision    revision of new service info, {@code 0} means no revision
+     * @return service info
+     */
+    public ServiceInfo processServiceInfo(ServiceInfo serviceInfo, long revision) {
+        ServiceInfo result = processServiceInfo(serviceInfo);
+        if (null != result && result == serviceInfo) {
+            if (revision > 0) {
+                serviceRevisions.put(serviceInfo.getKey(), new ServiceRevision(serviceInfo, revision));
+            } else {
+                serviceRevisions.remove(serviceInfo.getKey());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Process incremental pushed service info.
+     *
+     * <p>The changes can only be applied when current service info is exactly the base revision of changes.
+     *
+     * @param request incremental push request
+     * @return {@code true} if the changes are applied, otherwise full service info should be pushed again
+     */
+    public boolean processServiceInfoDelta(NotifySubscriberDeltaRequest request) {
+        String groupedServiceName = NamingUtils.getGroupedName(request.getServiceName(), request.getGroupName());
+        String serviceKey = ServiceInfo.getKey(groupedServiceName, request.getClusters());
+        ServiceInfo oldService = serviceInfoMap.get(serviceKey);
+        ServiceRevision serviceRevision = serviceRevisions.get(serviceKey);
+        if (null == oldService || null == serviceRevision || serviceRevision.serviceInfo != oldService
+                || serviceRevision.revision != request.getBaseRevision() || oldService.isReachProtectionThreshold()) {
+            NAMING_LOGGER.warn("process incremental push failed, serviceKey: {}, base revision: {}, current: {}",
+                    serviceKey, request.getBaseRevision(), null == serviceRevision ? 0 : serviceRevision.revision);
+            return false;
+        }
+        ServiceInfo newService = new ServiceInfo(request.getServiceName(), request.getClusters());
+        newService.setGroupName(request.getGroupName());
+        newService.setCacheMillis(request.getCacheMillis());
+        newService.setLastRefTime(System.currentTimeMillis());
+        newService.setHosts(instancesDiffer.applyDelta(oldService, request.getModifiedInstances(),
+                request.getRemovedInstances()));
+        processServiceInfo(newService, request.getRevision());
+        return true;
+    }
+    
     private boolean isEmptyOrErrorPush(ServiceInfo serviceInfo) {
         return null == serviceInfo.getHosts() || (pushEmptyProtection && !serviceInfo.validate());
     }
@@ -181,4 +236,16 @@ public class ServiceInfoHolder implements Closeable {
         failoverReactor.shutdown();
         NAMING_LOGGER.info("{} do shutdown stop", className);
     }
+    
+    private static class ServiceRevision {
+        
+        private final ServiceInfo serviceInfo;
+        
+        private final long revision;
+        
+        private ServiceRevision(ServiceInfo serviceInfo, long revision) {
+            this.serviceInfo = serviceInfo;
+            this.revision = revision;
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -41,9 +43,16 @@ public class NamingPushRequestHandler implements ServerRequestHandler {
     public Response requestReply(Request request, Connection connection) {
         if (request instanceof NotifySubscriberRequest) {
             NotifySubscriberRequest notifyRequest = (NotifySubscriberRequest) request;
-            serviceInfoHolder.processServiceInfo(notifyRequest.getServiceInfo());
+            serviceInfoHolder.processServiceInfo(notifyRequest.getServiceInfo(), notifyRequest.getRevision());
             return new NotifySubscriberResponse();
         }
+        if (request instanceof NotifySubscriberDeltaRequest) {
+            NotifySubscriberResponse response = new NotifySubscriberResponse();
+            if (!serviceInfoHolder.processServiceInfoDelta((NotifySubscriberDeltaRequest) request)) {
+                response.setErrorInfo(NacosException.CONFLICT, "base revision mismatch");
+            }
+            return response;
+        }
         return null;
     }
 }
@@ -40,8 +40,11 @@ class ClientAbilityControlManagerTest {
         Map<AbilityMode, Map<AbilityKey, Boolean>> actual = clientAbilityControlManager.initCurrentNodeAbilities();
         assertEquals(1, actual.size());
         assertTrue(actual.containsKey(AbilityMode.SDK_CLIENT));
-        // Current not define sdk ability.
-        assertEquals(0, actual.get(AbilityMode.SDK_CLIENT).size());
+        assertEquals(4, actual.get(AbilityMode.SDK_CLIENT).size());
+        assertTrue(actual.get(AbilityMode.SDK_CLIENT).get(AbilityKey.SDK_CLIENT_SUPPORT_NAMING_DELTA_PUSH));
+        assertTrue(actual.get(AbilityMode.SDK_CLIENT).get(AbilityKey.SDK_CLIENT_SUPPORT_CONFIG_BATCH_NOTIFY));
+        assertTrue(actual.get(AbilityMode.SDK_CLIENT).get(AbilityKey.SDK_CLIENT_SUPPORT_CONFIG_COMPRESSION));
+        assertTrue(actual.get(AbilityMode.SDK_CLIENT).get(AbilityKey.SDK_CLIENT_SUPPORT_BINARY_PAYLOAD_CODEC));
     }
     
     @Test
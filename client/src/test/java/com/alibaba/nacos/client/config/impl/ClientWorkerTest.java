@@ -17,10 +17,14 @@
 package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.ConfigType;
 import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.config.listener.Listener;
 import com.alibaba.nacos.api.config.remote.request.ClientConfigMetricRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchChangeNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
@@ -39,6 +43,7 @@ import com.alibaba.nacos.common.remote.ConnectionType;
 import com.alibaba.nacos.common.remote.client.RpcClient;
 import com.alibaba.nacos.common.remote.client.RpcClientFactory;
 import com.alibaba.nacos.common.remote.client.RpcClientTlsConfig;
+import com.alibaba.nacos.common.utils.IoUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -54,6 +59,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -69,11 +75,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
@@ -240,6 +248,32 @@ class ClientWorkerTest {
         
     }
     
+    @Test
+    void testPublishConfigCompressed() throws NacosException {
+        Properties prop = new Properties();
+        prop.put(PropertyKeyConst.CONFIG_COMPRESSION_THRESHOLD, "64");
+        ConfigServerListManager agent = Mockito.mock(ConfigServerListManager.class);
+        final NacosClientProperties nacosClientProperties = NacosClientProperties.PROTOTYPE.derive(prop);
+        ClientWorker clientWorker = new ClientWorker(null, agent, nacosClientProperties);
+        
+        String content = String.join("", Collections.nCopies(100, "content"));
+        Mockito.when(rpcClient.getConnectionAbility(AbilityKey.SERVER_SUPPORT_CONFIG_COMPRESSION))
+                .thenReturn(AbilityStatus.SUPPORTED);
+        Mockito.when(rpcClient.request(argThat(request -> {
+            if (!(request instanceof ConfigPublishRequest)) {
+                return false;
+            }
+            ConfigPublishRequest publishRequest = (ConfigPublishRequest) request;
+            try {
+                return publishRequest.getContent() == null && content.equals(
+                        new String(IoUtils.tryDecompress(publishRequest.getCompressedContent()), "UTF-8"));
+            } catch (Exception e) {
+                return false;
+            }
+        }))).thenReturn(new ConfigPublishResponse());
+        assertTrue(clientWorker.publishConfig("a", "b", "c", "app", null, null, content, null, null, "text"));
+    }
+    
     @Test
     void testPublishConfigFail() throws NacosException {
         Properties prop = new Properties();
@@ -348,6 +382,60 @@ class ClientWorkerTest {
                         eq(tenant), eq(content)), times(1));
     }
     
+    @Test
+    void testGetConfigContentRef() throws NacosException {
+        
+        Properties prop = new Properties();
+        prop.put(PropertyKeyConst.ENABLE_CONFIG_CONTENT_REF, "true");
+        ConfigServerListManager agent = Mockito.mock(ConfigServerListManager.class);
+        final NacosClientProperties nacosClientProperties = NacosClientProperties.PROTOTYPE.derive(prop);
+        ClientWorker clientWorker = new ClientWorker(null, agent, nacosClientProperties);
+        
+        String dataId = "a";
+        String group = "b";
+        String tenant = "c";
+        String content = "content" + System.currentTimeMillis();
+        String md5 = MD5Utils.md5Hex(content, "UTF-8");
+        localConfigInfoProcessorMockedStatic.when(
+                () -> LocalConfigInfoProcessor.getSnapshot(eq(clientWorker.getAgentName()), eq(dataId), eq(group),
+                        eq(tenant))).thenReturn(content);
+        ConfigQueryResponse configQueryResponse = ConfigQueryResponse.buildSuccessResponse(null);
+        configQueryResponse.setMd5(md5);
+        configQueryResponse.setContentRef(true);
+        Mockito.when(rpcClient.request(argThat(
+                request -> request instanceof ConfigQueryRequest && Collections.singletonList(md5)
+                        .equals(((ConfigQueryRequest) request).getKnownContentMd5s())), anyLong()))
+                .thenReturn(configQueryResponse);
+        
+        ConfigResponse configResponse = clientWorker.getServerConfig(dataId, group, tenant, 100, true);
+        assertEquals(content, configResponse.getContent());
+        
+        configQueryResponse.setMd5("otherMd5");
+        assertThrows(NacosException.class, () -> clientWorker.getServerConfig(dataId, group, tenant, 100, true));
+    }
+    
+    @Test
+    void testGetConfigCompressed() throws NacosException {
+        
+        Properties prop = new Properties();
+        ConfigServerListManager agent = Mockito.mock(ConfigServerListManager.class);
+        final NacosClientProperties nacosClientProperties = NacosClientProperties.PROTOTYPE.derive(prop);
+        ClientWorker clientWorker = new ClientWorker(null, agent, nacosClientProperties);
+        
+        String content = "content" + System.currentTimeMillis();
+        ConfigQueryResponse configQueryResponse = ConfigQueryResponse.buildSuccessResponse(null);
+        configQueryResponse.setMd5(MD5Utils.md5Hex(content, "UTF-8"));
+        configQueryResponse.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        configQueryResponse.setCompressedContent(IoUtils.tryCompress(content, "UTF-8"));
+        Mockito.when(rpcClient.request(any(ConfigQueryRequest.class), anyLong())).thenReturn(configQueryResponse);
+        
+        ConfigResponse configResponse = clientWorker.getServerConfig("a", "b", "c", 100, true);
+        assertEquals(content, configResponse.getContent());
+        
+        configQueryResponse.setCompressedContent("content".getBytes(StandardCharsets.UTF_8));
+        assertThrows(NacosException.class, () -> clientWorker.getServerConfig("a", "b", "c", 100, true));
+    }
+    
     @Test
     void testHandleConfigChangeReqeust() throws Exception {
         
@@ -378,6 +466,44 @@ class ClientWorkerTest {
         Mockito.verify(atomicBoolean, times(1)).set(true);
     }
     
+    @Test
+    void testHandleConfigBatchChangeRequest() throws Exception {
+        
+        Properties prop = new Properties();
+        String tenant = "c";
+        
+        prop.put(NAMESPACE, tenant);
+        ConfigServerListManager agent = Mockito.mock(ConfigServerListManager.class);
+        final NacosClientProperties nacosClientProperties = NacosClientProperties.PROTOTYPE.derive(prop);
+        ClientWorker clientWorker = new ClientWorker(null, agent, nacosClientProperties);
+        
+        AtomicReference<Map<String, CacheData>> cacheMapMocked = Mockito.mock(AtomicReference.class);
+        Field cacheMap = ClientWorker.class.getDeclaredField("cacheMap");
+        cacheMap.setAccessible(true);
+        cacheMap.set(clientWorker, cacheMapMocked);
+        Map<String, CacheData> cacheDataMapMocked = Mockito.mock(Map.class);
+        Mockito.when(cacheMapMocked.get()).thenReturn(cacheDataMapMocked);
+        CacheData cacheDataMocked1 = Mockito.mock(CacheData.class);
+        AtomicBoolean atomicBoolean1 = Mockito.mock(AtomicBoolean.class);
+        Mockito.when(cacheDataMocked1.getReceiveNotifyChanged()).thenReturn(atomicBoolean1);
+        CacheData cacheDataMocked2 = Mockito.mock(CacheData.class);
+        AtomicBoolean atomicBoolean2 = Mockito.mock(AtomicBoolean.class);
+        Mockito.when(cacheDataMocked2.getReceiveNotifyChanged()).thenReturn(atomicBoolean2);
+        String group = "b";
+        Mockito.when(cacheDataMapMocked.get(GroupKey.getKeyTenant("a1", group, tenant))).thenReturn(cacheDataMocked1);
+        Mockito.when(cacheDataMapMocked.get(GroupKey.getKeyTenant("a2", group, tenant))).thenReturn(cacheDataMocked2);
+        ConfigBatchChangeNotifyRequest request = new ConfigBatchChangeNotifyRequest();
+        request.addChangedConfig("a1", group, tenant);
+        request.addChangedConfig("a2", group, tenant);
+        request.addChangedConfig("notListened", group, tenant);
+        ((ClientWorker.ConfigRpcTransportClient) clientWorker.getAgent()).handleConfigBatchChangeNotifyRequest(request,
+                "testname");
+        Mockito.verify(cacheDataMocked1, times(1)).setConsistentWithServer(false);
+        Mockito.verify(atomicBoolean1, times(1)).set(true);
+        Mockito.verify(cacheDataMocked2, times(1)).setConsistentWithServer(false);
+        Mockito.verify(atomicBoolean2, times(1)).set(true);
+    }
+    
     @Test
     void testHandleClientMetricsReqeust() throws Exception {
         
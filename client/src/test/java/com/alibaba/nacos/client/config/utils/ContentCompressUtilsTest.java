@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.client.config.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentCompressUtilsTest {
+    
+    @Test
+    void testCompressAndDecompress() throws IOException {
+        String content = String.join("", Collections.nCopies(100, "配置content"));
+        byte[] compressed = ContentCompressUtils.compress(content, 64);
+        assertNotNull(compressed);
+        assertTrue(compressed.length < content.getBytes(UTF_8).length);
+        assertEquals(content, ContentCompressUtils.decompress(compressed));
+    }
+    
+    @Test
+    void testCompressSmallContent() {
+        assertNull(ContentCompressUtils.compress("content", 64));
+        assertNull(ContentCompressUtils.compress(null, 64));
+        assertNull(ContentCompressUtils.compress(String.join("", Collections.nCopies(100, "content")), 0));
+    }
+    
+    @Test
+    void testDecompressInvalidContent() {
+        assertThrows(IOException.class, () -> ContentCompressUtils.decompress("content".getBytes(UTF_8)));
+    }
+}
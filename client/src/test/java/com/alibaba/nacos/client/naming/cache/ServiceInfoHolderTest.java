@@ -22,6 +22,7 @@ import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.client.env.NacosClientProperties;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
 import org.junit.jupiter.api.AfterEach;
@@ -30,6 +31,8 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -91,6 +94,42 @@ class ServiceInfoHolderTest {
         assertEquals(info2, actual2);
     }
     
+    @Test
+    void testProcessServiceInfoDelta() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        hosts.add(createInstance("1.1.1.2", 2));
+        info.setHosts(hosts);
+        holder.processServiceInfo(info, 1L);
+        
+        NotifySubscriberDeltaRequest request = new NotifySubscriberDeltaRequest();
+        request.setGroupName("a");
+        request.setServiceName("b");
+        request.setClusters("c");
+        request.setBaseRevision(1L);
+        request.setRevision(2L);
+        Instance modified = createInstance("1.1.1.1", 1);
+        modified.setWeight(2.0);
+        request.setModifiedInstances(Arrays.asList(modified, createInstance("1.1.1.3", 3)));
+        request.setRemovedInstances(Collections.singletonList(createInstance("1.1.1.2", 2)));
+        assertTrue(holder.processServiceInfoDelta(request));
+        
+        ServiceInfo actual = holder.getServiceInfo("b", "a", "c");
+        assertEquals(2, actual.getHosts().size());
+        assertEquals(2.0, actual.getHosts().get(0).getWeight());
+        assertEquals("1.1.1.3", actual.getHosts().get(1).getIp());
+        // base revision mismatch.
+        assertFalse(holder.processServiceInfoDelta(request));
+        request.setBaseRevision(2L);
+        request.setRevision(3L);
+        assertTrue(holder.processServiceInfoDelta(request));
+        // service info updated without revision.
+        holder.processServiceInfo(info);
+        request.setBaseRevision(3L);
+        assertFalse(holder.processServiceInfoDelta(request));
+    }
+    
     private Instance createInstance(String ip, int port) {
         Instance instance = new Instance();
         instance.setIp(ip);
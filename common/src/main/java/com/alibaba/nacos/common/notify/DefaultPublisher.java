@@ -109,7 +109,7 @@ public class DefaultPublisher extends Thread implements EventPublisher {
 
             while (!shutdown) {
                 final Event event = queue.take();
-                receiveEvent(event);
+                dispatchEvent(event);
                 UPDATER.compareAndSet(this, lastEventSequence, Math.max(lastEventSequence, event.sequence()));
             }
         } catch (Throwable ex) {
@@ -159,12 +159,27 @@ public class DefaultPublisher extends Thread implements EventPublisher {
         return initialized;
     }
     
+    private void dispatchEvent(Event event) {
+        final long lastSequence = lastEventSequence;
+        PartitionedEventDispatcher.getInstance().dispatch(event, () -> receiveEvent(event, lastSequence));
+    }
+    
     /**
      * Receive and notifySubscriber to process the event.
      *
      * @param event {@link Event}.
      */
     void receiveEvent(Event event) {
+        receiveEvent(event, lastEventSequence);
+    }
+    
+    /**
+     * Receive and notifySubscriber to process the event.
+     *
+     * @param event        {@link Event}.
+     * @param lastSequence max sequence of events taken before this event, used to ignore expired event.
+     */
+    void receiveEvent(Event event, long lastSequence) {
         final long currentEventSequence = event.sequence();
         
         if (!hasSubscriber()) {
@@ -179,7 +194,7 @@ public class DefaultPublisher extends Thread implements EventPublisher {
             }
             
             // Whether to ignore expiration events
-            if (subscriber.ignoreExpireEvent() && lastEventSequence > currentEventSequence) {
+            if (subscriber.ignoreExpireEvent() && lastSequence > currentEventSequence) {
                 LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
                         event.getClass());
                 continue;
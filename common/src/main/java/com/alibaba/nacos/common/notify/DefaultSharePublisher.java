@@ -78,7 +78,7 @@ public class DefaultSharePublisher extends DefaultPublisher implements ShardedEv
     }
     
     @Override
-    public void receiveEvent(Event event) {
+    void receiveEvent(Event event, long lastSequence) {
         
         final long currentEventSequence = event.sequence();
         // get subscriber set based on the slow EventType.
@@ -94,7 +94,7 @@ public class DefaultSharePublisher extends DefaultPublisher implements ShardedEv
         // Notification single event subscriber
         for (Subscriber subscriber : subscribers) {
             // Whether to ignore expiration events
-            if (subscriber.ignoreExpireEvent() && lastEventSequence > currentEventSequence) {
+            if (subscriber.ignoreExpireEvent() && lastSequence > currentEventSequence) {
                 LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
                         event.getClass());
                 continue;
@@ -52,6 +52,16 @@ public abstract class Event implements Serializable {
         return null;
     }
     
+    /**
+     * Partition key of event. Events with the same partition key are notified in publish order when the publisher
+     * dispatches events to several lanes, see {@link PartitionedEventDispatcher}.
+     *
+     * @return partition key, return null if ordered by event type only
+     */
+    public Object partitionKey() {
+        return null;
+    }
+    
     /**
      * Whether is plugin event. If so, the event can be dropped when no publish and subscriber without any hint. Default
      * false
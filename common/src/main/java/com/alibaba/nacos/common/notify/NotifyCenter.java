@@ -148,6 +148,8 @@ public class NotifyCenter {
             LOGGER.error("[SharePublisher] shutdown has error : ", e);
         }
         
+        PartitionedEventDispatcher.getInstance().shutdown();
+        
         LOGGER.warn("[NotifyCenter] Destruction of the end");
     }
     
@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.common.task.engine.NacosExecuteTaskExecuteEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Partitioned dispatcher for event notification.
+ *
+ * <p>The dispatcher fans events out to several worker lanes by {@link Event#partitionKey()}. Events with the same key
+ * are always handled by the same lane, so they are still notified in publish order, while events with different keys
+ * are notified in parallel.
+ *
+ * <p>The default dispatcher is disabled unless {@code nacos.core.notify.dispatch-lanes} is set to a positive number,
+ * which keeps the single thread dispatch of publishers.
+ *
+ * @author Nacos
+ */
+public class PartitionedEventDispatcher {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final String LANES_PROPERTY = "nacos.core.notify.dispatch-lanes";
+    
+    private static final PartitionedEventDispatcher INSTANCE = new PartitionedEventDispatcher("nacos.notify.dispatcher",
+            Integer.getInteger(LANES_PROPERTY, 0));
+    
+    private static final ThreadLocal<Boolean> IN_LANE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    
+    private final NacosExecuteTaskExecuteEngine lanes;
+    
+    public PartitionedEventDispatcher(String name, int laneCount) {
+        this.lanes = laneCount > 0 ? new NacosExecuteTaskExecuteEngine(name, LOGGER, laneCount) : null;
+    }
+    
+    public static PartitionedEventDispatcher getInstance() {
+        return INSTANCE;
+    }
+    
+    public boolean isEnabled() {
+        return null != lanes;
+    }
+    
+    /**
+     * Dispatch the notification job of event to the lane of its partition key.
+     *
+     * <p>The job runs in the caller thread if the dispatcher is disabled, or the caller is a lane itself, which avoids
+     * a lane blocking on its own full queue when a subscriber publishes events synchronously.
+     *
+     * @param event event to notify
+     * @param job   notification job of event
+     */
+    public void dispatch(Event event, Runnable job) {
+        if (!isEnabled() || IN_LANE.get()) {
+            job.run();
+            return;
+        }
+        Object key = event.partitionKey();
+        lanes.addTask(null == key ? event.getClass() : key, new DispatchTask(job));
+    }
+    
+    public int pendingJobCount() {
+        return isEnabled() ? lanes.size() : 0;
+    }
+    
+    /**
+     * Shutdown the lanes of dispatcher, the pending jobs will be dropped.
+     */
+    public void shutdown() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            lanes.shutdown();
+        } catch (NacosException e) {
+            LOGGER.error("[NotifyCenter] shutdown event dispatcher failed: ", e);
+        }
+    }
+    
+    private static class DispatchTask extends AbstractExecuteTask {
+        
+        private final Runnable job;
+        
+        private DispatchTask(Runnable job) {
+            this.job = job;
+        }
+        
+        @Override
+        public void run() {
+            IN_LANE.set(Boolean.TRUE);
+            try {
+                job.run();
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            } finally {
+                IN_LANE.set(Boolean.FALSE);
+            }
+        }
+    }
+}
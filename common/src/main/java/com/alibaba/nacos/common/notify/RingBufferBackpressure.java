@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+/**
+ * Backpressure mode of {@link RingBufferPublisher} when the ring buffer is full.
+ *
+ * @author Nacos
+ */
+public enum RingBufferBackpressure {
+    
+    /**
+     * Block the publishing thread until the consumer releases slots.
+     */
+    BLOCK("block"),
+    
+    /**
+     * Overwrite the oldest unconsumed event, the overwritten events are counted as dropped.
+     */
+    DROP_OLDEST("drop-oldest"),
+    
+    /**
+     * Notify subscribers on the publishing thread, same as {@link DefaultPublisher} does.
+     */
+    CALLER_RUNS("caller-runs");
+    
+    private final String mode;
+    
+    RingBufferBackpressure(String mode) {
+        this.mode = mode;
+    }
+    
+    public String getMode() {
+        return mode;
+    }
+    
+    /**
+     * Get backpressure by mode name, default is {@link #CALLER_RUNS}.
+     *
+     * @param mode mode name, such as {@code block}
+     * @return backpressure
+     */
+    public static RingBufferBackpressure of(String mode) {
+        for (RingBufferBackpressure each : values()) {
+            if (each.mode.equalsIgnoreCase(mode) || each.name().equalsIgnoreCase(mode)) {
+                return each;
+            }
+        }
+        return CALLER_RUNS;
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.CollectionUtils;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.alibaba.nacos.common.notify.NotifyCenter.ringBufferSize;
+
+/**
+ * Event publisher based on a pre-allocated multi-producer single-consumer ring buffer.
+ *
+ * <p>Producers claim slots by CAS on the cursor and never take locks. The consumer thread drains published events in
+ * batches and notifies subscribers, waiting with a {@link RingBufferWaitStrategy} when no event available. When the
+ * ring buffer is full, the {@link RingBufferBackpressure} decides to block the producer, drop the oldest events or
+ * run the subscribers on the producer thread.
+ *
+ * <p>It can be selected for event types by {@link RingBufferPublisherFactory}, or for all default publishers by SPI
+ * file {@code META-INF/services/com.alibaba.nacos.common.notify.EventPublisher}.
+ *
+ * @author Nacos
+ */
+public class RingBufferPublisher extends Thread implements EventPublisher {
+    
+    public static final String WAIT_STRATEGY_PROPERTY = "nacos.core.notify.ring-buffer.wait-strategy";
+    
+    public static final String BACKPRESSURE_PROPERTY = "nacos.core.notify.ring-buffer.backpressure";
+    
+    public static final String BATCH_SIZE_PROPERTY = "nacos.core.notify.ring-buffer.batch-size";
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final Set<RingBufferPublisher> ACTIVE_PUBLISHERS = new ConcurrentHashSet<>();
+    
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50L);
+    
+    private final RingBufferWaitStrategy waitStrategy;
+    
+    private final RingBufferBackpressure backpressure;
+    
+    private final int maxBatchSize;
+    
+    private final ConcurrentHashSet<Subscriber> subscribers = new ConcurrentHashSet<>();
+    
+    /**
+     * The max sequence claimed by producers.
+     */
+    private final AtomicLong cursor = new AtomicLong(-1L);
+    
+    private final LongAdder droppedCount = new LongAdder();
+    
+    private final LongAdder callerRunsCount = new LongAdder();
+    
+    /**
+     * The max sequence notified to subscribers, only written by consumer thread.
+     */
+    private volatile long consumed = -1L;
+    
+    private volatile long lastEventSequence = -1L;
+    
+    private volatile boolean initialized = false;
+    
+    private volatile boolean shutdown = false;
+    
+    private Class<? extends Event> eventType;
+    
+    private int bufferSize;
+    
+    private int indexMask;
+    
+    private int indexShift;
+    
+    private AtomicReferenceArray<Event> entries;
+    
+    /**
+     * The round of sequence published in each slot, {@code -1} means the slot is being written.
+     */
+    private AtomicIntegerArray availableRounds;
+    
+    private Event[] batch;
+    
+    public RingBufferPublisher() {
+        this(RingBufferWaitStrategy.newInstance(System.getProperty(WAIT_STRATEGY_PROPERTY)),
+                RingBufferBackpressure.of(System.getProperty(BACKPRESSURE_PROPERTY)),
+                Integer.getInteger(BATCH_SIZE_PROPERTY, 128));
+    }
+    
+    public RingBufferPublisher(RingBufferWaitStrategy waitStrategy, RingBufferBackpressure backpressure,
+            int maxBatchSize) {
+        this.waitStrategy = waitStrategy;
+        this.backpressure = backpressure;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+    
+    public static Set<RingBufferPublisher> getActivePublishers() {
+        return Collections.unmodifiableSet(ACTIVE_PUBLISHERS);
+    }
+    
+    @Override
+    public void init(Class<? extends Event> type, int bufferSize) {
+        setDaemon(true);
+        setName("nacos.ring-publisher-" + type.getName());
+        this.eventType = type;
+        this.bufferSize = ceilingPowerOfTwo(-1 == bufferSize ? ringBufferSize : bufferSize);
+        this.indexMask = this.bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(this.bufferSize);
+        this.entries = new AtomicReferenceArray<>(this.bufferSize);
+        this.availableRounds = new AtomicIntegerArray(this.bufferSize);
+        for (int i = 0; i < this.bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+        this.batch = new Event[maxBatchSize];
+        start();
+    }
+    
+    private static int ceilingPowerOfTwo(int size) {
+        int result = 1;
+        while (result < size && result < (1 << 30)) {
+            result <<= 1;
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (!initialized) {
+            // start just called once
+            super.start();
+            ACTIVE_PUBLISHERS.add(this);
+            initialized = true;
+        }
+    }
+    
+    public Class<? extends Event> getEventType() {
+        return eventType;
+    }
+    
+    public RingBufferBackpressure getBackpressure() {
+        return backpressure;
+    }
+    
+    public int getBufferSize() {
+        return bufferSize;
+    }
+    
+    @Override
+    public long currentEventSize() {
+        return getLag();
+    }
+    
+    /**
+     * Get the count of events published but not notified to subscribers yet.
+     *
+     * @return lag of consumer
+     */
+    public long getLag() {
+        return Math.min(bufferSize, Math.max(0L, cursor.get() - consumed));
+    }
+    
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+    
+    public long getCallerRunsCount() {
+        return callerRunsCount.sum();
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+    
+    @Override
+    public boolean publish(Event event) {
+        checkIsStart();
+        while (!shutdown) {
+            long current = cursor.get();
+            long next = current + 1;
+            if (next - bufferSize > consumed && RingBufferBackpressure.DROP_OLDEST != backpressure) {
+                if (RingBufferBackpressure.CALLER_RUNS == backpressure) {
+                    callerRunsCount.increment();
+                    LOGGER.warn("Ring buffer of {} is full, synchronize sending time, event : {}", eventType, event);
+                    receiveEvent(event);
+                    return true;
+                }
+                waitStrategy.signal();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                continue;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                int index = index(next);
+                availableRounds.set(index, -1);
+                entries.set(index, event);
+                availableRounds.set(index, round(next));
+                waitStrategy.signal();
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    void checkIsStart() {
+        if (!initialized) {
+            throw new IllegalStateException("Publisher does not start");
+        }
+    }
+    
+    @Override
+    public void run() {
+        try {
+            // To ensure that messages are not lost, enable EventHandler when
+            // waiting for the first Subscriber to register
+            int waitTimes = 60;
+            while (!shutdown && !hasSubscriber() && waitTimes > 0) {
+                ThreadUtils.sleep(1000L);
+                waitTimes--;
+            }
+            while (!shutdown) {
+                if (0 == drainBatch()) {
+                    waitStrategy.waitFor(this::isEventAvailable);
+                }
+            }
+        } catch (Throwable ex) {
+            LOGGER.error("Event listener exception : ", ex);
+        }
+    }
+    
+    private boolean isEventAvailable() {
+        long sequence = consumed + 1;
+        return shutdown || round(sequence) == availableRounds.get(index(sequence)) || isLapped(sequence);
+    }
+    
+    /**
+     * Drain the published events and notify subscribers in batch.
+     *
+     * @return count of drained events
+     */
+    int drainBatch() {
+        long sequence = consumed + 1;
+        int count = 0;
+        while (count < maxBatchSize) {
+            int index = index(sequence);
+            int round = round(sequence);
+            if (round == availableRounds.get(index)) {
+                Event event = entries.get(index);
+                if (round == availableRounds.get(index)) {
+                    entries.compareAndSet(index, event, null);
+                    batch[count++] = event;
+                    sequence++;
+                    continue;
+                }
+            }
+            if (!isLapped(sequence)) {
+                break;
+            }
+            // slot is overwritten by producers under drop oldest backpressure, skip to the oldest retained event.
+            long oldest = cursor.get() - bufferSize + 1;
+            droppedCount.add(oldest - sequence);
+            sequence = oldest;
+        }
+        for (int i = 0; i < count; i++) {
+            Event event = batch[i];
+            batch[i] = null;
+            receiveEvent(event);
+            lastEventSequence = Math.max(lastEventSequence, event.sequence());
+        }
+        consumed = sequence - 1;
+        return count;
+    }
+    
+    private boolean isLapped(long sequence) {
+        return cursor.get() - sequence >= bufferSize;
+    }
+    
+    private int index(long sequence) {
+        return (int) (sequence & indexMask);
+    }
+    
+    private int round(long sequence) {
+        return (int) (sequence >>> indexShift);
+    }
+    
+    private boolean hasSubscriber() {
+        return CollectionUtils.isNotEmpty(subscribers);
+    }
+    
+    /**
+     * Receive and notifySubscriber to process the event.
+     *
+     * @param event {@link Event}.
+     */
+    void receiveEvent(Event event) {
+        final long currentEventSequence = event.sequence();
+        if (!hasSubscriber()) {
+            LOGGER.warn("[NotifyCenter] the {} is lost, because there is no subscriber.", event);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.scopeMatches(event)) {
+                continue;
+            }
+            // Whether to ignore expiration events
+            if (subscriber.ignoreExpireEvent() && lastEventSequence > currentEventSequence) {
+                LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
+                        event.getClass());
+                continue;
+            }
+            notifySubscriber(subscriber, event);
+        }
+    }
+    
+    @Override
+    public void notifySubscriber(final Subscriber subscriber, final Event event) {
+        LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
+        final Runnable job = () -> subscriber.onEvent(event);
+        final Executor executor = subscriber.executor();
+        if (executor != null) {
+            executor.execute(job);
+        } else {
+            try {
+                job.run();
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            }
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        ACTIVE_PUBLISHERS.remove(this);
+        waitStrategy.signal();
+        if (null != entries) {
+            for (int i = 0; i < bufferSize; i++) {
+                entries.set(i, null);
+            }
+        }
+    }
+}
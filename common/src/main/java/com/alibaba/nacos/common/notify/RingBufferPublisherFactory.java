@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+/**
+ * Factory of {@link RingBufferPublisher}, used to select ring buffer publisher for event types, such as {@code
+ * NotifyCenter.registerToPublisher(eventType, RingBufferPublisherFactory.getInstance(), queueMaxSize)}.
+ *
+ * @author Nacos
+ */
+public class RingBufferPublisherFactory implements EventPublisherFactory {
+    
+    private static final RingBufferPublisherFactory INSTANCE = new RingBufferPublisherFactory(
+            System.getProperty(RingBufferPublisher.WAIT_STRATEGY_PROPERTY),
+            RingBufferBackpressure.of(System.getProperty(RingBufferPublisher.BACKPRESSURE_PROPERTY)),
+            Integer.getInteger(RingBufferPublisher.BATCH_SIZE_PROPERTY, 128));
+    
+    private final String waitStrategy;
+    
+    private final RingBufferBackpressure backpressure;
+    
+    private final int maxBatchSize;
+    
+    public RingBufferPublisherFactory(String waitStrategy, RingBufferBackpressure backpressure, int maxBatchSize) {
+        this.waitStrategy = waitStrategy;
+        this.backpressure = backpressure;
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    /**
+     * Get the factory configured by system properties.
+     *
+     * @return default ring buffer publisher factory
+     */
+    public static RingBufferPublisherFactory getInstance() {
+        return INSTANCE;
+    }
+    
+    @Override
+    public EventPublisher apply(Class<? extends Event> eventType, Integer maxQueueSize) {
+        RingBufferPublisher result = new RingBufferPublisher(RingBufferWaitStrategy.newInstance(waitStrategy),
+                backpressure, maxBatchSize);
+        result.init(eventType, maxQueueSize);
+        return result;
+    }
+}
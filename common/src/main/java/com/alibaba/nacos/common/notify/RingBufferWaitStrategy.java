@@ -0,0 +1,191 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Strategy of {@link RingBufferPublisher} consumer waiting for new events.
+ *
+ * @author Nacos
+ */
+public interface RingBufferWaitStrategy {
+    
+    String BLOCKING = "blocking";
+    
+    String SLEEPING = "sleeping";
+    
+    String YIELDING = "yielding";
+    
+    String BUSY_SPIN = "busy-spin";
+    
+    /**
+     * Wait until events available. Implementations may return before events available, so that the consumer can check
+     * whether it is shutdown.
+     *
+     * @param available whether there are events available to consume
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void waitFor(BooleanSupplier available) throws InterruptedException;
+    
+    /**
+     * Signal the waiting consumer after events published.
+     */
+    void signal();
+    
+    /**
+     * Create a new wait strategy by name, default is {@link #BLOCKING}.
+     *
+     * @param name strategy name, one of {@link #BLOCKING}, {@link #SLEEPING}, {@link #YIELDING}, {@link #BUSY_SPIN}
+     * @return new wait strategy
+     */
+    static RingBufferWaitStrategy newInstance(String name) {
+        if (SLEEPING.equalsIgnoreCase(name)) {
+            return new SleepingWaitStrategy();
+        }
+        if (YIELDING.equalsIgnoreCase(name)) {
+            return new YieldingWaitStrategy();
+        }
+        if (BUSY_SPIN.equalsIgnoreCase(name)) {
+            return new BusySpinWaitStrategy();
+        }
+        return new BlockingWaitStrategy();
+    }
+    
+    /**
+     * Park consumer on condition, lowest cpu usage and highest latency.
+     */
+    class BlockingWaitStrategy implements RingBufferWaitStrategy {
+        
+        private static final long MAX_WAIT_MILLIS = 100L;
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        
+        private final Condition notEmpty = lock.newCondition();
+        
+        private volatile boolean waiting;
+        
+        @Override
+        public void waitFor(BooleanSupplier available) throws InterruptedException {
+            if (available.getAsBoolean()) {
+                return;
+            }
+            lock.lock();
+            try {
+                waiting = true;
+                if (!available.getAsBoolean()) {
+                    notEmpty.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                waiting = false;
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public void signal() {
+            if (!waiting) {
+                return;
+            }
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Spin, then yield, then park for a short while.
+     */
+    class SleepingWaitStrategy implements RingBufferWaitStrategy {
+        
+        private static final int RETRIES = 200;
+        
+        private static final int SPIN_RETRIES = 100;
+        
+        private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+        
+        @Override
+        public void waitFor(BooleanSupplier available) {
+            int counter = RETRIES;
+            while (!available.getAsBoolean()) {
+                if (counter > SPIN_RETRIES) {
+                    counter--;
+                } else if (counter > 0) {
+                    counter--;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                    return;
+                }
+            }
+        }
+        
+        @Override
+        public void signal() {
+        }
+    }
+    
+    /**
+     * Spin, then yield the cpu.
+     */
+    class YieldingWaitStrategy implements RingBufferWaitStrategy {
+        
+        private static final int SPIN_RETRIES = 100;
+        
+        @Override
+        public void waitFor(BooleanSupplier available) {
+            int counter = SPIN_RETRIES;
+            while (!available.getAsBoolean()) {
+                if (counter-- <= 0) {
+                    Thread.yield();
+                    return;
+                }
+            }
+        }
+        
+        @Override
+        public void signal() {
+        }
+    }
+    
+    /**
+     * Busy spin, lowest latency and occupies one cpu core.
+     */
+    class BusySpinWaitStrategy implements RingBufferWaitStrategy {
+        
+        private static final int SPIN_RETRIES = 10000;
+        
+        @Override
+        public void waitFor(BooleanSupplier available) {
+            int counter = SPIN_RETRIES;
+            while (!available.getAsBoolean() && counter-- > 0) {
+                // busy spin
+            }
+        }
+        
+        @Override
+        public void signal() {
+        }
+    }
+}
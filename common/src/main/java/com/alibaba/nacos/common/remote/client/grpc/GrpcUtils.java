@@ -24,13 +24,15 @@ import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecManager;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
-import com.alibaba.nacos.common.utils.JacksonUtils;
-import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteOutput;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.UnsafeByteOperations;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
@@ -61,7 +63,7 @@ public class GrpcUtils {
         payloadBuilder.setMetadata(metaBuilder.build());
         
         // request body .
-        byte[] jsonBytes = convertRequestToByte(request);
+        byte[] jsonBytes = convertRequestToByte(request, PayloadCodecManager.getDefaultCodec());
         return payloadBuilder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes))).build();
         
     }
@@ -73,16 +75,26 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
+        return convert(request, PayloadCodecManager.getDefaultCodec());
+    }
+    
+    /**
+     * convert request to payload with codec.
+     *
+     * @param request request.
+     * @param codec   codec of body, the peer should support it.
+     * @return payload.
+     */
+    public static Payload convert(Request request, PayloadCodec codec) {
         
         Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
                 .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
         
-        byte[] jsonBytes = convertRequestToByte(request);
+        byte[] bodyBytes = convertRequestToByte(request, codec);
         
         Payload.Builder builder = Payload.newBuilder();
         
-        return builder.setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(newMeta).build();
+        return builder.setBody(buildBody(bodyBytes, codec)).setMetadata(newMeta).build();
         
     }
     
@@ -93,19 +105,51 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Response response) {
-        byte[] jsonBytes = JacksonUtils.toJsonBytes(response);
+        return convert(response, PayloadCodecManager.getDefaultCodec());
+    }
+    
+    /**
+     * convert response to payload with codec.
+     *
+     * @param response response.
+     * @param codec    codec of body, the peer should support it.
+     * @return payload.
+     */
+    public static Payload convert(Response response, PayloadCodec codec) {
+        byte[] bodyBytes = codec.encode(response);
         
         Metadata.Builder metaBuilder = Metadata.newBuilder().setType(response.getClass().getSimpleName());
-        return Payload.newBuilder().setBody(Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(jsonBytes)))
-                .setMetadata(metaBuilder.build()).build();
+        return Payload.newBuilder().setBody(buildBody(bodyBytes, codec)).setMetadata(metaBuilder.build()).build();
     }
     
-    private static byte[] convertRequestToByte(Request request) {
+    private static byte[] convertRequestToByte(Request request, PayloadCodec codec) {
         Map<String, String> requestHeaders = new HashMap<>(request.getHeaders());
         request.clearHeaders();
-        byte[] jsonBytes = JacksonUtils.toJsonBytes(request);
+        byte[] bodyBytes = codec.encode(request);
         request.putAllHeader(requestHeaders);
-        return jsonBytes;
+        return bodyBytes;
+    }
+    
+    /**
+     * The codec name is kept in the type url of body, which is empty for the default codec so that the payload is
+     * the same as the one of peers without codec support.
+     */
+    private static Any buildBody(byte[] bodyBytes, PayloadCodec codec) {
+        Any.Builder builder = Any.newBuilder().setValue(UnsafeByteOperations.unsafeWrap(bodyBytes));
+        if (PayloadCodecManager.getDefaultCodec() != codec) {
+            builder.setTypeUrl(codec.getName());
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Get the codec of payload body.
+     *
+     * @param payload payload.
+     * @return codec used by sender.
+     */
+    public static PayloadCodec getCodec(Payload payload) {
+        return PayloadCodecManager.getCodec(payload.getBody().getTypeUrl());
     }
     
     /**
@@ -117,9 +161,7 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
-            ByteString byteString = payload.getBody().getValue();
-            ByteBuffer byteBuffer = byteString.asReadOnlyByteBuffer();
-            Object obj = JacksonUtils.toObj(new ByteBufferBackedInputStream(byteBuffer), classType);
+            Object obj = decodeBody(payload.getBody().getValue(), getCodec(payload), classType);
             if (obj instanceof Request) {
                 ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
             }
@@ -129,4 +171,74 @@ public class GrpcUtils {
                     "Unknown payload type:" + payload.getMetadata().getType());
         }
     }
+    
+    /**
+     * Decode the body from the buffers backing the byte string without copying. A body backed by one array is parsed
+     * in place, other bodies are streamed segment by segment.
+     */
+    private static Object decodeBody(ByteString body, PayloadCodec codec, Class<?> classType) {
+        ArraySegmentOutput segment = new ArraySegmentOutput();
+        try {
+            UnsafeByteOperations.unsafeWriteTo(body, segment);
+        } catch (IOException e) {
+            throw new RemoteException(NacosException.SERVER_ERROR, e);
+        }
+        if (segment.isSingleArray()) {
+            return codec.decode(segment.array, segment.offset, segment.length, classType);
+        }
+        return codec.decode(body.newInput(), classType);
+    }
+    
+    /**
+     * Capture the backing array of byte string if it is backed by a single array.
+     */
+    private static class ArraySegmentOutput extends ByteOutput {
+        
+        private byte[] array;
+        
+        private int offset;
+        
+        private int length;
+        
+        private int segments;
+        
+        private boolean arrayBacked = true;
+        
+        boolean isSingleArray() {
+            return arrayBacked && segments == 1;
+        }
+        
+        @Override
+        public void write(byte value) {
+            arrayBacked = false;
+        }
+        
+        @Override
+        public void write(byte[] value, int offset, int length) {
+            writeLazy(value, offset, length);
+        }
+        
+        @Override
+        public void writeLazy(byte[] value, int offset, int length) {
+            segments++;
+            this.array = value;
+            this.offset = offset;
+            this.length = length;
+        }
+        
+        @Override
+        public void write(ByteBuffer value) {
+            writeLazy(value);
+        }
+        
+        @Override
+        public void writeLazy(ByteBuffer value) {
+            if (value.hasArray()) {
+                writeLazy(value.array(), value.arrayOffset() + value.position(), value.remaining());
+            } else {
+                segments++;
+                arrayBacked = false;
+            }
+        }
+    }
 }
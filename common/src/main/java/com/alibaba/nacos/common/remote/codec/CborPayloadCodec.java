@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.common.utils.JacksonUtils;
+
+import java.io.InputStream;
+
+/**
+ * CBOR payload codec, the binary codec used when both peers support it.
+ *
+ * <p>It shares the Jackson model with {@link JsonPayloadCodec}, so all payloads are supported without schema, while
+ * numbers and strings are written without text formatting and escaping.
+ *
+ * @author Nacos
+ */
+public class CborPayloadCodec implements PayloadCodec {
+    
+    public static final String NAME = "cbor";
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public byte[] encode(Object obj) {
+        return JacksonUtils.toCborBytes(obj);
+    }
+    
+    @Override
+    public <T> T decode(InputStream inputStream, Class<T> cls) {
+        return JacksonUtils.cborToObj(inputStream, cls);
+    }
+    
+    @Override
+    public <T> T decode(byte[] bytes, int offset, int length, Class<T> cls) {
+        return JacksonUtils.cborToObj(bytes, offset, length, cls);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Codec of the body of remote payloads.
+ *
+ * <p>The name of codec is carried with the encoded body, so the receiver decodes a payload by the codec used by the
+ * sender. JSON is the default codec which every peer supports, other codecs are only used to send to a peer which
+ * announces the support by abilities. Implementations can be loaded by SPI.
+ *
+ * @author Nacos
+ */
+public interface PayloadCodec {
+    
+    /**
+     * Get the unique name of codec.
+     *
+     * @return codec name
+     */
+    String getName();
+    
+    /**
+     * Encode the request or response.
+     *
+     * @param obj request or response
+     * @return encoded bytes
+     */
+    byte[] encode(Object obj);
+    
+    /**
+     * Decode the request or response.
+     *
+     * @param inputStream encoded bytes
+     * @param cls         class of request or response
+     * @param <T>         type of request or response
+     * @return request or response
+     */
+    <T> T decode(InputStream inputStream, Class<T> cls);
+    
+    /**
+     * Decode the request or response from the range of array, implementations should parse the array in place.
+     *
+     * @param bytes  array of encoded bytes
+     * @param offset offset of encoded bytes in array
+     * @param length length of encoded bytes
+     * @param cls    class of request or response
+     * @param <T>    type of request or response
+     * @return request or response
+     */
+    default <T> T decode(byte[] bytes, int offset, int length, Class<T> cls) {
+        return decode(new ByteArrayInputStream(bytes, offset, length), cls);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.remote.exception.RemoteException;
+import com.alibaba.nacos.common.spi.NacosServiceLoader;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of payload codecs, including the built-in JSON and CBOR codecs and the codecs loaded by SPI.
+ *
+ * @author Nacos
+ */
+public class PayloadCodecManager {
+    
+    private static final PayloadCodec DEFAULT_CODEC = new JsonPayloadCodec();
+    
+    private static final PayloadCodec BINARY_CODEC = new CborPayloadCodec();
+    
+    private static final Map<String, PayloadCodec> CODECS = new HashMap<>();
+    
+    static {
+        register(DEFAULT_CODEC);
+        register(BINARY_CODEC);
+        for (PayloadCodec each : NacosServiceLoader.load(PayloadCodec.class)) {
+            register(each);
+        }
+    }
+    
+    private PayloadCodecManager() {
+    }
+    
+    private static void register(PayloadCodec codec) {
+        // built-in codecs can't be replaced, peers must agree on them.
+        CODECS.putIfAbsent(codec.getName(), codec);
+    }
+    
+    public static PayloadCodec getDefaultCodec() {
+        return DEFAULT_CODEC;
+    }
+    
+    public static PayloadCodec getBinaryCodec() {
+        return BINARY_CODEC;
+    }
+    
+    /**
+     * Get codec by name.
+     *
+     * @param name codec name, empty for the default codec
+     * @return codec
+     * @throws RemoteException if no codec of the name
+     */
+    public static PayloadCodec getCodec(String name) {
+        if (StringUtils.isEmpty(name)) {
+            return DEFAULT_CODEC;
+        }
+        PayloadCodec codec = CODECS.get(name);
+        if (null == codec) {
+            throw new RemoteException(NacosException.SERVER_ERROR, "Unknown payload codec:" + name);
+        }
+        return codec;
+    }
+    
+    /**
+     * Choose the codec to send to a peer.
+     *
+     * @param peerBinaryCodecAbility whether the peer supports binary codec
+     * @return binary codec if the peer supports it, otherwise the default codec
+     */
+    public static PayloadCodec negotiate(AbilityStatus peerBinaryCodecAbility) {
+        return AbilityStatus.SUPPORTED == peerBinaryCodecAbility ? BINARY_CODEC : DEFAULT_CODEC;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nacos delay task execute engine without global lock.
+ *
+ * <p>Different from {@link NacosDelayTaskExecuteEngine}, tasks are merged by atomic {@link ConcurrentHashMap#compute}
+ * and each task key owns one entry in a time ordered set by its due time, so each processing only drains the due
+ * tasks instead of scanning all task keys. The queue age, which is the time between {@link
+ * AbstractDelayTask#getLastProcessTime()} and the task being processed, is recorded to {@link TaskQueueAgeHistogram}.
+ *
+ * <p>If the engine is not time ordered, it works the same as {@link NacosDelayTaskExecuteEngine} and records no queue
+ * age.
+ *
+ * @author Nacos
+ */
+public class NacosTimedDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+    
+    private final boolean timeOrdered;
+    
+    private final ConcurrentSkipListSet<DueTask> dueTasks;
+    
+    private final ConcurrentHashMap<Object, DueTask> keyDueTasks;
+    
+    private final AtomicLong sequence;
+    
+    private final TaskQueueAgeHistogram queueAgeHistogram;
+    
+    public NacosTimedDelayTaskExecuteEngine(String name) {
+        this(name, null);
+    }
+    
+    public NacosTimedDelayTaskExecuteEngine(String name, Logger logger) {
+        this(name, logger, true);
+    }
+    
+    public NacosTimedDelayTaskExecuteEngine(String name, Logger logger, boolean timeOrdered) {
+        this(name, 32, logger, 100L, timeOrdered);
+    }
+    
+    public NacosTimedDelayTaskExecuteEngine(String name, int initCapacity, Logger logger, long processInterval) {
+        this(name, initCapacity, logger, processInterval, true);
+    }
+    
+    public NacosTimedDelayTaskExecuteEngine(String name, int initCapacity, Logger logger, long processInterval,
+            boolean timeOrdered) {
+        super(name, initCapacity, logger, processInterval);
+        this.timeOrdered = timeOrdered;
+        dueTasks = new ConcurrentSkipListSet<>();
+        keyDueTasks = new ConcurrentHashMap<>(initCapacity);
+        sequence = new AtomicLong();
+        queueAgeHistogram = new TaskQueueAgeHistogram();
+    }
+    
+    public boolean isTimeOrdered() {
+        return timeOrdered;
+    }
+    
+    @Override
+    public int size() {
+        return timeOrdered ? tasks.size() : super.size();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return timeOrdered ? tasks.isEmpty() : super.isEmpty();
+    }
+    
+    @Override
+    public AbstractDelayTask removeTask(Object key) {
+        if (!timeOrdered) {
+            return super.removeTask(key);
+        }
+        AbstractDelayTask[] result = new AbstractDelayTask[1];
+        tasks.computeIfPresent(key, (k, task) -> {
+            if (!task.shouldProcess()) {
+                return task;
+            }
+            unscheduleTask(k);
+            result[0] = task;
+            return null;
+        });
+        return result[0];
+    }
+    
+    @Override
+    public Collection<Object> getAllTaskKeys() {
+        return timeOrdered ? new HashSet<>(tasks.keySet()) : super.getAllTaskKeys();
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        super.shutdown();
+        dueTasks.clear();
+        keyDueTasks.clear();
+    }
+    
+    @Override
+    public void addTask(Object key, AbstractDelayTask newTask) {
+        if (!timeOrdered) {
+            super.addTask(key, newTask);
+            return;
+        }
+        tasks.compute(key, (k, existTask) -> {
+            if (null != existTask) {
+                newTask.merge(existTask);
+            }
+            scheduleTask(k, newTask);
+            return newTask;
+        });
+    }
+    
+    /**
+     * Get the queue age percentile of processed tasks since last {@link #resetQueueAge()}.
+     *
+     * @param percentile percentile in {@code (0, 100]}
+     * @return queue age in milliseconds
+     */
+    public long getQueueAgePercentile(double percentile) {
+        return queueAgeHistogram.getPercentile(percentile);
+    }
+    
+    public void resetQueueAge() {
+        queueAgeHistogram.reset();
+    }
+    
+    /**
+     * Get count of entries in the time ordered set, which is at most the count of task keys.
+     *
+     * @return count of due task entries
+     */
+    public int getDueTaskCount() {
+        return dueTasks.size();
+    }
+    
+    /**
+     * Schedule task of key by its due time, replacing the entry of key scheduled before.
+     *
+     * <p>Must be called in the atomic computation of {@link #tasks} on the key, so entries of one key are updated in
+     * order.
+     *
+     * @param key  task key
+     * @param task task to schedule
+     */
+    private void scheduleTask(Object key, AbstractDelayTask task) {
+        long dueTime = task.getLastProcessTime() + task.getTaskInterval();
+        DueTask dueTask = new DueTask(key, task, dueTime, sequence.incrementAndGet());
+        DueTask oldDueTask = keyDueTasks.put(key, dueTask);
+        if (null != oldDueTask) {
+            dueTasks.remove(oldDueTask);
+        }
+        dueTasks.add(dueTask);
+    }
+    
+    private void unscheduleTask(Object key) {
+        DueTask oldDueTask = keyDueTasks.remove(key);
+        if (null != oldDueTask) {
+            dueTasks.remove(oldDueTask);
+        }
+    }
+    
+    /**
+     * process due tasks in execute engine.
+     *
+     * <p>Tasks added during this processing, such as failed tasks retried, will be processed next time.
+     */
+    @Override
+    protected void processTasks() {
+        if (!timeOrdered) {
+            super.processTasks();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long maxSequence = sequence.get();
+        List<DueTask> deferred = new LinkedList<>();
+        DueTask each;
+        while (null != (each = dueTasks.pollFirst())) {
+            if (each.dueTime > now) {
+                deferred.add(each);
+                break;
+            }
+            if (each.sequence > maxSequence) {
+                deferred.add(each);
+                continue;
+            }
+            processDueTask(each, now);
+        }
+        for (DueTask dueTask : deferred) {
+            // the key may be rescheduled after the entry polled, only add back the latest entry of key.
+            if (keyDueTasks.get(dueTask.key) == dueTask) {
+                dueTasks.add(dueTask);
+            }
+        }
+    }
+    
+    private void processDueTask(DueTask dueTask, long now) {
+        Object taskKey = dueTask.key;
+        AbstractDelayTask task = takeDueTask(dueTask);
+        if (null == task) {
+            return;
+        }
+        queueAgeHistogram.record(now - task.getLastProcessTime());
+        NacosTaskProcessor processor = getProcessor(taskKey);
+        try {
+            // ReAdd task if process failed
+            if (!processor.process(task)) {
+                retryFailedTask(taskKey, task);
+            }
+        } catch (Throwable e) {
+            getEngineLog().error("Nacos task execute error ", e);
+            retryFailedTask(taskKey, task);
+        }
+    }
+    
+    /**
+     * Remove the task of polled due entry, or schedule it again if it should not be processed yet.
+     *
+     * @param dueTask polled due entry
+     * @return task to process, or {@code null} if the entry is outdated or the task is not ready
+     */
+    private AbstractDelayTask takeDueTask(DueTask dueTask) {
+        AbstractDelayTask[] result = new AbstractDelayTask[1];
+        tasks.computeIfPresent(dueTask.key, (key, task) -> {
+            if (task != dueTask.task || keyDueTasks.get(key) != dueTask) {
+                // task has been merged into a newer one, the newer one owns another due entry.
+                return task;
+            }
+            if (!task.shouldProcess()) {
+                scheduleTask(key, task);
+                return task;
+            }
+            keyDueTasks.remove(key, dueTask);
+            result[0] = task;
+            return null;
+        });
+        return result[0];
+    }
+    
+    private void retryFailedTask(Object key, AbstractDelayTask task) {
+        task.setLastProcessTime(System.currentTimeMillis());
+        addTask(key, task);
+    }
+    
+    private static class DueTask implements Comparable<DueTask> {
+        
+        private final Object key;
+        
+        private final AbstractDelayTask task;
+        
+        private final long dueTime;
+        
+        private final long sequence;
+        
+        private DueTask(Object key, AbstractDelayTask task, long dueTime, long sequence) {
+            this.key = key;
+            this.task = task;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+        
+        @Override
+        public int compareTo(DueTask o) {
+            int result = Long.compare(dueTime, o.dueTime);
+            return 0 != result ? result : Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Nacos execute task execute engine with work stealing.
+ *
+ * <p>Tasks with the same tag are kept in one key queue and executed in order by at most one worker at a time. A key
+ * queue with pending tasks is scheduled to the worker selected by the hash of tag, and idle workers steal whole key
+ * queues from the busiest worker, so one hot tag can not hold back the other tags of the same worker.
+ *
+ * <p>The pending tasks of engine are bounded, the task exceeding the capacity is handed to {@link TaskRejectedHandler}
+ * without blocking the caller.
+ *
+ * @author Nacos
+ */
+public class NacosWorkStealingTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<AbstractExecuteTask> {
+    
+    /**
+     * Default max pending task count per worker 32768.
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1 << 15;
+    
+    /**
+     * Max tasks of one key queue executed before the worker turns to the next key queue.
+     */
+    private static final int MAX_BATCH_PER_KEY = 64;
+    
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5L);
+    
+    private final ConcurrentHashMap<Object, KeyQueue> keyQueues = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger pendingTaskCount = new AtomicInteger();
+    
+    private final AtomicLong rejectedCount = new AtomicLong();
+    
+    private final StealingWorker[] workers;
+    
+    private final int capacity;
+    
+    private final TaskRejectedHandler rejectedHandler;
+    
+    private volatile boolean shutdown;
+    
+    public NacosWorkStealingTaskExecuteEngine(String name, Logger logger) {
+        this(name, logger, ThreadUtils.getSuitableThreadCount(1));
+    }
+    
+    public NacosWorkStealingTaskExecuteEngine(String name, Logger logger, TaskRejectedHandler rejectedHandler) {
+        this(name, logger, ThreadUtils.getSuitableThreadCount(1), rejectedHandler);
+    }
+    
+    public NacosWorkStealingTaskExecuteEngine(String name, Logger logger, int workerCount,
+            TaskRejectedHandler rejectedHandler) {
+        this(name, logger, workerCount, workerCount * DEFAULT_QUEUE_CAPACITY, rejectedHandler);
+    }
+    
+    public NacosWorkStealingTaskExecuteEngine(String name, Logger logger, int workerCount) {
+        this(name, logger, workerCount, workerCount * DEFAULT_QUEUE_CAPACITY, null);
+    }
+    
+    public NacosWorkStealingTaskExecuteEngine(String name, Logger logger, int workerCount, int capacity,
+            TaskRejectedHandler rejectedHandler) {
+        super(logger);
+        this.capacity = capacity;
+        this.rejectedHandler = null != rejectedHandler ? rejectedHandler
+                : (tag, task) -> getEngineLog().warn("[TASK-REJECTED] engine is full, drop task {} of {}", task, tag);
+        workers = new StealingWorker[workerCount];
+        for (int mod = 0; mod < workerCount; ++mod) {
+            workers[mod] = new StealingWorker(name + "_" + mod + "%" + workerCount);
+        }
+        for (StealingWorker each : workers) {
+            each.start();
+        }
+    }
+    
+    @Override
+    public int size() {
+        return pendingTaskCount.get();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+    
+    @Override
+    public void addTask(Object tag, AbstractExecuteTask task) {
+        NacosTaskProcessor processor = getProcessor(tag);
+        if (null != processor) {
+            processor.process(task);
+            return;
+        }
+        if (shutdown) {
+            reject(tag, task);
+            return;
+        }
+        if (pendingTaskCount.incrementAndGet() > capacity) {
+            pendingTaskCount.decrementAndGet();
+            reject(tag, task);
+            return;
+        }
+        QueuedTask queuedTask = new QueuedTask(task, System.nanoTime());
+        boolean[] needSchedule = new boolean[1];
+        KeyQueue keyQueue = keyQueues.compute(tag, (key, old) -> {
+            KeyQueue result = null == old ? new KeyQueue(key) : old;
+            result.tasks.offer(queuedTask);
+            needSchedule[0] = !result.scheduled;
+            result.scheduled = true;
+            return result;
+        });
+        if (needSchedule[0]) {
+            schedule(keyQueue, getWorker(tag));
+        }
+    }
+    
+    private void reject(Object tag, AbstractExecuteTask task) {
+        rejectedCount.incrementAndGet();
+        rejectedHandler.rejected(tag, task);
+    }
+    
+    private StealingWorker getWorker(Object tag) {
+        int idx = (tag.hashCode() & Integer.MAX_VALUE) % workers.length;
+        return workers[idx];
+    }
+    
+    private void schedule(KeyQueue keyQueue, StealingWorker worker) {
+        worker.offer(keyQueue);
+        if (worker.idle) {
+            LockSupport.unpark(worker);
+            return;
+        }
+        for (StealingWorker each : workers) {
+            if (each.idle) {
+                LockSupport.unpark(each);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Finish one round of key queue, the key queue is removed if no more task, otherwise scheduled to the worker again.
+     */
+    private void finish(KeyQueue keyQueue, StealingWorker worker) {
+        boolean[] needSchedule = new boolean[1];
+        keyQueues.computeIfPresent(keyQueue.tag, (key, current) -> {
+            if (current != keyQueue) {
+                return current;
+            }
+            if (keyQueue.tasks.isEmpty()) {
+                keyQueue.scheduled = false;
+                return null;
+            }
+            needSchedule[0] = true;
+            return current;
+        });
+        if (needSchedule[0]) {
+            schedule(keyQueue, worker);
+        }
+    }
+    
+    private StealingWorker findBusiestWorker(StealingWorker thief) {
+        StealingWorker result = null;
+        int maxDepth = 0;
+        for (StealingWorker each : workers) {
+            int depth = each.depth.get();
+            if (each != thief && depth > maxDepth) {
+                maxDepth = depth;
+                result = each;
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public AbstractExecuteTask removeTask(Object key) {
+        throw new UnsupportedOperationException("ExecuteTaskEngine do not support remove task");
+    }
+    
+    @Override
+    public Collection<Object> getAllTaskKeys() {
+        throw new UnsupportedOperationException("ExecuteTaskEngine do not support get all task keys");
+    }
+    
+    @Override
+    public void shutdown() throws NacosException {
+        shutdown = true;
+        keyQueues.clear();
+        for (StealingWorker each : workers) {
+            each.readyQueues.clear();
+            each.interrupt();
+        }
+    }
+    
+    public int getWorkerCount() {
+        return workers.length;
+    }
+    
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+    
+    /**
+     * Get the count of key queues stolen by the worker from other workers.
+     *
+     * @param workerIndex index of worker
+     * @return stolen count
+     */
+    public long getStolenCount(int workerIndex) {
+        return workers[workerIndex].stolenCount.get();
+    }
+    
+    /**
+     * Get the percentile of ready key queue depth, sampled each time the worker takes a key queue.
+     *
+     * @param workerIndex index of worker
+     * @param percentile  percentile in {@code (0, 100]}
+     * @return upper bound of depth for the percentile
+     */
+    public long getWorkerDepthPercentile(int workerIndex, double percentile) {
+        return workers[workerIndex].depthHistogram.getPercentile(percentile);
+    }
+    
+    /**
+     * Get the percentile of task latency in milliseconds, from task added to task finished, of tasks executed by the
+     * worker.
+     *
+     * @param workerIndex index of worker
+     * @param percentile  percentile in {@code (0, 100]}
+     * @return upper bound of latency for the percentile
+     */
+    public long getWorkerLatencyPercentile(int workerIndex, double percentile) {
+        return workers[workerIndex].latencyHistogram.getPercentile(percentile);
+    }
+    
+    /**
+     * Clear the depth and latency histograms of all workers.
+     */
+    public void resetHistograms() {
+        for (StealingWorker each : workers) {
+            each.depthHistogram.reset();
+            each.latencyHistogram.reset();
+        }
+    }
+    
+    /**
+     * Get workers status.
+     *
+     * @return workers status string
+     */
+    public String workersStatus() {
+        StringBuilder sb = new StringBuilder();
+        for (StealingWorker each : workers) {
+            sb.append(each.getName()).append(", ready keys: ").append(each.depth.get()).append(", stolen: ")
+                    .append(each.stolenCount.get()).append(", latency p99: ")
+                    .append(each.latencyHistogram.getPercentile(99D)).append("ms").append('\n');
+        }
+        sb.append("pending tasks: ").append(size()).append(", rejected tasks: ").append(getRejectedCount());
+        return sb.toString();
+    }
+    
+    /**
+     * Pending tasks of one tag, executed by at most one worker at a time.
+     */
+    private static class KeyQueue {
+        
+        private final Object tag;
+        
+        private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+        
+        /**
+         * Whether the key queue is ready in a worker or being executed, guarded by the bin lock of {@link #keyQueues}.
+         */
+        private boolean scheduled;
+        
+        private KeyQueue(Object tag) {
+            this.tag = tag;
+        }
+    }
+    
+    private static class QueuedTask {
+        
+        private final AbstractExecuteTask task;
+        
+        private final long addNanos;
+        
+        private QueuedTask(AbstractExecuteTask task, long addNanos) {
+            this.task = task;
+            this.addNanos = addNanos;
+        }
+    }
+    
+    private class StealingWorker extends Thread {
+        
+        private final ConcurrentLinkedDeque<KeyQueue> readyQueues = new ConcurrentLinkedDeque<>();
+        
+        private final AtomicInteger depth = new AtomicInteger();
+        
+        private final AtomicLong stolenCount = new AtomicLong();
+        
+        private final TaskQueueAgeHistogram depthHistogram = new TaskQueueAgeHistogram();
+        
+        private final TaskQueueAgeHistogram latencyHistogram = new TaskQueueAgeHistogram();
+        
+        private volatile boolean idle;
+        
+        StealingWorker(String name) {
+            setDaemon(false);
+            setName(name);
+        }
+        
+        private void offer(KeyQueue keyQueue) {
+            depth.incrementAndGet();
+            readyQueues.offerLast(keyQueue);
+        }
+        
+        private KeyQueue poll() {
+            KeyQueue result = readyQueues.pollFirst();
+            if (null != result) {
+                depthHistogram.record(depth.getAndDecrement());
+            }
+            return result;
+        }
+        
+        private KeyQueue steal() {
+            StealingWorker victim = findBusiestWorker(this);
+            if (null == victim) {
+                return null;
+            }
+            KeyQueue result = victim.readyQueues.pollLast();
+            if (null != result) {
+                victim.depth.decrementAndGet();
+                depthHistogram.record(depth.get());
+                stolenCount.incrementAndGet();
+            }
+            return result;
+        }
+        
+        @Override
+        public void run() {
+            while (!shutdown) {
+                KeyQueue keyQueue = poll();
+                if (null == keyQueue) {
+                    keyQueue = steal();
+                }
+                if (null == keyQueue) {
+                    park();
+                    continue;
+                }
+                execute(keyQueue);
+                finish(keyQueue, this);
+            }
+        }
+        
+        private void park() {
+            idle = true;
+            if (readyQueues.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+        
+        private void execute(KeyQueue keyQueue) {
+            for (int i = 0; i < MAX_BATCH_PER_KEY && !shutdown; i++) {
+                QueuedTask queuedTask = keyQueue.tasks.poll();
+                if (null == queuedTask) {
+                    return;
+                }
+                pendingTaskCount.decrementAndGet();
+                long begin = System.currentTimeMillis();
+                try {
+                    queuedTask.task.run();
+                } catch (Throwable e) {
+                    getEngineLog().error("[TASK-FAILED] " + e, e);
+                }
+                long duration = System.currentTimeMillis() - begin;
+                if (duration > 1000L) {
+                    getEngineLog().warn("task {} takes {}ms", queuedTask.task, duration);
+                }
+                latencyHistogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedTask.addNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of task queue age, unit is millisecond.
+ *
+ * <p>Bucket {@code i} counts the ages in {@code [2^(i-1), 2^i)}, so the percentile is reported as the upper bound
+ * of the bucket which is exact to a power of two.
+ *
+ * @author Nacos
+ */
+public class TaskQueueAgeHistogram {
+    
+    private static final int BUCKET_SIZE = Long.SIZE + 1;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_SIZE);
+    
+    /**
+     * Record one queue age.
+     *
+     * @param ageMillis queue age of task, negative age is recorded as 0
+     */
+    public void record(long ageMillis) {
+        buckets.incrementAndGet(bucketIndex(Math.max(0L, ageMillis)));
+    }
+    
+    /**
+     * Get the queue age percentile.
+     *
+     * @param percentile percentile in {@code (0, 100]}, such as {@code 99}
+     * @return upper bound of queue age for the percentile, {@code 0} if no age recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKET_SIZE];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (0L == total) {
+            return 0L;
+        }
+        long threshold = (long) Math.ceil(total * Math.min(100D, Math.max(0D, percentile)) / 100D);
+        long accumulated = 0L;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            accumulated += counts[i];
+            if (accumulated >= threshold && counts[i] > 0L) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKET_SIZE - 1);
+    }
+    
+    /**
+     * Clear all recorded ages.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            buckets.set(i, 0L);
+        }
+    }
+    
+    private int bucketIndex(long ageMillis) {
+        return Long.SIZE - Long.numberOfLeadingZeros(ageMillis);
+    }
+    
+    private long upperBound(int bucketIndex) {
+        return bucketIndex >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucketIndex) - 1;
+    }
+}
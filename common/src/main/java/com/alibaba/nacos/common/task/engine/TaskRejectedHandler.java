@@ -0,0 +1,39 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+
+/**
+ * Callback for the execute task which is rejected by a bounded task execute engine.
+ *
+ * <p>The callback is invoked in the thread which adds the task, so it must not block.
+ *
+ * @author Nacos
+ */
+@FunctionalInterface
+public interface TaskRejectedHandler {
+    
+    /**
+     * Handle the rejected task.
+     *
+     * @param tag  tag of task
+     * @param task rejected task
+     */
+    void rejected(Object tag, AbstractExecuteTask task);
+}
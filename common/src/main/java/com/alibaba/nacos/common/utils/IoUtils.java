@@ -76,6 +76,29 @@ public class IoUtils {
         return tryDecompress(new ByteArrayInputStream(raw));
     }
     
+    /**
+     * Decompress by GZIP from byte array, and fail if the decompressed bytes exceed the limit.
+     *
+     * @param raw      compressed byte array
+     * @param maxBytes max bytes allowed after decompress
+     * @return byte array after decompress
+     * @throws IOException if raw is not GZIP stream or decompressed bytes exceed the limit
+     */
+    public static byte[] decompress(byte[] raw, long maxBytes) throws IOException {
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(raw));
+                ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = gis.read(buffer)) != -1) {
+                if (out.size() + read > maxBytes) {
+                    throw new IOException("Decompressed bytes exceed the limit " + maxBytes);
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+    
     /**
      * Try compress by GZIP for string.
      *
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 import java.io.InputStream;
 import java.io.IOException;
@@ -36,6 +37,8 @@ import java.lang.reflect.Type;
 /**
  * Json utils implement by Jackson.
  *
+ * <p>A CBOR mapper with the same configuration and sub types is also kept, for the binary payloads of remote requests.
+ *
  * @author <a href="mailto:liaochuntao@live.com">liaochuntao</a>
  */
 public final class JacksonUtils {
@@ -45,9 +48,13 @@ public final class JacksonUtils {
     
     static ObjectMapper mapper = new ObjectMapper();
     
+    static ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    
     static {
         mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         mapper.setSerializationInclusion(Include.NON_NULL);
+        cborMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        cborMapper.setSerializationInclusion(Include.NON_NULL);
     }
     
     /**
@@ -97,6 +104,25 @@ public final class JacksonUtils {
         }
     }
     
+    /**
+     * Json bytes in the range of array deserialize to Object, the bytes are parsed in place without copying.
+     *
+     * @param json   json byte array
+     * @param offset offset of json in array
+     * @param length length of json
+     * @param cls    class of object
+     * @param <T>    General type
+     * @return object
+     * @throws NacosDeserializationException if deserialize failed
+     */
+    public static <T> T toObj(byte[] json, int offset, int length, Class<T> cls) {
+        try {
+            return mapper.readValue(json, offset, length, cls);
+        } catch (Exception e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+    }
+    
     /**
      * Json string deserialize to Object.
      *
@@ -239,6 +265,58 @@ public final class JacksonUtils {
      */
     public static void registerSubtype(Class<?> clz, String type) {
         mapper.registerSubtypes(new NamedType(clz, type));
+        cborMapper.registerSubtypes(new NamedType(clz, type));
+    }
+    
+    /**
+     * Object to CBOR byte array.
+     *
+     * @param obj obj
+     * @return CBOR byte array
+     * @throws NacosSerializationException if transfer failed
+     */
+    public static byte[] toCborBytes(Object obj) {
+        try {
+            return cborMapper.writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            throw new NacosSerializationException(obj.getClass(), e);
+        }
+    }
+    
+    /**
+     * CBOR input stream deserialize to Object.
+     *
+     * @param inputStream CBOR input stream
+     * @param cls         class of object
+     * @param <T>         General type
+     * @return object
+     * @throws NacosDeserializationException if deserialize failed
+     */
+    public static <T> T cborToObj(InputStream inputStream, Class<T> cls) {
+        try {
+            return cborMapper.readValue(inputStream, cls);
+        } catch (IOException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
+    }
+    
+    /**
+     * CBOR bytes in the range of array deserialize to Object, the bytes are parsed in place without copying.
+     *
+     * @param cbor   CBOR byte array
+     * @param offset offset of CBOR in array
+     * @param length length of CBOR
+     * @param cls    class of object
+     * @param <T>    General type
+     * @return object
+     * @throws NacosDeserializationException if deserialize failed
+     */
+    public static <T> T cborToObj(byte[] cbor, int offset, int length, Class<T> cls) {
+        try {
+            return cborMapper.readValue(cbor, offset, length, cls);
+        } catch (IOException e) {
+            throw new NacosDeserializationException(cls, e);
+        }
     }
     
     /**
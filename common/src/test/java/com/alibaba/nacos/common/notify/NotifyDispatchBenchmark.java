@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.notify;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of event notification, comparing the single thread dispatch of publishers with the partitioned
+ * dispatch of {@link PartitionedEventDispatcher}.
+ *
+ * <p>Each invocation notifies a batch of events with {@value #KEY_COUNT} partition keys to all subscribers and waits
+ * until all subscribers handle the batch. Run it by {@link #main(String[])} with the test classpath.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotifyDispatchBenchmark {
+    
+    private static final int KEY_COUNT = 64;
+    
+    private static final int BATCH_SIZE = 1024;
+    
+    private static final long SUBSCRIBER_CPU_TOKENS = 256L;
+    
+    @Param({"1", "4", "16"})
+    private int subscribers;
+    
+    @Param({"single", "partitioned"})
+    private String dispatch;
+    
+    private PartitionedEventDispatcher dispatcher;
+    
+    private BenchmarkEvent[] events;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        int lanes = "single".equals(dispatch) ? 1 : Runtime.getRuntime().availableProcessors();
+        dispatcher = new PartitionedEventDispatcher("benchmark.dispatcher", lanes);
+        events = new BenchmarkEvent[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            events[i] = new BenchmarkEvent(i % KEY_COUNT);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+    
+    /**
+     * Notify one batch of events to all subscribers.
+     *
+     * @throws InterruptedException interrupted when waiting batch finished
+     */
+    @Benchmark
+    public void notifyBatch() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        for (BenchmarkEvent each : events) {
+            dispatcher.dispatch(each, () -> {
+                for (int i = 0; i < subscribers; i++) {
+                    Blackhole.consumeCPU(SUBSCRIBER_CPU_TOKENS);
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+    }
+    
+    /**
+     * Run the benchmark.
+     *
+     * @param args ignored
+     * @throws RunnerException run benchmark failed
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(NotifyDispatchBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+    
+    private static class BenchmarkEvent extends Event {
+        
+        private static final long serialVersionUID = -2396137364627371840L;
+        
+        private final Integer key;
+        
+        private BenchmarkEvent(int key) {
+            this.key = key;
+        }
+        
+        @Override
+        public Object partitionKey() {
+            return key;
+        }
+    }
+}
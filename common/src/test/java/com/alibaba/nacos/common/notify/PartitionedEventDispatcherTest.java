@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.notify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedEventDispatcherTest {
+    
+    private PartitionedEventDispatcher dispatcher;
+    
+    @AfterEach
+    void tearDown() {
+        if (null != dispatcher) {
+            dispatcher.shutdown();
+        }
+    }
+    
+    @Test
+    void testDisabledDispatchInCallerThread() {
+        dispatcher = new PartitionedEventDispatcher("test.dispatcher", 0);
+        assertFalse(dispatcher.isEnabled());
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        dispatcher.dispatch(new KeyedEvent("a", 0), () -> thread.set(Thread.currentThread()));
+        assertSame(Thread.currentThread(), thread.get());
+        assertEquals(0, dispatcher.pendingJobCount());
+    }
+    
+    @Test
+    void testDispatchKeepOrderPerKey() throws InterruptedException {
+        dispatcher = new PartitionedEventDispatcher("test.dispatcher", 4);
+        assertTrue(dispatcher.isEnabled());
+        int keyCount = 8;
+        int eventsPerKey = 200;
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(keyCount * eventsPerKey);
+        for (int i = 0; i < eventsPerKey; i++) {
+            for (int k = 0; k < keyCount; k++) {
+                KeyedEvent event = new KeyedEvent("key" + k, i);
+                dispatcher.dispatch(event, () -> {
+                    received.computeIfAbsent(event.key, key -> new ArrayList<>()).add(event.index);
+                    latch.countDown();
+                });
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(keyCount, received.size());
+        for (List<Integer> each : received.values()) {
+            assertEquals(eventsPerKey, each.size());
+            for (int i = 0; i < eventsPerKey; i++) {
+                assertEquals(i, each.get(i));
+            }
+        }
+    }
+    
+    @Test
+    void testDispatchInLaneRunInline() throws InterruptedException {
+        dispatcher = new PartitionedEventDispatcher("test.dispatcher", 2);
+        AtomicReference<Thread> outer = new AtomicReference<>();
+        AtomicReference<Thread> inner = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        dispatcher.dispatch(new KeyedEvent("a", 0), () -> {
+            outer.set(Thread.currentThread());
+            dispatcher.dispatch(new KeyedEvent("b", 1), () -> inner.set(Thread.currentThread()));
+            latch.countDown();
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertSame(outer.get(), inner.get());
+    }
+    
+    private static class KeyedEvent extends Event {
+        
+        private static final long serialVersionUID = 3165431378958312311L;
+        
+        private final String key;
+        
+        private final int index;
+        
+        private KeyedEvent(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+        
+        @Override
+        public Object partitionKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferPublisherTest {
+    
+    private RingBufferPublisher publisher;
+    
+    @AfterEach
+    void tearDown() {
+        if (null != publisher) {
+            publisher.shutdown();
+        }
+    }
+    
+    @Test
+    void testInitBufferSizeRoundUp() {
+        publisher = newPublisher(RingBufferBackpressure.CALLER_RUNS, 3);
+        assertEquals(4, publisher.getBufferSize());
+        assertTrue(RingBufferPublisher.getActivePublishers().contains(publisher));
+        publisher.shutdown();
+        assertFalse(RingBufferPublisher.getActivePublishers().contains(publisher));
+    }
+    
+    @Test
+    void testCheckIsStart() {
+        publisher = new RingBufferPublisher(new RingBufferWaitStrategy.BlockingWaitStrategy(),
+                RingBufferBackpressure.BLOCK, 16);
+        assertThrows(IllegalStateException.class, () -> publisher.publish(new MockEvent()));
+    }
+    
+    @Test
+    void testPublishAndNotifyInOrder() throws InterruptedException {
+        MockSubscriber subscriber = new MockSubscriber();
+        publisher = new RingBufferPublisher(RingBufferWaitStrategy.newInstance(RingBufferWaitStrategy.SLEEPING),
+                RingBufferBackpressure.BLOCK, 4);
+        publisher.addSubscriber(subscriber);
+        publisher.init(MockEvent.class, 8);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(publisher.publish(new MockEvent(i)));
+        }
+        waitReceived(subscriber, 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, subscriber.events.get(i).index);
+        }
+        assertEquals(0, publisher.getLag());
+        assertEquals(0, publisher.getDroppedCount());
+    }
+    
+    @Test
+    void testCallerRunsWhenFull() {
+        publisher = newPublisher(RingBufferBackpressure.CALLER_RUNS, 2);
+        publisher.publish(new MockEvent(0));
+        publisher.publish(new MockEvent(1));
+        assertEquals(0, publisher.getCallerRunsCount());
+        assertTrue(publisher.publish(new MockEvent(2)));
+        assertEquals(1, publisher.getCallerRunsCount());
+        assertEquals(2, publisher.getLag());
+    }
+    
+    @Test
+    void testDropOldestWhenFull() throws InterruptedException {
+        MockSubscriber subscriber = new MockSubscriber();
+        publisher = newPublisher(RingBufferBackpressure.DROP_OLDEST, 2);
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(new MockEvent(i));
+        }
+        assertEquals(2, publisher.getLag());
+        publisher.addSubscriber(subscriber);
+        waitReceived(subscriber, 2);
+        assertEquals(3, subscriber.events.get(0).index);
+        assertEquals(4, subscriber.events.get(1).index);
+        assertEquals(3, publisher.getDroppedCount());
+    }
+    
+    @Test
+    void testBlockWhenFull() throws InterruptedException {
+        MockSubscriber subscriber = new MockSubscriber();
+        publisher = newPublisher(RingBufferBackpressure.BLOCK, 1);
+        publisher.publish(new MockEvent(0));
+        Thread producer = new Thread(() -> publisher.publish(new MockEvent(1)));
+        producer.start();
+        producer.join(200L);
+        assertTrue(producer.isAlive());
+        publisher.addSubscriber(subscriber);
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        waitReceived(subscriber, 2);
+        assertEquals(0, publisher.getCallerRunsCount());
+    }
+    
+    private RingBufferPublisher newPublisher(RingBufferBackpressure backpressure, int bufferSize) {
+        RingBufferPublisher result = new RingBufferPublisher(new RingBufferWaitStrategy.BlockingWaitStrategy(),
+                backpressure, 16);
+        result.init(MockEvent.class, bufferSize);
+        return result;
+    }
+    
+    private void waitReceived(MockSubscriber subscriber, int count) throws InterruptedException {
+        for (int i = 0; i < 50 && subscriber.events.size() < count; i++) {
+            TimeUnit.MILLISECONDS.sleep(100L);
+        }
+        assertEquals(count, subscriber.events.size());
+    }
+    
+    private static class MockEvent extends Event {
+        
+        private static final long serialVersionUID = 4316298487457434548L;
+        
+        private final int index;
+        
+        private MockEvent() {
+            this(-1);
+        }
+        
+        private MockEvent(int index) {
+            this.index = index;
+        }
+    }
+    
+    private static class MockSubscriber extends Subscriber<MockEvent> {
+        
+        private final List<MockEvent> events = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public void onEvent(MockEvent event) {
+            events.add(event);
+        }
+        
+        @Override
+        public Class<? extends Event> subscribeType() {
+            return MockEvent.class;
+        }
+    }
+}
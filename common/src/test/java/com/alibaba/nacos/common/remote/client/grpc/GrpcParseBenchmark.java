@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.client.grpc;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of parsing request payloads, comparing {@link GrpcUtils#parse(Payload)} with the former parsing by an
+ * input stream over {@link ByteString#asReadOnlyByteBuffer()}.
+ *
+ * <p>Bodies are backed by one array, or split into segments like the bodies received in several frames. Run it by
+ * {@link #main(String[])} with the test classpath, the {@code gc.alloc.rate.norm} of GC profiler is the allocated
+ * bytes per request.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcParseBenchmark {
+    
+    private static final int SEGMENT_SIZE = 1024;
+    
+    @Param({"instance", "config"})
+    private String request;
+    
+    @Param({"array", "segments"})
+    private String body;
+    
+    private Payload payload;
+    
+    private Class<?> classType;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        PayloadRegistry.init();
+        Request sample = "instance".equals(request) ? instanceRequest() : configRequest();
+        classType = sample.getClass();
+        payload = GrpcUtils.convert(sample);
+        if ("segments".equals(body)) {
+            ByteString value = payload.getBody().getValue();
+            ByteString segments = ByteString.EMPTY;
+            for (int i = 0; i < value.size(); i += SEGMENT_SIZE) {
+                segments = segments.concat(value.substring(i, Math.min(value.size(), i + SEGMENT_SIZE)));
+            }
+            payload = payload.toBuilder().setBody(payload.getBody().toBuilder().setValue(segments)).build();
+        }
+    }
+    
+    private static Request instanceRequest() {
+        Instance instance = new Instance();
+        instance.setIp("192.168.1.1");
+        instance.setPort(8848);
+        instance.setClusterName("DEFAULT");
+        instance.getMetadata().put("version", "1.0.0");
+        return new InstanceRequest("public", "benchmark.service", "DEFAULT_GROUP", "registerInstance", instance);
+    }
+    
+    private static Request configRequest() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 256; i++) {
+            content.append("benchmark.key.").append(i).append("=value").append(i).append('\n');
+        }
+        return new ConfigPublishRequest("benchmark.properties", "DEFAULT_GROUP", "public", content.toString());
+    }
+    
+    @Benchmark
+    public Object parse() {
+        return GrpcUtils.parse(payload);
+    }
+    
+    @Benchmark
+    public Object parseByteBufferStream() {
+        return JacksonUtils.toObj(new ByteBufferBackedInputStream(payload.getBody().getValue().asReadOnlyByteBuffer()),
+                classType);
+    }
+    
+    /**
+     * Run the benchmark with GC profiler.
+     *
+     * @param args ignored
+     * @throws RunnerException run benchmark failed
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(GrpcParseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
@@ -24,13 +24,19 @@ import com.alibaba.nacos.api.grpc.auto.Payload;
 import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.codec.CborPayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecManager;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -114,6 +120,68 @@ class GrpcUtilsTest {
         
     }
     
+    @Test
+    void testParseWithBinaryCodec() {
+        Payload requestPayload = GrpcUtils.convert(request, PayloadCodecManager.getBinaryCodec());
+        assertEquals(CborPayloadCodec.NAME, requestPayload.getBody().getTypeUrl());
+        assertSame(PayloadCodecManager.getBinaryCodec(), GrpcUtils.getCodec(requestPayload));
+        ServiceQueryRequest request = (ServiceQueryRequest) GrpcUtils.parse(requestPayload);
+        assertEquals(this.request.getHeaders(), request.getHeaders());
+        assertEquals(this.request.getCluster(), request.getCluster());
+        assertEquals(this.request.isHealthyOnly(), request.isHealthyOnly());
+        assertEquals(this.request.getNamespace(), request.getNamespace());
+        
+        Payload responsePayload = GrpcUtils.convert(response, PayloadCodecManager.getBinaryCodec());
+        ClientConfigMetricResponse response = (ClientConfigMetricResponse) GrpcUtils.parse(responsePayload);
+        assertEquals(this.response.getMetrics(), response.getMetrics());
+    }
+    
+    @Test
+    void testDefaultCodecWithoutTypeUrl() {
+        Payload requestPayload = GrpcUtils.convert(request);
+        assertEquals("", requestPayload.getBody().getTypeUrl());
+        assertSame(PayloadCodecManager.getDefaultCodec(), GrpcUtils.getCodec(requestPayload));
+    }
+    
+    @Test
+    void testParseUnknownCodec() {
+        Payload payload = GrpcUtils.convert(request);
+        Payload unknown = payload.toBuilder().setBody(payload.getBody().toBuilder().setTypeUrl("unknown")).build();
+        assertThrows(RemoteException.class, () -> GrpcUtils.parse(unknown));
+    }
+    
+    @Test
+    void testParseSegmentedBody() {
+        Payload payload = GrpcUtils.convert(request);
+        ByteString value = payload.getBody().getValue();
+        ByteString segmented = ByteString.EMPTY;
+        for (int i = 0; i < value.size(); i += 8) {
+            segmented = segmented.concat(value.substring(i, Math.min(value.size(), i + 8)));
+        }
+        assertParsedRequest(payload.toBuilder().setBody(payload.getBody().toBuilder().setValue(segmented)).build());
+    }
+    
+    @Test
+    void testParseSlicedAndDirectBody() {
+        Payload payload = GrpcUtils.convert(request);
+        ByteString value = payload.getBody().getValue();
+        ByteString sliced = ByteString.copyFromUtf8("prefix").concat(value).substring(6);
+        assertParsedRequest(payload.toBuilder().setBody(payload.getBody().toBuilder().setValue(sliced)).build());
+        
+        ByteBuffer direct = ByteBuffer.allocateDirect(value.size());
+        value.copyTo(direct);
+        direct.flip();
+        ByteString directValue = UnsafeByteOperations.unsafeWrap(direct);
+        assertParsedRequest(payload.toBuilder().setBody(payload.getBody().toBuilder().setValue(directValue)).build());
+    }
+    
+    private void assertParsedRequest(Payload payload) {
+        ServiceQueryRequest request = (ServiceQueryRequest) GrpcUtils.parse(payload);
+        assertEquals(this.request.getHeaders(), request.getHeaders());
+        assertEquals(this.request.getCluster(), request.getCluster());
+        assertEquals(this.request.getNamespace(), request.getNamespace());
+    }
+    
     @Test
     void testParseNullType() {
         assertThrows(RemoteException.class, () -> {
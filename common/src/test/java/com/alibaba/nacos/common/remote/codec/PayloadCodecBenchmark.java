@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.common.remote.PayloadRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of payload codecs, comparing the JSON codec with the CBOR codec on the
+ * {@value PayloadSamples#TYPE_COUNT} most common request and response types.
+ *
+ * <p>Each invocation encodes or decodes one sample of every type. Run it by {@link #main(String[])} with the test
+ * classpath.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCodecBenchmark {
+    
+    @Param({JsonPayloadCodec.NAME, CborPayloadCodec.NAME})
+    private String codecName;
+    
+    private PayloadCodec codec;
+    
+    private Object[] samples;
+    
+    private byte[][] encoded;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        PayloadRegistry.init();
+        codec = PayloadCodecManager.getCodec(codecName);
+        List<Object> list = PayloadSamples.build(new Random(0));
+        samples = list.toArray();
+        encoded = new byte[samples.length][];
+        for (int i = 0; i < samples.length; i++) {
+            encoded[i] = codec.encode(samples[i]);
+        }
+    }
+    
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for (Object each : samples) {
+            blackhole.consume(codec.encode(each));
+        }
+    }
+    
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (int i = 0; i < samples.length; i++) {
+            blackhole.consume(codec.decode(new ByteArrayInputStream(encoded[i]), samples[i].getClass()));
+        }
+    }
+    
+    /**
+     * Run the benchmark.
+     *
+     * @param args ignored
+     * @throws RunnerException run benchmark failed
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(PayloadCodecBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
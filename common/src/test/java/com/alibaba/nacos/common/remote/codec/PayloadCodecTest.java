@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.utils.JacksonUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayloadCodecTest {
+    
+    private static final int ROUNDS = 200;
+    
+    @BeforeAll
+    static void setUp() {
+        PayloadRegistry.init();
+    }
+    
+    @Test
+    void testCborRoundTrip() {
+        assertRoundTrip(new CborPayloadCodec());
+    }
+    
+    @Test
+    void testJsonRoundTrip() {
+        assertRoundTrip(new JsonPayloadCodec());
+    }
+    
+    @Test
+    void testCborSmallerThanJson() {
+        long cborSize = 0;
+        long jsonSize = 0;
+        for (Object each : PayloadSamples.build(new Random(0))) {
+            cborSize += new CborPayloadCodec().encode(each).length;
+            jsonSize += new JsonPayloadCodec().encode(each).length;
+        }
+        assertTrue(cborSize < jsonSize, "cbor " + cborSize + " json " + jsonSize);
+    }
+    
+    private void assertRoundTrip(PayloadCodec codec) {
+        for (int seed = 0; seed < ROUNDS; seed++) {
+            List<Object> samples = PayloadSamples.build(new Random(seed));
+            assertEquals(PayloadSamples.TYPE_COUNT, samples.size());
+            for (Object each : samples) {
+                byte[] bytes = codec.encode(each);
+                Object actual = codec.decode(new ByteArrayInputStream(bytes), each.getClass());
+                assertEquals(each.getClass(), actual.getClass());
+                assertEquals(JacksonUtils.toJson(each), JacksonUtils.toJson(actual),
+                        "seed " + seed + " type " + each.getClass().getSimpleName());
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.remote.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigRemoveRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse;
+import com.alibaba.nacos.api.config.remote.response.ConfigPublishResponse;
+import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.BatchInstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.naming.remote.request.PersistentInstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.ServiceQueryRequest;
+import com.alibaba.nacos.api.naming.remote.request.SubscribeServiceRequest;
+import com.alibaba.nacos.api.naming.remote.response.InstanceResponse;
+import com.alibaba.nacos.api.naming.remote.response.QueryServiceResponse;
+import com.alibaba.nacos.api.naming.remote.response.SubscribeServiceResponse;
+import com.alibaba.nacos.api.remote.request.HealthCheckRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Random samples of the 20 most common request and response types on the wire.
+ *
+ * @author Nacos
+ */
+final class PayloadSamples {
+    
+    static final int TYPE_COUNT = 20;
+    
+    private PayloadSamples() {
+    }
+    
+    static List<Object> build(Random random) {
+        List<Object> result = new ArrayList<>(TYPE_COUNT);
+        result.add(new InstanceRequest(text(random), text(random), text(random), "registerInstance",
+                instance(random)));
+        result.add(new BatchInstanceRequest(text(random), text(random), text(random), "batchRegisterInstance",
+                instances(random)));
+        result.add(new PersistentInstanceRequest(text(random), text(random), text(random), "registerInstance",
+                instance(random)));
+        result.add(NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo(random)));
+        result.add(notifyDelta(random));
+        ServiceQueryRequest serviceQueryRequest = new ServiceQueryRequest(text(random), text(random), text(random));
+        serviceQueryRequest.setCluster(text(random));
+        serviceQueryRequest.setHealthyOnly(random.nextBoolean());
+        serviceQueryRequest.setUdpPort(random.nextInt(65536));
+        result.add(serviceQueryRequest);
+        result.add(new SubscribeServiceRequest(text(random), text(random), text(random), text(random),
+                random.nextBoolean()));
+        result.add(QueryServiceResponse.buildSuccessResponse(serviceInfo(random)));
+        result.add(new SubscribeServiceResponse(200, text(random), serviceInfo(random)));
+        result.add(new InstanceResponse(text(random)));
+        ConfigBatchListenRequest listenRequest = new ConfigBatchListenRequest();
+        ConfigChangeBatchListenResponse listenResponse = new ConfigChangeBatchListenResponse();
+        int listenSize = random.nextInt(50);
+        for (int i = 0; i < listenSize; i++) {
+            listenRequest.addConfigListenContext(text(random), text(random), text(random), text(random));
+            listenResponse.addChangeConfig(text(random), text(random), text(random));
+        }
+        listenRequest.setListen(random.nextBoolean());
+        result.add(listenRequest);
+        result.add(listenResponse);
+        result.add(ConfigQueryRequest.build(text(random), text(random), text(random)));
+        ConfigQueryResponse queryResponse = ConfigQueryResponse.buildSuccessResponse(content(random));
+        queryResponse.setMd5(text(random));
+        queryResponse.setLastModified(random.nextLong());
+        queryResponse.setContentType(text(random));
+        queryResponse.setCompressedContent(random.nextBoolean() ? bytes(random) : null);
+        result.add(queryResponse);
+        ConfigPublishRequest publishRequest = new ConfigPublishRequest(text(random), text(random), text(random),
+                content(random));
+        publishRequest.setCasMd5(text(random));
+        publishRequest.setAdditionMap(map(random));
+        result.add(publishRequest);
+        result.add(ConfigPublishResponse.buildSuccessResponse());
+        result.add(ConfigChangeNotifyRequest.build(text(random), text(random), text(random)));
+        result.add(new ConfigRemoveRequest(text(random), text(random), text(random), text(random)));
+        HealthCheckRequest healthCheckRequest = new HealthCheckRequest();
+        healthCheckRequest.setRequestId(text(random));
+        result.add(healthCheckRequest);
+        result.add(ConfigQueryResponse.buildFailResponse(random.nextInt(), text(random)));
+        return result;
+    }
+    
+    private static NotifySubscriberDeltaRequest notifyDelta(Random random) {
+        NotifySubscriberDeltaRequest result = new NotifySubscriberDeltaRequest();
+        result.setServiceName(text(random));
+        result.setGroupName(text(random));
+        result.setClusters(text(random));
+        result.setCacheMillis(random.nextLong());
+        result.setBaseRevision(random.nextLong());
+        result.setRevision(random.nextLong());
+        result.setModifiedInstances(instances(random));
+        result.setRemovedInstances(instances(random));
+        return result;
+    }
+    
+    private static ServiceInfo serviceInfo(Random random) {
+        ServiceInfo result = new ServiceInfo();
+        result.setName(text(random));
+        result.setGroupName(text(random));
+        result.setClusters(text(random));
+        result.setCacheMillis(random.nextLong());
+        result.setLastRefTime(random.nextLong());
+        result.setChecksum(text(random));
+        result.setAllIPs(random.nextBoolean());
+        result.setReachProtectionThreshold(random.nextBoolean());
+        result.setHosts(instances(random));
+        return result;
+    }
+    
+    private static List<Instance> instances(Random random) {
+        int size = random.nextInt(20);
+        List<Instance> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(instance(random));
+        }
+        return result;
+    }
+    
+    private static Instance instance(Random random) {
+        Instance result = new Instance();
+        result.setInstanceId(text(random));
+        result.setIp(random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + ".1");
+        result.setPort(random.nextInt(65536));
+        result.setWeight(random.nextDouble() * 100);
+        result.setHealthy(random.nextBoolean());
+        result.setEnabled(random.nextBoolean());
+        result.setEphemeral(random.nextBoolean());
+        result.setClusterName(text(random));
+        result.setServiceName(text(random));
+        result.setMetadata(map(random));
+        return result;
+    }
+    
+    private static Map<String, String> map(Random random) {
+        int size = random.nextInt(8);
+        Map<String, String> result = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            result.put(text(random), text(random));
+        }
+        return result;
+    }
+    
+    private static String content(Random random) {
+        StringBuilder result = new StringBuilder();
+        int lines = random.nextInt(100);
+        for (int i = 0; i < lines; i++) {
+            result.append(text(random)).append('=').append(text(random)).append('\n');
+        }
+        return result.toString();
+    }
+    
+    /**
+     * Random text mixing ascii, non-ascii and surrogate pairs, which may be empty.
+     */
+    private static String text(Random random) {
+        int length = random.nextInt(24);
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    result.append((char) (0x20 + random.nextInt(0x5f)));
+                    break;
+                case 1:
+                    result.append((char) (0x4e00 + random.nextInt(0x5000)));
+                    break;
+                case 2:
+                    result.appendCodePoint(0x1f600 + random.nextInt(0x50));
+                    break;
+                default:
+                    result.append((char) ('a' + random.nextInt(26)));
+                    break;
+            }
+        }
+        return result.toString();
+    }
+    
+    private static byte[] bytes(Random random) {
+        byte[] result = new byte[random.nextInt(64)];
+        random.nextBytes(result);
+        return result;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.internal.verification.Times;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NacosTimedDelayTaskExecuteEngineTest {
+    
+    private NacosTimedDelayTaskExecuteEngine nacosTimedDelayTaskExecuteEngine;
+    
+    @Mock
+    private NacosTaskProcessor taskProcessor;
+    
+    @Mock
+    private NacosTaskProcessor testTaskProcessor;
+    
+    private AbstractDelayTask abstractTask;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        nacosTimedDelayTaskExecuteEngine = new NacosTimedDelayTaskExecuteEngine(NacosTimedDelayTaskExecuteEngineTest.class.getName());
+        nacosTimedDelayTaskExecuteEngine.setDefaultTaskProcessor(taskProcessor);
+        abstractTask = new AbstractDelayTask() {
+            @Override
+            public void merge(AbstractDelayTask task) {
+            }
+        };
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        nacosTimedDelayTaskExecuteEngine.shutdown();
+    }
+    
+    @Test
+    void testSize() {
+        assertEquals(0, nacosTimedDelayTaskExecuteEngine.size());
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.size());
+        nacosTimedDelayTaskExecuteEngine.removeTask("test");
+        assertEquals(0, nacosTimedDelayTaskExecuteEngine.size());
+    }
+    
+    @Test
+    void testIsEmpty() {
+        assertTrue(nacosTimedDelayTaskExecuteEngine.isEmpty());
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        assertFalse(nacosTimedDelayTaskExecuteEngine.isEmpty());
+        nacosTimedDelayTaskExecuteEngine.removeTask("test");
+        assertTrue(nacosTimedDelayTaskExecuteEngine.isEmpty());
+    }
+    
+    @Test
+    void testAddProcessor() throws InterruptedException {
+        when(testTaskProcessor.process(abstractTask)).thenReturn(true);
+        nacosTimedDelayTaskExecuteEngine.addProcessor("test", testTaskProcessor);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor).process(abstractTask);
+        verify(taskProcessor, never()).process(abstractTask);
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.getAllProcessorKey().size());
+    }
+    
+    @Test
+    void testRemoveProcessor() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenReturn(true);
+        nacosTimedDelayTaskExecuteEngine.addProcessor("test", testTaskProcessor);
+        nacosTimedDelayTaskExecuteEngine.removeProcessor("test");
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor, never()).process(abstractTask);
+        verify(taskProcessor).process(abstractTask);
+    }
+    
+    @Test
+    void testRetryTaskAfterFail() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenReturn(false, true);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(300);
+        verify(taskProcessor, new Times(2)).process(abstractTask);
+    }
+    
+    @Test
+    void testProcessorWithException() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenThrow(new RuntimeException("test"));
+        nacosTimedDelayTaskExecuteEngine.addProcessor("test", testTaskProcessor);
+        nacosTimedDelayTaskExecuteEngine.removeProcessor("test");
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.size());
+    }
+    
+    @Test
+    void testTaskShouldNotExecute() throws InterruptedException {
+        nacosTimedDelayTaskExecuteEngine.addProcessor("test", testTaskProcessor);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        abstractTask.setTaskInterval(10000L);
+        abstractTask.setLastProcessTime(System.currentTimeMillis());
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor, never()).process(abstractTask);
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.size());
+    }
+    
+    @Test
+    void testTaskMerge() {
+        nacosTimedDelayTaskExecuteEngine.addProcessor("test", testTaskProcessor);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", new AbstractDelayTask() {
+            @Override
+            public void merge(AbstractDelayTask task) {
+                setLastProcessTime(task.getLastProcessTime());
+                setTaskInterval(task.getTaskInterval());
+            }
+        });
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.size());
+    }
+    
+    @Test
+    void testMergedTaskProcessedOnce() throws InterruptedException {
+        AbstractDelayTask newTask = new AbstractDelayTask() {
+            @Override
+            public void merge(AbstractDelayTask task) {
+            }
+        };
+        when(testTaskProcessor.process(newTask)).thenReturn(true);
+        nacosTimedDelayTaskExecuteEngine.addProcessor("test", testTaskProcessor);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        nacosTimedDelayTaskExecuteEngine.addTask("test", newTask);
+        TimeUnit.MILLISECONDS.sleep(200);
+        verify(testTaskProcessor).process(newTask);
+        verify(testTaskProcessor, never()).process(abstractTask);
+        assertTrue(nacosTimedDelayTaskExecuteEngine.isEmpty());
+    }
+    
+    @Test
+    void testDelayedTaskProcessedAfterDue() throws InterruptedException {
+        when(taskProcessor.process(abstractTask)).thenReturn(true);
+        abstractTask.setTaskInterval(300L);
+        abstractTask.setLastProcessTime(System.currentTimeMillis());
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        TimeUnit.MILLISECONDS.sleep(150);
+        verify(taskProcessor, never()).process(abstractTask);
+        TimeUnit.MILLISECONDS.sleep(400);
+        verify(taskProcessor).process(abstractTask);
+        assertTrue(nacosTimedDelayTaskExecuteEngine.getQueueAgePercentile(99) >= 300L);
+        nacosTimedDelayTaskExecuteEngine.resetQueueAge();
+        assertEquals(0L, nacosTimedDelayTaskExecuteEngine.getQueueAgePercentile(99));
+    }
+    
+    @Test
+    void testMergedTasksKeepOneDueTask() {
+        for (int i = 0; i < 100; i++) {
+            AbstractDelayTask task = new AbstractDelayTask() {
+                @Override
+                public void merge(AbstractDelayTask task) {
+                }
+            };
+            task.setTaskInterval(10000L);
+            nacosTimedDelayTaskExecuteEngine.addTask("test", task);
+        }
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.size());
+        assertEquals(1, nacosTimedDelayTaskExecuteEngine.getDueTaskCount());
+        nacosTimedDelayTaskExecuteEngine.addTask("test", abstractTask);
+        assertEquals(abstractTask, nacosTimedDelayTaskExecuteEngine.removeTask("test"));
+        assertEquals(0, nacosTimedDelayTaskExecuteEngine.getDueTaskCount());
+    }
+    
+    @Test
+    void testNotTimeOrdered() throws Exception {
+        NacosTimedDelayTaskExecuteEngine engine = new NacosTimedDelayTaskExecuteEngine(
+                NacosTimedDelayTaskExecuteEngineTest.class.getName(), null, false);
+        try {
+            when(taskProcessor.process(abstractTask)).thenReturn(true);
+            engine.setDefaultTaskProcessor(taskProcessor);
+            engine.addTask("test", abstractTask);
+            assertEquals(0, engine.getDueTaskCount());
+            TimeUnit.MILLISECONDS.sleep(200);
+            verify(taskProcessor).process(abstractTask);
+            assertTrue(engine.isEmpty());
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
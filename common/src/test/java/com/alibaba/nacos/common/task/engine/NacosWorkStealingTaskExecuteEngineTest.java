@@ -0,0 +1,164 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NacosWorkStealingTaskExecuteEngineTest {
+    
+    private NacosWorkStealingTaskExecuteEngine engine;
+    
+    @AfterEach
+    void tearDown() throws NacosException {
+        if (null != engine) {
+            engine.shutdown();
+        }
+    }
+    
+    @Test
+    void testAddTaskByProcessor() {
+        engine = new NacosWorkStealingTaskExecuteEngine("TEST", null, 1);
+        NacosTaskProcessor processor = mock(NacosTaskProcessor.class);
+        AbstractExecuteTask task = new MockTask(() -> { });
+        engine.addProcessor("tag", processor);
+        engine.addTask("tag", task);
+        verify(processor).process(task);
+        assertTrue(engine.isEmpty());
+    }
+    
+    @Test
+    void testExecuteInOrderPerTag() throws InterruptedException {
+        engine = new NacosWorkStealingTaskExecuteEngine("TEST", null, 4);
+        int tagCount = 16;
+        int tasksPerTag = 300;
+        Map<Integer, List<Integer>> executed = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(tagCount * tasksPerTag);
+        for (int i = 0; i < tasksPerTag; i++) {
+            for (int tag = 0; tag < tagCount; tag++) {
+                final int index = i;
+                final int finalTag = tag;
+                engine.addTask(tag, new MockTask(() -> {
+                    executed.computeIfAbsent(finalTag, key -> new ArrayList<>()).add(index);
+                    latch.countDown();
+                }));
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (List<Integer> each : executed.values()) {
+            assertEquals(tasksPerTag, each.size());
+            for (int i = 0; i < tasksPerTag; i++) {
+                assertEquals(i, each.get(i));
+            }
+        }
+        assertEquals(0, engine.size());
+        assertEquals(0, engine.getRejectedCount());
+    }
+    
+    @Test
+    void testStealTagFromBusyWorker() throws InterruptedException {
+        engine = new NacosWorkStealingTaskExecuteEngine("TEST", null, 2);
+        CountDownLatch hotStarted = new CountDownLatch(1);
+        CountDownLatch releaseHot = new CountDownLatch(1);
+        CountDownLatch otherExecuted = new CountDownLatch(1);
+        AtomicReference<String> hotWorker = new AtomicReference<>();
+        engine.addTask(0, new MockTask(() -> {
+            hotWorker.set(Thread.currentThread().getName());
+            hotStarted.countDown();
+            await(releaseHot);
+        }));
+        assertTrue(hotStarted.await(5, TimeUnit.SECONDS));
+        int busyWorker = hotWorker.get().endsWith("_0%2") ? 0 : 1;
+        // the other tag is dispatched to the busy worker, so it can only be executed by stealing.
+        engine.addTask(0 == busyWorker ? 2 : 1, new MockTask(otherExecuted::countDown));
+        assertTrue(otherExecuted.await(5, TimeUnit.SECONDS));
+        releaseHot.countDown();
+        assertTrue(engine.getStolenCount(1 - busyWorker) >= 1L);
+        assertTrue(engine.getWorkerLatencyPercentile(1 - busyWorker, 99D) >= 0L);
+        assertTrue(engine.workersStatus().contains("rejected tasks: 0"));
+    }
+    
+    @Test
+    void testRejectWhenFull() throws InterruptedException {
+        List<Object> rejected = new CopyOnWriteArrayList<>();
+        engine = new NacosWorkStealingTaskExecuteEngine("TEST", null, 1, 2, (tag, task) -> rejected.add(tag));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        engine.addTask("a", new MockTask(() -> {
+            started.countDown();
+            await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        engine.addTask("b", new MockTask(() -> { }));
+        engine.addTask("c", new MockTask(() -> { }));
+        engine.addTask("d", new MockTask(() -> { }));
+        assertEquals(2, engine.size());
+        assertEquals(1, engine.getRejectedCount());
+        assertEquals(1, rejected.size());
+        assertSame("d", rejected.get(0));
+        release.countDown();
+    }
+    
+    @Test
+    void testUnsupportedOperation() {
+        engine = new NacosWorkStealingTaskExecuteEngine("TEST", null, 1);
+        assertThrows(UnsupportedOperationException.class, () -> engine.removeTask("tag"));
+        assertThrows(UnsupportedOperationException.class, () -> engine.getAllTaskKeys());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static class MockTask extends AbstractExecuteTask {
+        
+        private final Runnable job;
+        
+        private MockTask(Runnable job) {
+            this.job = job;
+        }
+        
+        @Override
+        public void run() {
+            job.run();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskQueueAgeHistogramTest {
+    
+    @Test
+    void testGetPercentile() {
+        TaskQueueAgeHistogram histogram = new TaskQueueAgeHistogram();
+        assertEquals(0L, histogram.getPercentile(99));
+        for (int i = 0; i < 98; i++) {
+            histogram.record(5L);
+        }
+        histogram.record(100L);
+        histogram.record(1000L);
+        assertEquals(7L, histogram.getPercentile(50));
+        assertEquals(127L, histogram.getPercentile(99));
+        assertEquals(1023L, histogram.getPercentile(100));
+    }
+    
+    @Test
+    void testRecordNegativeAge() {
+        TaskQueueAgeHistogram histogram = new TaskQueueAgeHistogram();
+        histogram.record(-10L);
+        assertEquals(0L, histogram.getPercentile(50));
+    }
+    
+    @Test
+    void testReset() {
+        TaskQueueAgeHistogram histogram = new TaskQueueAgeHistogram();
+        histogram.record(10L);
+        histogram.reset();
+        assertEquals(0L, histogram.getPercentile(50));
+    }
+}
@@ -61,6 +61,14 @@ class IoUtilsTest {
         assertEquals("123", new String(IoUtils.tryDecompress(testCase), StandardCharsets.UTF_8));
     }
     
+    @Test
+    void testDecompressWithLimit() throws Exception {
+        byte[] testCase = IoUtils.tryCompress("1234567890", "UTF-8");
+        assertEquals("1234567890", new String(IoUtils.decompress(testCase, 10), StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> IoUtils.decompress(testCase, 9));
+        assertThrows(IOException.class, () -> IoUtils.decompress("123".getBytes(StandardCharsets.UTF_8), 10));
+    }
+    
     @Test
     void testTryCompressWithEmptyString() {
         assertEquals(0, IoUtils.tryCompress("", "UTF-8").length);
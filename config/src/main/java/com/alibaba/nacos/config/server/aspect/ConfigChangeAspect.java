@@ -25,6 +25,7 @@ import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.common.model.RestResultUtils;
 import com.alibaba.nacos.config.server.configuration.ConfigChangeConfigs;
 import com.alibaba.nacos.config.server.model.SameConfigPolicy;
+import com.alibaba.nacos.config.server.service.ConfigContentCompressor;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.RequestUtil;
 import com.alibaba.nacos.config.server.utils.TimeUtils;
@@ -238,7 +239,7 @@ public class ConfigChangeAspect {
         configChangeRequest.setArg("dataId", request.getDataId());
         configChangeRequest.setArg("group", request.getGroup());
         configChangeRequest.setArg("tenant", request.getTenant());
-        configChangeRequest.setArg("content", request.getContent());
+        configChangeRequest.setArg("content", ConfigContentCompressor.tryDecodeContent(request));
         configChangeRequest.setArg("type", request.getAdditionParam("type"));
         configChangeRequest.setArg("tag", request.getAdditionParam("tag"));
         configChangeRequest.setArg("configTags", request.getAdditionParam("config_tags"));
@@ -27,6 +27,7 @@ import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.ConfigContentCompressor;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.RequestUtil;
@@ -109,8 +110,8 @@ public class RequestLogAspect {
     @Around(CLIENT_INTERFACE_PUBLISH_SINGLE_CONFIG_RPC)
     public Object interfacePublishSingleRpc(ProceedingJoinPoint pjp, ConfigPublishRequest request, RequestMeta meta)
             throws Throwable {
-        final String md5 =
-                request.getContent() == null ? null : MD5Utils.md5Hex(request.getContent(), Constants.ENCODE);
+        final String content = ConfigContentCompressor.tryDecodeContent(request);
+        final String md5 = content == null ? null : MD5Utils.md5Hex(content, Constants.ENCODE);
         MetricsMonitor.getPublishMonitor().incrementAndGet();
         AtomicLong rtHolder = new AtomicLong();
         Object retVal = logClientRequestRpc("publish", pjp, request, meta, request.getDataId(), request.getGroup(),
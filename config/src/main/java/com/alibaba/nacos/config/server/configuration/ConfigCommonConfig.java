@@ -35,6 +35,10 @@ public class ConfigCommonConfig extends AbstractDynamicConfig {
     
     private boolean derbyOpsEnabled = false;
     
+    private int pushBatchWindow = 50;
+    
+    private int pushBatchMaxSize = 500;
+    
     private ConfigCommonConfig() {
         super(CONFIG_COMMON);
         resetConfig();
@@ -60,10 +64,28 @@ public class ConfigCommonConfig extends AbstractDynamicConfig {
         this.derbyOpsEnabled = derbyOpsEnabled;
     }
     
+    public int getPushBatchWindow() {
+        return pushBatchWindow;
+    }
+    
+    public void setPushBatchWindow(int pushBatchWindow) {
+        this.pushBatchWindow = pushBatchWindow;
+    }
+    
+    public int getPushBatchMaxSize() {
+        return pushBatchMaxSize;
+    }
+    
+    public void setPushBatchMaxSize(int pushBatchMaxSize) {
+        this.pushBatchMaxSize = pushBatchMaxSize;
+    }
+    
     @Override
     protected void getConfigFromEnv() {
         maxPushRetryTimes = EnvUtil.getProperty("nacos.config.push.maxRetryTime", Integer.class, 50);
         derbyOpsEnabled = EnvUtil.getProperty("nacos.config.derby.ops.enabled", Boolean.class, false);
+        pushBatchWindow = EnvUtil.getProperty("nacos.config.push.batch.window", Integer.class, 50);
+        pushBatchMaxSize = EnvUtil.getProperty("nacos.config.push.batch.maxSize", Integer.class, 500);
     }
     
     @Override
@@ -74,6 +96,6 @@ public class ConfigCommonConfig extends AbstractDynamicConfig {
     @Override
     public String toString() {
         return "ConfigCommonConfig{" + "maxPushRetryTimes=" + maxPushRetryTimes + ", derbyOpsEnabled=" + derbyOpsEnabled
-                + '}';
+                + ", pushBatchWindow=" + pushBatchWindow + ", pushBatchMaxSize=" + pushBatchMaxSize + '}';
     }
 }
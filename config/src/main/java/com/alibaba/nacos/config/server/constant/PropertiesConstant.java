@@ -62,9 +62,15 @@ public class PropertiesConstant {
     public static final String DUMP_CHANGE_ON = "dumpChangeOn";
     
     public static final String DUMP_CHANGE_WORKER_INTERVAL = "dumpChangeWorkerInterval";
+    
+    public static final String DUMP_FAST_RESTART = "nacos.config.dump.fast-restart.enabled";
 
     public static final String CONFIG_RENTENTION_DAYS = "nacos.config.retention.days";
     
+    public static final String CONTENT_CACHE_MAX_BYTES = "nacos.config.cache.content.max-bytes";
+    
+    public static final String COMPRESSION_THRESHOLD = "nacos.config.remote.compression.threshold";
+    
     public static final String GRAY_CAPATIBEL_MODEL = "nacos.config.gray.compatible.model";
     
 }
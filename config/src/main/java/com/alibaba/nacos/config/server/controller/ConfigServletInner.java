@@ -27,11 +27,11 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.enums.FileTypeEnum;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCacheGray;
+import com.alibaba.nacos.config.server.model.ConfigCacheGrayMatcher;
 import com.alibaba.nacos.config.server.model.gray.BetaGrayRule;
 import com.alibaba.nacos.config.server.model.gray.TagGrayRule;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.LongPollingService;
-import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
@@ -51,7 +51,6 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -162,23 +161,10 @@ public class ConfigServletInner {
                         isV2 ? MediaType.APPLICATION_JSON : contentTypeHeader);
                 
                 ConfigCacheGray matchedGray = null;
-                Map<String, String> appLabels = new HashMap(4);
-                appLabels.put(BetaGrayRule.CLIENT_IP_LABEL, clientIp);
                 boolean specificTag = StringUtils.isNotBlank(tag);
-                
-                if (specificTag) {
-                    appLabels.put(TagGrayRule.VIP_SERVER_TAG_LABEL, tag);
-                } else if (StringUtils.isNotBlank(autoTag)) {
-                    appLabels.put(TagGrayRule.VIP_SERVER_TAG_LABEL, autoTag);
-                }
-                
-                if (cacheItem.getSortConfigGrays() != null && !cacheItem.getSortConfigGrays().isEmpty()) {
-                    for (ConfigCacheGray configCacheGray : cacheItem.getSortConfigGrays()) {
-                        if (configCacheGray.match(appLabels)) {
-                            matchedGray = configCacheGray;
-                            break;
-                        }
-                    }
+                ConfigCacheGrayMatcher grayMatcher = cacheItem.getGrayMatcher();
+                if (grayMatcher != null) {
+                    matchedGray = grayMatcher.match(clientIp, specificTag ? tag : autoTag, null);
                 }
                 
                 String pullEvent;
@@ -190,8 +176,7 @@ public class ConfigServletInner {
                     md5 = matchedGray.getMd5(acceptCharset);
                     lastModified = matchedGray.getLastModifiedTs();
                     encryptedDataKey = matchedGray.getEncryptedDataKey();
-                    content = ConfigDiskServiceFactory.getInstance()
-                            .getGrayContent(dataId, group, tenant, matchedGray.getGrayName());
+                    content = ConfigCacheService.getGrayContent(dataId, group, tenant, matchedGray.getGrayName());
                     pullEvent = ConfigTraceService.PULL_EVENT + "-" + matchedGray.getGrayName();
                     if (BetaGrayRule.TYPE_BETA.equals(matchedGray.getGrayName())) {
                         response.setHeader("isBeta", "true");
@@ -214,7 +199,7 @@ public class ConfigServletInner {
                     md5 = cacheItem.getConfigCache().getMd5(acceptCharset);
                     lastModified = cacheItem.getConfigCache().getLastModifiedTs();
                     encryptedDataKey = cacheItem.getConfigCache().getEncryptedDataKey();
-                    content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+                    content = ConfigCacheService.getContent(dataId, group, tenant);
                     pullEvent = ConfigTraceService.PULL_EVENT;
                 }
                 
@@ -44,6 +44,8 @@ public class CacheItem {
 
     List<ConfigCacheGray> sortedConfigCacheGrayList = null;
 
+    private volatile ConfigCacheGrayMatcher grayMatcher = null;
+
     private final SimpleReadWriteLock rwLock = new SimpleReadWriteLock();
 
     public CacheItem(String groupKey, String encryptedDataKey) {
@@ -106,6 +108,7 @@ public class CacheItem {
     public void sortConfigGray() {
         if (configCacheGray == null || configCacheGray.isEmpty()) {
             sortedConfigCacheGrayList = null;
+            grayMatcher = null;
             return;
         }
 
@@ -117,6 +120,16 @@ public class CacheItem {
             }
 
         }).collect(Collectors.toList());
+        grayMatcher = ConfigCacheGrayMatcher.compile(sortedConfigCacheGrayList);
+    }
+
+    /**
+     * Get the compiled matcher of config grays, rebuilt by {@link #sortConfigGray()}.
+     *
+     * @return gray matcher, null if no gray
+     */
+    public ConfigCacheGrayMatcher getGrayMatcher() {
+        return grayMatcher;
     }
 
     public Map<String, ConfigCacheGray> getConfigCacheGray() {
@@ -126,6 +139,7 @@ public class CacheItem {
     public void clearConfigGrays() {
         this.configCacheGray = null;
         this.sortedConfigCacheGrayList = null;
+        this.grayMatcher = null;
     }
 
 }
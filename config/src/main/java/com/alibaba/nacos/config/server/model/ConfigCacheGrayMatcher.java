@@ -0,0 +1,150 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.model;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.model.gray.BetaGrayRule;
+import com.alibaba.nacos.config.server.model.gray.GrayRule;
+import com.alibaba.nacos.config.server.model.gray.TagGrayRule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled matcher of the config grays of one cache item.
+ *
+ * <p>Grays are kept in priority order. Beta ips and tag values are indexed by hash to the first gray in that order
+ * which owns them, so that matching a client costs two lookups no matter how many grays or beta ips there are. Other
+ * gray rules are evaluated one by one, and only those which rank before the indexed candidate.
+ *
+ * @author Nacos
+ */
+public class ConfigCacheGrayMatcher {
+    
+    private final ConfigCacheGray[] grays;
+    
+    private final Map<String, Integer> ipIndex = new HashMap<>();
+    
+    private final Map<String, Integer> tagIndex = new HashMap<>();
+    
+    private final int[] genericIndexes;
+    
+    private ConfigCacheGrayMatcher(List<ConfigCacheGray> sortedGrays) {
+        this.grays = sortedGrays.toArray(new ConfigCacheGray[0]);
+        List<Integer> generics = new ArrayList<>();
+        for (int i = 0; i < grays.length; i++) {
+            GrayRule grayRule = grays[i].getGrayRule();
+            if (grayRule != null && grayRule.getClass() == BetaGrayRule.class) {
+                for (String each : ((BetaGrayRule) grayRule).getBetaIps()) {
+                    ipIndex.putIfAbsent(each, i);
+                }
+            } else if (grayRule != null && grayRule.getClass() == TagGrayRule.class
+                    && null != ((TagGrayRule) grayRule).getTagValue()) {
+                tagIndex.putIfAbsent(((TagGrayRule) grayRule).getTagValue(), i);
+            } else {
+                generics.add(i);
+            }
+        }
+        this.genericIndexes = generics.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Compile the grays of a cache item.
+     *
+     * @param sortedGrays grays sorted by priority, the first matched one wins
+     * @return compiled matcher
+     */
+    public static ConfigCacheGrayMatcher compile(List<ConfigCacheGray> sortedGrays) {
+        return new ConfigCacheGrayMatcher(sortedGrays);
+    }
+    
+    /**
+     * Find the gray with the highest priority matching the connection labels.
+     *
+     * @param labels connection labels, not modified
+     * @return matched gray, null if none
+     */
+    public ConfigCacheGray match(Map<String, String> labels) {
+        return match(null, null, labels);
+    }
+    
+    /**
+     * Find the gray with the highest priority matching the client. Non-blank ip and tag take precedence over the
+     * client ip and tag in the connection labels, as if they were put into the labels.
+     *
+     * @param ip     client ip, nullable
+     * @param tag    client tag, nullable
+     * @param labels connection labels, nullable and not modified
+     * @return matched gray, null if none
+     */
+    public ConfigCacheGray match(String ip, String tag, Map<String, String> labels) {
+        boolean noLabels = null == labels || labels.isEmpty();
+        if (noLabels && StringUtils.isBlank(ip) && StringUtils.isBlank(tag)) {
+            return null;
+        }
+        String clientIp = ip;
+        String clientTag = tag;
+        if (!noLabels) {
+            clientIp = StringUtils.isNotBlank(ip) ? ip : labels.get(BetaGrayRule.CLIENT_IP_LABEL);
+            clientTag = StringUtils.isNotBlank(tag) ? tag : labels.get(TagGrayRule.VIP_SERVER_TAG_LABEL);
+        }
+        int matched = grays.length;
+        if (null != clientIp) {
+            Integer index = ipIndex.get(clientIp);
+            if (null != index) {
+                matched = index;
+            }
+        }
+        if (null != clientTag) {
+            Integer index = tagIndex.get(clientTag);
+            if (null != index && index < matched) {
+                matched = index;
+            }
+        }
+        Map<String, String> mergedLabels = null;
+        for (int each : genericIndexes) {
+            if (each >= matched) {
+                break;
+            }
+            if (null == mergedLabels) {
+                mergedLabels = mergeLabels(ip, tag, labels);
+            }
+            if (grays[each].match(mergedLabels)) {
+                matched = each;
+                break;
+            }
+        }
+        return matched < grays.length ? grays[matched] : null;
+    }
+    
+    private Map<String, String> mergeLabels(String ip, String tag, Map<String, String> labels) {
+        if (StringUtils.isBlank(ip) && StringUtils.isBlank(tag)) {
+            return labels;
+        }
+        Map<String, String> result = null == labels ? new HashMap<>(4) : new HashMap<>(labels);
+        if (StringUtils.isNotBlank(ip)) {
+            result.put(BetaGrayRule.CLIENT_IP_LABEL, ip);
+        }
+        if (StringUtils.isNotBlank(tag)) {
+            result.put(TagGrayRule.VIP_SERVER_TAG_LABEL, tag);
+        }
+        return result;
+    }
+}
@@ -62,8 +62,11 @@ public class BetaGrayRule extends AbstractGrayRule {
         this.betaIps = betaIps;
     }
     
-    @Override
+    public Set<String> getBetaIps() {
+        return betaIps;
+    }
     
+    @Override
     public boolean match(Map<String, String> labels) {
         return labels.containsKey(CLIENT_IP_LABEL) && betaIps.contains(labels.get(CLIENT_IP_LABEL));
     }
@@ -57,6 +57,10 @@ public class TagGrayRule extends AbstractGrayRule {
         this.tagValue = rawGrayRule;
     }
     
+    public String getTagValue() {
+        return tagValue;
+    }
+    
     @Override
     public boolean match(Map<String, String> labels) {
         return labels.containsKey(VIP_SERVER_TAG_LABEL) && tagValue.equals(labels.get(VIP_SERVER_TAG_LABEL));
@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.config.server.monitor;
 
+import com.alibaba.nacos.config.server.service.ConfigContentCache;
+import com.alibaba.nacos.config.server.service.ConfigContentCompressor;
 import com.alibaba.nacos.core.monitor.NacosMeterRegistryCenter;
 import com.alibaba.nacos.core.monitor.topn.StringTopNCounter;
 import io.micrometer.core.instrument.Counter;
@@ -27,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
 
 /**
  * Metrics Monitor.
@@ -60,6 +63,16 @@ public class MetricsMonitor {
     
     private static AtomicInteger dumpTask = new AtomicInteger();
     
+    /**
+     * percentage of config ids scanned by the running dump all task.
+     */
+    private static AtomicInteger dumpProgress = new AtomicInteger();
+    
+    /**
+     * configs loaded into cache per second by the latest bulk dump.
+     */
+    private static AtomicInteger dumpThroughput = new AtomicInteger();
+    
     /**
      * config fuzzy search count.
      */
@@ -75,6 +88,24 @@ public class MetricsMonitor {
      */
     private static StringTopNCounter configChangeCount = new StringTopNCounter();
     
+    /**
+     * hit ratio of config content cache.
+     */
+    private static final SupplierGauge CONTENT_CACHE_HIT_RATIO = new SupplierGauge(
+            () -> ConfigContentCache.getInstance().getHitRatio());
+    
+    /**
+     * bytes of config contents resident in memory.
+     */
+    private static final SupplierGauge CONTENT_CACHE_BYTES = new SupplierGauge(
+            () -> ConfigContentCache.getInstance().getResidentBytes());
+    
+    /**
+     * ratio of compressed bytes to raw bytes of config contents sent over grpc.
+     */
+    private static final SupplierGauge CONTENT_COMPRESSION_RATIO = new SupplierGauge(
+            ConfigContentCompressor::getCompressionRatio);
+    
     static {
         ImmutableTag immutableTag = new ImmutableTag("module", "config");
         
@@ -113,11 +144,36 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "dumpTask"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpTask);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "dumpProgress"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpProgress);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "dumpThroughput"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, dumpThroughput);
+        
         tags = new ArrayList<>();
         tags.add(immutableTag);
         tags.add(new ImmutableTag("name", "fuzzySearch"));
         NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, fuzzySearch);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCacheHitRatio"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, CONTENT_CACHE_HIT_RATIO);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCacheBytes"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, CONTENT_CACHE_BYTES);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "contentCompressionRatio"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, CONTENT_COMPRESSION_RATIO);
+        
         configSubscriber.put("v1", new AtomicInteger(0));
         configSubscriber.put("v2", new AtomicInteger(0));
         
@@ -158,6 +214,14 @@ public class MetricsMonitor {
         return dumpTask;
     }
     
+    public static AtomicInteger getDumpProgressMonitor() {
+        return dumpProgress;
+    }
+    
+    public static AtomicInteger getDumpThroughputMonitor() {
+        return dumpThroughput;
+    }
+    
     public static AtomicInteger getFuzzySearchMonitor() {
         return fuzzySearch;
     }
@@ -198,6 +262,16 @@ public class MetricsMonitor {
         return NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_timer", "module", "config", "name", "dumpRt");
     }
     
+    public static Timer getCompressConfigCpuTimer() {
+        return NacosMeterRegistryCenter
+                .timer(METER_REGISTRY, "nacos_timer", "module", "config", "name", "compressConfigCpu");
+    }
+    
+    public static Timer getDecompressConfigCpuTimer() {
+        return NacosMeterRegistryCenter
+                .timer(METER_REGISTRY, "nacos_timer", "module", "config", "name", "decompressConfigCpu");
+    }
+    
     public static Counter getIllegalArgumentException() {
         return NacosMeterRegistryCenter
                 .counter(METER_REGISTRY, "nacos_exception", "module", "config", "name", "illegalArgument");
@@ -220,4 +294,38 @@ public class MetricsMonitor {
     public static void incrementConfigChangeCount(String tenant, String group, String dataId) {
         configChangeCount.increment(tenant + "@" + group + "@" + dataId);
     }
+    
+    /**
+     * Gauge value computed when it is read.
+     */
+    private static class SupplierGauge extends Number {
+        
+        private static final long serialVersionUID = -2613187658163578104L;
+        
+        private final transient DoubleSupplier supplier;
+        
+        private SupplierGauge(DoubleSupplier supplier) {
+            this.supplier = supplier;
+        }
+        
+        @Override
+        public int intValue() {
+            return (int) doubleValue();
+        }
+        
+        @Override
+        public long longValue() {
+            return (long) doubleValue();
+        }
+        
+        @Override
+        public float floatValue() {
+            return (float) doubleValue();
+        }
+        
+        @Override
+        public double doubleValue() {
+            return supplier.getAsDouble();
+        }
+    }
 }
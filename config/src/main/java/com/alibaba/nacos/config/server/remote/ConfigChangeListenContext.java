@@ -16,13 +16,11 @@
 
 package com.alibaba.nacos.config.server.remote;
 
-import com.alibaba.nacos.common.utils.CollectionUtils;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,21 +28,31 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * config change listen context.
  *
+ * <p>Listeners of a group key and listen keys of a connection are kept in concurrent maps, updates of one group key
+ * are serialized by the bin lock of the map only, so listens of different group keys and connections never block each
+ * other. A group key and a connection id are stored as one shared instance however many connections or keys refer to
+ * them.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeListenContext.java, v 0.1 2020年07月20日 1:37 PM liuzunfei Exp $
  */
 @Component
 public class ConfigChangeListenContext {
     
+    /**
+     * md5 kept for listen key without md5, concurrent map doesn't accept null value.
+     */
+    private static final String EMPTY_MD5 = "";
+    
     /**
      * groupKey-> connection set.
      */
-    private ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, GroupKeyListeners> groupKeyContext = new ConcurrentHashMap<>();
     
     /**
      * connectionId-> group key set.
      */
-    private ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConnectionListenKeys> connectionIdContext = new ConcurrentHashMap<>();
     
     /**
      * add listen.
@@ -52,11 +60,16 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connectionId.
      */
-    public synchronized void addListen(String groupKey, String md5, String connectionId) {
+    public void addListen(String groupKey, String md5, String connectionId) {
+        ConnectionListenKeys connection = connectionIdContext.computeIfAbsent(connectionId, ConnectionListenKeys::new);
         // 1.add groupKeyContext
-        groupKeyContext.computeIfAbsent(groupKey, k -> new HashSet<>()).add(connectionId);
+        GroupKeyListeners listeners = groupKeyContext.compute(groupKey, (key, value) -> {
+            GroupKeyListeners result = null == value ? new GroupKeyListeners(key) : value;
+            result.connectionIds.add(connection.connectionId);
+            return result;
+        });
         // 2.add connectionIdContext
-        connectionIdContext.computeIfAbsent(connectionId, k -> new HashMap<>(16)).put(groupKey, md5);
+        connection.listenKeys.put(listeners.groupKey, null == md5 ? EMPTY_MD5 : md5);
     }
     
     /**
@@ -65,52 +78,49 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connection id.
      */
-    public synchronized void removeListen(String groupKey, String connectionId) {
-        
+    public void removeListen(String groupKey, String connectionId) {
         //1. remove groupKeyContext
-        Set<String> connectionIds = groupKeyContext.get(groupKey);
-        if (connectionIds != null) {
-            connectionIds.remove(connectionId);
-            if (connectionIds.isEmpty()) {
-                groupKeyContext.remove(groupKey);
-            }
-        }
-        
+        removeListener(groupKey, connectionId);
         //2.remove connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys != null) {
-            groupKeys.remove(groupKey);
+        ConnectionListenKeys connection = connectionIdContext.get(connectionId);
+        if (connection != null) {
+            connection.listenKeys.remove(groupKey);
         }
     }
     
+    private void removeListener(String groupKey, String connectionId) {
+        groupKeyContext.computeIfPresent(groupKey, (key, value) -> {
+            value.connectionIds.remove(connectionId);
+            return value.connectionIds.isEmpty() ? null : value;
+        });
+    }
+    
     /**
      * get listeners of the group key.
      *
      * @param groupKey groupKey.
      * @return the copy of listeners, may be return null.
      */
-    public synchronized Set<String> getListeners(String groupKey) {
-        
-        HashSet<String> strings = groupKeyContext.get(groupKey);
-        if (CollectionUtils.isNotEmpty(strings)) {
-            Set<String> listenConnections = new HashSet<>();
-            safeCopy(strings, listenConnections);
-            return listenConnections;
+    public Set<String> getListeners(String groupKey) {
+        GroupKeyListeners listeners = groupKeyContext.get(groupKey);
+        if (null == listeners || listeners.connectionIds.isEmpty()) {
+            return null;
         }
-        return null;
+        return new HashSet<>(listeners.connectionIds);
     }
     
     /**
-     * copy collections.
+     * get listeners of the group key without copy, for iterating listeners when notifying a change.
      *
-     * @param src  may be modified concurrently
-     * @param dest dest collection
+     * <p>The view is weakly consistent, it can be iterated while listeners are added or removed concurrently, and may
+     * or may not reflect those changes.
+     *
+     * @param groupKey groupKey.
+     * @return unmodifiable view of listeners, empty if no listener.
      */
-    private void safeCopy(Collection src, Collection dest) {
-        Iterator iterator = src.iterator();
-        while (iterator.hasNext()) {
-            dest.add(iterator.next());
-        }
+    public Set<String> getListenersView(String groupKey) {
+        GroupKeyListeners listeners = groupKeyContext.get(groupKey);
+        return null == listeners ? Collections.emptySet() : listeners.view;
     }
     
     /**
@@ -118,28 +128,14 @@ public class ConfigChangeListenContext {
      *
      * @param connectionId connectionId.
      */
-    public synchronized void clearContextForConnectionId(final String connectionId) {
-        
-        Map<String, String> listenKeys = getListenKeys(connectionId);
-        
-        if (listenKeys == null) {
-            connectionIdContext.remove(connectionId);
+    public void clearContextForConnectionId(final String connectionId) {
+        ConnectionListenKeys connection = connectionIdContext.remove(connectionId);
+        if (connection == null) {
             return;
         }
-        for (Map.Entry<String, String> groupKey : listenKeys.entrySet()) {
-
-            Set<String> connectionIds = groupKeyContext.get(groupKey.getKey());
-            if (CollectionUtils.isNotEmpty(connectionIds)) {
-                connectionIds.remove(connectionId);
-                if (connectionIds.isEmpty()) {
-                    groupKeyContext.remove(groupKey.getKey());
-                }
-            } else {
-                groupKeyContext.remove(groupKey.getKey());
-            }
-
+        for (String groupKey : connection.listenKeys.keySet()) {
+            removeListener(groupKey, connectionId);
         }
-        connectionIdContext.remove(connectionId);
     }
     
     /**
@@ -148,9 +144,9 @@ public class ConfigChangeListenContext {
      * @param connectionId connection id.
      * @return listen group keys of the connection id, key:group key,value:md5
      */
-    public synchronized Map<String, String> getListenKeys(String connectionId) {
-        HashMap<String, String> stringStringHashMap = connectionIdContext.get(connectionId);
-        return stringStringHashMap == null ? null : new HashMap<>(stringStringHashMap);
+    public Map<String, String> getListenKeys(String connectionId) {
+        ConnectionListenKeys connection = connectionIdContext.get(connectionId);
+        return connection == null ? null : new HashMap<>(connection.listenKeys);
     }
     
     /**
@@ -160,8 +156,8 @@ public class ConfigChangeListenContext {
      * @return md5 of the listen group key.
      */
     public String getListenKeyMd5(String connectionId, String groupKey) {
-        Map<String, String> groupKeyContexts = connectionIdContext.get(connectionId);
-        return groupKeyContexts == null ? null : groupKeyContexts.get(groupKey);
+        ConnectionListenKeys connection = connectionIdContext.get(connectionId);
+        return connection == null ? null : connection.listenKeys.get(groupKey);
     }
     
     /**
@@ -173,4 +169,30 @@ public class ConfigChangeListenContext {
         return connectionIdContext.size();
     }
     
+    private static class GroupKeyListeners {
+        
+        private final String groupKey;
+        
+        private final Set<String> connectionIds = ConcurrentHashMap.newKeySet();
+        
+        private final Set<String> view = Collections.unmodifiableSet(connectionIds);
+        
+        private GroupKeyListeners(String groupKey) {
+            this.groupKey = groupKey;
+        }
+    }
+    
+    private static class ConnectionListenKeys {
+        
+        private final String connectionId;
+        
+        /**
+         * group key -> md5.
+         */
+        private final Map<String, String> listenKeys = new ConcurrentHashMap<>(16);
+        
+        private ConnectionListenKeys(String connectionId) {
+            this.connectionId = connectionId;
+        }
+    }
 }
@@ -29,6 +29,7 @@ import com.alibaba.nacos.common.utils.Pair;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.model.ConfigRequestInfo;
 import com.alibaba.nacos.config.server.model.form.ConfigForm;
+import com.alibaba.nacos.config.server.service.ConfigContentCompressor;
 import com.alibaba.nacos.config.server.service.ConfigOperationService;
 import com.alibaba.nacos.config.server.utils.ParamUtils;
 import com.alibaba.nacos.core.control.TpsControl;
@@ -65,7 +66,7 @@ public class ConfigPublishRequestHandler extends RequestHandler<ConfigPublishReq
         try {
             String dataId = request.getDataId();
             String group = request.getGroup();
-            String content = request.getContent();
+            String content = ConfigContentCompressor.decodeContent(request);
             final String tenant = request.getTenant();
             
             final String srcIp = meta.getClientIp();
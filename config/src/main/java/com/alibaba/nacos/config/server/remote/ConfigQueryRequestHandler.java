@@ -16,6 +16,9 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.ability.constant.AbilityStatus;
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
 import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
 import com.alibaba.nacos.api.exception.NacosException;
@@ -25,10 +28,12 @@ import com.alibaba.nacos.auth.annotation.Secured;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCacheGray;
+import com.alibaba.nacos.config.server.model.ConfigCacheGrayMatcher;
 import com.alibaba.nacos.config.server.model.gray.BetaGrayRule;
 import com.alibaba.nacos.config.server.model.gray.TagGrayRule;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
-import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.ConfigContentCache;
+import com.alibaba.nacos.config.server.service.ConfigContentCompressor;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
@@ -37,13 +42,14 @@ import com.alibaba.nacos.config.server.utils.TimeUtils;
 import com.alibaba.nacos.core.control.TpsControl;
 import com.alibaba.nacos.core.paramcheck.ExtractorManager;
 import com.alibaba.nacos.core.paramcheck.impl.ConfigRequestParamExtractor;
+import com.alibaba.nacos.core.remote.ExecutorGroup;
 import com.alibaba.nacos.core.remote.RequestHandler;
 import com.alibaba.nacos.plugin.auth.constant.ActionTypes;
 import com.alibaba.nacos.plugin.auth.constant.SignType;
 import org.springframework.stereotype.Component;
 
 import java.net.URLEncoder;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.alibaba.nacos.api.common.Constants.CLIENT_IP;
@@ -58,6 +64,7 @@ import static com.alibaba.nacos.config.server.utils.RequestUtil.CLIENT_APPNAME_H
  * @version $Id: ConfigQueryRequestHandler.java, v 0.1 2020年07月14日 9:54 AM liuzunfei Exp $
  */
 @Component
+@ExecutorGroup("config-query")
 public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest, ConfigQueryResponse> {
     
     public ConfigQueryRequestHandler() {
@@ -107,33 +114,27 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                 String md5;
                 String encryptedDataKey;
                 ConfigCacheGray matchedGray = null;
-                Map<String, String> appLabels = null;
+                String contentCacheKey = groupKey;
+                boolean contentRef = false;
                 boolean specificTag = StringUtils.isNotBlank(tag);
-                if (specificTag) {
-                    appLabels = new HashMap<>(4);
-                    appLabels.put(TagGrayRule.VIP_SERVER_TAG_LABEL, tag);
-                    appLabels.put(CLIENT_IP, clientIp);
-                } else {
-                    appLabels = new HashMap(meta.getAppLabels());
-                    if (!appLabels.containsKey(CLIENT_IP)) {
-                        appLabels.put(CLIENT_IP, clientIp);
-                    }
-                }
-                
-                if (cacheItem.getSortConfigGrays() != null && !cacheItem.getSortConfigGrays().isEmpty()) {
-                    for (ConfigCacheGray configCacheGray : cacheItem.getSortConfigGrays()) {
-                        if (configCacheGray.match(appLabels)) {
-                            matchedGray = configCacheGray;
-                            break;
-                        }
+                ConfigCacheGrayMatcher grayMatcher = cacheItem.getGrayMatcher();
+                if (grayMatcher != null) {
+                    if (specificTag) {
+                        matchedGray = grayMatcher.match(clientIp, tag, null);
+                    } else {
+                        Map<String, String> appLabels = meta.getAppLabels();
+                        matchedGray = grayMatcher.match(appLabels.containsKey(CLIENT_IP) ? null : clientIp, null,
+                                appLabels);
                     }
                 }
                 if (matchedGray != null) {
                     md5 = matchedGray.getMd5(acceptCharset);
                     lastModified = matchedGray.getLastModifiedTs();
                     encryptedDataKey = matchedGray.getEncryptedDataKey();
-                    content = ConfigDiskServiceFactory.getInstance()
-                            .getGrayContent(dataId, group, tenant, matchedGray.getGrayName());
+                    contentRef = isKnownContent(configQueryRequest, md5);
+                    content = contentRef ? null
+                            : ConfigCacheService.getGrayContent(dataId, group, tenant, matchedGray.getGrayName());
+                    contentCacheKey = ConfigContentCache.grayKey(groupKey, matchedGray.getGrayName());
                     pullEvent = ConfigTraceService.PULL_EVENT + "-" + matchedGray.getGrayName();
                     if (BetaGrayRule.TYPE_BETA.equals(matchedGray.getGrayName())) {
                         response.setBeta(true);
@@ -153,19 +154,22 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                     md5 = cacheItem.getConfigCache().getMd5(acceptCharset);
                     lastModified = cacheItem.getConfigCache().getLastModifiedTs();
                     encryptedDataKey = cacheItem.getConfigCache().getEncryptedDataKey();
-                    content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+                    contentRef = isKnownContent(configQueryRequest, md5);
+                    content = contentRef ? null : ConfigCacheService.getContent(dataId, group, tenant);
                     pullEvent = ConfigTraceService.PULL_EVENT;
                 }
                 
                 response.setMd5(md5);
                 response.setEncryptedDataKey(encryptedDataKey);
                 response.setContent(content);
+                response.setContentRef(contentRef);
                 response.setLastModified(lastModified);
-                if (content == null) {
+                if (content == null && !contentRef) {
                     pullType = ConfigTraceService.PULL_TYPE_NOTFOUND;
                     response.setErrorInfo(ConfigQueryResponse.CONFIG_NOT_FOUND, "config data not exist");
                 } else {
                     response.setResultCode(ResponseCode.SUCCESS.getCode());
+                    compressContent(response, meta, contentCacheKey);
                 }
                 LogUtil.PULL_CHECK_LOG.warn("{}|{}|{}|{}", groupKey, clientIp, md5, TimeUtils.getCurrentTimeStr());
                 
@@ -190,4 +194,28 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
         return response;
     }
     
+    /**
+     * Replace the content with its gzip bytes if the client can decompress and the content is large enough.
+     */
+    private void compressContent(ConfigQueryResponse response, RequestMeta meta, String contentCacheKey) {
+        AbilityStatus abilityStatus = meta.getConnectionAbility(AbilityKey.SDK_CLIENT_SUPPORT_CONFIG_COMPRESSION);
+        if (null == response.getContent() || AbilityStatus.SUPPORTED != abilityStatus) {
+            return;
+        }
+        byte[] compressed = ConfigContentCompressor.compress(contentCacheKey, response.getMd5(), response.getContent());
+        if (null != compressed) {
+            response.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+            response.setCompressedContent(compressed);
+            response.setContent(null);
+        }
+    }
+    
+    /**
+     * Whether the client already holds the content, so that only a reference to it is answered.
+     */
+    private boolean isKnownContent(ConfigQueryRequest configQueryRequest, String md5) {
+        List<String> knownContentMd5s = configQueryRequest.getKnownContentMd5s();
+        return md5 != null && knownContentMd5s != null && knownContentMd5s.contains(md5);
+    }
+    
 }
@@ -16,12 +16,15 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchChangeNotifyRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchChangeNotifyRequest.ChangedConfig;
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
 import com.alibaba.nacos.api.remote.AbstractPushCallBack;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
-import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.config.server.configuration.ConfigCommonConfig;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
@@ -38,12 +41,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * ConfigChangeNotifier.
  *
+ * <p>For the clients supporting {@link ConfigBatchChangeNotifyRequest}, the changed configs are collected per
+ * connection in a short window and pushed in batches, otherwise each changed config is pushed by one
+ * {@link ConfigChangeNotifyRequest}.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeNotifier.java, v 0.1 2020年07月20日 3:00 PM liuzunfei Exp $
  */
@@ -58,6 +70,11 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     
     TpsControlManager tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
     
+    /**
+     * connectionId -> (groupKey -> changed config) waiting for the batch push.
+     */
+    private final Map<String, Map<String, ChangedConfig>> pendingBatches = new ConcurrentHashMap<>();
+    
     public RpcConfigChangeNotifier() {
         NotifyCenter.registerSubscriber(this);
     }
@@ -86,17 +103,24 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
      */
     public void configDataChanged(String groupKey, String dataId, String group, String tenant) {
         
-        Set<String> listeners = configChangeListenContext.getListeners(groupKey);
-        if (CollectionUtils.isEmpty(listeners)) {
+        Set<String> listeners = configChangeListenContext.getListenersView(groupKey);
+        if (listeners.isEmpty()) {
             return;
         }
         int notifyClientCount = 0;
+        int batchWindow = ConfigCommonConfig.getInstance().getPushBatchWindow();
         for (final String client : listeners) {
             Connection connection = connectionManager.getConnection(client);
             if (connection == null) {
                 continue;
             }
             
+            if (batchWindow > 0 && isSupportBatchNotify(connection)) {
+                addToBatch(client, groupKey, dataId, group, tenant, batchWindow);
+                notifyClientCount++;
+                continue;
+            }
+            
             ConnectionMeta metaInfo = connection.getMetaInfo();
             String clientIp = metaInfo.getClientIp();
             
@@ -110,6 +134,69 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
         Loggers.REMOTE_PUSH.info("push [{}] clients, groupKey=[{}]", notifyClientCount, groupKey);
     }
     
+    private boolean isSupportBatchNotify(Connection connection) {
+        Map<String, Boolean> abilityTable = connection.getAbilityTable();
+        return null != abilityTable && Boolean.TRUE.equals(
+                abilityTable.get(AbilityKey.SDK_CLIENT_SUPPORT_CONFIG_BATCH_NOTIFY.getName()));
+    }
+    
+    private void addToBatch(String connectionId, String groupKey, String dataId, String group, String tenant,
+            int batchWindow) {
+        ChangedConfig changedConfig = new ChangedConfig();
+        changedConfig.setDataId(dataId);
+        changedConfig.setGroup(group);
+        changedConfig.setTenant(tenant);
+        boolean[] newBatch = new boolean[1];
+        pendingBatches.compute(connectionId, (key, value) -> {
+            Map<String, ChangedConfig> result = value;
+            if (null == result) {
+                result = new LinkedHashMap<>();
+                newBatch[0] = true;
+            }
+            result.put(groupKey, changedConfig);
+            return result;
+        });
+        if (newBatch[0]) {
+            ConfigExecutor.scheduleClientConfigNotifier(() -> flushBatch(connectionId), batchWindow,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Push the changed configs collected for the connection, split by the max batch size.
+     *
+     * @param connectionId connection id
+     */
+    void flushBatch(String connectionId) {
+        Map<String, ChangedConfig> batch = pendingBatches.remove(connectionId);
+        if (null == batch || batch.isEmpty()) {
+            return;
+        }
+        Connection connection = connectionManager.getConnection(connectionId);
+        if (connection == null) {
+            return;
+        }
+        int maxBatchSize = Math.max(1, ConfigCommonConfig.getInstance().getPushBatchMaxSize());
+        List<ConfigBatchChangeNotifyRequest> requests = new ArrayList<>();
+        ConfigBatchChangeNotifyRequest request = null;
+        for (ChangedConfig each : batch.values()) {
+            if (null == request || request.getChangedConfigs().size() >= maxBatchSize) {
+                request = new ConfigBatchChangeNotifyRequest();
+                requests.add(request);
+            }
+            request.getChangedConfigs().add(each);
+        }
+        ConnectionMeta metaInfo = connection.getMetaInfo();
+        for (ConfigBatchChangeNotifyRequest each : requests) {
+            RpcPushTask rpcPushRetryTask = new RpcPushTask(each,
+                    ConfigCommonConfig.getInstance().getMaxPushRetryTimes(), connectionId, metaInfo.getClientIp(),
+                    metaInfo.getAppName());
+            push(rpcPushRetryTask, connectionManager);
+        }
+        Loggers.REMOTE_PUSH.info("push [{}] changed configs in [{}] batches, clientId=[{}]", batch.size(),
+                requests.size(), connectionId);
+    }
+    
     @Override
     public void onEvent(LocalDataChangeEvent event) {
         String groupKey = event.groupKey;
@@ -130,7 +217,7 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     
     class RpcPushTask implements Runnable {
         
-        ConfigChangeNotifyRequest notifyRequest;
+        ServerRequest notifyRequest;
         
         int maxRetryTimes = -1;
         
@@ -142,7 +229,7 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
         
         String appName;
         
-        public RpcPushTask(ConfigChangeNotifyRequest notifyRequest, int maxRetryTimes, String connectionId,
+        public RpcPushTask(ServerRequest notifyRequest, int maxRetryTimes, String connectionId,
                 String clientIp, String appName) {
             this.notifyRequest = notifyRequest;
             this.maxRetryTimes = maxRetryTimes;
@@ -159,7 +246,7 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
             return tryTimes;
         }
         
-        public ConfigChangeNotifyRequest getNotifyRequest() {
+        public ServerRequest getNotifyRequest() {
             return notifyRequest;
         }
         
@@ -223,20 +310,16 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
             TpsCheckRequest tpsCheckRequest = new TpsCheckRequest();
             tpsCheckRequest.setPointName(POINT_CONFIG_PUSH_FAIL);
             tpsControlManager.check(tpsCheckRequest);
-            Loggers.REMOTE_PUSH.warn("Push fail, dataId={}, group={}, tenant={}, clientId={}",
-                    rpcPushTask.getNotifyRequest().getDataId(), rpcPushTask.getNotifyRequest().getGroup(),
-                    rpcPushTask.getNotifyRequest().getTenant(), rpcPushTask.getConnectionId(), e);
+            Loggers.REMOTE_PUSH.warn("Push fail, {}, clientId={}", describe(rpcPushTask.getNotifyRequest()),
+                    rpcPushTask.getConnectionId(), e);
             push(rpcPushTask, connectionManager);
         }
     }
     
     private static void push(RpcPushTask retryTask, ConnectionManager connectionManager) {
-        ConfigChangeNotifyRequest notifyRequest = retryTask.getNotifyRequest();
         if (retryTask.isOverTimes()) {
-            Loggers.REMOTE_PUSH.warn(
-                    "push callback retry fail over times. dataId={},group={},tenant={},clientId={}, will unregister client.",
-                    notifyRequest.getDataId(), notifyRequest.getGroup(), notifyRequest.getTenant(),
-                    retryTask.getConnectionId());
+            Loggers.REMOTE_PUSH.warn("push callback retry fail over times. {},clientId={}, will unregister client.",
+                    describe(retryTask.getNotifyRequest()), retryTask.getConnectionId());
             connectionManager.unregister(retryTask.getConnectionId());
         } else if (connectionManager.getConnection(retryTask.getConnectionId()) != null) {
             // first time:delay 0s; second time:delay 2s; third time:delay 4s
@@ -246,5 +329,16 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
         }
     }
     
+    private static String describe(ServerRequest notifyRequest) {
+        if (notifyRequest instanceof ConfigChangeNotifyRequest) {
+            ConfigChangeNotifyRequest request = (ConfigChangeNotifyRequest) notifyRequest;
+            return "dataId=" + request.getDataId() + ",group=" + request.getGroup() + ",tenant=" + request.getTenant();
+        }
+        if (notifyRequest instanceof ConfigBatchChangeNotifyRequest) {
+            return "batch configs=" + ((ConfigBatchChangeNotifyRequest) notifyRequest).getChangedConfigs();
+        }
+        return String.valueOf(notifyRequest);
+    }
+    
 }
 
@@ -22,6 +22,8 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCache;
 import com.alibaba.nacos.config.server.model.ConfigCacheGray;
+import com.alibaba.nacos.config.server.model.ConfigCacheGrayMatcher;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.model.gray.GrayRule;
 import com.alibaba.nacos.config.server.model.gray.GrayRuleManager;
@@ -31,12 +33,13 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.sys.env.EnvUtil;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static com.alibaba.nacos.api.common.Constants.CLIENT_IP;
-import static com.alibaba.nacos.api.common.Constants.VIPSERVER_TAG;
 import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
 import static com.alibaba.nacos.config.server.constant.Constants.NULL;
 import static com.alibaba.nacos.config.server.constant.Constants.PERSIST_ENCODE;
@@ -114,6 +117,7 @@ public class ConfigCacheService {
                 DUMP_LOG.info("[dump] md5 changed, save to disk cache ,groupKey={}, newMd5={},oldMd5={}", groupKey, md5,
                         localContentMd5);
                 ConfigDiskServiceFactory.getInstance().saveToDisk(dataId, group, tenant, content);
+                ConfigContentCache.getInstance().invalidate(groupKey);
             } else {
                 DUMP_LOG.warn("[dump-ignore] ignore to save to disk cache. md5 consistent,groupKey={}, md5={}",
                         groupKey, md5);
@@ -139,15 +143,7 @@ public class ConfigCacheService {
             return true;
         } catch (IOException ioe) {
             DUMP_LOG.error("[dump-exception] save disk error. " + groupKey + ", " + ioe);
-            if (ioe.getMessage() != null) {
-                String errMsg = ioe.getMessage();
-                if (errMsg.contains(NO_SPACE_CN) || errMsg.contains(NO_SPACE_EN) || errMsg.contains(DISK_QUOTA_CN)
-                        || errMsg.contains(DISK_QUOTA_EN)) {
-                    // Protect from disk full.
-                    FATAL_LOG.error("Local Disk Full,Exit", ioe);
-                    EnvUtil.systemExit();
-                }
-            }
+            exitIfDiskFull(ioe);
             return false;
         } finally {
             releaseWriteLock(groupKey);
@@ -155,6 +151,85 @@ public class ConfigCacheService {
         
     }
     
+    private static void exitIfDiskFull(IOException ioe) {
+        if (ioe.getMessage() != null) {
+            String errMsg = ioe.getMessage();
+            if (errMsg.contains(NO_SPACE_CN) || errMsg.contains(NO_SPACE_EN) || errMsg.contains(DISK_QUOTA_CN)
+                    || errMsg.contains(DISK_QUOTA_EN)) {
+                // Protect from disk full.
+                FATAL_LOG.error("Local Disk Full,Exit", ioe);
+                EnvUtil.systemExit();
+            }
+        }
+    }
+    
+    /**
+     * Save several configs to disk by one batch and update md5 values in cache.
+     *
+     * <p>Configs whose write lock can't be got at once are dumped one by one by {@link #dumpWithMd5}.
+     *
+     * @param configs configs with content.
+     * @param md5s    md5 of configs, in the same order of configs.
+     * @return count of configs dumped successfully.
+     */
+    public static int dumpBatchWithMd5(List<ConfigInfoWrapper> configs, List<String> md5s) {
+        List<Integer> locked = new ArrayList<>(configs.size());
+        List<Integer> unlocked = new ArrayList<>();
+        for (int i = 0; i < configs.size(); i++) {
+            ConfigInfoWrapper config = configs.get(i);
+            String groupKey = GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant());
+            makeSure(groupKey, config.getEncryptedDataKey()).setType(config.getType());
+            if (tryWriteLock(groupKey) < 0) {
+                unlocked.add(i);
+            } else {
+                locked.add(i);
+            }
+        }
+        int success = 0;
+        try {
+            List<ConfigInfoWrapper> changed = new ArrayList<>();
+            List<Integer> changedIndexes = new ArrayList<>();
+            for (int i : locked) {
+                ConfigInfoWrapper config = configs.get(i);
+                String groupKey = GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant());
+                if (config.getLastModified() < getLastModifiedTs(groupKey)) {
+                    DUMP_LOG.warn("[dump-ignore] timestamp is outdated,groupKey={}", groupKey);
+                    success++;
+                } else if (md5s.get(i).equals(getContentMd5(groupKey))) {
+                    updateTimeStamp(groupKey, config.getLastModified(), config.getEncryptedDataKey());
+                    success++;
+                } else {
+                    changed.add(config);
+                    changedIndexes.add(i);
+                }
+            }
+            ConfigDiskServiceFactory.getInstance().batchSaveToDisk(changed);
+            for (int i : changedIndexes) {
+                ConfigInfoWrapper config = configs.get(i);
+                String groupKey = GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant());
+                ConfigContentCache.getInstance().invalidate(groupKey);
+                updateMd5(groupKey, md5s.get(i), config.getLastModified(), config.getEncryptedDataKey());
+                success++;
+            }
+        } catch (IOException ioe) {
+            DUMP_LOG.error("[dump-exception] save disk error in batch. " + ioe);
+            exitIfDiskFull(ioe);
+        } finally {
+            for (int i : locked) {
+                ConfigInfoWrapper config = configs.get(i);
+                releaseWriteLock(GroupKey2.getKey(config.getDataId(), config.getGroup(), config.getTenant()));
+            }
+        }
+        for (int i : unlocked) {
+            ConfigInfoWrapper config = configs.get(i);
+            if (dumpWithMd5(config.getDataId(), config.getGroup(), config.getTenant(), config.getContent(), md5s.get(i),
+                    config.getLastModified(), config.getType(), config.getEncryptedDataKey())) {
+                success++;
+            }
+        }
+        return success;
+    }
+    
     /**
      * Save config file and update md5 value in cache.
      *
@@ -231,6 +306,7 @@ public class ConfigCacheService {
                         grayName, md5, localContentGrayMd5, grayRule, localGrayRule, lastModifiedTs);
                 updateGrayMd5(groupKey, grayName, grayRule, md5, lastModifiedTs, encryptedDataKey);
                 ConfigDiskServiceFactory.getInstance().saveGrayToDisk(dataId, group, tenant, grayName, content);
+                ConfigContentCache.getInstance().invalidate(ConfigContentCache.grayKey(groupKey, grayName));
                 
             } else if (grayRuleChanged) {
                 DUMP_LOG.info("[dump-gray] gray rule changed, update local jvm cache, groupKey={},grayName={}, "
@@ -286,6 +362,7 @@ public class ConfigCacheService {
             DUMP_LOG.info("[remove-gray-ok] remove gray in local disk cache,grayName={},groupKey={} ", grayName,
                     groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo4Gray(dataId, group, tenant, grayName);
+            ConfigContentCache.getInstance().invalidate(ConfigContentCache.grayKey(groupKey, grayName));
             
             CacheItem ci = CACHE.get(groupKey);
             if (ci.getConfigCacheGray() != null) {
@@ -335,7 +412,13 @@ public class ConfigCacheService {
             DUMP_LOG.info("[dump] remove  local disk cache,groupKey={} ", groupKey);
             ConfigDiskServiceFactory.getInstance().removeConfigInfo(dataId, group, tenant);
             
-            CACHE.remove(groupKey);
+            CacheItem removed = CACHE.remove(groupKey);
+            ConfigContentCache.getInstance().invalidate(groupKey);
+            if (null != removed && null != removed.getConfigCacheGray()) {
+                for (String each : removed.getConfigCacheGray().keySet()) {
+                    ConfigContentCache.getInstance().invalidate(ConfigContentCache.grayKey(groupKey, each));
+                }
+            }
             DUMP_LOG.info("[dump] remove  local jvm cache,groupKey={} ", groupKey);
             
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey));
@@ -403,24 +486,11 @@ public class ConfigCacheService {
         if (item == null) {
             return NULL;
         }
-        if (connLabels == null && StringUtils.isNotBlank(ip)) {
-            connLabels = new HashMap<>(4);
-        }
-        if (connLabels == null && StringUtils.isNotBlank(tag)) {
-            connLabels = new HashMap<>(4);
-        }
-        
-        if (StringUtils.isNotBlank(ip)) {
-            connLabels.put(CLIENT_IP, ip);
-        }
-        if (StringUtils.isNotBlank(tag)) {
-            connLabels.put(VIPSERVER_TAG, tag);
-        }
-        if (item.getSortConfigGrays() != null && connLabels != null && !connLabels.isEmpty()) {
-            for (ConfigCacheGray entry : item.getSortConfigGrays()) {
-                if (entry.match(connLabels)) {
-                    return entry.getMd5(encode);
-                }
+        ConfigCacheGrayMatcher grayMatcher = item.getGrayMatcher();
+        if (grayMatcher != null) {
+            ConfigCacheGray matchedGray = grayMatcher.match(ip, tag, connLabels);
+            if (matchedGray != null) {
+                return matchedGray.getMd5(encode);
             }
         }
         String md5 = item.getConfigCache().getMd5(encode);
@@ -472,6 +542,57 @@ public class ConfigCacheService {
         return item.getConfigCacheGray().get(grayName).getGrayRule();
     }
     
+    /**
+     * Get the content of config, from the memory cache if its md5 is still current, otherwise from the disk cache.
+     * The read lock of config should be held by caller, so the content read from disk is consistent with the md5.
+     *
+     * @param dataId dataId string value.
+     * @param group  group string value.
+     * @param tenant tenant string value.
+     * @return content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getContent(String dataId, String group, String tenant) throws IOException {
+        String groupKey = GroupKey2.getKey(dataId, group, tenant);
+        CacheItem item = CACHE.get(groupKey);
+        String md5 = null == item ? null : item.getConfigCache().getMd5Utf8();
+        ConfigContentCache contentCache = ConfigContentCache.getInstance();
+        String content = contentCache.get(groupKey, md5);
+        if (null == content) {
+            content = ConfigDiskServiceFactory.getInstance().getContent(dataId, group, tenant);
+            contentCache.put(groupKey, md5, content);
+        }
+        return content;
+    }
+    
+    /**
+     * Get the gray content of config, from the memory cache if its md5 is still current, otherwise from the disk
+     * cache. The read lock of config should be held by caller.
+     *
+     * @param dataId   dataId string value.
+     * @param group    group string value.
+     * @param tenant   tenant string value.
+     * @param grayName grayName string value.
+     * @return gray content, null if not exist.
+     * @throws IOException io exception.
+     */
+    public static String getGrayContent(String dataId, String group, String tenant, String grayName)
+            throws IOException {
+        String groupKey = GroupKey2.getKey(dataId, group, tenant);
+        CacheItem item = CACHE.get(groupKey);
+        ConfigCacheGray gray = null == item || null == item.getConfigCacheGray() ? null
+                : item.getConfigCacheGray().get(grayName);
+        String md5 = null == gray ? null : gray.getMd5Utf8();
+        String key = ConfigContentCache.grayKey(groupKey, grayName);
+        ConfigContentCache contentCache = ConfigContentCache.getInstance();
+        String content = contentCache.get(key, md5);
+        if (null == content) {
+            content = ConfigDiskServiceFactory.getInstance().getGrayContent(dataId, group, tenant, grayName);
+            contentCache.put(key, md5, content);
+        }
+        return content;
+    }
+    
     /**
      * Get and return content cache.
      *
@@ -482,6 +603,35 @@ public class ConfigCacheService {
         return CACHE.get(groupKey);
     }
     
+    /**
+     * Get all cache items, the returned collection is a read only view of cache.
+     *
+     * @return all cache items.
+     */
+    public static Collection<CacheItem> getAllContentCache() {
+        return Collections.unmodifiableCollection(CACHE.values());
+    }
+    
+    /**
+     * Restore md5 and timestamp of formal config into cache, the content must be already saved in disk.
+     *
+     * <p>Used on startup only before clients connected, so no local data change event is published.
+     *
+     * @param groupKey         groupKey.
+     * @param md5Utf8          md5 of content.
+     * @param lastModifiedTs   lastModifiedTs.
+     * @param type             file type.
+     * @param encryptedDataKey encryptedDataKey.
+     */
+    public static void restore(String groupKey, String md5Utf8, long lastModifiedTs, String type,
+            String encryptedDataKey) {
+        CacheItem cache = makeSure(groupKey, encryptedDataKey);
+        cache.setType(type);
+        cache.getConfigCache().setMd5Utf8(md5Utf8);
+        cache.getConfigCache().setLastModifiedTs(lastModifiedTs);
+        cache.getConfigCache().setEncryptedDataKey(encryptedDataKey);
+    }
+    
     public static long getLastModifiedTs(String groupKey) {
         CacheItem item = CACHE.get(groupKey);
         return (null != item) ? item.getConfigCache().getLastModifiedTs() : 0L;
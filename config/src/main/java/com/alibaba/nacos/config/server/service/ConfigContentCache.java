@@ -0,0 +1,255 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * In-memory cache of config contents in front of the disk cache, bounded by bytes.
+ *
+ * <p>Contents are kept as UTF-8 bytes and each one is bound to the md5 of the content. A content is only returned
+ * when its md5 equals to the current md5 in {@link ConfigCacheService}, so an outdated content is never served even
+ * if invalidation is missed. The cache is split into segments by key, each segment evicts least recently used
+ * contents when it is over its share of max bytes.
+ *
+ * <p>A compressed copy of the content can be attached to the cached entry, so a hot content is compressed once. It
+ * shares the md5, the eviction and the invalidation of the entry.
+ *
+ * @author Nacos
+ */
+public class ConfigContentCache {
+    
+    private static final int SEGMENT_COUNT = 16;
+    
+    private static final String GRAY_KEY_SEPARATOR = "+gray+";
+    
+    private static final ConfigContentCache INSTANCE = new ConfigContentCache(PropertyUtil::getContentCacheMaxBytes);
+    
+    private final LongSupplier maxBytesSupplier;
+    
+    private final Segment[] segments;
+    
+    private final AtomicLong residentBytes = new AtomicLong();
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    
+    private final AtomicLong missCount = new AtomicLong();
+    
+    ConfigContentCache(LongSupplier maxBytesSupplier) {
+        this.maxBytesSupplier = maxBytesSupplier;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+    
+    public static ConfigContentCache getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Build the cache key of gray content, which never conflicts with a group key.
+     *
+     * @param groupKey group key of config
+     * @param grayName gray name
+     * @return cache key of gray content
+     */
+    public static String grayKey(String groupKey, String grayName) {
+        return groupKey + GRAY_KEY_SEPARATOR + grayName;
+    }
+    
+    /**
+     * Get the cached content if it is the content of md5.
+     *
+     * @param key cache key
+     * @param md5 current md5 of content
+     * @return cached content, or null if not cached or outdated
+     */
+    public String get(String key, String md5) {
+        Entry entry = StringUtils.isEmpty(md5) ? null : segmentFor(key).get(key);
+        if (null == entry || !md5.equals(entry.md5)) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return new String(entry.content, UTF_8);
+    }
+    
+    /**
+     * Cache the content read from disk with its md5, content larger than the share of one segment is not cached.
+     *
+     * @param key     cache key
+     * @param md5     md5 of content
+     * @param content content
+     */
+    public void put(String key, String md5, String content) {
+        long segmentMaxBytes = maxBytesSupplier.getAsLong() / SEGMENT_COUNT;
+        if (segmentMaxBytes <= 0 || StringUtils.isEmpty(md5) || null == content) {
+            return;
+        }
+        byte[] bytes = content.getBytes(UTF_8);
+        if (bytes.length > segmentMaxBytes) {
+            return;
+        }
+        segmentFor(key).put(key, new Entry(md5, bytes), segmentMaxBytes);
+    }
+    
+    /**
+     * Get the compressed copy of the cached content if it is the content of md5.
+     *
+     * @param key cache key
+     * @param md5 current md5 of content
+     * @return compressed content, or null if not cached, not compressed yet or outdated
+     */
+    public byte[] getCompressed(String key, String md5) {
+        Entry entry = StringUtils.isEmpty(md5) ? null : segmentFor(key).get(key);
+        if (null == entry || !md5.equals(entry.md5)) {
+            return null;
+        }
+        return entry.compressed;
+    }
+    
+    /**
+     * Attach the compressed copy to the cached content of md5, nothing happens if the content is not cached.
+     *
+     * @param key        cache key
+     * @param md5        md5 of content
+     * @param compressed compressed content
+     */
+    public void putCompressed(String key, String md5, byte[] compressed) {
+        long segmentMaxBytes = maxBytesSupplier.getAsLong() / SEGMENT_COUNT;
+        if (segmentMaxBytes <= 0 || StringUtils.isEmpty(md5) || null == compressed) {
+            return;
+        }
+        segmentFor(key).attach(key, md5, compressed, segmentMaxBytes);
+    }
+    
+    /**
+     * Remove the cached content.
+     *
+     * @param key cache key
+     */
+    public void invalidate(String key) {
+        segmentFor(key).remove(key);
+    }
+    
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+    
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * Get the ratio of hits in all queries.
+     *
+     * @return hit ratio, 0 if never queried
+     */
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return 0 == total ? 0D : (double) hits / total;
+    }
+    
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+    
+    private static class Entry {
+        
+        private final String md5;
+        
+        private final byte[] content;
+        
+        private volatile byte[] compressed;
+        
+        private Entry(String md5, byte[] content) {
+            this.md5 = md5;
+            this.content = content;
+        }
+        
+        private long size() {
+            byte[] compressed = this.compressed;
+            return content.length + (null == compressed ? 0 : compressed.length);
+        }
+    }
+    
+    private class Segment {
+        
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+        
+        private long bytes;
+        
+        private synchronized Entry get(String key) {
+            return entries.get(key);
+        }
+        
+        private synchronized void put(String key, Entry entry, long maxBytes) {
+            Entry old = entries.put(key, entry);
+            evict(entry, entry.size() - (null == old ? 0 : old.size()), maxBytes);
+        }
+        
+        private synchronized void attach(String key, String md5, byte[] compressed, long maxBytes) {
+            Entry entry = entries.get(key);
+            if (null == entry || !md5.equals(entry.md5) || null != entry.compressed
+                    || entry.content.length + compressed.length > maxBytes) {
+                return;
+            }
+            entry.compressed = compressed;
+            evict(entry, compressed.length, maxBytes);
+        }
+        
+        private void evict(Entry current, long delta, long maxBytes) {
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (bytes + delta > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                if (eldest.getValue() == current) {
+                    continue;
+                }
+                delta -= eldest.getValue().size();
+                iterator.remove();
+            }
+            bytes += delta;
+            residentBytes.addAndGet(delta);
+        }
+        
+        private synchronized void remove(String key) {
+            Entry old = entries.remove(key);
+            if (null != old) {
+                long size = old.size();
+                bytes -= size;
+                residentBytes.addAndGet(-size);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.exception.api.NacosApiException;
+import com.alibaba.nacos.api.model.v2.ErrorCode;
+import com.alibaba.nacos.common.utils.IoUtils;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Gzip compressor of config contents sent over grpc.
+ *
+ * <p>Only contents not smaller than {@link PropertyUtil#getCompressionThreshold()} are compressed, and the compressed
+ * copy is attached to the entry in {@link ConfigContentCache}, so a hot content is compressed once until it changes.
+ * The cpu time spent on compression and decompression and the total compression ratio are recorded as metrics.
+ *
+ * @author Nacos
+ */
+public class ConfigContentCompressor {
+    
+    /**
+     * Attached to the cached content which doesn't shrink after compression, so it is not compressed again.
+     */
+    private static final byte[] INCOMPRESSIBLE = new byte[0];
+    
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    
+    private static final AtomicLong RAW_BYTES = new AtomicLong();
+    
+    private static final AtomicLong COMPRESSED_BYTES = new AtomicLong();
+    
+    private ConfigContentCompressor() {
+    }
+    
+    /**
+     * Compress the content if it is large enough and compression saves bytes.
+     *
+     * @param cacheKey key of content in {@link ConfigContentCache}
+     * @param md5      md5 of content
+     * @param content  content
+     * @return gzip bytes, or null if the content should be sent without compression
+     */
+    public static byte[] compress(String cacheKey, String md5, String content) {
+        int threshold = PropertyUtil.getCompressionThreshold();
+        // a char takes at most 3 bytes in UTF-8, skip encoding for contents surely smaller than threshold.
+        if (threshold <= 0 || null == content || (long) content.length() * 3 < threshold) {
+            return null;
+        }
+        ConfigContentCache contentCache = ConfigContentCache.getInstance();
+        byte[] compressed = contentCache.getCompressed(cacheKey, md5);
+        if (null != compressed) {
+            return INCOMPRESSIBLE == compressed ? null : compressed;
+        }
+        byte[] raw = content.getBytes(UTF_8);
+        if (raw.length < threshold) {
+            return null;
+        }
+        long start = currentCpuTime();
+        compressed = gzip(raw);
+        MetricsMonitor.getCompressConfigCpuTimer().record(currentCpuTime() - start, TimeUnit.NANOSECONDS);
+        RAW_BYTES.addAndGet(raw.length);
+        COMPRESSED_BYTES.addAndGet(compressed.length);
+        if (compressed.length >= raw.length) {
+            contentCache.putCompressed(cacheKey, md5, INCOMPRESSIBLE);
+            return null;
+        }
+        contentCache.putCompressed(cacheKey, md5, compressed);
+        return compressed;
+    }
+    
+    /**
+     * Decompress the gzip content sent by client.
+     *
+     * @param compressed gzip bytes
+     * @param maxBytes   max bytes of content after decompress
+     * @return content
+     * @throws IOException if the bytes are not gzip or the content is larger than max bytes
+     */
+    public static String decompress(byte[] compressed, long maxBytes) throws IOException {
+        long start = currentCpuTime();
+        try {
+            return new String(IoUtils.decompress(compressed, maxBytes), UTF_8);
+        } finally {
+            MetricsMonitor.getDecompressConfigCpuTimer().record(currentCpuTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * Decode the compressed content of publish request in place, so the aspects and handler of request all see the
+     * plain content. Decoding a request again does nothing.
+     *
+     * @param request publish request
+     * @return plain content of request
+     * @throws NacosException if the content encoding is unsupported or the compressed content is invalid
+     */
+    public static String decodeContent(ConfigPublishRequest request) throws NacosException {
+        String contentEncoding = request.getContentEncoding();
+        if (StringUtils.isEmpty(contentEncoding)) {
+            return request.getContent();
+        }
+        if (!Constants.Config.CONTENT_ENCODING_GZIP.equals(contentEncoding) || null == request.getCompressedContent()) {
+            throw new NacosApiException(HttpStatus.BAD_REQUEST.value(), ErrorCode.PARAMETER_VALIDATE_ERROR,
+                    "unsupported content encoding : " + contentEncoding);
+        }
+        try {
+            // a char takes at most 3 bytes in UTF-8, the length of content is checked again after decompression.
+            String content = decompress(request.getCompressedContent(), PropertyUtil.getMaxContent() * 3L);
+            request.setContent(content);
+            request.setCompressedContent(null);
+            request.setContentEncoding(null);
+            return content;
+        } catch (IOException e) {
+            throw new NacosApiException(HttpStatus.BAD_REQUEST.value(), ErrorCode.PARAMETER_VALIDATE_ERROR, e,
+                    "invalid compressed content, " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Decode the compressed content of publish request in place before the request is handled, such as in aspects.
+     *
+     * @param request publish request
+     * @return plain content of request, or null if the content can't be decoded, which is rejected by the handler
+     */
+    public static String tryDecodeContent(ConfigPublishRequest request) {
+        try {
+            return decodeContent(request);
+        } catch (NacosException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Get the ratio of compressed bytes to raw bytes of all compressed contents.
+     *
+     * @return compression ratio, 0 if nothing is compressed
+     */
+    public static double getCompressionRatio() {
+        long raw = RAW_BYTES.get();
+        return 0 == raw ? 0D : (double) COMPRESSED_BYTES.get() / raw;
+    }
+    
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            // never happens with byte array output stream.
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    private static long currentCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        }
+        return System.nanoTime();
+    }
+}
@@ -29,6 +29,7 @@ import com.alibaba.nacos.config.server.utils.GroupKey;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.MD5Util;
 import com.alibaba.nacos.config.server.utils.RequestUtil;
+import com.alibaba.nacos.config.server.utils.TimeoutWheel;
 import com.alibaba.nacos.plugin.control.ControlManagerCenter;
 import com.alibaba.nacos.plugin.control.connection.request.ConnectionCheckRequest;
 import com.alibaba.nacos.plugin.control.connection.response.ConnectionCheckResponse;
@@ -40,15 +41,13 @@ import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.MEMORY_LOG;
 import static com.alibaba.nacos.config.server.utils.LogUtil.PULL_LOG;
@@ -56,6 +55,10 @@ import static com.alibaba.nacos.config.server.utils.LogUtil.PULL_LOG;
 /**
  * LongPollingService.
  *
+ * <p>Long polling clients are indexed by listened group key and by ip, so a config change only visits the clients
+ * listening it. Changes of one client are coalesced in a short window into one response, and the hanging clients time
+ * out by a timing wheel instead of one scheduled future per client.
+ *
  * @author Nacos
  */
 @Service
@@ -67,6 +70,17 @@ public class LongPollingService {
     
     private static final String TRUE_STR = "true";
     
+    /**
+     * Switch of the window in milliseconds to coalesce changes into one response of a long polling client.
+     */
+    static final String CHANGE_COALESCE_TIME = "longPollingChangeCoalesceTime";
+    
+    private static final int DEFAULT_CHANGE_COALESCE_TIME = 50;
+    
+    private static final long TIMEOUT_TICK_MILLIS = 50L;
+    
+    private static final int TIMEOUT_WHEEL_SIZE = 1024;
+    
     private Map<String, Long> retainIps = new ConcurrentHashMap<>();
     
     public SampleResult getSubscribleInfo(String dataId, String group, String tenant) {
@@ -74,10 +88,8 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<>(50);
         
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.clientMd5Map.containsKey(groupKey)) {
-                lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
-            }
+        for (ClientLongPolling clientLongPolling : getSubscribers(groupKeySubs, groupKey)) {
+            lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
         return sampleResult;
@@ -87,12 +99,10 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<>(50);
         
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.ip.equals(clientIp)) {
-                // One ip can have multiple listener.
-                if (!lisentersGroupkeyStatus.equals(clientLongPolling.clientMd5Map)) {
-                    lisentersGroupkeyStatus.putAll(clientLongPolling.clientMd5Map);
-                }
+        for (ClientLongPolling clientLongPolling : getSubscribers(ipSubs, clientIp)) {
+            // One ip can have multiple listener.
+            if (!lisentersGroupkeyStatus.equals(clientLongPolling.clientMd5Map)) {
+                lisentersGroupkeyStatus.putAll(clientLongPolling.clientMd5Map);
             }
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
@@ -228,9 +238,12 @@ public class LongPollingService {
     
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<>();
+        allSubs = ConcurrentHashMap.newKeySet();
+        timeoutWheel = new TimeoutWheel<>(TIMEOUT_TICK_MILLIS, TIMEOUT_WHEEL_SIZE, System.currentTimeMillis());
         
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, 10L, TimeUnit.SECONDS);
+        ConfigExecutor.scheduleLongPolling(new TimeoutTask(), TIMEOUT_TICK_MILLIS, TIMEOUT_TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
         
         // Register LocalDataChangeEvent to NotifyCenter.
         NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.ringBufferSize);
@@ -262,25 +275,67 @@ public class LongPollingService {
     /**
      * ClientLongPolling subscibers.
      */
-    final Queue<ClientLongPolling> allSubs;
+    final Set<ClientLongPolling> allSubs;
+    
+    /**
+     * groupKey -> ClientLongPolling subscibers listening the group key.
+     */
+    private final Map<String, Set<ClientLongPolling>> groupKeySubs = new ConcurrentHashMap<>();
+    
+    /**
+     * ip -> ClientLongPolling subscibers from the ip.
+     */
+    private final Map<String, Set<ClientLongPolling>> ipSubs = new ConcurrentHashMap<>();
+    
+    private final TimeoutWheel<ClientLongPolling> timeoutWheel;
+    
+    private void addSubscriber(ClientLongPolling clientSub) {
+        allSubs.add(clientSub);
+        addIndex(ipSubs, clientSub.ip, clientSub);
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            addIndex(groupKeySubs, groupKey, clientSub);
+        }
+    }
+    
+    private boolean removeSubscriber(ClientLongPolling clientSub) {
+        if (!allSubs.remove(clientSub)) {
+            return false;
+        }
+        removeIndex(ipSubs, clientSub.ip, clientSub);
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            removeIndex(groupKeySubs, groupKey, clientSub);
+        }
+        return true;
+    }
+    
+    private static void addIndex(Map<String, Set<ClientLongPolling>> index, String key, ClientLongPolling clientSub) {
+        index.compute(key, (k, value) -> {
+            Set<ClientLongPolling> result = null == value ? ConcurrentHashMap.newKeySet() : value;
+            result.add(clientSub);
+            return result;
+        });
+    }
+    
+    private static void removeIndex(Map<String, Set<ClientLongPolling>> index, String key,
+            ClientLongPolling clientSub) {
+        index.computeIfPresent(key, (k, value) -> {
+            value.remove(clientSub);
+            return value.isEmpty() ? null : value;
+        });
+    }
+    
+    private static Set<ClientLongPolling> getSubscribers(Map<String, Set<ClientLongPolling>> index, String key) {
+        Set<ClientLongPolling> result = index.get(key);
+        return null == result ? Collections.emptySet() : result;
+    }
     
     class DataChangeTask implements Runnable {
         
         @Override
         public void run() {
             try {
-                for (Iterator<ClientLongPolling> iter = allSubs.iterator(); iter.hasNext(); ) {
-                    ClientLongPolling clientSub = iter.next();
-                    if (clientSub.clientMd5Map.containsKey(groupKey)) {
-                        
-                        getRetainIps().put(clientSub.ip, System.currentTimeMillis());
-                        iter.remove(); // Delete subscribers' relationships.
-                        LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime),
-                                "in-advance",
-                                RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
-                                "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
-                        clientSub.sendResponse(Collections.singletonList(groupKey));
-                    }
+                for (ClientLongPolling clientSub : getSubscribers(groupKeySubs, groupKey)) {
+                    clientSub.onChanged(groupKey, changeTime);
                 }
                 
             } catch (Throwable t) {
@@ -307,42 +362,92 @@ public class LongPollingService {
         }
     }
     
+    class TimeoutTask implements Runnable {
+        
+        @Override
+        public void run() {
+            try {
+                for (ClientLongPolling each : timeoutWheel.advance(System.currentTimeMillis(),
+                        ClientLongPolling::isWaiting)) {
+                    each.onTimeout();
+                }
+            } catch (Throwable t) {
+                LogUtil.DEFAULT_LOG.error("long polling timeout error:" + t.getMessage(), t);
+            }
+        }
+    }
+    
     public class ClientLongPolling implements Runnable {
         
         @Override
         public void run() {
-            asyncTimeoutFuture = ConfigExecutor.scheduleLongPolling(() -> {
-                try {
-                    getRetainIps().put(ClientLongPolling.this.ip, System.currentTimeMillis());
-                    
-                    // Delete subscriber's relations.
-                    boolean removeFlag = allSubs.remove(ClientLongPolling.this);
-                    
-                    if (removeFlag) {
-                        
-                        LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - createTime),
-                                "timeout", RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()),
-                                "polling", clientMd5Map.size(), probeRequestSize);
-                        sendResponse(null);
-                        
-                    } else {
-                        LogUtil.DEFAULT_LOG.warn("client subsciber's relations delete fail.");
-                    }
-                } catch (Throwable t) {
-                    LogUtil.DEFAULT_LOG.error("long polling error:" + t.getMessage(), t.getCause());
+            addSubscriber(this);
+            timeoutWheel.add(this, createTime + timeoutTime);
+        }
+        
+        boolean isWaiting() {
+            return !finished.get();
+        }
+        
+        /**
+         * Record the changed group key, the response is sent after the coalesce window, so that the changes in the
+         * window are returned by one response.
+         *
+         * @param groupKey   changed group key
+         * @param changeTime time of change
+         */
+        void onChanged(String groupKey, long changeTime) {
+            changedGroups.add(groupKey);
+            if (!changePending.compareAndSet(false, true)) {
+                return;
+            }
+            firstChangeTime = changeTime;
+            int coalesceTime = SwitchService.getSwitchInteger(CHANGE_COALESCE_TIME, DEFAULT_CHANGE_COALESCE_TIME);
+            if (coalesceTime <= 0) {
+                ConfigExecutor.executeLongPolling(this::sendChangedResponse);
+            } else {
+                ConfigExecutor.scheduleLongPolling(this::sendChangedResponse, coalesceTime, TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        private void sendChangedResponse() {
+            try {
+                if (!finish()) {
+                    return;
                 }
-                
-            }, timeoutTime, TimeUnit.MILLISECONDS);
-            
-            allSubs.add(this);
+                List<String> changedGroupKeys = new ArrayList<>(changedGroups);
+                LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - firstChangeTime),
+                        "in-advance", RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()),
+                        "polling", clientMd5Map.size(), probeRequestSize, changedGroupKeys);
+                sendResponse(changedGroupKeys);
+            } catch (Throwable t) {
+                LogUtil.DEFAULT_LOG.error("data change error: {}", ExceptionUtil.getStackTrace(t));
+            }
         }
         
-        void sendResponse(List<String> changedGroups) {
-            
-            // Cancel time out task.
-            if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
+        void onTimeout() {
+            if (!finish()) {
+                return;
+            }
+            LogUtil.CLIENT_LOG.info("{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - createTime), "timeout",
+                    RequestUtil.getRemoteIp((HttpServletRequest) asyncContext.getRequest()), "polling",
+                    clientMd5Map.size(), probeRequestSize);
+            sendResponse(null);
+        }
+        
+        /**
+         * Finish the long polling and delete subscriber's relations, only the first caller gets {@code true}.
+         */
+        private boolean finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
             }
+            getRetainIps().put(ip, System.currentTimeMillis());
+            removeSubscriber(this);
+            return true;
+        }
+        
+        void sendResponse(List<String> changedGroups) {
             generateResponse(changedGroups);
         }
         
@@ -400,7 +505,13 @@ public class LongPollingService {
         
         final long timeoutTime;
         
-        Future<?> asyncTimeoutFuture;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        
+        private final AtomicBoolean changePending = new AtomicBoolean();
+        
+        private final Set<String> changedGroups = ConcurrentHashMap.newKeySet(4);
+        
+        private volatile long firstChangeTime;
         
         @Override
         public String toString() {
@@ -451,4 +562,8 @@ public class LongPollingService {
     public int getSubscriberCount() {
         return allSubs.size();
     }
+    
+    public int getSubscriberCount(String ip) {
+        return getSubscribers(ipSubs, ip).size();
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.SwitchService;
+import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
+
+/**
+ * Load changed configs into cache in bulk.
+ *
+ * <p>The contents of the changed ids are fetched by multi-row queries instead of one query per config, then md5 is
+ * computed and the cache is updated in parallel on the dump executor, one chunk at a time.
+ *
+ * @author Nacos
+ */
+public class ConfigBulkDumper {
+    
+    /**
+     * max ids of one multi-row query.
+     */
+    static final int MAX_IDS_PER_QUERY = 200;
+    
+    private final ConfigInfoPersistService configInfoPersistService;
+    
+    private final String logTag;
+    
+    public ConfigBulkDumper(ConfigInfoPersistService configInfoPersistService, String logTag) {
+        this.configInfoPersistService = configInfoPersistService;
+        this.logTag = logTag;
+    }
+    
+    /**
+     * Load the configs of ids into cache, and wait until all of them are dumped.
+     *
+     * @param ids ids of changed configs
+     * @return count of configs dumped successfully
+     */
+    public int dumpByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        AtomicInteger success = new AtomicInteger();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            List<ConfigInfoWrapper> configs = configInfoPersistService.findConfigInfoForDumpByIds(chunk);
+            List<Future<?>> futures = new ArrayList<>(configs.size());
+            for (ConfigInfoWrapper cf : configs) {
+                loadSpecialConfig(cf);
+                futures.add(ConfigExecutor.submitDump(() -> {
+                    if (dump(cf)) {
+                        success.incrementAndGet();
+                    }
+                }));
+            }
+            waitFor(futures);
+        }
+        long cost = Math.max(1L, System.currentTimeMillis() - start);
+        MetricsMonitor.getDumpThroughputMonitor().set((int) (success.get() * 1000L / cost));
+        LogUtil.DEFAULT_LOG.info("[{}] bulk dump {} / {} configs, cost={}ms", logTag, success.get(), ids.size(), cost);
+        return success.get();
+    }
+    
+    private void loadSpecialConfig(ConfigInfoWrapper cf) {
+        if (ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA.equals(cf.getDataId())) {
+            ClientIpWhiteList.load(cf.getContent());
+        }
+        if (SwitchService.SWITCH_META_DATA_ID.equals(cf.getDataId())) {
+            SwitchService.load(cf.getContent());
+        }
+    }
+    
+    private boolean dump(ConfigInfoWrapper cf) {
+        final String content = cf.getContent();
+        final String md5Utf8 = MD5Utils.md5Hex(content, ENCODE_UTF8);
+        boolean result = ConfigCacheService.dumpWithMd5(cf.getDataId(), cf.getGroup(), cf.getTenant(), content,
+                md5Utf8, cf.getLastModified(), cf.getType(), cf.getEncryptedDataKey());
+        String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
+        if (result) {
+            LogUtil.DUMP_LOG.info("[{}-ok] {}, {}, length={},md5UTF8={}", logTag, groupKey, cf.getLastModified(),
+                    content.length(), md5Utf8);
+        } else {
+            LogUtil.DUMP_LOG.info("[{}-error] {}", logTag, groupKey);
+        }
+        return result;
+    }
+    
+    private void waitFor(List<Future<?>> futures) {
+        for (Future<?> each : futures) {
+            try {
+                each.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                LogUtil.DUMP_LOG.error("[{}-error] dump config failed", logTag, e.getCause());
+            }
+        }
+    }
+}
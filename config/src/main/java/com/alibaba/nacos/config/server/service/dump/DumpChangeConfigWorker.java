@@ -16,10 +16,8 @@
 
 package com.alibaba.nacos.config.server.service.dump;
 
-import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.ConfigInfoStateWrapper;
-import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.service.repository.HistoryConfigInfoPersistService;
@@ -29,7 +27,10 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -44,6 +45,8 @@ public class DumpChangeConfigWorker implements Runnable {
     
     private HistoryConfigInfoPersistService historyConfigInfoPersistService;
     
+    private final ConfigBulkDumper bulkDumper;
+    
     Timestamp startTime;
     
     public DumpChangeConfigWorker(ConfigInfoPersistService configInfoPersistService,
@@ -51,6 +54,7 @@ public class DumpChangeConfigWorker implements Runnable {
         this.configInfoPersistService = configInfoPersistService;
         this.historyConfigInfoPersistService = historyConfigInfoPersistService;
         this.startTime = startTime;
+        this.bulkDumper = new ConfigBulkDumper(configInfoPersistService, "dump-change");
     }
     
     int pageSize = 100;
@@ -70,82 +74,7 @@ public class DumpChangeConfigWorker implements Runnable {
                 LogUtil.DEFAULT_LOG.info("DumpChange task is not open");
                 return;
             }
-            Timestamp currentTime = new Timestamp(System.currentTimeMillis());
-            LogUtil.DEFAULT_LOG.info("DumpChange start ,from time {},current time {}", startTime, currentTime);
-            
-            LogUtil.DEFAULT_LOG.info("Start to check delete configs from  time {}", startTime);
-            
-            long startDeletedConfigTime = System.currentTimeMillis();
-            LogUtil.DEFAULT_LOG.info("Check delete configs from  time {}", startTime);
-            
-            long deleteCursorId = 0L;
-            
-            while (true) {
-                List<ConfigInfoStateWrapper> configDeleted = historyConfigInfoPersistService.findDeletedConfig(startTime,
-                        deleteCursorId, pageSize, Constants.FORMAL);
-                for (ConfigInfoStateWrapper configInfo : configDeleted) {
-                    if (configInfoPersistService.findConfigInfoState(configInfo.getDataId(), configInfo.getGroup(),
-                            configInfo.getTenant()) == null) {
-                        ConfigCacheService.remove(configInfo.getDataId(), configInfo.getGroup(),
-                                configInfo.getTenant());
-                        LogUtil.DEFAULT_LOG.info("[dump-delete-ok], groupKey: {}, tenant: {}",
-                                new Object[] {GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup())}, configInfo.getTenant());
-                    }
-                }
-                if (configDeleted.size() < pageSize) {
-                    break;
-                }
-                deleteCursorId = configDeleted.get(configDeleted.size() - 1).getId();
-                
-            }
-            LogUtil.DEFAULT_LOG.info("Check delete configs finished,cost:{}",
-                    System.currentTimeMillis() - startDeletedConfigTime);
-            
-            LogUtil.DEFAULT_LOG.info("Check changeConfig start");
-            long startChangeConfigTime = System.currentTimeMillis();
-            
-            long changeCursorId = 0L;
-            while (true) {
-                LogUtil.DEFAULT_LOG.info("Check changed configs from  time {},lastMaxId={}", startTime, changeCursorId);
-                List<ConfigInfoStateWrapper> changeConfigs = configInfoPersistService.findChangeConfig(startTime,
-                        changeCursorId, pageSize);
-                for (ConfigInfoStateWrapper cf : changeConfigs) {
-                    final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
-                    //check md5 & localtimestamp update local disk cache.
-                    boolean newLastModified = cf.getLastModified() > ConfigCacheService.getLastModifiedTs(groupKey);
-                    String localContentMd5 = ConfigCacheService.getContentMd5(groupKey);
-                    boolean md5Update = !localContentMd5.equals(cf.getMd5());
-                    if (newLastModified || md5Update) {
-                        LogUtil.DEFAULT_LOG.info("[dump-change] find change config  {}, {}, md5={}",
-                                new Object[] {groupKey, cf.getLastModified(), cf.getMd5()});
-                        ConfigInfoWrapper configInfoWrapper = configInfoPersistService.findConfigInfo(cf.getDataId(),
-                                cf.getGroup(), cf.getTenant());
-                        LogUtil.DUMP_LOG.info("[dump-change] find change config  {}, {}, md5={}",
-                                new Object[] {groupKey, cf.getLastModified(), cf.getMd5()});
-                        ConfigCacheService.dump(configInfoWrapper.getDataId(), configInfoWrapper.getGroup(),
-                                configInfoWrapper.getTenant(), configInfoWrapper.getContent(),
-                                configInfoWrapper.getLastModified(), configInfoWrapper.getType(),
-                                configInfoWrapper.getEncryptedDataKey());
-                        final String content = configInfoWrapper.getContent();
-                        final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE_GBK);
-                        final String md5Utf8 = MD5Utils.md5Hex(content, Constants.ENCODE_UTF8);
-                        
-                        LogUtil.DEFAULT_LOG.info("[dump-change-ok] {}, {}, length={}, md5={},md5UTF8={}",
-                                new Object[] {groupKey, configInfoWrapper.getLastModified(), content.length(), md5,
-                                        md5Utf8});
-                    }
-                }
-                if (changeConfigs.size() < pageSize) {
-                    break;
-                }
-                changeCursorId = changeConfigs.get(changeConfigs.size() - 1).getId();
-            }
-            
-            long endChangeConfigTime = System.currentTimeMillis();
-            LogUtil.DEFAULT_LOG.info(
-                    "Check changed configs finished,cost:{}, next task running will from start time  {}",
-                    endChangeConfigTime - startChangeConfigTime, currentTime);
-            startTime = currentTime;
+            dumpChange();
         } catch (Throwable e) {
             LogUtil.DEFAULT_LOG.error("Check changed configs error", e);
         } finally {
@@ -156,4 +85,81 @@ public class DumpChangeConfigWorker implements Runnable {
             
         }
     }
+    
+    /**
+     * Dump the configs changed or deleted since start time once, and move start time forward if succeed.
+     */
+    public void dumpChange() {
+        Timestamp currentTime = new Timestamp(System.currentTimeMillis());
+        LogUtil.DEFAULT_LOG.info("DumpChange start ,from time {},current time {}", startTime, currentTime);
+        
+        LogUtil.DEFAULT_LOG.info("Start to check delete configs from  time {}", startTime);
+        
+        long startDeletedConfigTime = System.currentTimeMillis();
+        LogUtil.DEFAULT_LOG.info("Check delete configs from  time {}", startTime);
+        
+        long deleteCursorId = 0L;
+        
+        while (true) {
+            List<ConfigInfoStateWrapper> configDeleted = historyConfigInfoPersistService.findDeletedConfig(startTime,
+                    deleteCursorId, pageSize, Constants.FORMAL);
+            Set<String> checkedGroupKeys = new HashSet<>();
+            for (ConfigInfoStateWrapper configInfo : configDeleted) {
+                String groupKey = GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup(),
+                        configInfo.getTenant());
+                // the history keeps one record per deletion, and nothing to remove if it is not cached locally.
+                if (!checkedGroupKeys.add(groupKey) || ConfigCacheService.getContentCache(groupKey) == null) {
+                    continue;
+                }
+                if (configInfoPersistService.findConfigInfoState(configInfo.getDataId(), configInfo.getGroup(),
+                        configInfo.getTenant()) == null) {
+                    ConfigCacheService.remove(configInfo.getDataId(), configInfo.getGroup(),
+                            configInfo.getTenant());
+                    LogUtil.DEFAULT_LOG.info("[dump-delete-ok], groupKey: {}, tenant: {}",
+                            new Object[] {GroupKey2.getKey(configInfo.getDataId(), configInfo.getGroup())}, configInfo.getTenant());
+                }
+            }
+            if (configDeleted.size() < pageSize) {
+                break;
+            }
+            deleteCursorId = configDeleted.get(configDeleted.size() - 1).getId();
+            
+        }
+        LogUtil.DEFAULT_LOG.info("Check delete configs finished,cost:{}",
+                System.currentTimeMillis() - startDeletedConfigTime);
+        
+        LogUtil.DEFAULT_LOG.info("Check changeConfig start");
+        long startChangeConfigTime = System.currentTimeMillis();
+        
+        long changeCursorId = 0L;
+        while (true) {
+            LogUtil.DEFAULT_LOG.info("Check changed configs from  time {},lastMaxId={}", startTime, changeCursorId);
+            List<ConfigInfoStateWrapper> changeConfigs = configInfoPersistService.findChangeConfig(startTime,
+                    changeCursorId, pageSize);
+            List<Long> changedIds = new ArrayList<>();
+            for (ConfigInfoStateWrapper cf : changeConfigs) {
+                final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
+                //check md5 & localtimestamp update local disk cache.
+                boolean newLastModified = cf.getLastModified() > ConfigCacheService.getLastModifiedTs(groupKey);
+                String localContentMd5 = ConfigCacheService.getContentMd5(groupKey);
+                boolean md5Update = !localContentMd5.equals(cf.getMd5());
+                if (newLastModified || md5Update) {
+                    LogUtil.DEFAULT_LOG.info("[dump-change] find change config  {}, {}, md5={}",
+                            new Object[] {groupKey, cf.getLastModified(), cf.getMd5()});
+                    changedIds.add(cf.getId());
+                }
+            }
+            bulkDumper.dumpByIds(changedIds);
+            if (changeConfigs.size() < pageSize) {
+                break;
+            }
+            changeCursorId = changeConfigs.get(changeConfigs.size() - 1).getId();
+        }
+        
+        long endChangeConfigTime = System.currentTimeMillis();
+        LogUtil.DEFAULT_LOG.info(
+                "Check changed configs finished,cost:{}, next task running will from start time  {}",
+                endChangeConfigTime - startChangeConfigTime, currentTime);
+        startTime = currentTime;
+    }
 }
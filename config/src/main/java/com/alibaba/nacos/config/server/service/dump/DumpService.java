@@ -22,9 +22,13 @@ import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.manager.TaskManager;
 import com.alibaba.nacos.config.server.model.event.ConfigDataChangeEvent;
+import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
+import com.alibaba.nacos.config.server.service.SwitchService;
 import com.alibaba.nacos.config.server.service.dump.disk.ConfigDiskServiceFactory;
+import com.alibaba.nacos.config.server.service.dump.disk.ConfigDumpManifest;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllGrayProcessor;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpAllProcessor;
 import com.alibaba.nacos.config.server.service.dump.processor.DumpProcessor;
@@ -46,6 +50,7 @@ import com.alibaba.nacos.sys.utils.TimerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
@@ -94,6 +99,19 @@ public abstract class DumpService {
     
     static final int INIT_THREAD_COUNT = 10;
     
+    /**
+     * interval to write dump manifest.
+     */
+    static final int DUMP_MANIFEST_INTERVAL_IN_MINUTE = 10;
+    
+    /**
+     * configs changed within this window before the manifest is written are checked again on restart, in case of
+     * clock skew between server and database.
+     */
+    static final long DUMP_MANIFEST_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    
+    private volatile long manifestMaxId;
+    
     int total = 0;
     
     /**
@@ -194,6 +212,22 @@ public abstract class DumpService {
         }
     }
     
+    /**
+     * dump manifest writer.
+     */
+    class DumpManifestWriter implements Runnable {
+        
+        @Override
+        public void run() {
+            try {
+                manifestMaxId = configInfoPersistService.findConfigMaxId();
+            } catch (Exception e) {
+                LogUtil.DEFAULT_LOG.warn("[dump-manifest] query max id failed, use the last one {}", manifestMaxId);
+            }
+            writeManifest();
+        }
+    }
+    
     /**
      * dump all gray processor runner.
      */
@@ -220,6 +254,12 @@ public abstract class DumpService {
                 ConfigDiskServiceFactory.getInstance().clearAllGray();
                 dumpAllGrayProcessor.process(new DumpAllGrayTask());
                 
+                if (PropertyUtil.isDumpFastRestart()) {
+                    new DumpManifestWriter().run();
+                    ConfigExecutor.scheduleConfigTask(new DumpManifestWriter(), DUMP_MANIFEST_INTERVAL_IN_MINUTE,
+                            DUMP_MANIFEST_INTERVAL_IN_MINUTE, TimeUnit.MINUTES);
+                    ThreadUtils.addShutdownHook(this::writeManifest);
+                }
             } catch (Exception e) {
                 LogUtil.FATAL_LOG.error(
                         "Nacos Server did not start because dumpservice bean construction failure :\n" + e);
@@ -261,6 +301,10 @@ public abstract class DumpService {
     private void dumpAllConfigInfoOnStartup(DumpAllProcessor dumpAllProcessor) {
         
         try {
+            if (PropertyUtil.isDumpFastRestart() && restoreFromManifest()) {
+                return;
+            }
+            ConfigDumpManifest.delete();
             LogUtil.DEFAULT_LOG.info("start clear all config-info.");
             ConfigDiskServiceFactory.getInstance().clearAll();
             dumpAllProcessor.process(new DumpAllTask(true));
@@ -270,6 +314,68 @@ public abstract class DumpService {
         }
     }
     
+    /**
+     * Restore cache from dump manifest and local disk, then dump the configs changed since the manifest written.
+     *
+     * @return {@code false} if manifest is absent or inconsistent, and all configs should be dumped
+     */
+    private boolean restoreFromManifest() {
+        long start = System.currentTimeMillis();
+        ConfigDumpManifest manifest = ConfigDumpManifest.load();
+        if (null == manifest) {
+            return false;
+        }
+        // deleted configs are found by history, which is cleared after retention days.
+        if (start - manifest.getTimestamp() > TimeUnit.DAYS.toMillis(PropertyUtil.getConfigRententionDays())) {
+            LogUtil.DEFAULT_LOG.warn("[dump-manifest] manifest is expired, written at {}", manifest.getTimestamp());
+            return false;
+        }
+        long currentMaxId = configInfoPersistService.findConfigMaxId();
+        if (currentMaxId < manifest.getMaxId()) {
+            LogUtil.DEFAULT_LOG.warn("[dump-manifest] manifest max id {} is larger than database max id {}",
+                    manifest.getMaxId(), currentMaxId);
+            return false;
+        }
+        if (!manifest.verify()) {
+            return false;
+        }
+        manifest.restore();
+        loadSpecialConfigs(manifest);
+        new DumpChangeConfigWorker(configInfoPersistService, historyConfigInfoPersistService,
+                new Timestamp(manifest.getTimestamp() - DUMP_MANIFEST_SKEW_MILLIS)).dumpChange();
+        LogUtil.DEFAULT_LOG.info("[dump-manifest] restore {} configs from manifest, cost {} ms",
+                manifest.getEntries().size(), System.currentTimeMillis() - start);
+        return true;
+    }
+    
+    private void loadSpecialConfigs(ConfigDumpManifest manifest) {
+        for (ConfigDumpManifest.Entry each : manifest.getEntries()) {
+            String[] keys = GroupKey2.parseKey(each.getGroupKey());
+            if (!ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA.equals(keys[0])
+                    && !SwitchService.SWITCH_META_DATA_ID.equals(keys[0])) {
+                continue;
+            }
+            try {
+                String content = ConfigDiskServiceFactory.getInstance().getContent(keys[0], keys[1], keys[2]);
+                if (ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA.equals(keys[0])) {
+                    ClientIpWhiteList.load(content);
+                } else {
+                    SwitchService.load(content);
+                }
+            } catch (IOException e) {
+                LogUtil.DEFAULT_LOG.warn("[dump-manifest] load {} failed", each.getGroupKey(), e);
+            }
+        }
+    }
+    
+    private void writeManifest() {
+        try {
+            ConfigDumpManifest.write(manifestMaxId);
+        } catch (Exception e) {
+            LogUtil.DEFAULT_LOG.warn("[dump-manifest] write manifest failed", e);
+        }
+    }
+    
     /**
      * dump operation.
      *
@@ -16,7 +16,12 @@
 
 package com.alibaba.nacos.config.server.service.dump.disk;
 
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * config disk service.
@@ -90,6 +95,34 @@ public interface ConfigDiskService {
      */
     String getContent(String dataId, String group, String tenant) throws IOException;
     
+    /**
+     * Save configuration information of several configs to disk.
+     *
+     * @param configs configs with content.
+     * @throws IOException io exception.
+     */
+    default void batchSaveToDisk(List<? extends ConfigInfo> configs) throws IOException {
+        for (ConfigInfo each : configs) {
+            saveToDisk(each.getDataId(), each.getGroup(), each.getTenant(), each.getContent());
+        }
+    }
+    
+    /**
+     * Returns the contents of several configs.
+     *
+     * @param groupKeys group keys of configs.
+     * @return contents in the same order of group keys, null if not exist.
+     * @throws IOException io exception.
+     */
+    default List<String> batchGetContent(List<String> groupKeys) throws IOException {
+        List<String> result = new ArrayList<>(groupKeys.size());
+        for (String each : groupKeys) {
+            String[] keys = GroupKey2.parseKey(each);
+            result.add(getContent(keys[0], keys[1], keys[2]));
+        }
+        return result;
+    }
+    
     /**
      * Clear all config file.
      */
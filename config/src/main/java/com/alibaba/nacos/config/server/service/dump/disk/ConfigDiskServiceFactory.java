@@ -38,8 +38,7 @@ public class ConfigDiskServiceFactory {
         if (configDiskService == null) {
             synchronized (ConfigDiskServiceFactory.class) {
                 if (configDiskService == null) {
-                    String type = System.getProperty("config_disk_type", TYPE_RAW_DISK);
-                    if (type.equalsIgnoreCase(TYPE_ROCKSDB)) {
+                    if (TYPE_ROCKSDB.equals(getType())) {
                         configDiskService = new ConfigRocksDbDiskService();
                     } else {
                         configDiskService = new ConfigRawDiskService();
@@ -51,4 +50,13 @@ public class ConfigDiskServiceFactory {
         return configDiskService;
     }
     
+    /**
+     * get type of disk service in use.
+     *
+     * @return {@code rocksdb} or {@code rawdisk}
+     */
+    public static String getType() {
+        String type = System.getProperty("config_disk_type", TYPE_RAW_DISK);
+        return type.equalsIgnoreCase(TYPE_ROCKSDB) ? TYPE_ROCKSDB : TYPE_RAW_DISK;
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
+
+/**
+ * Manifest of the formal configs saved in local disk, which lets server restore the cache on restart without dumping
+ * all configs from database.
+ *
+ * <p>The manifest is a text file next to the disk cache. The header records the version, snapshot time, max config id
+ * and disk type, each following line records group key, md5, last modified time, type and encrypted data key of one
+ * config, and the footer records entry count and crc32 of the entries, so a partially written manifest is rejected.
+ *
+ * @author Nacos
+ */
+public class ConfigDumpManifest {
+    
+    static final String FILE_NAME = "data" + File.separator + "config-dump.manifest";
+    
+    private static final String VERSION = "v1";
+    
+    private static final String FOOTER = "end";
+    
+    private static final String SEPARATOR = "\t";
+    
+    private static final int VERIFY_BATCH_SIZE = 200;
+    
+    private final long timestamp;
+    
+    private final long maxId;
+    
+    private final List<Entry> entries;
+    
+    ConfigDumpManifest(long timestamp, long maxId, List<Entry> entries) {
+        this.timestamp = timestamp;
+        this.maxId = maxId;
+        this.entries = entries;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public long getMaxId() {
+        return maxId;
+    }
+    
+    public List<Entry> getEntries() {
+        return entries;
+    }
+    
+    /**
+     * Snapshot the formal configs in cache and write them into manifest atomically.
+     *
+     * @param maxId max config id of database known before the snapshot
+     * @throws IOException write manifest failed
+     */
+    public static void write(long maxId) throws IOException {
+        long timestamp = System.currentTimeMillis();
+        File file = getFile();
+        File tmp = new File(file.getPath() + ".tmp");
+        if (!file.getParentFile().exists()) {
+            file.getParentFile().mkdirs();
+        }
+        CRC32 crc = new CRC32();
+        int count = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(String.join(SEPARATOR, VERSION, String.valueOf(timestamp), String.valueOf(maxId),
+                    ConfigDiskServiceFactory.getType()));
+            writer.newLine();
+            for (CacheItem each : ConfigCacheService.getAllContentCache()) {
+                String md5 = each.getConfigCache().getMd5Utf8();
+                if (null == md5) {
+                    continue;
+                }
+                String line = String.join(SEPARATOR, encode(each.getGroupKey()), md5,
+                        String.valueOf(each.getConfigCache().getLastModifiedTs()), encode(each.getType()),
+                        encode(each.getConfigCache().getEncryptedDataKey()));
+                crc.update(line.getBytes(StandardCharsets.UTF_8));
+                writer.write(line);
+                writer.newLine();
+                count++;
+            }
+            writer.write(String.join(SEPARATOR, FOOTER, String.valueOf(count), String.valueOf(crc.getValue())));
+            writer.newLine();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LogUtil.DUMP_LOG.info("[dump-manifest] write {} configs, maxId={}", count, maxId);
+    }
+    
+    /**
+     * Load manifest from local disk.
+     *
+     * @return manifest, or {@code null} if it doesn't exist, is written by other version or disk type, or is broken
+     */
+    public static ConfigDumpManifest load() {
+        File file = getFile();
+        if (!file.exists()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String[] header = split(reader.readLine(), 4);
+            if (null == header || !VERSION.equals(header[0]) || !ConfigDiskServiceFactory.getType()
+                    .equals(header[3])) {
+                LogUtil.DUMP_LOG.warn("[dump-manifest] ignore manifest of other version or disk type");
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            List<Entry> entries = new ArrayList<>();
+            String line;
+            while (null != (line = reader.readLine())) {
+                if (line.startsWith(FOOTER + SEPARATOR)) {
+                    String[] footer = split(line, 3);
+                    if (null == footer || Integer.parseInt(footer[1]) != entries.size()
+                            || Long.parseLong(footer[2]) != crc.getValue()) {
+                        break;
+                    }
+                    return new ConfigDumpManifest(Long.parseLong(header[1]), Long.parseLong(header[2]),
+                            Collections.unmodifiableList(entries));
+                }
+                String[] fields = split(line, 5);
+                if (null == fields) {
+                    break;
+                }
+                crc.update(line.getBytes(StandardCharsets.UTF_8));
+                entries.add(new Entry(decode(fields[0]), fields[1], Long.parseLong(fields[2]), decode(fields[3]),
+                        decode(fields[4])));
+            }
+            LogUtil.DUMP_LOG.warn("[dump-manifest] ignore broken manifest");
+        } catch (IOException | RuntimeException e) {
+            LogUtil.DUMP_LOG.warn("[dump-manifest] read manifest failed", e);
+        }
+        return null;
+    }
+    
+    /**
+     * Delete the manifest, so that it won't be used before a new one is written.
+     */
+    public static void delete() {
+        try {
+            Files.deleteIfExists(getFile().toPath());
+        } catch (IOException e) {
+            LogUtil.DUMP_LOG.warn("[dump-manifest] delete manifest failed", e);
+        }
+    }
+    
+    /**
+     * Check that every config in manifest is saved in local disk with the same md5, in parallel.
+     *
+     * @return {@code true} if all configs are consistent with local disk
+     */
+    public boolean verify() {
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += VERIFY_BATCH_SIZE) {
+            List<Entry> batch = entries.subList(from, Math.min(from + VERIFY_BATCH_SIZE, entries.size()));
+            Callable<Boolean> task = () -> isConsistent(batch);
+            futures.add(ConfigExecutor.submitDump(task));
+        }
+        boolean result = true;
+        for (Future<Boolean> each : futures) {
+            try {
+                result &= each.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                LogUtil.DUMP_LOG.warn("[dump-manifest] read local disk failed", e.getCause());
+                result = false;
+            }
+        }
+        return result;
+    }
+    
+    private boolean isConsistent(List<Entry> batch) throws IOException {
+        List<String> groupKeys = new ArrayList<>(batch.size());
+        for (Entry each : batch) {
+            groupKeys.add(each.groupKey);
+        }
+        List<String> contents = ConfigDiskServiceFactory.getInstance().batchGetContent(groupKeys);
+        for (int i = 0; i < batch.size(); i++) {
+            String content = contents.get(i);
+            if (null == content || !batch.get(i).md5.equals(MD5Utils.md5Hex(content, ENCODE_UTF8))) {
+                LogUtil.DUMP_LOG.warn("[dump-manifest] local disk is inconsistent with manifest, groupKey={}",
+                        batch.get(i).groupKey);
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Restore all configs in manifest into cache.
+     */
+    public void restore() {
+        for (Entry each : entries) {
+            ConfigCacheService.restore(each.groupKey, each.md5, each.lastModifiedTs, each.type,
+                    each.encryptedDataKey);
+        }
+    }
+    
+    static File getFile() {
+        return new File(EnvUtil.getNacosHome(), FILE_NAME);
+    }
+    
+    private static String[] split(String line, int fields) {
+        if (null == line) {
+            return null;
+        }
+        String[] result = line.split(SEPARATOR, -1);
+        return result.length == fields ? result : null;
+    }
+    
+    private static String encode(String value) throws UnsupportedEncodingException {
+        return null == value ? "" : URLEncoder.encode(value, ENCODE_UTF8);
+    }
+    
+    private static String decode(String value) throws UnsupportedEncodingException {
+        return value.isEmpty() ? null : URLDecoder.decode(value, ENCODE_UTF8);
+    }
+    
+    /**
+     * Config recorded in manifest.
+     */
+    public static class Entry {
+        
+        private final String groupKey;
+        
+        private final String md5;
+        
+        private final long lastModifiedTs;
+        
+        private final String type;
+        
+        private final String encryptedDataKey;
+        
+        Entry(String groupKey, String md5, long lastModifiedTs, String type, String encryptedDataKey) {
+            this.groupKey = groupKey;
+            this.md5 = md5;
+            this.lastModifiedTs = lastModifiedTs;
+            this.type = type;
+            this.encryptedDataKey = encryptedDataKey;
+        }
+        
+        public String getGroupKey() {
+            return groupKey;
+        }
+        
+        public String getMd5() {
+            return md5;
+        }
+        
+        public long getLastModifiedTs() {
+            return lastModifiedTs;
+        }
+    }
+}
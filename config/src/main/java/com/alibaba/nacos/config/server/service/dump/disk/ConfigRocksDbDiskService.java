@@ -18,26 +18,55 @@ package com.alibaba.nacos.config.server.service.dump.disk;
 
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Snapshot;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
-import static com.alibaba.nacos.config.server.constant.Constants.NULL;
 
 /**
  * config rocks db disk service.
  *
+ * <p>Formal and gray configs are saved in two column families of one RocksDB. Each key starts with a fixed length
+ * prefix hashed from tenant and group, so that configs of one tenant and group are stored together and filtered by
+ * prefix bloom filter; the block cache is shared by all column families.
+ *
+ * <p>Contents are addressed by their SHA-256: the formal and gray column families map config keys to content hashes,
+ * and each distinct content is saved once in the content column family, with the count of keys referring to it in the
+ * content ref column family. A content is deleted when it is not referred any more. Writes which change references
+ * are serialized and applied by one write batch, reads use a snapshot to see references and contents consistently.
+ *
  * @author shiyiyue
  */
 @SuppressWarnings("PMD.ServiceOrDaoClassShouldEndWithImplRule")
@@ -49,9 +78,46 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private static final String GRAY_DIR = ROCKSDB_DATA + "gray-data";
     
+    private static final String ENGINE_DIR = ROCKSDB_DATA + "config-engine";
+    
+    private static final String FORMAL_COLUMN_FAMILY = "formal";
+    
+    private static final String GRAY_COLUMN_FAMILY = "gray";
+    
+    private static final String CONTENT_COLUMN_FAMILY = "content";
+    
+    private static final String CONTENT_REF_COLUMN_FAMILY = "content-ref";
+    
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+    
+    /**
+     * set to {@code zstd} to compress blocks by ZSTD.
+     */
+    private static final String COMPRESSION_PROPERTY = "config_rocksdb_compression";
+    
+    private static final String COMPRESSION_ZSTD = "zstd";
+    
+    private static final int KEY_PREFIX_LENGTH = 8;
+    
+    private static final double BLOOM_BITS_PER_KEY = 10;
+    
+    private static final double MEMTABLE_PREFIX_BLOOM_RATIO = 0.1;
+    
     private static final long DEFAULT_WRITE_BUFFER_MB = 32;
     
-    Map<String, RocksDB> rocksDbMap = new HashMap<>();
+    private final Map<String, ColumnFamilyHandle> columnFamilies = new ConcurrentHashMap<>();
+    
+    private final Map<String, ColumnFamilyDescriptor> columnFamilyDescriptors = new HashMap<>();
+    
+    private volatile RocksDB rocksDb;
+    
+    private ColumnFamilyHandle contentColumnFamily;
+    
+    private ColumnFamilyHandle contentRefColumnFamily;
+    
+    private final Object refLock = new Object();
+    
+    private Cache blockCache;
     
     private void createDirIfNotExist(String dir) {
         File roskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
@@ -64,41 +130,43 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         }
     }
     
-    private void deleteDirIfExist(String dir) {
-        File rockskDataDir = new File(EnvUtil.getNacosHome(), "rocksdata");
-        if (!rockskDataDir.exists()) {
+    /**
+     * Destroy the db of former version, which saves formal and gray configs in two dbs.
+     */
+    private void destroyLegacyDb(String dir) {
+        File legacyDir = new File(EnvUtil.getNacosHome(), dir);
+        if (!legacyDir.exists()) {
             return;
         }
-        File baseDir = new File(EnvUtil.getNacosHome(), dir);
-        if (baseDir.exists()) {
-            baseDir.delete();
+        try (Options options = new Options()) {
+            RocksDB.destroyDB(legacyDir.getPath(), options);
+            legacyDir.delete();
+            LogUtil.DEFAULT_LOG.info("destroy legacy rocksdb dir {}", dir);
+        } catch (RocksDBException e) {
+            LogUtil.DEFAULT_LOG.warn("destroy legacy rocksdb dir {} failed", dir, e);
         }
     }
     
     public ConfigRocksDbDiskService() {
-        createDirIfNotExist(BASE_DIR);
-        createDirIfNotExist(GRAY_DIR);
-        
-    }
-    
-    private byte[] getKeyByte(String dataId, String group, String tenant, String tag) throws IOException {
-        String[] keys = new String[] {dataId, group, tenant, tag};
-        return getKeyByte(keys);
+        createDirIfNotExist(ENGINE_DIR);
+        destroyLegacyDb(BASE_DIR);
+        destroyLegacyDb(GRAY_DIR);
     }
     
-    private byte[] getKeyByte(String... keys) throws IOException {
-        if (keys == null || keys.length == 0) {
-            return NULL.getBytes(ENCODE_UTF8);
-        }
+    private byte[] getKeyByte(String dataId, String group, String tenant, String tag) {
         StringBuilder stringBuilder = new StringBuilder();
-        for (String key : keys) {
-            if (StringUtils.isBlank(key)) {
-                key = "";
+        for (String key : new String[] {dataId, group, tenant, tag}) {
+            if (StringUtils.isNotBlank(key)) {
+                urlEncode(key, stringBuilder);
             }
-            urlEncode(key, stringBuilder);
             stringBuilder.append("+");
         }
-        return stringBuilder.toString().getBytes(ENCODE_UTF8);
+        byte[] key = stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(KEY_PREFIX_LENGTH + key.length);
+        buffer.putInt(StringUtils.isBlank(tenant) ? 0 : tenant.hashCode());
+        buffer.putInt(StringUtils.isBlank(group) ? 0 : group.hashCode());
+        buffer.put(key);
+        return buffer.array();
     }
     
     /**
@@ -123,7 +191,12 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     public void saveToDiskInner(String type, String dataId, String group, String tenant, String tag, String content)
             throws IOException {
         try {
-            initAndGetDB(type).put(getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
+            RocksDB db = initAndGetDB();
+            synchronized (refLock) {
+                ContentRefBatch batch = new ContentRefBatch(db);
+                batch.put(getColumnFamily(type), getKeyByte(dataId, group, tenant, tag), content.getBytes(ENCODE_UTF8));
+                batch.commit();
+            }
         } catch (RocksDBException e) {
             throw new IOException(e);
         }
@@ -142,11 +215,7 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      */
     public void saveGrayToDiskInner(String type, String dataId, String group, String tenant, String grayName,
             String content) throws IOException {
-        try {
-            initAndGetDB(type).put(getKeyByte(dataId, group, tenant, grayName), content.getBytes(ENCODE_UTF8));
-        } catch (RocksDBException e) {
-            throw new IOException(e);
-        }
+        saveToDiskInner(type, dataId, group, tenant, grayName, content);
     }
     
     /**
@@ -156,6 +225,27 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         saveToDiskInner(BASE_DIR, dataId, group, tenant, content);
     }
     
+    /**
+     * Save configuration information of several configs to disk by one write batch.
+     */
+    @Override
+    public void batchSaveToDisk(List<? extends ConfigInfo> configs) throws IOException {
+        try {
+            RocksDB db = initAndGetDB();
+            synchronized (refLock) {
+                ColumnFamilyHandle columnFamily = getColumnFamily(BASE_DIR);
+                ContentRefBatch batch = new ContentRefBatch(db);
+                for (ConfigInfo each : configs) {
+                    batch.put(columnFamily, getKeyByte(each.getDataId(), each.getGroup(), each.getTenant(), null),
+                            each.getContent().getBytes(ENCODE_UTF8));
+                }
+                batch.commit();
+            }
+        } catch (RocksDBException e) {
+            throw new IOException(e);
+        }
+    }
+    
     /**
      * Save tag information to disk.
      */
@@ -176,7 +266,7 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      * Deletes gray configuration files on disk.
      */
     public void removeConfigInfo4Gray(String dataId, String group, String tenant, String grayName) {
-        removeGrayInner(GRAY_DIR, dataId, group, tenant, grayName);
+        removeContentInner(GRAY_DIR, dataId, group, tenant, grayName);
         
     }
     
@@ -187,20 +277,45 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         return new String(bytes, ENCODE_UTF8);
     }
     
-    RocksDB initAndGetDB(String dir) throws IOException, RocksDBException {
-        if (rocksDbMap.containsKey(dir)) {
-            return rocksDbMap.get(dir);
-        } else {
+    RocksDB initAndGetDB() throws RocksDBException {
+        if (rocksDb == null) {
             synchronized (this) {
-                if (rocksDbMap.containsKey(dir)) {
-                    return rocksDbMap.get(dir);
+                if (rocksDb == null) {
+                    open();
                 }
-                createDirIfEmpty(EnvUtil.getNacosHome() + dir);
-                rocksDbMap.put(dir, RocksDB.open(createOptions(dir), EnvUtil.getNacosHome() + dir));
-                return rocksDbMap.get(dir);
             }
-            
         }
+        return rocksDb;
+    }
+    
+    private void open() throws RocksDBException {
+        String path = EnvUtil.getNacosHome() + ENGINE_DIR;
+        createDirIfEmpty(path);
+        blockCache = new LRUCache(getSuitFormalCacheSizeMB(BASE_DIR) * 1024 * 1024);
+        columnFamilyDescriptors.put(BASE_DIR, new ColumnFamilyDescriptor(
+                FORMAL_COLUMN_FAMILY.getBytes(StandardCharsets.UTF_8), createColumnFamilyOptions(BASE_DIR)));
+        columnFamilyDescriptors.put(GRAY_DIR, new ColumnFamilyDescriptor(
+                GRAY_COLUMN_FAMILY.getBytes(StandardCharsets.UTF_8), createColumnFamilyOptions(GRAY_DIR)));
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
+        descriptors.add(columnFamilyDescriptors.get(BASE_DIR));
+        descriptors.add(columnFamilyDescriptors.get(GRAY_DIR));
+        descriptors.add(new ColumnFamilyDescriptor(CONTENT_COLUMN_FAMILY.getBytes(StandardCharsets.UTF_8),
+                createContentColumnFamilyOptions()));
+        descriptors.add(new ColumnFamilyDescriptor(CONTENT_REF_COLUMN_FAMILY.getBytes(StandardCharsets.UTF_8),
+                createContentColumnFamilyOptions()));
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        RocksDB db = RocksDB.open(createDbOptions(), path, descriptors, handles);
+        columnFamilies.put(BASE_DIR, handles.get(1));
+        columnFamilies.put(GRAY_DIR, handles.get(2));
+        contentColumnFamily = handles.get(3);
+        contentRefColumnFamily = handles.get(4);
+        rocksDb = db;
+    }
+    
+    private ColumnFamilyHandle getColumnFamily(String type) throws RocksDBException {
+        initAndGetDB();
+        return columnFamilies.get(GRAY_DIR.equals(type) ? GRAY_DIR : BASE_DIR);
     }
     
     private void createDirIfEmpty(String filePath) {
@@ -210,23 +325,18 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
         }
     }
     
-    private String getContentInner(String type, String dataId, String group, String tenant) throws IOException {
-        byte[] bytes = null;
-        try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, null));
-            String string = byte2String(bytes);
-            return string;
-        } catch (RocksDBException e) {
-            throw new IOException(e);
-        }
-    }
-    
-    private String getGrayInner(String type, String dataId, String group, String tenant, String grayName)
+    private String getContentInner(String type, String dataId, String group, String tenant, String tag)
             throws IOException {
-        byte[] bytes = null;
         try {
-            bytes = initAndGetDB(type).get(getKeyByte(dataId, group, tenant, grayName));
-            return byte2String(bytes);
+            RocksDB db = initAndGetDB();
+            ColumnFamilyHandle columnFamily = getColumnFamily(type);
+            Snapshot snapshot = db.getSnapshot();
+            try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+                byte[] hash = db.get(columnFamily, readOptions, getKeyByte(dataId, group, tenant, tag));
+                return hash == null ? null : byte2String(db.get(contentColumnFamily, readOptions, hash));
+            } finally {
+                db.releaseSnapshot(snapshot);
+            }
         } catch (RocksDBException e) {
             throw new IOException(e);
         }
@@ -234,16 +344,12 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
     
     private void removeContentInner(String type, String dataId, String group, String tenant, String tag) {
         try {
-            initAndGetDB(type).delete(getKeyByte(dataId, group, tenant, tag));
-        } catch (Exception e) {
-            LogUtil.DEFAULT_LOG.warn("Remove dir=[{}] config fail,dataId={},group={},tenant={},error={}", type, dataId,
-                    group, tenant, e.getCause());
-        }
-    }
-    
-    private void removeGrayInner(String type, String dataId, String group, String tenant, String grayName) {
-        try {
-            initAndGetDB(type).delete(getKeyByte(dataId, group, tenant, grayName));
+            RocksDB db = initAndGetDB();
+            synchronized (refLock) {
+                ContentRefBatch batch = new ContentRefBatch(db);
+                batch.delete(getColumnFamily(type), getKeyByte(dataId, group, tenant, tag));
+                batch.commit();
+            }
         } catch (Exception e) {
             LogUtil.DEFAULT_LOG.warn("Remove dir=[{}] config fail,dataId={},group={},tenant={},error={}", type, dataId,
                     group, tenant, e.getCause());
@@ -254,33 +360,99 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      * Returns the path of the gray content cache file in server.
      */
     public String getGrayContent(String dataId, String group, String tenant, String grayName) throws IOException {
-        return getGrayInner(GRAY_DIR, dataId, group, tenant, grayName);
+        return getContentInner(GRAY_DIR, dataId, group, tenant, grayName);
     }
     
     public String getContent(String dataId, String group, String tenant) throws IOException {
-        return getContentInner(BASE_DIR, dataId, group, tenant);
+        return getContentInner(BASE_DIR, dataId, group, tenant, null);
+    }
+    
+    /**
+     * Returns the contents of several configs by one multi get.
+     */
+    @Override
+    public List<String> batchGetContent(List<String> groupKeys) throws IOException {
+        try {
+            RocksDB db = initAndGetDB();
+            List<byte[]> keys = new ArrayList<>(groupKeys.size());
+            for (String each : groupKeys) {
+                String[] parsed = GroupKey2.parseKey(each);
+                keys.add(getKeyByte(parsed[0], parsed[1], parsed[2], null));
+            }
+            ColumnFamilyHandle columnFamily = getColumnFamily(BASE_DIR);
+            Snapshot snapshot = db.getSnapshot();
+            try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+                List<byte[]> hashes = db.multiGetAsList(readOptions, Collections.nCopies(keys.size(), columnFamily),
+                        keys);
+                List<byte[]> referred = new ArrayList<>(hashes.size());
+                for (byte[] each : hashes) {
+                    if (each != null) {
+                        referred.add(each);
+                    }
+                }
+                List<byte[]> contents = referred.isEmpty() ? Collections.emptyList()
+                        : db.multiGetAsList(readOptions, Collections.nCopies(referred.size(), contentColumnFamily),
+                                referred);
+                List<String> result = new ArrayList<>(hashes.size());
+                int index = 0;
+                for (byte[] each : hashes) {
+                    result.add(each == null ? null : byte2String(contents.get(index++)));
+                }
+                return result;
+            } finally {
+                db.releaseSnapshot(snapshot);
+            }
+        } catch (RocksDBException e) {
+            throw new IOException(e);
+        }
     }
     
     public String getLocalConfigMd5(String dataId, String group, String tenant, String encode) throws IOException {
-        return MD5Utils.md5Hex(getContentInner(BASE_DIR, dataId, group, tenant), encode);
+        return MD5Utils.md5Hex(getContent(dataId, group, tenant), encode);
     }
     
-    Options createOptions(String dir) {
+    DBOptions createDbOptions() {
         DBOptions dbOptions = new DBOptions();
         dbOptions.setMaxBackgroundJobs(Runtime.getRuntime().availableProcessors());
-        Options options = new Options(dbOptions, createColumnFamilyOptions(dir));
-        options.setCreateIfMissing(true);
-        return options;
+        dbOptions.setCreateIfMissing(true);
+        dbOptions.setCreateMissingColumnFamilies(true);
+        return dbOptions;
     }
     
     ColumnFamilyOptions createColumnFamilyOptions(String dir) {
         ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
         BlockBasedTableConfig tableFormatConfig = new BlockBasedTableConfig();
+        tableFormatConfig.setBlockCache(blockCache);
+        //whole key bloom filter for point lookups, prefix bloom filter for keys of one tenant and group.
+        tableFormatConfig.setFilterPolicy(new BloomFilter(BLOOM_BITS_PER_KEY, false));
+        tableFormatConfig.setWholeKeyFiltering(true);
         columnFamilyOptions.setTableFormatConfig(tableFormatConfig);
+        columnFamilyOptions.useFixedLengthPrefixExtractor(KEY_PREFIX_LENGTH);
+        columnFamilyOptions.setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_RATIO);
         //set more write buffer size to formal config-data, reduce flush to sst file frequency.
         columnFamilyOptions.setWriteBufferSize(getSuitFormalCacheSizeMB(dir) * 1024 * 1024);
         //once a stt file is flushed, compact it immediately to avoid too many sst file which will result in read latency.
         columnFamilyOptions.setLevel0FileNumCompactionTrigger(1);
+        if (COMPRESSION_ZSTD.equalsIgnoreCase(System.getProperty(COMPRESSION_PROPERTY))) {
+            columnFamilyOptions.setCompressionType(CompressionType.ZSTD_COMPRESSION);
+        }
+        return columnFamilyOptions;
+    }
+    
+    /**
+     * Options of the content and content ref column families, which are keyed by hash and only read by point lookups.
+     */
+    ColumnFamilyOptions createContentColumnFamilyOptions() {
+        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
+        BlockBasedTableConfig tableFormatConfig = new BlockBasedTableConfig();
+        tableFormatConfig.setBlockCache(blockCache);
+        tableFormatConfig.setFilterPolicy(new BloomFilter(BLOOM_BITS_PER_KEY, false));
+        columnFamilyOptions.setTableFormatConfig(tableFormatConfig);
+        columnFamilyOptions.setWriteBufferSize(DEFAULT_WRITE_BUFFER_MB * 1024 * 1024);
+        columnFamilyOptions.setLevel0FileNumCompactionTrigger(1);
+        if (COMPRESSION_ZSTD.equalsIgnoreCase(System.getProperty(COMPRESSION_PROPERTY))) {
+            columnFamilyOptions.setCompressionType(CompressionType.ZSTD_COMPRESSION);
+        }
         return columnFamilyOptions;
     }
     
@@ -320,32 +492,132 @@ public class ConfigRocksDbDiskService implements ConfigDiskService {
      * Clear all config file.
      */
     public void clearAll() {
-        try {
-            if (rocksDbMap.containsKey(BASE_DIR)) {
-                rocksDbMap.get(BASE_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + BASE_DIR, new Options());
-            }
-            deleteDirIfExist(BASE_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info failed.", e);
-        }
+        clearColumnFamily(BASE_DIR);
+        LogUtil.DEFAULT_LOG.info("clear all config-info success.");
     }
     
     /**
      * Clear all gray config file.
      */
     public void clearAllGray() {
-        
+        clearColumnFamily(GRAY_DIR);
+        LogUtil.DEFAULT_LOG.info("clear all config-info-gray success.");
+    }
+    
+    /**
+     * Drop and recreate column family, which is much faster than deleting keys one by one. The contents referred by
+     * the column family are released before it is dropped.
+     */
+    private void clearColumnFamily(String type) {
+        synchronized (refLock) {
+            try {
+                RocksDB db = initAndGetDB();
+                ColumnFamilyHandle old = columnFamilies.get(type);
+                ContentRefBatch batch = new ContentRefBatch(db);
+                try (RocksIterator iterator = db.newIterator(old)) {
+                    for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                        batch.release(iterator.value());
+                    }
+                }
+                db.dropColumnFamily(old);
+                // the dropped handle is not closed, as it may be still used by a concurrent read, which fails safely.
+                columnFamilies.put(type, db.createColumnFamily(columnFamilyDescriptors.get(type)));
+                batch.commit();
+            } catch (RocksDBException e) {
+                LogUtil.DEFAULT_LOG.warn("clear column family of {} failed.", type, e);
+            }
+        }
+    }
+    
+    private static byte[] hash(byte[] content) {
         try {
-            if (rocksDbMap.containsKey(GRAY_DIR)) {
-                rocksDbMap.get(GRAY_DIR).close();
-                RocksDB.destroyDB(EnvUtil.getNacosHome() + GRAY_DIR, new Options());
+            return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * A write batch which keeps the content references counted, must be used while holding the ref lock.
+     */
+    private class ContentRefBatch {
+        
+        private final RocksDB db;
+        
+        private final WriteBatch writeBatch = new WriteBatch();
+        
+        private final Map<ByteBuffer, byte[]> pendingRefs = new HashMap<>();
+        
+        private final Map<ByteBuffer, Long> refDeltas = new HashMap<>();
+        
+        private final Map<ByteBuffer, byte[]> newContents = new HashMap<>();
+        
+        private ContentRefBatch(RocksDB db) {
+            this.db = db;
+        }
+        
+        void put(ColumnFamilyHandle columnFamily, byte[] key, byte[] content) throws RocksDBException {
+            byte[] hash = hash(content);
+            release(replaceRef(columnFamily, key, hash));
+            ByteBuffer hashKey = ByteBuffer.wrap(hash);
+            refDeltas.merge(hashKey, 1L, Long::sum);
+            newContents.putIfAbsent(hashKey, content);
+            writeBatch.put(columnFamily, key, hash);
+        }
+        
+        void delete(ColumnFamilyHandle columnFamily, byte[] key) throws RocksDBException {
+            byte[] oldHash = replaceRef(columnFamily, key, null);
+            if (oldHash != null) {
+                release(oldHash);
+                writeBatch.delete(columnFamily, key);
+            }
+        }
+        
+        void release(byte[] hash) {
+            if (hash != null) {
+                refDeltas.merge(ByteBuffer.wrap(hash), -1L, Long::sum);
+            }
+        }
+        
+        /**
+         * Replace the reference of key in this batch, and return the former one, which may be written earlier in this
+         * batch.
+         */
+        private byte[] replaceRef(ColumnFamilyHandle columnFamily, byte[] key, byte[] hash) throws RocksDBException {
+            ByteBuffer pendingKey = ByteBuffer.allocate(4 + key.length).putInt(columnFamily.getID()).put(key);
+            pendingKey.flip();
+            if (pendingRefs.containsKey(pendingKey)) {
+                return pendingRefs.put(pendingKey, hash);
+            }
+            pendingRefs.put(pendingKey, hash);
+            return db.get(columnFamily, key);
+        }
+        
+        void commit() throws RocksDBException {
+            try (WriteOptions writeOptions = new WriteOptions()) {
+                for (Map.Entry<ByteBuffer, Long> entry : refDeltas.entrySet()) {
+                    long delta = entry.getValue();
+                    if (delta == 0) {
+                        continue;
+                    }
+                    byte[] hash = entry.getKey().array();
+                    byte[] countBytes = db.get(contentRefColumnFamily, hash);
+                    long count = countBytes == null ? 0 : ByteBuffer.wrap(countBytes).getLong();
+                    long newCount = count + delta;
+                    if (newCount <= 0) {
+                        writeBatch.delete(contentRefColumnFamily, hash);
+                        writeBatch.delete(contentColumnFamily, hash);
+                        continue;
+                    }
+                    if (count <= 0) {
+                        writeBatch.put(contentColumnFamily, hash, newContents.get(entry.getKey()));
+                    }
+                    writeBatch.put(contentRefColumnFamily, hash, ByteBuffer.allocate(8).putLong(newCount).array());
+                }
+                db.write(writeOptions, writeBatch);
+            } finally {
+                writeBatch.close();
             }
-            deleteDirIfExist(GRAY_DIR);
-            LogUtil.DEFAULT_LOG.info("clear all config-info-gray success.");
-        } catch (RocksDBException e) {
-            LogUtil.DEFAULT_LOG.warn("clear all config-info-gray failed.", e);
         }
     }
     
@@ -20,9 +20,11 @@ import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.SwitchService;
+import com.alibaba.nacos.config.server.service.dump.ConfigBulkDumper;
 import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
 import com.alibaba.nacos.config.server.service.repository.ConfigInfoPersistService;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
@@ -30,6 +32,8 @@ import com.alibaba.nacos.config.server.utils.LogUtil;
 import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.persistence.model.Page;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -48,6 +52,7 @@ public class DumpAllProcessor implements NacosTaskProcessor {
     
     public DumpAllProcessor(ConfigInfoPersistService configInfoPersistService) {
         this.configInfoPersistService = configInfoPersistService;
+        this.bulkDumper = new ConfigBulkDumper(configInfoPersistService, "dump-all");
     }
     
     @Override
@@ -62,6 +67,8 @@ public class DumpAllProcessor implements NacosTaskProcessor {
         
         long currentMaxId = configInfoPersistService.findConfigMaxId();
         long lastMaxId = 0;
+        long scanned = 0;
+        final long dumpStart = System.currentTimeMillis();
         ThreadPoolExecutor executorService = null;
         if (dumpAllTask.isStartUp()) {
             executorService = new ThreadPoolExecutor(Runtime.getRuntime().availableProcessors(),
@@ -75,6 +82,7 @@ public class DumpAllProcessor implements NacosTaskProcessor {
         
         DEFAULT_LOG.info("start dump all config-info...");
         
+        MetricsMonitor.getDumpProgressMonitor().set(0);
         while (lastMaxId < currentMaxId) {
             
             long start = System.currentTimeMillis();
@@ -86,9 +94,12 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                 break;
             }
             
+            //if not start up, page query will not return content, check md5 and lastModified first, then load the
+            //contents of all changed configs of the page by one bulk dump.
+            List<Long> changedIds = new ArrayList<>();
+            List<ConfigInfoWrapper> startUpBatch = new ArrayList<>(STARTUP_BATCH_SIZE);
             for (ConfigInfoWrapper cf : page.getPageItems()) {
                 lastMaxId = Math.max(cf.getId(), lastMaxId);
-                //if not start up, page query will not return content, check md5 and lastModified first ,if changed ,get single content info to dump.
                 if (!dumpAllTask.isStartUp()) {
                     final String groupKey = GroupKey2.getKey(cf.getDataId(), cf.getGroup(), cf.getTenant());
                     boolean newLastModified = cf.getLastModified() > ConfigCacheService.getLastModifiedTs(groupKey);
@@ -98,13 +109,8 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                     if (newLastModified || md5Update) {
                         LogUtil.DUMP_LOG.info("[dump-all] find change config {}, {}, md5={}", groupKey,
                                 cf.getLastModified(), cf.getMd5());
-                        cf = configInfoPersistService.findConfigInfo(cf.getDataId(), cf.getGroup(), cf.getTenant());
-                    } else {
-                        continue;
+                        changedIds.add(cf.getId());
                     }
-                }
-                
-                if (cf == null) {
                     continue;
                 }
                 
@@ -116,33 +122,25 @@ public class DumpAllProcessor implements NacosTaskProcessor {
                     SwitchService.load(cf.getContent());
                 }
                 
-                final String content = cf.getContent();
-                final String dataId = cf.getDataId();
-                final String group = cf.getGroup();
-                final String tenant = cf.getTenant();
-                final long lastModified = cf.getLastModified();
-                final String type = cf.getType();
-                final String encryptedDataKey = cf.getEncryptedDataKey();
-                
-                executorService.execute(() -> {
-                    final String md5Utf8 = MD5Utils.md5Hex(content, ENCODE_UTF8);
-                    boolean result = ConfigCacheService.dumpWithMd5(dataId, group, tenant, content, md5Utf8,
-                            lastModified, type, encryptedDataKey);
-                    if (result) {
-                        LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={},md5UTF8={}",
-                                GroupKey2.getKey(dataId, group), lastModified, content.length(), md5Utf8);
-                    } else {
-                        LogUtil.DUMP_LOG.info("[dump-all-error] {}", GroupKey2.getKey(dataId, group));
-                    }
-                    
-                });
-                
+                startUpBatch.add(cf);
+                if (startUpBatch.size() >= STARTUP_BATCH_SIZE) {
+                    submitStartUpBatch(executorService, startUpBatch);
+                    startUpBatch = new ArrayList<>(STARTUP_BATCH_SIZE);
+                }
+            }
+            if (!startUpBatch.isEmpty()) {
+                submitStartUpBatch(executorService, startUpBatch);
             }
+            bulkDumper.dumpByIds(changedIds);
             
             long diskStamp = System.currentTimeMillis();
-            DEFAULT_LOG.info("[all-dump] submit all task for {} / {}, dbTime={},diskTime={}", lastMaxId, currentMaxId,
-                    (dbTimeStamp - start), (diskStamp - dbTimeStamp));
+            scanned += page.getPageItems().size();
+            MetricsMonitor.getDumpProgressMonitor().set((int) (Math.min(lastMaxId, currentMaxId) * 100 / currentMaxId));
+            DEFAULT_LOG.info("[all-dump] submit all task for {} / {}, dbTime={},diskTime={}, changed={}, scanned/s={}",
+                    lastMaxId, currentMaxId, (dbTimeStamp - start), (diskStamp - dbTimeStamp), changedIds.size(),
+                    scanned * 1000L / Math.max(1L, diskStamp - dumpStart));
         }
+        MetricsMonitor.getDumpProgressMonitor().set(100);
         
         //wait all task are finished and then shutdown executor.
         try {
@@ -160,5 +158,30 @@ public class DumpAllProcessor implements NacosTaskProcessor {
         return true;
     }
     
+    /**
+     * Save the contents of configs by batch on start up, the local disk cache is cleared before.
+     */
+    private void submitStartUpBatch(ThreadPoolExecutor executorService, List<ConfigInfoWrapper> batch) {
+        executorService.execute(() -> {
+            List<String> md5s = new ArrayList<>(batch.size());
+            for (ConfigInfoWrapper each : batch) {
+                md5s.add(MD5Utils.md5Hex(each.getContent(), ENCODE_UTF8));
+            }
+            int success = ConfigCacheService.dumpBatchWithMd5(batch, md5s);
+            if (success == batch.size()) {
+                LogUtil.DUMP_LOG.info("[dump-all-ok] batch of {} configs, first={}", batch.size(),
+                        GroupKey2.getKey(batch.get(0).getDataId(), batch.get(0).getGroup()));
+            } else {
+                LogUtil.DUMP_LOG.info("[dump-all-error] {} of batch {} configs failed, first={}",
+                        batch.size() - success, batch.size(),
+                        GroupKey2.getKey(batch.get(0).getDataId(), batch.get(0).getGroup()));
+            }
+        });
+    }
+    
+    static final int STARTUP_BATCH_SIZE = 100;
+    
     final ConfigInfoPersistService configInfoPersistService;
+    
+    final ConfigBulkDumper bulkDumper;
 }
@@ -366,6 +366,14 @@ public interface ConfigInfoPersistService {
      */
     List<ConfigInfo> findConfigInfosByIds(final String ids);
     
+    /**
+     * find ConfigInfo with content, md5, last modified time, type and encrypted data key by ids, for bulk dump.
+     *
+     * @param ids id list
+     * @return {@link ConfigInfoWrapper} list, configs not exist any more are absent
+     */
+    List<ConfigInfoWrapper> findConfigInfoForDumpByIds(final List<Long> ids);
+    
     /**
      * Query configuration information; database atomic operation, minimum SQL action, no business encapsulation.
      *
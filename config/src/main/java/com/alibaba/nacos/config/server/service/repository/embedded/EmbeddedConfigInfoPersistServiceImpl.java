@@ -916,6 +916,20 @@ public class EmbeddedConfigInfoPersistServiceImpl implements ConfigInfoPersistSe
         
     }
     
+    @Override
+    public List<ConfigInfoWrapper> findConfigInfoForDumpByIds(final List<Long> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        ConfigInfoMapper configInfoMapper = mapperManager.findMapper(dataSourceService.getDataSourceType(),
+                TableConstant.CONFIG_INFO);
+        MapperContext context = new MapperContext();
+        context.putWhereParameter(FieldConstant.IDS, ids);
+        MapperResult mapperResult = configInfoMapper.findConfigInfoForDumpByIds(context);
+        return databaseOperate.queryMany(mapperResult.getSql(), mapperResult.getParamList().toArray(),
+                CONFIG_INFO_WRAPPER_ROW_MAPPER);
+    }
+    
     @Override
     public ConfigAdvanceInfo findConfigAdvanceInfo(final String dataId, final String group, final String tenant) {
         final String tenantTmp = StringUtils.isBlank(tenant) ? StringUtils.EMPTY : tenant;
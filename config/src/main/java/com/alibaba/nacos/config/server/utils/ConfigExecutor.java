@@ -22,6 +22,9 @@ import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.Config;
 import com.alibaba.nacos.core.utils.ClassUtils;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -61,6 +64,10 @@ public final class ConfigExecutor {
             ClassUtils.getCanonicalName(Config.class), ThreadUtils.getSuitableThreadCount(),
             new NameThreadFactory("com.alibaba.nacos.config.server.remote.ConfigChangeNotifier"));
     
+    private static final ExecutorService DUMP_EXECUTOR = ExecutorFactory.Managed.newFixedExecutorService(
+            ClassUtils.getCanonicalName(Config.class), ThreadUtils.getSuitableThreadCount(),
+            new NameThreadFactory("com.alibaba.nacos.config.dump"));
+    
     public static void scheduleConfigTask(Runnable command, long initialDelay, long delay, TimeUnit unit) {
         TIMER_EXECUTOR.scheduleWithFixedDelay(command, initialDelay, delay, unit);
     }
@@ -116,4 +123,12 @@ public final class ConfigExecutor {
     public static void executeLongPolling(Runnable runnable) {
         LONG_POLLING_EXECUTOR.execute(runnable);
     }
+    
+    public static Future<?> submitDump(Runnable runnable) {
+        return DUMP_EXECUTOR.submit(runnable);
+    }
+    
+    public static <T> Future<T> submitDump(Callable<T> callable) {
+        return DUMP_EXECUTOR.submit(callable);
+    }
 }
@@ -118,6 +118,21 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static long dumpChangeWorkerInterval = 30 * 1000L;
     
+    /**
+     * Whether restore cache from local dump manifest on startup instead of dumping all configs, default false.
+     */
+    private static boolean dumpFastRestart = false;
+    
+    /**
+     * Max bytes of config contents cached in memory, default 64MB, 0 means disabled.
+     */
+    private static long contentCacheMaxBytes = 64 * 1024 * 1024L;
+    
+    /**
+     * Min bytes of config content compressed when sent over grpc, default 16KB, 0 means disabled.
+     */
+    private static int compressionThreshold = 16 * 1024;
+    
     public static boolean isDumpChangeOn() {
         return dumpChangeOn;
     }
@@ -134,6 +149,14 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.dumpChangeWorkerInterval = dumpChangeWorkerInterval;
     }
     
+    public static boolean isDumpFastRestart() {
+        return dumpFastRestart;
+    }
+    
+    public static void setDumpFastRestart(boolean dumpFastRestart) {
+        PropertyUtil.dumpFastRestart = dumpFastRestart;
+    }
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -285,6 +308,22 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         }
     }
 
+    public static long getContentCacheMaxBytes() {
+        return contentCacheMaxBytes;
+    }
+    
+    public static void setContentCacheMaxBytes(long contentCacheMaxBytes) {
+        PropertyUtil.contentCacheMaxBytes = contentCacheMaxBytes;
+    }
+    
+    public static int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+    
+    public static void setCompressionThreshold(int compressionThreshold) {
+        PropertyUtil.compressionThreshold = compressionThreshold;
+    }
+    
     public static boolean isStandaloneMode() {
         return EnvUtil.getStandaloneMode();
     }
@@ -322,7 +361,10 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDumpChangeOn(getBoolean(PropertiesConstant.DUMP_CHANGE_ON, dumpChangeOn));
             setDumpChangeWorkerInterval(
                     getLong(PropertiesConstant.DUMP_CHANGE_WORKER_INTERVAL, dumpChangeWorkerInterval));
+            setDumpFastRestart(getBoolean(PropertiesConstant.DUMP_FAST_RESTART, dumpFastRestart));
             setGrayCompatibleModel(getBoolean(PropertiesConstant.GRAY_CAPATIBEL_MODEL, grayCompatibleModel));
+            setContentCacheMaxBytes(getLong(PropertiesConstant.CONTENT_CACHE_MAX_BYTES, contentCacheMaxBytes));
+            setCompressionThreshold(getInt(PropertiesConstant.COMPRESSION_THRESHOLD, compressionThreshold));
             
         } catch (Exception e) {
             LOGGER.error("read application.properties failed", e);
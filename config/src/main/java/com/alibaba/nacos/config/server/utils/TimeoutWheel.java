@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * A hashed timing wheel, which replaces one scheduled future per waiting item with one periodic ticker.
+ *
+ * <p>Items can be added by any thread, but {@link #advance(long, Predicate)} must be called by one ticker thread.
+ * Items finished before their deadline are not removed eagerly, they are dropped when their bucket is visited.
+ *
+ * @param <T> the item type
+ * @author Nacos
+ */
+public class TimeoutWheel<T> {
+    
+    private final long tickMillis;
+    
+    private final List<Node<T>>[] buckets;
+    
+    private final Queue<Node<T>> pendingNodes = new ConcurrentLinkedQueue<>();
+    
+    private long processedTick;
+    
+    @SuppressWarnings("unchecked")
+    public TimeoutWheel(long tickMillis, int wheelSize, long currentTimeMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.processedTick = currentTimeMillis / tickMillis;
+    }
+    
+    /**
+     * Add item which times out at deadline.
+     *
+     * @param item     item
+     * @param deadline deadline in milliseconds
+     */
+    public void add(T item, long deadline) {
+        pendingNodes.offer(new Node<>(item, deadline));
+    }
+    
+    /**
+     * Advance the wheel to current time.
+     *
+     * @param currentTimeMillis current time in milliseconds
+     * @param alive             whether the item is still waiting, items not alive are dropped
+     * @return alive items which reached their deadline
+     */
+    public List<T> advance(long currentTimeMillis, Predicate<T> alive) {
+        transferPendingNodes();
+        List<T> result = new ArrayList<>();
+        long currentTick = currentTimeMillis / tickMillis;
+        // Every bucket is visited at most once for one advance, even if the ticker was delayed for a whole round.
+        long lastTick = Math.min(currentTick, processedTick + buckets.length);
+        for (long tick = processedTick + 1; tick <= lastTick; tick++) {
+            expireBucket(buckets[(int) (tick % buckets.length)], currentTimeMillis, alive, result);
+        }
+        processedTick = Math.max(processedTick, currentTick);
+        return result;
+    }
+    
+    private void transferPendingNodes() {
+        Node<T> node;
+        while (null != (node = pendingNodes.poll())) {
+            // round up, so that the bucket of node is never visited before the deadline.
+            long tick = Math.max((node.deadline + tickMillis - 1) / tickMillis, processedTick + 1);
+            buckets[(int) (tick % buckets.length)].add(node);
+        }
+    }
+    
+    private void expireBucket(List<Node<T>> bucket, long currentTimeMillis, Predicate<T> alive, List<T> result) {
+        Iterator<Node<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Node<T> node = iterator.next();
+            if (!alive.test(node.item)) {
+                iterator.remove();
+            } else if (node.deadline <= currentTimeMillis) {
+                iterator.remove();
+                result.add(node.item);
+            }
+        }
+    }
+    
+    /**
+     * Get count of items in the wheel, including the finished items not dropped yet, should be called by the ticker
+     * thread.
+     *
+     * @return count of items
+     */
+    public int size() {
+        int result = pendingNodes.size();
+        for (List<Node<T>> each : buckets) {
+            result += each.size();
+        }
+        return result;
+    }
+    
+    private static class Node<T> {
+        
+        private final T item;
+        
+        private final long deadline;
+        
+        private Node(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.aspect;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigRemoveRequest;
 import com.alibaba.nacos.api.config.remote.response.ConfigPublishResponse;
@@ -23,6 +24,7 @@ import com.alibaba.nacos.api.config.remote.response.ConfigRemoveResponse;
 import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.common.event.ServerConfigChangeEvent;
+import com.alibaba.nacos.common.utils.IoUtils;
 import com.alibaba.nacos.config.server.configuration.ConfigChangeConfigs;
 import com.alibaba.nacos.config.server.model.SameConfigPolicy;
 import com.alibaba.nacos.config.server.utils.RequestUtil;
@@ -39,6 +41,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -52,6 +55,7 @@ import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -193,6 +197,26 @@ class ConfigChangeAspectTest {
         assertEquals(configPublishResponse, o);
     }
     
+    @Test
+    void testPublishCompressedConfigAroundRpc() throws Throwable {
+        Mockito.when(configChangePluginService.executeType()).thenReturn(ConfigChangeExecuteTypes.EXECUTE_BEFORE_TYPE);
+        ProceedingJoinPoint proceedingJoinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        ConfigPublishRequest request = new ConfigPublishRequest();
+        request.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        request.setCompressedContent(IoUtils.tryCompress("compressed content", Constants.ENCODE));
+        RequestMeta requestMeta = new RequestMeta();
+        Mockito.when(proceedingJoinPoint.proceed(any())).thenReturn(ConfigPublishResponse.buildSuccessResponse());
+        //execute
+        configChangeAspect.publishConfigAroundRpc(proceedingJoinPoint, request, requestMeta);
+        //expect plugin and handler see the decoded content.
+        ArgumentCaptor<ConfigChangeRequest> captor = ArgumentCaptor.forClass(ConfigChangeRequest.class);
+        Mockito.verify(configChangePluginService).execute(captor.capture(), any(ConfigChangeResponse.class));
+        assertEquals("compressed content", captor.getValue().getArg("content"));
+        assertEquals("compressed content", request.getContent());
+        assertNull(request.getCompressedContent());
+        assertNull(request.getContentEncoding());
+    }
+    
     @Test
     void testPublishConfigAroundRpcException() throws Throwable {
         Mockito.when(configChangePluginService.executeType()).thenReturn(ConfigChangeExecuteTypes.EXECUTE_BEFORE_TYPE);
@@ -73,9 +73,13 @@ class ConfigCommonConfigTest {
     void testUpgradeFromEvent() {
         environment.setProperty("nacos.config.push.maxRetryTime", "100");
         environment.setProperty("nacos.config.derby.ops.enabled", "true");
+        environment.setProperty("nacos.config.push.batch.window", "0");
+        environment.setProperty("nacos.config.push.batch.maxSize", "10");
         commonConfig.onEvent(ServerConfigChangeEvent.newEvent());
         assertEquals(100, commonConfig.getMaxPushRetryTimes());
         assertTrue(commonConfig.isDerbyOpsEnabled());
+        assertEquals(0, commonConfig.getPushBatchWindow());
+        assertEquals(10, commonConfig.getPushBatchMaxSize());
     }
     
     @Test
@@ -65,6 +65,7 @@ import static com.alibaba.nacos.config.server.constant.Constants.ENCODE_UTF8;
 import static com.alibaba.nacos.config.server.utils.RequestUtil.CLIENT_APPNAME_HEADER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -94,6 +95,10 @@ class ConfigServletInnerTest {
         EnvUtil.setEnvironment(new StandardEnvironment());
         ReflectionTestUtils.setField(configServletInner, "longPollingService", longPollingService);
         configCacheServiceMockedStatic = Mockito.mockStatic(ConfigCacheService.class);
+        configCacheServiceMockedStatic.when(() -> ConfigCacheService.getContent(any(), any(), any()))
+                .thenCallRealMethod();
+        configCacheServiceMockedStatic.when(() -> ConfigCacheService.getGrayContent(any(), any(), any(), any()))
+                .thenCallRealMethod();
         propertyUtilMockedStatic = Mockito.mockStatic(PropertyUtil.class);
         propertyUtilMockedStatic.when(PropertyUtil::getMaxContent).thenReturn(1024 * 1000);
         md5UtilMockedStatic = Mockito.mockStatic(MD5Util.class);
@@ -0,0 +1,140 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.model;
+
+import com.alibaba.nacos.config.server.model.gray.BetaGrayRule;
+import com.alibaba.nacos.config.server.model.gray.ConfigGrayPersistInfo;
+import com.alibaba.nacos.config.server.model.gray.GrayRuleManager;
+import com.alibaba.nacos.config.server.model.gray.TagGrayRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link ConfigCacheGrayMatcher} compared with evaluating the sorted grays one by one.
+ *
+ * <p>The cache item has 100 grays, half beta rules of {@code betaIpCount} ips each and half tag rules. Clients are
+ * picked randomly from ips of which one in four is a beta ip, and tags of which one in four has a tag gray.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigCacheGrayMatcherBenchmark {
+    
+    private static final int GRAY_COUNT = 100;
+    
+    @Param({"10", "500"})
+    private int betaIpCount;
+    
+    private CacheItem cacheItem;
+    
+    private int clientIpCount;
+    
+    /**
+     * Prepare the cache item with grays.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        cacheItem = new CacheItem("dataId+group+tenant");
+        int betaCount = GRAY_COUNT / 2;
+        for (int i = 0; i < betaCount; i++) {
+            StringBuilder ips = new StringBuilder();
+            for (int j = 0; j < betaIpCount; j++) {
+                if (j > 0) {
+                    ips.append(',');
+                }
+                ips.append(ip(i * betaIpCount + j));
+            }
+            addGray("beta_" + i, BetaGrayRule.TYPE_BETA, BetaGrayRule.VERSION, ips.toString(), i);
+        }
+        for (int i = 0; i < GRAY_COUNT - betaCount; i++) {
+            addGray("tag_" + i, TagGrayRule.TYPE_TAG, TagGrayRule.VERSION, "tag" + i, betaCount + i);
+        }
+        cacheItem.sortConfigGray();
+        clientIpCount = betaCount * betaIpCount * 4;
+    }
+    
+    private void addGray(String grayName, String type, String version, String expr, int priority) {
+        cacheItem.initConfigGrayIfEmpty(grayName);
+        cacheItem.getConfigCacheGray().get(grayName).resetGrayRule(
+                GrayRuleManager.serializeConfigGrayPersistInfo(new ConfigGrayPersistInfo(type, version, expr, priority)));
+    }
+    
+    private String ip(int index) {
+        return "10." + (index >> 16 & 0xff) + "." + (index >> 8 & 0xff) + "." + (index & 0xff);
+    }
+    
+    private String randomIp() {
+        return ip(ThreadLocalRandom.current().nextInt(clientIpCount));
+    }
+    
+    private String randomTag() {
+        return "tag" + ThreadLocalRandom.current().nextInt(GRAY_COUNT * 2);
+    }
+    
+    /**
+     * Match by evaluating the sorted grays one by one.
+     *
+     * @return matched gray
+     */
+    @Benchmark
+    public ConfigCacheGray linearMatch() {
+        Map<String, String> labels = new HashMap<>(4);
+        labels.put(BetaGrayRule.CLIENT_IP_LABEL, randomIp());
+        labels.put(TagGrayRule.VIP_SERVER_TAG_LABEL, randomTag());
+        for (ConfigCacheGray each : cacheItem.getSortConfigGrays()) {
+            if (each.match(labels)) {
+                return each;
+            }
+        }
+        return null;
+    }
+    
+    @Benchmark
+    public ConfigCacheGray compiledMatch() {
+        return cacheItem.getGrayMatcher().match(randomIp(), randomTag(), null);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ConfigCacheGrayMatcherBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.model;
+
+import com.alibaba.nacos.config.server.model.gray.BetaGrayRule;
+import com.alibaba.nacos.config.server.model.gray.ConfigGrayPersistInfo;
+import com.alibaba.nacos.config.server.model.gray.GrayRule;
+import com.alibaba.nacos.config.server.model.gray.GrayRuleManager;
+import com.alibaba.nacos.config.server.model.gray.TagGrayRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConfigCacheGrayMatcherTest {
+    
+    CacheItem cacheItem;
+    
+    @BeforeEach
+    void setUp() {
+        cacheItem = new CacheItem("dataId+group+tenant");
+        addGray("beta", BetaGrayRule.TYPE_BETA, BetaGrayRule.VERSION, "1.1.1.1,2.2.2.2", 10);
+        addGray("tag_t1", TagGrayRule.TYPE_TAG, TagGrayRule.VERSION, "t1", 20);
+        addGray("tag_t2", TagGrayRule.TYPE_TAG, TagGrayRule.VERSION, "t2", 5);
+        addGray("beta_low", BetaGrayRule.TYPE_BETA, BetaGrayRule.VERSION, "1.1.1.1,3.3.3.3", 1);
+        cacheItem.sortConfigGray();
+    }
+    
+    private void addGray(String grayName, String type, String version, String expr, int priority) {
+        cacheItem.initConfigGrayIfEmpty(grayName);
+        cacheItem.getConfigCacheGray().get(grayName).resetGrayRule(
+                GrayRuleManager.serializeConfigGrayPersistInfo(new ConfigGrayPersistInfo(type, version, expr, priority)));
+    }
+    
+    @Test
+    void testMatchByPriority() {
+        ConfigCacheGrayMatcher matcher = cacheItem.getGrayMatcher();
+        assertEquals("tag_t1", matcher.match("1.1.1.1", "t1", null).getGrayName());
+        assertEquals("beta", matcher.match("1.1.1.1", "t2", null).getGrayName());
+        assertEquals("tag_t2", matcher.match("3.3.3.3", "t2", null).getGrayName());
+        assertEquals("beta_low", matcher.match("3.3.3.3", null, null).getGrayName());
+        assertNull(matcher.match("4.4.4.4", "t3", null));
+        assertNull(matcher.match(null, null, null));
+    }
+    
+    @Test
+    void testMatchLabels() {
+        ConfigCacheGrayMatcher matcher = cacheItem.getGrayMatcher();
+        Map<String, String> labels = new HashMap<>();
+        labels.put(BetaGrayRule.CLIENT_IP_LABEL, "2.2.2.2");
+        assertEquals("beta", matcher.match(labels).getGrayName());
+        labels.put(TagGrayRule.VIP_SERVER_TAG_LABEL, "t1");
+        assertEquals("tag_t1", matcher.match(labels).getGrayName());
+        assertEquals("tag_t2", matcher.match("3.3.3.3", "t2", labels).getGrayName());
+        assertEquals(2, labels.size());
+        assertEquals("2.2.2.2", labels.get(BetaGrayRule.CLIENT_IP_LABEL));
+        assertNull(matcher.match(Collections.emptyMap()));
+    }
+    
+    @Test
+    void testMatchGenericRule() {
+        List<ConfigCacheGray> grays = new ArrayList<>(cacheItem.getSortConfigGrays());
+        ConfigCacheGray first = mockGenericGray();
+        ConfigCacheGray last = mockGenericGray();
+        grays.add(0, first);
+        grays.add(last);
+        ConfigCacheGrayMatcher matcher = ConfigCacheGrayMatcher.compile(grays);
+        
+        assertEquals("beta", matcher.match("2.2.2.2", null, null).getGrayName());
+        verify(last, never()).match(anyMap());
+        
+        when(first.match(anyMap())).thenReturn(true);
+        assertSame(first, matcher.match("2.2.2.2", null, null));
+        
+        when(first.match(anyMap())).thenReturn(false);
+        when(last.match(anyMap())).thenReturn(true);
+        assertSame(last, matcher.match("5.5.5.5", "t3", null));
+    }
+    
+    private ConfigCacheGray mockGenericGray() {
+        ConfigCacheGray gray = mock(ConfigCacheGray.class);
+        when(gray.getGrayRule()).thenReturn(mock(GrayRule.class));
+        return gray;
+    }
+}
@@ -21,12 +21,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 class ConfigChangeListenContextTest {
@@ -84,4 +93,80 @@ class ConfigChangeListenContextTest {
         assertEquals("md5", listenKeyMd5);
     }
     
+    @Test
+    void testGetListenKeyMd5WithNullMd5() {
+        configChangeListenContext.addListen("groupKey", null, "connectionId");
+        assertEquals("", configChangeListenContext.getListenKeyMd5("connectionId", "groupKey"));
+        assertEquals(1, configChangeListenContext.getListeners("groupKey").size());
+    }
+    
+    @Test
+    void testGetListenersView() {
+        assertTrue(configChangeListenContext.getListenersView("groupKey").isEmpty());
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId1");
+        Set<String> view = configChangeListenContext.getListenersView("groupKey");
+        assertEquals(1, view.size());
+        configChangeListenContext.addListen("groupKey", "md5", "connectionId2");
+        assertEquals(2, view.size());
+        assertThrows(UnsupportedOperationException.class, () -> view.remove("connectionId1"));
+        for (String each : view) {
+            configChangeListenContext.removeListen("groupKey", each);
+        }
+        assertTrue(configChangeListenContext.getListenersView("groupKey").isEmpty());
+    }
+    
+    @Test
+    void testClearContextKeepsOtherConnections() {
+        configChangeListenContext.addListen("groupKey1", "md5", "connectionId1");
+        configChangeListenContext.addListen("groupKey2", "md5", "connectionId1");
+        configChangeListenContext.addListen("groupKey1", "md5", "connectionId2");
+        configChangeListenContext.clearContextForConnectionId("connectionId1");
+        assertEquals(1, configChangeListenContext.getConnectionCount());
+        assertEquals(1, configChangeListenContext.getListeners("groupKey1").size());
+        assertTrue(configChangeListenContext.getListeners("groupKey1").contains("connectionId2"));
+        assertNull(configChangeListenContext.getListeners("groupKey2"));
+        configChangeListenContext.clearContextForConnectionId("connectionId3");
+        assertEquals(1, configChangeListenContext.getConnectionCount());
+    }
+    
+    @Test
+    void testConcurrentListenAndClear() throws InterruptedException {
+        int threads = 8;
+        int keys = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        List<String> connectionIds = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                String connectionId = "connectionId" + i;
+                connectionIds.add(connectionId);
+                executorService.execute(() -> {
+                    try {
+                        for (int j = 0; j < keys; j++) {
+                            configChangeListenContext.addListen("groupKey" + j, "md5", connectionId);
+                            configChangeListenContext.getListenersView("groupKey" + j).forEach(String::length);
+                        }
+                        for (int j = 0; j < keys; j += 2) {
+                            configChangeListenContext.removeListen("groupKey" + j, connectionId);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(threads, configChangeListenContext.getConnectionCount());
+        assertNull(configChangeListenContext.getListeners("groupKey0"));
+        assertEquals(threads, configChangeListenContext.getListeners("groupKey1").size());
+        for (String each : connectionIds) {
+            assertEquals(keys / 2, configChangeListenContext.getListenKeys(each).size());
+            configChangeListenContext.clearContextForConnectionId(each);
+        }
+        assertEquals(0, configChangeListenContext.getConnectionCount());
+        assertFalse(configChangeListenContext.getListenersView("groupKey1").iterator().hasNext());
+    }
+    
 }
\ No newline at end of file
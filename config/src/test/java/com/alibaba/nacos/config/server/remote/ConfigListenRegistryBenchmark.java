@@ -0,0 +1,139 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.remote;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark of {@link ConfigChangeListenContext} under listen churn and concurrent change notifying.
+ *
+ * <p>{@code churn} threads keep listening and cancelling random group keys by their own connections, and reconnect
+ * from time to time, {@code notifyChange} threads iterate the listeners of random group keys as a config change does.
+ * Run it by {@link #main(String[])} with the test classpath.
+ *
+ * @author Nacos
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigListenRegistryBenchmark {
+    
+    private static final String MD5 = "d41d8cd98f00b204e9800998ecf8427e";
+    
+    @Param({"10000"})
+    private int groupKeyCount;
+    
+    @Param({"1000"})
+    private int connectionCount;
+    
+    private ConfigChangeListenContext context;
+    
+    private String[] groupKeys;
+    
+    private final AtomicInteger connectionSequence = new AtomicInteger();
+    
+    /**
+     * Prepare listens, every connection listens 20 random group keys.
+     */
+    @Setup
+    public void setUp() {
+        context = new ConfigChangeListenContext();
+        groupKeys = new String[groupKeyCount];
+        for (int i = 0; i < groupKeyCount; i++) {
+            groupKeys[i] = "dataId" + i + "+group+tenant";
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < connectionCount; i++) {
+            String connectionId = "connection-" + connectionSequence.getAndIncrement();
+            for (int j = 0; j < 20; j++) {
+                context.addListen(groupKeys[random.nextInt(groupKeyCount)], MD5, connectionId);
+            }
+        }
+    }
+    
+    /**
+     * Listen and cancel random group key, reconnect every 64 operations.
+     *
+     * @param connection connection of the churn thread
+     */
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(4)
+    public void churn(ChurnConnection connection) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String groupKey = groupKeys[random.nextInt(groupKeyCount)];
+        context.addListen(groupKey, MD5, connection.connectionId);
+        context.removeListen(groupKeys[random.nextInt(groupKeyCount)], connection.connectionId);
+        if (++connection.operations % 64 == 0) {
+            context.clearContextForConnectionId(connection.connectionId);
+            connection.connectionId = "connection-" + connectionSequence.getAndIncrement();
+        }
+    }
+    
+    /**
+     * Iterate listeners of random group key as notifying config change.
+     *
+     * @param blackhole blackhole
+     */
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(4)
+    public void notifyChange(Blackhole blackhole) {
+        String groupKey = groupKeys[ThreadLocalRandom.current().nextInt(groupKeyCount)];
+        for (String each : context.getListenersView(groupKey)) {
+            blackhole.consume(each);
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ConfigListenRegistryBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+    
+    @State(Scope.Thread)
+    public static class ChurnConnection {
+        
+        private String connectionId = "churn-" + Thread.currentThread().getId();
+        
+        private int operations;
+    }
+}
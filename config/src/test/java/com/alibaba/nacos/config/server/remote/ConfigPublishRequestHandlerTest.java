@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
 import com.alibaba.nacos.api.config.remote.response.ConfigPublishResponse;
 import com.alibaba.nacos.api.exception.NacosException;
@@ -25,6 +26,7 @@ import com.alibaba.nacos.api.remote.response.ResponseCode;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.IoUtils;
 import com.alibaba.nacos.config.server.model.ConfigInfo;
 import com.alibaba.nacos.config.server.model.ConfigInfoStateWrapper;
 import com.alibaba.nacos.config.server.model.ConfigOperateResult;
@@ -45,7 +47,9 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -54,6 +58,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -153,6 +158,56 @@ class ConfigPublishRequestHandlerTest {
         
     }
     
+    /**
+     * publish a config with gzip content, expect the decompressed content is persisted.
+     *
+     * @throws Exception exception.
+     */
+    @Test
+    void testPublishCompressedContent() throws Exception {
+        String dataId = "testPublishCompressedContent";
+        String content = "content";
+        ConfigPublishRequest configPublishRequest = new ConfigPublishRequest();
+        configPublishRequest.setDataId(dataId);
+        configPublishRequest.setGroup("group");
+        configPublishRequest.setTenant("tenant");
+        configPublishRequest.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        configPublishRequest.setCompressedContent(IoUtils.tryCompress(content, "UTF-8"));
+        RequestMeta requestMeta = new RequestMeta();
+        requestMeta.setClientIp("127.0.0.1");
+        
+        ConfigOperateResult configOperateResult = new ConfigOperateResult(true);
+        configOperateResult.setLastModified(System.currentTimeMillis());
+        when(configInfoPersistService.insertOrUpdate(eq(requestMeta.getClientIp()), any(),
+                argThat(configInfo -> content.equals(configInfo.getContent())), any(Map.class))).thenReturn(
+                configOperateResult);
+        ConfigPublishResponse response = configPublishRequestHandler.handle(configPublishRequest, requestMeta);
+        assertEquals(ResponseCode.SUCCESS.getCode(), response.getResultCode());
+    }
+    
+    /**
+     * publish a config with content which is not gzip, expect fail.
+     *
+     * @throws Exception exception.
+     */
+    @Test
+    void testPublishInvalidCompressedContent() throws Exception {
+        ConfigPublishRequest configPublishRequest = new ConfigPublishRequest();
+        configPublishRequest.setDataId("testPublishInvalidCompressedContent");
+        configPublishRequest.setGroup("group");
+        configPublishRequest.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        configPublishRequest.setCompressedContent("content".getBytes(StandardCharsets.UTF_8));
+        RequestMeta requestMeta = new RequestMeta();
+        requestMeta.setClientIp("127.0.0.1");
+        ConfigPublishResponse response = configPublishRequestHandler.handle(configPublishRequest, requestMeta);
+        assertEquals(ResponseCode.FAIL.getCode(), response.getResultCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+        
+        configPublishRequest.setContentEncoding("unknown");
+        response = configPublishRequestHandler.handle(configPublishRequest, requestMeta);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getErrorCode());
+    }
+    
     /**
      * publish a exist config.
      *
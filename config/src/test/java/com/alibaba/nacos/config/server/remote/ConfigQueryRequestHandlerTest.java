@@ -16,9 +16,12 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.common.Constants;
 import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
 import com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
+import com.alibaba.nacos.common.utils.IoUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigCacheGray;
@@ -42,6 +45,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.StandardEnvironment;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static com.alibaba.nacos.api.common.Constants.VIPSERVER_TAG;
 import static com.alibaba.nacos.api.config.remote.response.ConfigQueryResponse.CONFIG_NOT_FOUND;
@@ -49,7 +54,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -83,6 +90,10 @@ class ConfigQueryRequestHandlerTest {
     void setUp() throws IOException {
         EnvUtil.setEnvironment(new StandardEnvironment());
         configCacheServiceMockedStatic = Mockito.mockStatic(ConfigCacheService.class);
+        configCacheServiceMockedStatic.when(() -> ConfigCacheService.getContent(any(), any(), any()))
+                .thenCallRealMethod();
+        configCacheServiceMockedStatic.when(() -> ConfigCacheService.getGrayContent(any(), any(), any(), any()))
+                .thenCallRealMethod();
         propertyUtilMockedStatic = Mockito.mockStatic(PropertyUtil.class);
         configDiskServiceFactoryMockedStatic = Mockito.mockStatic(ConfigDiskServiceFactory.class);
         configQueryRequestHandler = new ConfigQueryRequestHandler();
@@ -129,6 +140,73 @@ class ConfigQueryRequestHandlerTest {
         assertEquals(content, response.getContent());
     }
     
+    /**
+     * get normal config known by client, only a reference is answered.
+     *
+     * @throws Exception Exception.
+     */
+    @Test
+    void testGetKnownContentRef() throws Exception {
+        
+        final String groupKey = GroupKey2.getKey(dataId, group, "");
+        String md5 = MD5Utils.md5Hex(content, "UTF-8");
+        CacheItem cacheItem = new CacheItem(groupKey);
+        cacheItem.getConfigCache().setMd5Utf8(md5);
+        when(ConfigCacheService.getContentCache(eq(groupKey))).thenReturn(cacheItem);
+        
+        ConfigQueryRequest configQueryRequest = new ConfigQueryRequest();
+        configQueryRequest.setDataId(dataId);
+        configQueryRequest.setGroup(group);
+        configQueryRequest.setKnownContentMd5s(Arrays.asList("otherMd5", md5));
+        RequestMeta requestMeta = new RequestMeta();
+        requestMeta.setClientIp("127.0.0.1");
+        
+        ConfigQueryResponse response = configQueryRequestHandler.handle(configQueryRequest, requestMeta);
+        assertTrue(response.isSuccess());
+        assertTrue(response.isContentRef());
+        assertNull(response.getContent());
+        assertEquals(md5, response.getMd5());
+        configDiskServiceFactoryMockedStatic.verify(ConfigDiskServiceFactory::getInstance, never());
+    }
+    
+    
+    /**
+     * get large normal config by client supporting compression, the gzip content is answered.
+     *
+     * @throws Exception Exception.
+     */
+    @Test
+    void testGetCompressedContent() throws Exception {
+        
+        final String groupKey = GroupKey2.getKey(dataId, group, "");
+        String content = String.join("", Collections.nCopies(100, "content"));
+        ConfigRocksDbDiskService configRocksDbDiskService = Mockito.mock(ConfigRocksDbDiskService.class);
+        when(ConfigDiskServiceFactory.getInstance()).thenReturn(configRocksDbDiskService);
+        when(configRocksDbDiskService.getContent(eq(dataId), eq(group), eq(null))).thenReturn(content);
+        propertyUtilMockedStatic.when(PropertyUtil::getCompressionThreshold).thenReturn(64);
+        CacheItem cacheItem = new CacheItem(groupKey);
+        cacheItem.getConfigCache().setMd5Utf8(MD5Utils.md5Hex(content, "UTF-8"));
+        when(ConfigCacheService.getContentCache(eq(groupKey))).thenReturn(cacheItem);
+        
+        ConfigQueryRequest configQueryRequest = new ConfigQueryRequest();
+        configQueryRequest.setDataId(dataId);
+        configQueryRequest.setGroup(group);
+        RequestMeta requestMeta = new RequestMeta();
+        requestMeta.setClientIp("127.0.0.1");
+        requestMeta.setAbilityTable(
+                Collections.singletonMap(AbilityKey.SDK_CLIENT_SUPPORT_CONFIG_COMPRESSION.getName(), true));
+        
+        ConfigQueryResponse response = configQueryRequestHandler.handle(configQueryRequest, requestMeta);
+        assertTrue(response.isSuccess());
+        assertNull(response.getContent());
+        assertEquals(Constants.Config.CONTENT_ENCODING_GZIP, response.getContentEncoding());
+        assertEquals(content, new String(IoUtils.tryDecompress(response.getCompressedContent()), "UTF-8"));
+        
+        requestMeta.setAbilityTable(null);
+        response = configQueryRequestHandler.handle(configQueryRequest, requestMeta);
+        assertEquals(content, response.getContent());
+        assertNull(response.getContentEncoding());
+    }
     
     /**
      * get beta config from local disk.
@@ -16,7 +16,10 @@
 
 package com.alibaba.nacos.config.server.remote;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchChangeNotifyRequest;
 import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.config.server.configuration.ConfigCommonConfig;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
@@ -33,6 +36,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -40,13 +44,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
@@ -127,7 +134,7 @@ class RpcConfigChangeNotifierTest {
         Mockito.when(connectionManager.getConnection(eq("con3"))).thenReturn(mockConn3);
         Mockito.when(mockConn3.getMetaInfo())
                 .thenReturn(new ConnectionMeta("con3", "192.168.0.1", "192.168.0.2", 34567, 9848, "GRPC", "2.2.0", null, new HashMap<>()));
-        Mockito.when(configChangeListenContext.getListeners(eq(groupKey))).thenReturn(mockConnectionIds);
+        Mockito.when(configChangeListenContext.getListenersView(eq(groupKey))).thenReturn(mockConnectionIds);
         //mock push tps passed
         Mockito.when(tpsControlManager.check(any(TpsCheckRequest.class))).thenReturn(new TpsCheckResponse(true, 200, "success"));
         
@@ -144,6 +151,50 @@ class RpcConfigChangeNotifierTest {
         
     }
     
+    @Test
+    void testOnDataEventBatchNotify() throws InterruptedException {
+        ConfigCommonConfig commonConfig = ConfigCommonConfig.getInstance();
+        int batchWindow = commonConfig.getPushBatchWindow();
+        int batchMaxSize = commonConfig.getPushBatchMaxSize();
+        commonConfig.setPushBatchWindow(100);
+        commonConfig.setPushBatchMaxSize(2);
+        try {
+            String groupKey1 = GroupKey2.getKey("d1", "g", "tenant");
+            String groupKey2 = GroupKey2.getKey("d2", "g", "tenant");
+            String groupKey3 = GroupKey2.getKey("d3", "g", "tenant");
+            Set<String> listeners = Collections.singleton("con1");
+            Mockito.when(configChangeListenContext.getListenersView(any())).thenReturn(listeners);
+            GrpcConnection mockConn1 = Mockito.mock(GrpcConnection.class);
+            Mockito.when(connectionManager.getConnection(eq("con1"))).thenReturn(mockConn1);
+            Map<String, Boolean> abilityTable = new HashMap<>();
+            abilityTable.put(AbilityKey.SDK_CLIENT_SUPPORT_CONFIG_BATCH_NOTIFY.getName(), true);
+            Mockito.when(mockConn1.getAbilityTable()).thenReturn(abilityTable);
+            Mockito.when(mockConn1.getMetaInfo())
+                    .thenReturn(new ConnectionMeta("con1", "192.168.0.1", "192.168.0.2", 34567, 9848, "GRPC", "2.2.0", null, new HashMap<>()));
+            Mockito.when(tpsControlManager.check(any(TpsCheckRequest.class))).thenReturn(new TpsCheckResponse(true, 200, "success"));
+            
+            rpcConfigChangeNotifier.configDataChanged(groupKey1, "d1", "g", "tenant");
+            rpcConfigChangeNotifier.configDataChanged(groupKey2, "d2", "g", "tenant");
+            rpcConfigChangeNotifier.configDataChanged(groupKey1, "d1", "g", "tenant");
+            rpcConfigChangeNotifier.configDataChanged(groupKey3, "d3", "g", "tenant");
+            Thread.sleep(500L);
+            
+            //expect 3 changed configs pushed by 2 batches, and tps checked per batch.
+            ArgumentCaptor<ConfigBatchChangeNotifyRequest> captor = ArgumentCaptor.forClass(ConfigBatchChangeNotifyRequest.class);
+            Mockito.verify(rpcPushService, times(2))
+                    .pushWithCallback(eq("con1"), captor.capture(), any(RpcConfigChangeNotifier.RpcPushCallback.class), any(Executor.class));
+            assertEquals(2, captor.getAllValues().get(0).getChangedConfigs().size());
+            assertEquals("d1", captor.getAllValues().get(0).getChangedConfigs().get(0).getDataId());
+            assertEquals("d2", captor.getAllValues().get(0).getChangedConfigs().get(1).getDataId());
+            assertEquals(1, captor.getAllValues().get(1).getChangedConfigs().size());
+            assertEquals("d3", captor.getAllValues().get(1).getChangedConfigs().get(0).getDataId());
+            Mockito.verify(tpsControlManager, times(2)).check(any(TpsCheckRequest.class));
+        } finally {
+            commonConfig.setPushBatchWindow(batchWindow);
+            commonConfig.setPushBatchMaxSize(batchMaxSize);
+        }
+    }
+    
     @Test
     void testRpcCallBack() {
         MockedStatic<ConfigExecutor> configExecutorMockedStatic = Mockito.mockStatic(ConfigExecutor.class);
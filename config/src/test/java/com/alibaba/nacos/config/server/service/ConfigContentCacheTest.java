@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConfigContentCacheTest {
+    
+    private static final int SEGMENTS = 16;
+    
+    @Test
+    void testGetWithMd5() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 1024L * SEGMENTS);
+        cache.put("key", "md5", "content");
+        assertEquals("content", cache.get("key", "md5"));
+        assertNull(cache.get("key", "newMd5"));
+        assertNull(cache.get("key", null));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1D / 3, cache.getHitRatio(), 0.0001D);
+    }
+    
+    @Test
+    void testNonAsciiContent() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 1024L * SEGMENTS);
+        String content = "配置内容";
+        cache.put("key", "md5", content);
+        assertEquals(content, cache.get("key", "md5"));
+        assertEquals(12, cache.getResidentBytes());
+    }
+    
+    @Test
+    void testInvalidate() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 1024L * SEGMENTS);
+        cache.put("key", "md5", "content");
+        cache.invalidate("key");
+        assertNull(cache.get("key", "md5"));
+        assertEquals(0, cache.getResidentBytes());
+    }
+    
+    @Test
+    void testReplaceUpdatesBytes() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 1024L * SEGMENTS);
+        cache.put("key", "md5", "content");
+        cache.put("key", "md5-2", "longer content");
+        assertEquals(14, cache.getResidentBytes());
+        assertEquals("longer content", cache.get("key", "md5-2"));
+    }
+    
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 10L * SEGMENTS);
+        // keys with same hash code are in same segment.
+        cache.put("AaAa", "md5", "12345");
+        cache.put("AaBB", "md5", "12345");
+        assertEquals("12345", cache.get("AaAa", "md5"));
+        cache.put("BBBB", "md5", "12345");
+        assertEquals("12345", cache.get("AaAa", "md5"));
+        assertNull(cache.get("AaBB", "md5"));
+        assertEquals("12345", cache.get("BBBB", "md5"));
+        assertEquals(10, cache.getResidentBytes());
+    }
+    
+    @Test
+    void testContentLargerThanSegmentNotCached() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 4L * SEGMENTS);
+        cache.put("key", "md5", "12345");
+        assertNull(cache.get("key", "md5"));
+        assertEquals(0, cache.getResidentBytes());
+    }
+    
+    @Test
+    void testDisabled() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 0L);
+        cache.put("key", "md5", "content");
+        assertNull(cache.get("key", "md5"));
+    }
+    
+    @Test
+    void testCompressedCopy() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 1024L * SEGMENTS);
+        byte[] compressed = new byte[] {1, 2, 3};
+        cache.putCompressed("key", "md5", compressed);
+        assertNull(cache.getCompressed("key", "md5"));
+        cache.put("key", "md5", "content");
+        cache.putCompressed("key", "md5-2", compressed);
+        assertNull(cache.getCompressed("key", "md5"));
+        cache.putCompressed("key", "md5", compressed);
+        assertArrayEquals(compressed, cache.getCompressed("key", "md5"));
+        assertNull(cache.getCompressed("key", "md5-2"));
+        assertEquals(10, cache.getResidentBytes());
+        cache.invalidate("key");
+        assertNull(cache.getCompressed("key", "md5"));
+        assertEquals(0, cache.getResidentBytes());
+    }
+    
+    @Test
+    void testCompressedCopyEvictsOthers() {
+        ConfigContentCache cache = new ConfigContentCache(() -> 10L * SEGMENTS);
+        cache.put("AaAa", "md5", "12345");
+        cache.put("AaBB", "md5", "123");
+        cache.putCompressed("AaBB", "md5", new byte[] {1, 2, 3});
+        assertNull(cache.get("AaAa", "md5"));
+        assertEquals("123", cache.get("AaBB", "md5"));
+        assertEquals(6, cache.getResidentBytes());
+    }
+    
+    @Test
+    void testGrayKey() {
+        assertEquals("dataId+group+gray+beta", ConfigContentCache.grayKey("dataId+group", "beta"));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.api.config.remote.request.ConfigPublishRequest;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.utils.IoUtils;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigContentCompressorTest {
+    
+    private static final String KEY = "ConfigContentCompressorTest";
+    
+    private final String content = String.join("", Collections.nCopies(100, "content"));
+    
+    private int threshold;
+    
+    @BeforeEach
+    void setUp() {
+        threshold = PropertyUtil.getCompressionThreshold();
+        PropertyUtil.setCompressionThreshold(64);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        PropertyUtil.setCompressionThreshold(threshold);
+        ConfigContentCache.getInstance().invalidate(KEY);
+    }
+    
+    @Test
+    void testCompressAndDecompress() throws IOException {
+        byte[] compressed = ConfigContentCompressor.compress(KEY, "md5", content);
+        assertNotNull(compressed);
+        assertTrue(compressed.length < content.length());
+        assertEquals(content, ConfigContentCompressor.decompress(compressed, content.length()));
+        assertThrows(IOException.class, () -> ConfigContentCompressor.decompress(compressed, content.length() - 1));
+        assertTrue(ConfigContentCompressor.getCompressionRatio() > 0D);
+    }
+    
+    @Test
+    void testCompressedOnceWhenCached() {
+        ConfigContentCache.getInstance().put(KEY, "md5", content);
+        byte[] compressed = ConfigContentCompressor.compress(KEY, "md5", content);
+        assertSame(compressed, ConfigContentCompressor.compress(KEY, "md5", content));
+        assertNotNull(ConfigContentCompressor.compress(KEY, "md5-2", content));
+    }
+    
+    @Test
+    void testNotCompressed() {
+        assertNull(ConfigContentCompressor.compress(KEY, "md5", "content"));
+        assertNull(ConfigContentCompressor.compress(KEY, "md5", null));
+        String incompressible =
+                "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ!@#$%^&*()-_=+[]{};:,.<>/?";
+        ConfigContentCache.getInstance().put(KEY, "md5", incompressible);
+        assertNull(ConfigContentCompressor.compress(KEY, "md5", incompressible));
+        assertNull(ConfigContentCompressor.compress(KEY, "md5", incompressible));
+        PropertyUtil.setCompressionThreshold(0);
+        assertNull(ConfigContentCompressor.compress(KEY, "md5", content));
+    }
+    
+    @Test
+    void testDecompressInvalidContent() {
+        assertThrows(IOException.class, () -> ConfigContentCompressor.decompress(content.getBytes(UTF_8), 1024));
+    }
+    
+    @Test
+    void testDecodeContent() throws NacosException {
+        ConfigPublishRequest request = new ConfigPublishRequest();
+        request.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        request.setCompressedContent(IoUtils.tryCompress(content, Constants.ENCODE));
+        assertEquals(content, ConfigContentCompressor.decodeContent(request));
+        assertEquals(content, request.getContent());
+        assertNull(request.getCompressedContent());
+        assertNull(request.getContentEncoding());
+        // decoded in place, a second call keeps the content.
+        assertEquals(content, ConfigContentCompressor.decodeContent(request));
+    }
+    
+    @Test
+    void testDecodeInvalidContent() {
+        ConfigPublishRequest request = new ConfigPublishRequest();
+        request.setContentEncoding(Constants.Config.CONTENT_ENCODING_GZIP);
+        request.setCompressedContent(content.getBytes(UTF_8));
+        assertThrows(NacosException.class, () -> ConfigContentCompressor.decodeContent(request));
+        assertNull(ConfigContentCompressor.tryDecodeContent(request));
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -48,6 +49,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -291,4 +293,60 @@ class LongPollingServiceTest {
         Mockito.verify(asyncContext, times(1)).complete();
         
     }
+    
+    @Test
+    void testCoalesceChangesIntoOneResponse() throws Exception {
+        configExecutorMocked.close();
+        
+        //mock connection no limit
+        ConnectionCheckResponse connectionCheckResponse = new ConnectionCheckResponse();
+        connectionCheckResponse.setSuccess(true);
+        Mockito.when(connectionControlManager.check(any())).thenReturn(connectionCheckResponse);
+        switchServiceMockedStatic.when(() -> SwitchService.getSwitchInteger(eq(LongPollingService.CHANGE_COALESCE_TIME), anyInt()))
+                .thenReturn(300);
+        
+        String groupKey1 = GroupKey.getKeyTenant("dataIdCoalesce1", "group", "tenant");
+        String groupKey2 = GroupKey.getKeyTenant("dataIdCoalesce2", "group", "tenant");
+        String groupKeyNotChanged = GroupKey.getKeyTenant("dataIdCoalesce3", "group", "tenant");
+        Map<String, String> clientMd5Map = new HashMap<>();
+        clientMd5Map.put(groupKey1, "md5");
+        clientMd5Map.put(groupKey2, "md5");
+        clientMd5Map.put(groupKeyNotChanged, "md5");
+        HttpServletRequest httpServletRequest = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse httpServletResponse = Mockito.mock(HttpServletResponse.class);
+        PrintWriter printWriter = Mockito.mock(PrintWriter.class);
+        Mockito.when(httpServletResponse.getWriter()).thenReturn(printWriter);
+        Mockito.when(httpServletRequest.getHeader(eq(LongPollingService.LONG_POLLING_HEADER))).thenReturn("30000");
+        String clientIp = "192.168.0.2";
+        Mockito.when(httpServletRequest.getHeader(eq("X-Forwarded-For"))).thenReturn(clientIp);
+        AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(httpServletRequest.startAsync()).thenReturn(asyncContext);
+        Mockito.when(asyncContext.getRequest()).thenReturn(httpServletRequest);
+        Mockito.when(asyncContext.getResponse()).thenReturn(httpServletResponse);
+        configCacheServiceMockedStatic.when(() -> ConfigCacheService.isUptodate(anyString(), anyString(), anyString(), eq(null)))
+                .thenReturn(true);
+        
+        longPollingService.addLongPollingClient(httpServletRequest, httpServletResponse, clientMd5Map, 3);
+        for (int i = 0; i < 50 && longPollingService.getSubscriberCount() == 0; i++) {
+            Thread.sleep(20L);
+        }
+        assertEquals(1, longPollingService.getSubscriberCount(clientIp));
+        
+        longPollingService.new DataChangeTask(groupKey1).run();
+        longPollingService.new DataChangeTask(groupKey2).run();
+        longPollingService.new DataChangeTask(groupKey1).run();
+        Thread.sleep(800L);
+        
+        ArgumentCaptor<String> responseCaptor = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(printWriter, times(1)).println(responseCaptor.capture());
+        String response = responseCaptor.getValue();
+        assertTrue(response.contains(MD5Util.compareMd5ResultString(Arrays.asList(groupKey1))));
+        assertTrue(response.contains(MD5Util.compareMd5ResultString(Arrays.asList(groupKey2))));
+        assertFalse(response.contains(MD5Util.compareMd5ResultString(Arrays.asList(groupKeyNotChanged))));
+        Mockito.verify(asyncContext, times(1)).complete();
+        assertEquals(0, longPollingService.getSubscriberCount());
+        assertEquals(0, longPollingService.getSubscriberCount(clientIp));
+        assertTrue(longPollingService.getSubscribleInfo("dataIdCoalesce3", "group", "tenant").getLisentersGroupkeyStatus()
+                .isEmpty());
+    }
 }
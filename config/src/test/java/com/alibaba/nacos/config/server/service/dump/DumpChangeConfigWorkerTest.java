@@ -44,6 +44,7 @@ import java.io.File;
 import java.lang.reflect.Field;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,6 +53,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
@@ -144,10 +146,11 @@ class DumpChangeConfigWorkerTest {
         //mock delete config query is null
         Mockito.when(configInfoPersistService.findConfigInfoState(eq(dataIdPrefix + 1), eq("group" + 1), eq("tenant" + 1)))
                 .thenReturn(null);
-        Mockito.when(configInfoPersistService.findConfigInfoState(eq(dataIdPrefix + 2), eq("group" + 2), eq("tenant" + 2)))
-                .thenReturn(null);
         dumpChangeConfigWorker.run();
         
+        //expect configs not cached locally are not queried.
+        Mockito.verify(configInfoPersistService, never()).findConfigInfoState(eq(dataIdPrefix + 2), eq("group" + 2), eq("tenant" + 2));
+        
         //expect delete page return pagesize and will select second page
         Mockito.verify(historyConfigInfoPersistService, times(1)).findDeletedConfig(eq(startTime), eq(3L), eq(3), eq("formal"));
         //expect cache to be cleared.
@@ -177,8 +180,8 @@ class DumpChangeConfigWorkerTest {
         //1 timestamp-new&content-new
         ConfigInfoWrapper configInfoWrapperNewForId1 = createConfigInfoWrapper(dataIdPrefix, 1, startTime.getTime() + 2);
         configInfoWrapperNewForId1.setContent("content" + System.currentTimeMillis());
-        Mockito.when(configInfoPersistService.findConfigInfo(eq(dataIdPrefix + 1), eq("group" + 1), eq("tenant" + 1)))
-                .thenReturn(configInfoWrapperNewForId1);
+        Mockito.when(configInfoPersistService.findConfigInfoForDumpByIds(eq(Collections.singletonList(1L))))
+                .thenReturn(Collections.singletonList(configInfoWrapperNewForId1));
         
         dumpChangeConfigWorker.run();
         
@@ -213,8 +216,8 @@ class DumpChangeConfigWorkerTest {
         //mock change config query obj
         //1 timestamp-new&content-old
         ConfigInfoWrapper configInfoWrapperNewForId1 = createConfigInfoWrapper(dataIdPrefix, 1, startTime.getTime() + 2);
-        Mockito.when(configInfoPersistService.findConfigInfo(eq(dataIdPrefix + 1), eq("group" + 1), eq("tenant" + 1)))
-                .thenReturn(configInfoWrapperNewForId1);
+        Mockito.when(configInfoPersistService.findConfigInfoForDumpByIds(eq(Collections.singletonList(1L))))
+                .thenReturn(Collections.singletonList(configInfoWrapperNewForId1));
         
         dumpChangeConfigWorker.run();
         
@@ -252,8 +255,8 @@ class DumpChangeConfigWorkerTest {
         //1 timestamp-new&content-new
         ConfigInfoWrapper configInfoWrapperNewForId1 = createConfigInfoWrapper(dataIdPrefix, 1, startTime.getTime() - 2);
         configInfoWrapperNewForId1.setContent("content" + System.currentTimeMillis());
-        Mockito.when(configInfoPersistService.findConfigInfo(eq(dataIdPrefix + 1), eq("group" + 1), eq("tenant" + 1)))
-                .thenReturn(configInfoWrapperNewForId1);
+        Mockito.when(configInfoPersistService.findConfigInfoForDumpByIds(eq(Collections.singletonList(1L))))
+                .thenReturn(Collections.singletonList(configInfoWrapperNewForId1));
         
         dumpChangeConfigWorker.run();
         
@@ -291,8 +294,8 @@ class DumpChangeConfigWorkerTest {
         //1 timestamp-new&content-new
         ConfigInfoWrapper configInfoWrapperNewForId1 = createConfigInfoWrapper(dataIdPrefix, 1, startTime.getTime() - 1);
         configInfoWrapperNewForId1.setContent("content" + System.currentTimeMillis());
-        Mockito.when(configInfoPersistService.findConfigInfo(eq(dataIdPrefix + 1), eq("group" + 1), eq("tenant" + 1)))
-                .thenReturn(configInfoWrapperNewForId1);
+        Mockito.when(configInfoPersistService.findConfigInfoForDumpByIds(eq(Collections.singletonList(1L))))
+                .thenReturn(Collections.singletonList(configInfoWrapperNewForId1));
         
         dumpChangeConfigWorker.run();
         
@@ -0,0 +1,177 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.common.utils.IoUtils;
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link ConfigRocksDbDiskService} compared with {@link ConfigRawDiskService}.
+ *
+ * <p>Each trial saves {@code configCount} configs spread over 100 tenants and 10 groups into a new nacos home, then
+ * measures random point reads and writes, and batch reads and writes of {@value #BATCH_SIZE} configs as dump all and
+ * restart verification do. Run it by {@link #main(String[])} with the test classpath; set system property
+ * {@code config_rocksdb_compression=zstd} to measure ZSTD compression.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigDiskServiceBenchmark {
+    
+    private static final int BATCH_SIZE = 100;
+    
+    @Param({"10000", "100000", "1000000"})
+    private int configCount;
+    
+    @Param({"rawdisk", "rocksdb"})
+    private String engine;
+    
+    private File nacosHome;
+    
+    private ConfigDiskService diskService;
+    
+    private String content;
+    
+    /**
+     * Prepare a new nacos home with configs saved.
+     *
+     * @throws IOException save configs failed
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        nacosHome = Files.createTempDirectory("nacos-disk-benchmark").toFile();
+        EnvUtil.setNacosHomePath(nacosHome.getPath());
+        diskService = "rocksdb".equals(engine) ? new ConfigRocksDbDiskService() : new ConfigRawDiskService();
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 1024) {
+            builder.append("key").append(builder.length()).append("=value\n");
+        }
+        content = builder.toString();
+        List<ConfigInfo> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < configCount; i++) {
+            batch.add(config(i));
+            if (batch.size() == BATCH_SIZE) {
+                diskService.batchSaveToDisk(batch);
+                batch.clear();
+            }
+        }
+        diskService.batchSaveToDisk(batch);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        IoUtils.delete(nacosHome);
+    }
+    
+    private ConfigInfo config(int index) {
+        return new ConfigInfo("dataId" + index, "group" + index % 10, "tenant" + index % 100, null, content);
+    }
+    
+    private String groupKey(int index) {
+        return GroupKey2.getKey("dataId" + index, "group" + index % 10, "tenant" + index % 100);
+    }
+    
+    /**
+     * Read a random config.
+     *
+     * @return content
+     * @throws IOException read failed
+     */
+    @Benchmark
+    public String getContent() throws IOException {
+        int index = ThreadLocalRandom.current().nextInt(configCount);
+        return diskService.getContent("dataId" + index, "group" + index % 10, "tenant" + index % 100);
+    }
+    
+    /**
+     * Save a random config.
+     *
+     * @throws IOException save failed
+     */
+    @Benchmark
+    public void saveToDisk() throws IOException {
+        int index = ThreadLocalRandom.current().nextInt(configCount);
+        diskService.saveToDisk("dataId" + index, "group" + index % 10, "tenant" + index % 100, content);
+    }
+    
+    /**
+     * Read a batch of random configs.
+     *
+     * @return contents
+     * @throws IOException read failed
+     */
+    @Benchmark
+    public List<String> batchGetContent() throws IOException {
+        List<String> groupKeys = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            groupKeys.add(groupKey(ThreadLocalRandom.current().nextInt(configCount)));
+        }
+        return diskService.batchGetContent(groupKeys);
+    }
+    
+    /**
+     * Save a batch of random configs.
+     *
+     * @throws IOException save failed
+     */
+    @Benchmark
+    public void batchSaveToDisk() throws IOException {
+        List<ConfigInfo> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(config(ThreadLocalRandom.current().nextInt(configCount)));
+        }
+        diskService.batchSaveToDisk(batch);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ConfigDiskServiceBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
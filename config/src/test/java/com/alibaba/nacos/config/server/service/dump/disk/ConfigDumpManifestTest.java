@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigDumpManifestTest {
+    
+    @TempDir
+    Path nacosHome;
+    
+    MockedStatic<EnvUtil> envUtilMockedStatic;
+    
+    @BeforeEach
+    void setUp() {
+        envUtilMockedStatic = Mockito.mockStatic(EnvUtil.class);
+        envUtilMockedStatic.when(EnvUtil::getNacosHome).thenReturn(nacosHome.toString());
+        ConfigDiskServiceFactory.configDiskService = new ConfigRawDiskService();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ConfigDiskServiceFactory.configDiskService = null;
+        envUtilMockedStatic.close();
+    }
+    
+    @Test
+    void testWriteAndLoad() throws Exception {
+        ConfigCacheService.dumpWithMd5("manifestDataId", "manifestGroup", "manifestTenant", "content", null, 100L,
+                "yaml", "encryptedKey");
+        String groupKey = GroupKey2.getKey("manifestDataId", "manifestGroup", "manifestTenant");
+        
+        ConfigDumpManifest.write(10L);
+        ConfigDumpManifest manifest = ConfigDumpManifest.load();
+        
+        assertNotNull(manifest);
+        assertEquals(10L, manifest.getMaxId());
+        assertTrue(manifest.getTimestamp() > 0);
+        ConfigDumpManifest.Entry entry = manifest.getEntries().stream()
+                .filter(each -> groupKey.equals(each.getGroupKey())).findFirst().orElse(null);
+        assertNotNull(entry);
+        assertEquals(MD5Utils.md5Hex("content", "UTF-8"), entry.getMd5());
+        assertEquals(100L, entry.getLastModifiedTs());
+        
+        ConfigCacheService.remove("manifestDataId", "manifestGroup", "manifestTenant");
+        new ConfigDumpManifest(manifest.getTimestamp(), manifest.getMaxId(), Collections.singletonList(entry)).restore();
+        CacheItem cacheItem = ConfigCacheService.getContentCache(groupKey);
+        assertEquals(entry.getMd5(), cacheItem.getConfigCache().getMd5Utf8());
+        assertEquals(100L, cacheItem.getConfigCache().getLastModifiedTs());
+        assertEquals("yaml", cacheItem.getType());
+        assertEquals("encryptedKey", cacheItem.getConfigCache().getEncryptedDataKey());
+        ConfigCacheService.remove("manifestDataId", "manifestGroup", "manifestTenant");
+    }
+    
+    @Test
+    void testLoadBrokenManifest() throws Exception {
+        assertNull(ConfigDumpManifest.load());
+        
+        ConfigDumpManifest.write(1L);
+        File file = ConfigDumpManifest.getFile();
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        // drop the footer, like the manifest is partially written.
+        Files.write(file.toPath(), lines.subList(0, lines.size() - 1), StandardCharsets.UTF_8);
+        assertNull(ConfigDumpManifest.load());
+        
+        // manifest written by other disk type.
+        lines.set(0, lines.get(0).replace(ConfigDiskServiceFactory.getType(), "otherdisk"));
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+        assertNull(ConfigDumpManifest.load());
+        
+        ConfigDumpManifest.delete();
+        assertFalse(file.exists());
+    }
+    
+    @Test
+    void testVerify() throws Exception {
+        ConfigDiskServiceFactory.getInstance().saveToDisk("verifyDataId", "verifyGroup", "verifyTenant", "content");
+        String groupKey = GroupKey2.getKey("verifyDataId", "verifyGroup", "verifyTenant");
+        ConfigDumpManifest.Entry consistent = new ConfigDumpManifest.Entry(groupKey, MD5Utils.md5Hex("content", "UTF-8"),
+                1L, null, null);
+        ConfigDumpManifest.Entry changed = new ConfigDumpManifest.Entry(groupKey, MD5Utils.md5Hex("other", "UTF-8"),
+                1L, null, null);
+        ConfigDumpManifest.Entry missing = new ConfigDumpManifest.Entry(
+                GroupKey2.getKey("missingDataId", "verifyGroup", "verifyTenant"), MD5Utils.md5Hex("content", "UTF-8"), 1L,
+                null, null);
+        
+        assertTrue(new ConfigDumpManifest(1L, 1L, Collections.singletonList(consistent)).verify());
+        assertFalse(new ConfigDumpManifest(1L, 1L, Collections.singletonList(changed)).verify());
+        assertFalse(new ConfigDumpManifest(1L, 1L, Arrays.asList(consistent, missing)).verify());
+    }
+}
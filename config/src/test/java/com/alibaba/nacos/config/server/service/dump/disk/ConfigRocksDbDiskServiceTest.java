@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.dump.disk;
+
+import com.alibaba.nacos.config.server.model.ConfigInfo;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConfigRocksDbDiskServiceTest {
+    
+    @TempDir
+    Path nacosHome;
+    
+    MockedStatic<EnvUtil> envUtilMockedStatic;
+    
+    ConfigRocksDbDiskService diskService;
+    
+    @BeforeEach
+    void setUp() {
+        envUtilMockedStatic = Mockito.mockStatic(EnvUtil.class);
+        envUtilMockedStatic.when(EnvUtil::getNacosHome).thenReturn(nacosHome.toString());
+        diskService = new ConfigRocksDbDiskService();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        envUtilMockedStatic.close();
+    }
+    
+    @Test
+    void testSaveAndRemove() throws Exception {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        diskService.saveToDisk("dataId", "group", "", "no tenant");
+        diskService.saveGrayToDisk("dataId", "group", "tenant", "gray1", "gray");
+        
+        assertEquals("formal", diskService.getContent("dataId", "group", "tenant"));
+        assertEquals("no tenant", diskService.getContent("dataId", "group", null));
+        assertEquals("gray", diskService.getGrayContent("dataId", "group", "tenant", "gray1"));
+        assertNull(diskService.getGrayContent("dataId", "group", "tenant", "gray2"));
+        
+        diskService.removeConfigInfo("dataId", "group", "tenant");
+        assertNull(diskService.getContent("dataId", "group", "tenant"));
+        assertEquals("gray", diskService.getGrayContent("dataId", "group", "tenant", "gray1"));
+        
+        diskService.removeConfigInfo4Gray("dataId", "group", "tenant", "gray1");
+        assertNull(diskService.getGrayContent("dataId", "group", "tenant", "gray1"));
+    }
+    
+    @Test
+    void testBatchSaveAndGet() throws Exception {
+        diskService.batchSaveToDisk(Arrays.asList(new ConfigInfo("dataId1", "group", "tenant", null, "content1"),
+                new ConfigInfo("dataId+2", "group", "tenant", null, "content2")));
+        
+        List<String> contents = diskService.batchGetContent(
+                Arrays.asList(GroupKey2.getKey("dataId+2", "group", "tenant"), GroupKey2.getKey("dataId3", "group", "tenant"),
+                        GroupKey2.getKey("dataId1", "group", "tenant")));
+        assertEquals(Arrays.asList("content2", null, "content1"), contents);
+        assertEquals("content2", diskService.getContent("dataId+2", "group", "tenant"));
+    }
+    
+    @Test
+    void testSharedContent() throws Exception {
+        diskService.saveToDisk("dataId1", "group", "tenant1", "shared");
+        diskService.saveToDisk("dataId2", "group", "tenant2", "shared");
+        diskService.saveGrayToDisk("dataId1", "group", "tenant1", "gray1", "shared");
+        diskService.batchSaveToDisk(Arrays.asList(new ConfigInfo("dataId3", "group", "tenant", null, "shared"),
+                new ConfigInfo("dataId3", "group", "tenant", null, "changed")));
+        assertEquals("changed", diskService.getContent("dataId3", "group", "tenant"));
+        
+        diskService.removeConfigInfo("dataId1", "group", "tenant1");
+        assertNull(diskService.getContent("dataId1", "group", "tenant1"));
+        assertEquals("shared", diskService.getContent("dataId2", "group", "tenant2"));
+        
+        diskService.saveToDisk("dataId2", "group", "tenant2", "changed");
+        assertEquals("shared", diskService.getGrayContent("dataId1", "group", "tenant1", "gray1"));
+        
+        diskService.clearAll();
+        assertEquals("shared", diskService.getGrayContent("dataId1", "group", "tenant1", "gray1"));
+        diskService.saveToDisk("dataId1", "group", "tenant1", "changed");
+        assertEquals("changed", diskService.getContent("dataId1", "group", "tenant1"));
+        
+        diskService.removeConfigInfo4Gray("dataId1", "group", "tenant1", "gray1");
+        diskService.saveToDisk("dataId2", "group", "tenant2", "shared");
+        assertEquals("shared", diskService.getContent("dataId2", "group", "tenant2"));
+    }
+    
+    @Test
+    void testClearAll() throws Exception {
+        diskService.saveToDisk("dataId", "group", "tenant", "formal");
+        diskService.saveGrayToDisk("dataId", "group", "tenant", "gray1", "gray");
+        
+        diskService.clearAll();
+        assertNull(diskService.getContent("dataId", "group", "tenant"));
+        assertEquals("gray", diskService.getGrayContent("dataId", "group", "tenant", "gray1"));
+        
+        diskService.saveToDisk("dataId", "group", "tenant", "formal again");
+        assertEquals("formal again", diskService.getContent("dataId", "group", "tenant"));
+        
+        diskService.clearAllGray();
+        assertNull(diskService.getGrayContent("dataId", "group", "tenant", "gray1"));
+        assertEquals("formal again", diskService.getContent("dataId", "group", "tenant"));
+    }
+}
@@ -196,14 +196,12 @@ class DumpAllProcessorTest {
         ConfigInfoWrapper configInfoWrapperSingle1 = new ConfigInfoWrapper();
         BeanUtils.copyProperties(configInfoWrapper1, configInfoWrapperSingle1);
         configInfoWrapperSingle1.setContent("content123456");
-        Mockito.when(configInfoPersistService.findConfigInfo(configInfoWrapper1.getDataId(), configInfoWrapper1.getGroup(),
-                configInfoWrapper1.getTenant())).thenReturn(configInfoWrapperSingle1);
         
         ConfigInfoWrapper configInfoWrapperSingle2 = new ConfigInfoWrapper();
         BeanUtils.copyProperties(configInfoWrapper2, configInfoWrapperSingle2);
         configInfoWrapperSingle2.setContent("content123456222");
-        Mockito.when(configInfoPersistService.findConfigInfo(configInfoWrapper2.getDataId(), configInfoWrapper2.getGroup(),
-                configInfoWrapper2.getTenant())).thenReturn(configInfoWrapperSingle2);
+        Mockito.when(configInfoPersistService.findConfigInfoForDumpByIds(eq(Arrays.asList(configInfoWrapper1.getId(), configInfoWrapper2.getId()))))
+                .thenReturn(Arrays.asList(configInfoWrapperSingle1, configInfoWrapperSingle2));
         
         // For config 1, assign a latter time, to make sure that it would not be updated.
         // For config 2, assign an earlier time, to make sure that it would be updated.
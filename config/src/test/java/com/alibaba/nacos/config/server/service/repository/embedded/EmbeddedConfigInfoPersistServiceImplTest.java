@@ -1017,4 +1017,15 @@ class EmbeddedConfigInfoPersistServiceImplTest {
         assertEquals(mockConfigs, returnConfigPage.getPageItems());
         
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testFindConfigInfoForDumpByIds() {
+        assertTrue(embeddedConfigInfoPersistService.findConfigInfoForDumpByIds(new ArrayList<>()).isEmpty());
+        
+        List<ConfigInfoWrapper> mockConfigs = new ArrayList<>();
+        mockConfigs.add(createMockConfigInfoWrapper(1));
+        mockConfigs.add(createMockConfigInfoWrapper(2));
+        when(databaseOperate.queryMany(anyString(), eq(new Object[] {1L, 2L}), eq(CONFIG_INFO_WRAPPER_ROW_MAPPER))).thenReturn(mockConfigs);
+        assertEquals(mockConfigs, embeddedConfigInfoPersistService.findConfigInfoForDumpByIds(Arrays.asList(1L, 2L)));
+    }
+}
@@ -1251,4 +1251,24 @@ class ExternalConfigInfoPersistServiceImplTest {
         
     }
     
+    @Test
+    void testFindConfigInfoForDumpByIds() {
+        assertTrue(externalConfigInfoPersistService.findConfigInfoForDumpByIds(Collections.emptyList()).isEmpty());
+        
+        List<ConfigInfoWrapper> mockConfigs = new ArrayList<>();
+        mockConfigs.add(createMockConfigInfoWrapper(1));
+        mockConfigs.add(createMockConfigInfoWrapper(2));
+        when(jdbcTemplate.query(anyString(), eq(new Object[] {1L, 2L}), eq(CONFIG_INFO_WRAPPER_ROW_MAPPER))).thenReturn(mockConfigs);
+        assertEquals(mockConfigs, externalConfigInfoPersistService.findConfigInfoForDumpByIds(Arrays.asList(1L, 2L)));
+        
+        when(jdbcTemplate.query(anyString(), eq(new Object[] {1L, 2L}), eq(CONFIG_INFO_WRAPPER_ROW_MAPPER))).thenThrow(
+                new CannotGetJdbcConnectionException("mock fail"));
+        try {
+            externalConfigInfoPersistService.findConfigInfoForDumpByIds(Arrays.asList(1L, 2L));
+            assertTrue(false);
+        } catch (Exception e) {
+            assertEquals("mock fail", e.getMessage());
+        }
+    }
+    
 }
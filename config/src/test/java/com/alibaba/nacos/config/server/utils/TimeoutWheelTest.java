@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeoutWheelTest {
+    
+    @Test
+    void testAdvanceExpireAtDeadline() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(100L, 8, 1000L);
+        wheel.add("a", 1250L);
+        wheel.add("b", 1500L);
+        assertTrue(wheel.advance(1200L, item -> true).isEmpty());
+        assertTrue(wheel.advance(1299L, item -> true).isEmpty());
+        assertEquals(Collections.singletonList("a"), wheel.advance(1300L, item -> true));
+        assertEquals(Collections.singletonList("b"), wheel.advance(1550L, item -> true));
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void testAdvanceKeepItemOfLaterRound() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(100L, 8, 1000L);
+        wheel.add("a", 1000L + 100L * 8 * 2 + 50L);
+        assertTrue(wheel.advance(2000L, item -> true).isEmpty());
+        assertTrue(wheel.advance(2600L, item -> true).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(Collections.singletonList("a"), wheel.advance(2700L, item -> true));
+    }
+    
+    @Test
+    void testAdvanceDropFinishedItem() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(100L, 8, 1000L);
+        wheel.add("a", 1100L);
+        wheel.add("b", 1100L);
+        assertEquals(Collections.singletonList("b"), wheel.advance(1100L, "b"::equals));
+        assertEquals(0, wheel.size());
+    }
+    
+    @Test
+    void testAdvanceAfterDelayedTicker() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(100L, 8, 1000L);
+        wheel.add("a", 1100L);
+        wheel.add("b", 1700L);
+        wheel.add("c", 900L);
+        Set<String> expired = new HashSet<>(wheel.advance(5000L, item -> true));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), expired);
+    }
+}
@@ -67,4 +67,6 @@ public class DistroConstants {
     
     public static final long DEFAULT_DATA_LOAD_TIMEOUT_MILLISECONDS = 30000L;
     
+    public static final String DELAY_TASK_TIME_ORDERED_ENABLED = "nacos.core.protocol.distro.delay-task.time-ordered.enabled";
+    
 }
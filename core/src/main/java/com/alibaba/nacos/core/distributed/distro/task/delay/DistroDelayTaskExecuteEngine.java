@@ -17,19 +17,22 @@
 package com.alibaba.nacos.core.distributed.distro.task.delay;
 
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosTimedDelayTaskExecuteEngine;
+import com.alibaba.nacos.core.distributed.distro.DistroConstants;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
 
 /**
  * Distro delay task execute engine.
  *
  * @author xiweng.yy
  */
-public class DistroDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+public class DistroDelayTaskExecuteEngine extends NacosTimedDelayTaskExecuteEngine {
     
     public DistroDelayTaskExecuteEngine() {
-        super(DistroDelayTaskExecuteEngine.class.getName(), Loggers.DISTRO);
+        super(DistroDelayTaskExecuteEngine.class.getName(), Loggers.DISTRO,
+                EnvUtil.getProperty(DistroConstants.DELAY_TASK_TIME_ORDERED_ENABLED, Boolean.class, false));
     }
     
     @Override
@@ -48,6 +48,10 @@ public final class MetricsMonitor {
     
     private static final Timer RAFT_APPLY_READ_TIMER;
     
+    private static final Timer GRPC_PUSH_QUEUE_DELAY;
+    
+    private static AtomicLong grpcPushPendingBytes = new AtomicLong();
+    
     private static AtomicInteger longConnection = new AtomicInteger();
 
     private static GrpcServerExecutorMetric sdkServerExecutorMetric = new GrpcServerExecutorMetric("grpcSdkServer");
@@ -56,6 +60,10 @@ public final class MetricsMonitor {
 
     private static Map<String, AtomicInteger> moduleConnectionCnt = new ConcurrentHashMap<>();
 
+    private static Map<String, NotifyPublisherMetric> notifyPublisherMetrics = new ConcurrentHashMap<>();
+
+    private static Map<String, Timer> requestExecutorQueueTimers = new ConcurrentHashMap<>();
+
     static {
         ImmutableTag immutableTag = new ImmutableTag("module", "core");
         List<Tag> tags = new ArrayList<>();
@@ -78,6 +86,16 @@ public final class MetricsMonitor {
         tags.add(new ImmutableTag("name", "raft_apply_read_timer"));
         RAFT_APPLY_READ_TIMER = NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_monitor", tags);
         
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "grpc_push_queue_delay"));
+        GRPC_PUSH_QUEUE_DELAY = NacosMeterRegistryCenter.timer(METER_REGISTRY, "nacos_monitor", tags);
+        
+        tags = new ArrayList<>();
+        tags.add(immutableTag);
+        tags.add(new ImmutableTag("name", "grpcPushPendingBytes"));
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "nacos_monitor", tags, grpcPushPendingBytes);
+        
         tags = new ArrayList<>();
         tags.add(immutableTag);
         tags.add(new ImmutableTag("name", "longConnection"));
@@ -151,6 +169,14 @@ public final class MetricsMonitor {
         return RAFT_APPLY_READ_TIMER;
     }
     
+    public static Timer getGrpcPushQueueDelay() {
+        return GRPC_PUSH_QUEUE_DELAY;
+    }
+    
+    public static AtomicLong getGrpcPushPendingBytes() {
+        return grpcPushPendingBytes;
+    }
+    
     public static DistributionSummary getRaftReadIndexFailed() {
         return RAFT_READ_INDEX_FAILED;
     }
@@ -167,6 +193,70 @@ public final class MetricsMonitor {
         return clusterServerExecutorMetric;
     }
 
+    /**
+     * Get timer of time requests waiting in the executor of group, register it to meter registry if absent.
+     *
+     * @param group executor group
+     * @return queue timer of executor group
+     */
+    public static Timer getRequestExecutorQueueTimer(String group) {
+        return requestExecutorQueueTimers.computeIfAbsent(group, key -> NacosMeterRegistryCenter.timer(METER_REGISTRY,
+                "nacos_monitor", Arrays.asList(new ImmutableTag("module", "core"),
+                        new ImmutableTag("name", "grpc_request_queue_time"), new ImmutableTag("group", key))));
+    }
+
+    /**
+     * Get metric of notify publisher, register it to meter registry if absent.
+     *
+     * @param publisher publisher name
+     * @return metric of notify publisher
+     */
+    public static NotifyPublisherMetric getNotifyPublisherMetric(String publisher) {
+        return notifyPublisherMetrics.computeIfAbsent(publisher, key -> {
+            NotifyPublisherMetric metric = new NotifyPublisherMetric();
+            registerNotifyPublisherGauge(key, "lag", metric.getLag());
+            registerNotifyPublisherGauge(key, "droppedCount", metric.getDroppedCount());
+            registerNotifyPublisherGauge(key, "callerRunsCount", metric.getCallerRunsCount());
+            return metric;
+        });
+    }
+
+    private static void registerNotifyPublisherGauge(String publisher, String name, AtomicLong number) {
+        NacosMeterRegistryCenter.gauge(METER_REGISTRY, "notify_publisher",
+                Arrays.asList(new ImmutableTag("module", "core"), new ImmutableTag("publisher", publisher),
+                        new ImmutableTag("name", name)), number);
+    }
+
+    public static class NotifyPublisherMetric {
+
+        /**
+         * count of events published but not notified.
+         */
+        private final AtomicLong lag = new AtomicLong();
+
+        /**
+         * count of events dropped by drop oldest backpressure.
+         */
+        private final AtomicLong droppedCount = new AtomicLong();
+
+        /**
+         * count of events notified on publishing thread by caller runs backpressure.
+         */
+        private final AtomicLong callerRunsCount = new AtomicLong();
+
+        public AtomicLong getLag() {
+            return lag;
+        }
+
+        public AtomicLong getDroppedCount() {
+            return droppedCount;
+        }
+
+        public AtomicLong getCallerRunsCount() {
+            return callerRunsCount;
+        }
+    }
+
     public static class GrpcServerExecutorMetric {
 
         private String type;
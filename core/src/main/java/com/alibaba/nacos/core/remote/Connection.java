@@ -16,6 +16,8 @@
 
 package com.alibaba.nacos.core.remote;
 
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.Requester;
 
 import java.util.Map;
@@ -70,6 +72,20 @@ public abstract class Connection implements Requester {
      */
     public abstract boolean isConnected();
     
+    /**
+     * Send a request shared by multiple connections asynchronously.
+     *
+     * <p>Default implementation sends the wrapped request directly, transports which support payload reuse should
+     * override it to avoid encoding the same request for every connection.
+     *
+     * @param request         shared request
+     * @param requestCallBack callback of request
+     * @throws NacosException exception during sending request
+     */
+    public void asyncRequest(SharedPushRequest request, RequestCallBack requestCallBack) throws NacosException {
+        asyncRequest(request.getRequest(), requestCallBack);
+    }
+    
     /**
      * Update last Active Time to now.
      */
@@ -0,0 +1,172 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Secondary indexes of connections by client ip, app name and labels.
+ *
+ * <p>The indexed keys of each connection are snapshot when it is added, so removing a connection always cleans the
+ * same keys even if its meta changed. Adding and removing are idempotent, each index key is updated atomically and
+ * dropped when no connection refers to it.
+ *
+ * @author Nacos
+ */
+class ConnectionIndex {
+    
+    private final Map<String, IndexedKeys> indexedKeys = new ConcurrentHashMap<>();
+    
+    private final Map<String, Set<String>> ipIndex = new ConcurrentHashMap<>();
+    
+    private final Map<String, AtomicInteger> ipCounts = new ConcurrentHashMap<>();
+    
+    private final Map<String, Set<String>> appIndex = new ConcurrentHashMap<>();
+    
+    private final Map<String, Map<String, Set<String>>> labelIndex = new ConcurrentHashMap<>();
+    
+    /**
+     * Add connection to indexes.
+     *
+     * @param connectionId connection id
+     * @param meta         meta of connection
+     */
+    void add(String connectionId, ConnectionMeta meta) {
+        IndexedKeys keys = new IndexedKeys(meta);
+        if (null != indexedKeys.putIfAbsent(connectionId, keys)) {
+            return;
+        }
+        addTo(ipIndex, keys.clientIp, connectionId);
+        if (null != keys.clientIp) {
+            ipCounts.compute(keys.clientIp, (ip, count) -> {
+                AtomicInteger result = null == count ? new AtomicInteger() : count;
+                result.incrementAndGet();
+                return result;
+            });
+        }
+        addTo(appIndex, keys.appName, connectionId);
+        keys.labels.forEach((key, value) -> addTo(labelIndex.computeIfAbsent(key, k -> new ConcurrentHashMap<>()),
+                value, connectionId));
+    }
+    
+    /**
+     * Remove connection from indexes.
+     *
+     * @param connectionId connection id
+     */
+    void remove(String connectionId) {
+        IndexedKeys keys = indexedKeys.remove(connectionId);
+        if (null == keys) {
+            return;
+        }
+        removeFrom(ipIndex, keys.clientIp, connectionId);
+        if (null != keys.clientIp) {
+            ipCounts.computeIfPresent(keys.clientIp, (ip, count) -> count.decrementAndGet() <= 0 ? null : count);
+        }
+        removeFrom(appIndex, keys.appName, connectionId);
+        keys.labels.forEach((key, value) -> {
+            Map<String, Set<String>> valueIndex = labelIndex.get(key);
+            if (null != valueIndex) {
+                removeFrom(valueIndex, value, connectionId);
+            }
+        });
+    }
+    
+    Set<String> getByIp(String clientIp) {
+        return get(ipIndex, clientIp);
+    }
+    
+    Set<String> getByApp(String appName) {
+        return get(appIndex, appName);
+    }
+    
+    Set<String> getByLabel(String key, String value) {
+        Map<String, Set<String>> valueIndex = null == key ? null : labelIndex.get(key);
+        return null == valueIndex ? Collections.emptySet() : get(valueIndex, value);
+    }
+    
+    /**
+     * Count connections by the values of label.
+     *
+     * @param key label key
+     * @return connection count of each label value, connections without the label are not counted
+     */
+    Map<String, Integer> countByLabel(String key) {
+        Map<String, Integer> result = new HashMap<>(16);
+        Map<String, Set<String>> valueIndex = labelIndex.get(key);
+        if (null != valueIndex) {
+            valueIndex.forEach((value, ids) -> result.put(value, ids.size()));
+        }
+        return result;
+    }
+    
+    Map<String, AtomicInteger> getIpCounts() {
+        return ipCounts;
+    }
+    
+    private static Set<String> get(Map<String, Set<String>> index, String key) {
+        Set<String> result = null == key ? null : index.get(key);
+        return null == result ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+    
+    private static void addTo(Map<String, Set<String>> index, String key, String connectionId) {
+        if (null == key) {
+            return;
+        }
+        index.compute(key, (k, ids) -> {
+            Set<String> result = null == ids ? new ConcurrentHashSet<>() : ids;
+            result.add(connectionId);
+            return result;
+        });
+    }
+    
+    private static void removeFrom(Map<String, Set<String>> index, String key, String connectionId) {
+        if (null == key) {
+            return;
+        }
+        index.computeIfPresent(key, (k, ids) -> ids.remove(connectionId) && ids.isEmpty() ? null : ids);
+    }
+    
+    private static class IndexedKeys {
+        
+        private final String clientIp;
+        
+        private final String appName;
+        
+        private final Map<String, String> labels = new HashMap<>(8);
+        
+        private IndexedKeys(ConnectionMeta meta) {
+            this.clientIp = meta.clientIp;
+            this.appName = meta.appName;
+            if (null != meta.labels) {
+                meta.labels.forEach((key, value) -> {
+                    if (null != key && null != value) {
+                        labels.put(key, value);
+                    }
+                });
+            }
+        }
+    }
+}
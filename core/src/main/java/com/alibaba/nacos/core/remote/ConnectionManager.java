@@ -42,7 +42,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -58,10 +57,12 @@ public class ConnectionManager {
     
     private static final Logger LOGGER = com.alibaba.nacos.plugin.control.Loggers.CONNECTION;
     
-    private Map<String, AtomicInteger> connectionForClientIp = new ConcurrentHashMap<>(16);
-    
     Map<String, Connection> connections = new ConcurrentHashMap<>();
     
+    private final ConnectionIndex connectionIndex = new ConnectionIndex();
+    
+    private final IdleConnectionBuckets idleConnectionBuckets = new IdleConnectionBuckets();
+    
     private RuntimeConnectionEjector runtimeConnectionEjector;
     
     private ClientConnectionEventListenerRegistry clientConnectionEventListenerRegistry;
@@ -96,10 +97,13 @@ public class ConnectionManager {
     /**
      * register a new connect.
      *
+     * <p>Registering only locks the connection itself, so that the connected and disconnected events of it are in
+     * order while other connections register concurrently.
+     *
      * @param connectionId connectionId
      * @param connection   connection
      */
-    public synchronized boolean register(String connectionId, Connection connection) {
+    public boolean register(String connectionId, Connection connection) {
         
         if (connection.isConnected()) {
             String clientIp = connection.getMetaInfo().clientIp;
@@ -112,10 +116,14 @@ public class ConnectionManager {
             if (traced(clientIp)) {
                 connection.setTraced(true);
             }
-            connections.put(connectionId, connection);
-            connectionForClientIp.computeIfAbsent(clientIp, k -> new AtomicInteger(0)).getAndIncrement();
-            
-            clientConnectionEventListenerRegistry.notifyClientConnected(connection);
+            synchronized (connection) {
+                if (null != connections.putIfAbsent(connectionId, connection)) {
+                    return true;
+                }
+                connectionIndex.add(connectionId, connection.getMetaInfo());
+                idleConnectionBuckets.add(connectionId, connection.getMetaInfo().lastActiveTime);
+                clientConnectionEventListenerRegistry.notifyClientConnected(connection);
+            }
             
             LOGGER.info("new connection registered successfully, connectionId = {},connection={} ", connectionId,
                     connection);
@@ -144,17 +152,16 @@ public class ConnectionManager {
      *
      * @param connectionId connectionId.
      */
-    public synchronized void unregister(String connectionId) {
-        Connection remove = this.connections.remove(connectionId);
-        if (remove != null) {
-            String clientIp = remove.getMetaInfo().clientIp;
-            AtomicInteger atomicInteger = connectionForClientIp.get(clientIp);
-            if (atomicInteger != null) {
-                int count = atomicInteger.decrementAndGet();
-                if (count <= 0) {
-                    connectionForClientIp.remove(clientIp);
-                }
+    public void unregister(String connectionId) {
+        Connection remove = this.connections.get(connectionId);
+        if (remove == null) {
+            return;
+        }
+        synchronized (remove) {
+            if (!this.connections.remove(connectionId, remove)) {
+                return;
             }
+            connectionIndex.remove(connectionId);
             remove.close();
             LOGGER.info("[{}]Connection unregistered successfully. ", connectionId);
             clientConnectionEventListenerRegistry.notifyClientDisConnected(remove);
@@ -178,15 +185,49 @@ public class ConnectionManager {
      * @return connections of the client ip.
      */
     public List<Connection> getConnectionByIp(String clientIp) {
-        Set<Map.Entry<String, Connection>> entries = connections.entrySet();
-        List<Connection> connections = new ArrayList<>();
-        for (Map.Entry<String, Connection> entry : entries) {
-            Connection value = entry.getValue();
-            if (clientIp.equals(value.getMetaInfo().clientIp)) {
-                connections.add(value);
+        return getConnections(connectionIndex.getByIp(clientIp));
+    }
+    
+    /**
+     * get by app name.
+     *
+     * @param appName app name of client.
+     * @return connections of the app.
+     */
+    public List<Connection> getConnectionsByApp(String appName) {
+        return getConnections(connectionIndex.getByApp(appName));
+    }
+    
+    private List<Connection> getConnections(Collection<String> connectionIds) {
+        List<Connection> result = new ArrayList<>(connectionIds.size());
+        for (String each : connectionIds) {
+            Connection connection = connections.get(each);
+            if (connection != null) {
+                result.add(connection);
             }
         }
-        return connections;
+        return result;
+    }
+    
+    /**
+     * Poll connections which may be idle for the time, without scanning all connections.
+     *
+     * <p>Polled connections are bucketed again by their current active time, so an active connection is polled about
+     * once per idle time. Callers should check the active time of each polled connection.
+     *
+     * @param idleTime idle time in milliseconds
+     * @return connections may be idle
+     */
+    public List<Connection> pollIdleConnections(long idleTime) {
+        List<Connection> result = new ArrayList<>();
+        for (String each : idleConnectionBuckets.pollBefore(System.currentTimeMillis() - idleTime)) {
+            Connection connection = connections.get(each);
+            if (connection != null) {
+                idleConnectionBuckets.add(each, connection.getMetaInfo().getLastActiveTime());
+                result.add(connection);
+            }
+        }
+        return result;
     }
     
     /**
@@ -254,11 +295,11 @@ public class ConnectionManager {
         Boolean enabled = EnvUtil.getProperty("nacos.metric.grpc.server.connection.enabled", Boolean.class, true);
         if (enabled) {
             RpcScheduledExecutor.COMMON_SERVER_EXECUTOR.scheduleWithFixedDelay(() -> {
-                Map<String, Integer> count = new HashMap<>(16);
-                connections.forEach((id, connection) -> {
-                    String module = connection.getLabels().getOrDefault(RemoteConstants.LABEL_MODULE, "unknown");
-                    count.put(module, count.getOrDefault(module, 0) + 1);
-                });
+                Map<String, Integer> count = connectionIndex.countByLabel(RemoteConstants.LABEL_MODULE);
+                int unknown = connections.size() - count.values().stream().mapToInt(Integer::intValue).sum();
+                if (unknown > 0) {
+                    count.put("unknown", unknown);
+                }
                 MetricsMonitor.refreshModuleConnectionCount(count);
             }, 1L, EnvUtil.getProperty("nacos.metric.grpc.server.connection.interval", Long.class, 15L), TimeUnit.SECONDS);
         }
@@ -318,8 +359,22 @@ public class ConnectionManager {
      * @return count with the specific filter labels.
      */
     public int currentClientsCount(Map<String, String> filterLabels) {
+        if (filterLabels.isEmpty()) {
+            return connections.size();
+        }
+        // only check the connections of the most selective label.
+        Collection<String> candidates = null;
+        for (Map.Entry<String, String> entry : filterLabels.entrySet()) {
+            Collection<String> ids = connectionIndex.getByLabel(entry.getKey(), entry.getValue());
+            if (candidates == null || ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+        if (filterLabels.size() == 1) {
+            return candidates.size();
+        }
         int count = 0;
-        for (Connection connection : connections.values()) {
+        for (Connection connection : getConnections(candidates)) {
             Map<String, String> labels = connection.getMetaInfo().labels;
             boolean disMatchFound = false;
             for (Map.Entry<String, String> entry : filterLabels.entrySet()) {
@@ -351,6 +406,6 @@ public class ConnectionManager {
     }
     
     public Map<String, AtomicInteger> getConnectionForClientIp() {
-        return connectionForClientIp;
+        return connectionIndex.getIpCounts();
     }
 }
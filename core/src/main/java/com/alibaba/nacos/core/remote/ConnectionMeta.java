@@ -96,6 +96,16 @@ public class ConnectionMeta {
     
     long lastPushQueueBlockTime = 0;
     
+    /**
+     * bytes of pushes queued but not written to the connection.
+     */
+    volatile long pendingPushBytes;
+    
+    /**
+     * milliseconds the last written push waited in the push queue.
+     */
+    volatile long pushQueueDelay;
+    
     protected Map<String, String> labels = new HashMap<>();
     
     public String getLabel(String labelKey) {
@@ -339,6 +349,22 @@ public class ConnectionMeta {
         this.tenant = tenant;
     }
     
+    public long getPendingPushBytes() {
+        return pendingPushBytes;
+    }
+    
+    public void setPendingPushBytes(long pendingPushBytes) {
+        this.pendingPushBytes = pendingPushBytes;
+    }
+    
+    public long getPushQueueDelay() {
+        return pushQueueDelay;
+    }
+    
+    public void setPushQueueDelay(long pushQueueDelay) {
+        this.pushQueueDelay = pushQueueDelay;
+    }
+    
     /**
      * recordPushQueueBlockTimes.
      */
@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Executor group of a {@link RequestHandler}, requests of handlers in the same group run on the same executor so that
+ * heavy requests can't starve the others.
+ *
+ * <p>Handlers without the annotation run in the {@link #DEFAULT} group. The group of a request type can be overridden
+ * by property {@code nacos.remote.server.executor.group.<RequestType>}.
+ *
+ * @author Nacos
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ExecutorGroup {
+    
+    /**
+     * Requests of default group run on the rpc server executor directly, which is the priority lane of light requests
+     * like health checks and acks.
+     */
+    String DEFAULT = "default";
+    
+    /**
+     * group name.
+     *
+     * @return group name
+     */
+    String value();
+}
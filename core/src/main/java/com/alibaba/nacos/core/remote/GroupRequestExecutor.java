@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.core.utils.RemoteUtils;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor of one {@link ExecutorGroup}, with bounded pending requests and queue time metrics.
+ *
+ * <p>The group runs on a fixed thread pool by default. With virtual thread enabled on JDK 21 or later, each request
+ * runs on a new virtual thread, which suits blocking handlers, and the pending requests are bounded by a semaphore.
+ *
+ * @author Nacos
+ */
+public class GroupRequestExecutor implements Executor {
+    
+    private static final String PROPERTY_PREFIX = "nacos.remote.server.executor.";
+    
+    static final String GROUP_PROPERTY_PREFIX = PROPERTY_PREFIX + "group.";
+    
+    private static final String THREADS_PROPERTY = ".threads";
+    
+    private static final String QUEUE_SIZE_PROPERTY = ".queue-size";
+    
+    private static final String VIRTUAL_THREAD_PROPERTY = ".virtual-thread";
+    
+    private static final int DEFAULT_QUEUE_SIZE = 1 << 12;
+    
+    private final String group;
+    
+    private final ExecutorService delegate;
+    
+    private final Semaphore permits;
+    
+    private final Timer queueTimer;
+    
+    GroupRequestExecutor(String group, int threads, int queueSize, boolean virtualThread) {
+        this.group = group;
+        this.queueTimer = MetricsMonitor.getRequestExecutorQueueTimer(group);
+        ExecutorService virtualThreadExecutor = virtualThread ? newVirtualThreadExecutor(group) : null;
+        if (null != virtualThreadExecutor) {
+            this.delegate = virtualThreadExecutor;
+            this.permits = new Semaphore(queueSize);
+        } else {
+            this.delegate = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueSize),
+                    new NameThreadFactory("com.alibaba.nacos.core.remote.executor." + group));
+            this.permits = null;
+        }
+    }
+    
+    /**
+     * Create executor of group by properties {@code nacos.remote.server.executor.<group>.threads}, {@code
+     * .queue-size} and {@code .virtual-thread}. The threads default to the same count as the grpc sdk executor.
+     *
+     * @param group group name
+     * @return executor of group
+     */
+    public static GroupRequestExecutor create(String group) {
+        String prefix = PROPERTY_PREFIX + group;
+        int threads = EnvUtil.getProperty(prefix + THREADS_PROPERTY, Integer.class,
+                EnvUtil.getAvailableProcessors(RemoteUtils.getRemoteExecutorTimesOfProcessors()));
+        int queueSize = EnvUtil.getProperty(prefix + QUEUE_SIZE_PROPERTY, Integer.class, DEFAULT_QUEUE_SIZE);
+        boolean virtualThread = EnvUtil.getProperty(prefix + VIRTUAL_THREAD_PROPERTY, Boolean.class, false);
+        Loggers.REMOTE.info("Create request executor group {}, threads={}, queueSize={}, virtualThread={}", group,
+                threads, queueSize, virtualThread);
+        return new GroupRequestExecutor(group, threads, queueSize, virtualThread);
+    }
+    
+    private static ExecutorService newVirtualThreadExecutor(String group) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            Loggers.REMOTE.warn("Virtual thread is not supported by current JDK, request executor group {} uses "
+                    + "platform threads.", group);
+            return null;
+        }
+    }
+    
+    /**
+     * Execute the request task.
+     *
+     * @param command request task
+     * @throws RejectedExecutionException if too many requests are pending in the group
+     */
+    @Override
+    public void execute(Runnable command) {
+        final long queuedNanos = System.nanoTime();
+        Runnable task = () -> {
+            if (null != queueTimer) {
+                queueTimer.record(System.nanoTime() - queuedNanos, TimeUnit.NANOSECONDS);
+            }
+            command.run();
+        };
+        if (null == permits) {
+            delegate.execute(task);
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Too many pending requests in executor group " + group);
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    public String getGroup() {
+        return group;
+    }
+    
+    public void shutdown() {
+        delegate.shutdown();
+    }
+}
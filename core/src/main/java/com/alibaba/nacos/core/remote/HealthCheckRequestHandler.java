@@ -29,6 +29,7 @@ import org.springframework.stereotype.Component;
  * @version $Id: PushService.java, v 0.1 2021年07月17日 1:12 PM liuzunfei Exp $
  */
 @Component
+@ExecutorGroup(ExecutorGroup.DEFAULT)
 public class HealthCheckRequestHandler extends RequestHandler<HealthCheckRequest, HealthCheckResponse> {
     
     @Override
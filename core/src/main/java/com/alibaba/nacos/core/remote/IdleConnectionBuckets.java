@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connection ids bucketed by active time, to find idle connections without scanning all connections.
+ *
+ * <p>A connection is put into the bucket of its active time, and refreshing the active time doesn't move it. Buckets
+ * old enough are polled and the connections which are still active are put back by their current active time, so
+ * each active connection is checked about once per idle time instead of on every scan.
+ *
+ * @author Nacos
+ */
+class IdleConnectionBuckets {
+    
+    static final long BUCKET_MILLIS = 1000L;
+    
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * Put connection into the bucket of active time.
+     *
+     * @param connectionId connection id
+     * @param activeTime   active time of connection
+     */
+    void add(String connectionId, long activeTime) {
+        buckets.compute(activeTime / BUCKET_MILLIS, (key, ids) -> {
+            Set<String> result = null == ids ? new ConcurrentHashSet<>() : ids;
+            result.add(connectionId);
+            return result;
+        });
+    }
+    
+    /**
+     * Remove and get connections of the buckets which may contain active time before deadline.
+     *
+     * @param deadline deadline of active time
+     * @return connection ids, may contain removed connections and connections active after deadline
+     */
+    Set<String> pollBefore(long deadline) {
+        Set<String> result = new HashSet<>();
+        for (Long key : buckets.keySet()) {
+            if (key * BUCKET_MILLIS <= deadline) {
+                Set<String> ids = buckets.remove(key);
+                if (null != ids) {
+                    result.addAll(ids);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -26,7 +26,6 @@ import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.plugin.control.Loggers;
 
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -61,8 +60,7 @@ public class NacosRuntimeConnectionEjector extends RuntimeConnectionEjector {
             
             Loggers.CONNECTION.info("Connection check task start");
             
-            Map<String, Connection> connections = connectionManager.connections;
-            int totalCount = connections.size();
+            int totalCount = connectionManager.getCurrentConnectionCount();
             int currentSdkClientCount = connectionManager.currentSdkClientCount();
             
             Loggers.CONNECTION.info("Long connection metrics detail ,Total count ={}, sdkCount={},clusterCount={}",
@@ -70,9 +68,8 @@ public class NacosRuntimeConnectionEjector extends RuntimeConnectionEjector {
             
             Set<String> outDatedConnections = new HashSet<>();
             long now = System.currentTimeMillis();
-            //outdated connections collect.
-            for (Map.Entry<String, Connection> entry : connections.entrySet()) {
-                Connection client = entry.getValue();
+            //outdated connections collect, only connections may be idle are checked.
+            for (Connection client : connectionManager.pollIdleConnections(KEEP_ALIVE_TIME)) {
                 if (now - client.getMetaInfo().getLastActiveTime() >= KEEP_ALIVE_TIME) {
                     outDatedConnections.add(client.getMetaInfo().getConnectionId());
                 } else if (client.getMetaInfo().pushQueueBlockTimesLastOver(300 * 1000)) {
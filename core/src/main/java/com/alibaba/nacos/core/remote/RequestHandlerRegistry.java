@@ -21,18 +21,22 @@ import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.core.control.TpsControl;
 import com.alibaba.nacos.core.control.TpsControlConfig;
 import com.alibaba.nacos.core.remote.grpc.InvokeSource;
+import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.plugin.control.ControlManagerCenter;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.google.common.collect.Sets;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * RequestHandlerRegistry.
@@ -48,6 +52,10 @@ public class RequestHandlerRegistry implements ApplicationListener<ContextRefres
     
     Map<String, Set<String>> sourceRegistry = new HashMap<>();
     
+    Map<String, Executor> requestExecutors = new HashMap<>();
+    
+    Map<String, GroupRequestExecutor> groupExecutors = new HashMap<>();
+    
     /**
      * Get Request Handler By request Type.
      *
@@ -58,6 +66,16 @@ public class RequestHandlerRegistry implements ApplicationListener<ContextRefres
         return registryHandlers.get(requestType);
     }
     
+    /**
+     * Get executor of request type, see {@link ExecutorGroup}.
+     *
+     * @param requestType request type
+     * @return executor of request type, or {@code null} if the request should run on the rpc server executor directly
+     */
+    public Executor getExecutor(String requestType) {
+        return requestExecutors.get(requestType);
+    }
+    
     /**
      * check source invoke allowed.
      *
@@ -117,7 +135,29 @@ public class RequestHandlerRegistry implements ApplicationListener<ContextRefres
                 //ignore.
             }
             
-            registryHandlers.putIfAbsent(tClass.getSimpleName(), requestHandler);
+            if (null == registryHandlers.putIfAbsent(tClass.getSimpleName(), requestHandler)) {
+                registerExecutor(tClass.getSimpleName(), clazz);
+            }
         }
     }
+    
+    private void registerExecutor(String requestType, Class<?> handlerClass) {
+        String group = EnvUtil.getProperty(GroupRequestExecutor.GROUP_PROPERTY_PREFIX + requestType);
+        if (null == group && handlerClass.isAnnotationPresent(ExecutorGroup.class)) {
+            group = handlerClass.getAnnotation(ExecutorGroup.class).value();
+        }
+        if (null == group || ExecutorGroup.DEFAULT.equals(group)) {
+            return;
+        }
+        requestExecutors.put(requestType, groupExecutors.computeIfAbsent(group, GroupRequestExecutor::create));
+        Loggers.REMOTE.info("Request {} is handled in executor group {}", requestType, group);
+    }
+    
+    /**
+     * Shutdown executors of groups.
+     */
+    @PreDestroy
+    public void shutdown() {
+        groupExecutors.values().forEach(GroupRequestExecutor::shutdown);
+    }
 }
@@ -18,6 +18,7 @@ package com.alibaba.nacos.core.remote;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.AbstractRequestCallBack;
+import com.alibaba.nacos.api.remote.RequestCallBack;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
 import com.alibaba.nacos.api.remote.response.Response;
@@ -37,6 +38,8 @@ import java.util.concurrent.Executor;
 @Service
 public class RpcPushService {
     
+    private static final long PUSH_WITHOUT_ACK_TIMEOUT = 3000L;
+    
     @Autowired
     private ConnectionManager connectionManager;
     
@@ -49,10 +52,29 @@ public class RpcPushService {
      */
     public void pushWithCallback(String connectionId, ServerRequest request, PushCallBack requestCallBack,
             Executor executor) {
+        doPushWithCallback(connectionId, request, requestCallBack, executor,
+                (connection, callBack) -> connection.asyncRequest(request, callBack));
+    }
+    
+    /**
+     * push a request shared by multiple connections with no ack, the encoded request will be reused.
+     *
+     * @param connectionId    connectionId.
+     * @param request         shared request.
+     * @param requestCallBack requestCallBack.
+     */
+    public void pushWithCallback(String connectionId, SharedPushRequest request, PushCallBack requestCallBack,
+            Executor executor) {
+        doPushWithCallback(connectionId, request.getRequest(), requestCallBack, executor,
+                (connection, callBack) -> connection.asyncRequest(request, callBack));
+    }
+    
+    private void doPushWithCallback(String connectionId, ServerRequest request, PushCallBack requestCallBack,
+            Executor executor, PushAction pushAction) {
         Connection connection = connectionManager.getConnection(connectionId);
         if (connection != null) {
             try {
-                connection.asyncRequest(request, new AbstractRequestCallBack(requestCallBack.getTimeout()) {
+                pushAction.push(connection, new AbstractRequestCallBack(requestCallBack.getTimeout()) {
                     
                     @Override
                     public Executor getExecutor() {
@@ -70,6 +92,11 @@ public class RpcPushService {
                     
                     @Override
                     public void onException(Throwable e) {
+                        if (e instanceof ConnectionAlreadyClosedException) {
+                            connectionManager.unregister(connectionId);
+                            requestCallBack.onSuccess();
+                            return;
+                        }
                         requestCallBack.onFail(e);
                     }
                 });
@@ -88,7 +115,7 @@ public class RpcPushService {
     }
     
     /**
-     * push response with no ack.
+     * push response with no ack, the caller doesn't wait for the request written or the response of client.
      *
      * @param connectionId connectionId.
      * @param request      request.
@@ -97,7 +124,28 @@ public class RpcPushService {
         Connection connection = connectionManager.getConnection(connectionId);
         if (connection != null) {
             try {
-                connection.request(request, 3000L);
+                connection.asyncRequest(request, new AbstractRequestCallBack(PUSH_WITHOUT_ACK_TIMEOUT) {
+                    
+                    @Override
+                    public Executor getExecutor() {
+                        return null;
+                    }
+                    
+                    @Override
+                    public void onResponse(Response response) {
+                    }
+                    
+                    @Override
+                    public void onException(Throwable e) {
+                        if (e instanceof ConnectionAlreadyClosedException) {
+                            connectionManager.unregister(connectionId);
+                        } else {
+                            Loggers.REMOTE_DIGEST
+                                    .error("error to send push response to connectionId ={},push response={}",
+                                            connectionId, request, e);
+                        }
+                    }
+                });
             } catch (ConnectionAlreadyClosedException e) {
                 connectionManager.unregister(connectionId);
             } catch (Exception e) {
@@ -108,4 +156,8 @@ public class RpcPushService {
         }
     }
     
+    private interface PushAction {
+        
+        void push(Connection connection, RequestCallBack callBack) throws NacosException;
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote;
+
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+
+import java.util.function.Function;
+
+/**
+ * A server push request which is shared by multiple connections.
+ *
+ * <p>The wrapped request is encoded at most once by the transport layer, and the encoded form is reused for every
+ * connection this request is pushed to. The wrapped request must not be modified after it is shared.
+ *
+ * @author Nacos
+ */
+public class SharedPushRequest {
+    
+    private final ServerRequest request;
+    
+    private volatile Object encodedData;
+    
+    public SharedPushRequest(ServerRequest request) {
+        this.request = request;
+    }
+    
+    public ServerRequest getRequest() {
+        return request;
+    }
+    
+    /**
+     * Get the encoded data of request, encode it with {@code encoder} if not encoded yet.
+     *
+     * @param encoder encoder of transport layer
+     * @param <T>     type of encoded data
+     * @return encoded data
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getEncodedData(Function<ServerRequest, T> encoder) {
+        Object result = encodedData;
+        if (null == result) {
+            synchronized (this) {
+                result = encodedData;
+                if (null == result) {
+                    result = encoder.apply(request);
+                    encodedData = result;
+                }
+            }
+        }
+        return (T) result;
+    }
+    
+    public boolean isEncoded() {
+        return null != encodedData;
+    }
+}
@@ -30,13 +30,16 @@ import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * grpc bi stream request .
@@ -50,18 +53,29 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
     @Autowired
     ConnectionManager connectionManager;
     
+    private int pushQueueCapacity = GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_CAPACITY;
+    
+    /**
+     * Load the push queue capacity of connections.
+     */
+    @PostConstruct
+    public void init() {
+        pushQueueCapacity = EnvUtil.getProperty(GrpcServerConstants.GrpcConfig.PUSH_QUEUE_CAPACITY_PROPERTY,
+                Integer.class, GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_CAPACITY);
+    }
+    
     private void traceDetailIfNecessary(Payload grpcRequest) {
         String clientIp = grpcRequest.getMetadata().getClientIp();
         String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
         try {
             if (connectionManager.traced(clientIp)) {
                 Loggers.REMOTE_DIGEST.info("[{}]Bi stream request receive, meta={},body={}", connectionId,
-                        grpcRequest.getMetadata().toByteString().toStringUtf8(),
-                        grpcRequest.getBody().toByteString().toStringUtf8());
+                        PayloadTraceRender.meta(grpcRequest),
+                        PayloadTraceRender.body(grpcRequest));
             }
         } catch (Throwable throwable) {
             Loggers.REMOTE_DIGEST.error("[{}]Bi stream request error,payload={},error={}", connectionId,
-                    grpcRequest.toByteString().toStringUtf8(), throwable);
+                    PayloadTraceRender.payload(grpcRequest), throwable);
         }
         
     }
@@ -69,6 +83,17 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
     @Override
     public StreamObserver<Payload> requestBiStream(StreamObserver<Payload> responseObserver) {
         
+        final AtomicReference<GrpcConnection> connectionRef = new AtomicReference<>();
+        if (responseObserver instanceof ServerCallStreamObserver) {
+            // on ready handler can only be set before this method returns.
+            ((ServerCallStreamObserver<Payload>) responseObserver).setOnReadyHandler(() -> {
+                GrpcConnection connection = connectionRef.get();
+                if (null != connection) {
+                    connection.onStreamReady();
+                }
+            });
+        }
+        
         StreamObserver<Payload> streamObserver = new StreamObserver<Payload>() {
             
             final String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
@@ -99,7 +124,7 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
                 if (parseObj == null) {
                     Loggers.REMOTE_DIGEST
                             .warn("[{}]Grpc request bi stream,payload parse null ,body={},meta={}", connectionId,
-                                    payload.getBody().getValue().toStringUtf8(), payload.getMetadata());
+                                    PayloadTraceRender.body(payload), payload.getMetadata());
                     return;
                 }
                 if (parseObj instanceof ConnectionSetupRequest) {
@@ -115,7 +140,8 @@ public class GrpcBiStreamRequestAcceptor extends BiRequestStreamGrpc.BiRequestSt
                             setUpRequest.getClientVersion(), appName, setUpRequest.getLabels());
                     metaInfo.setTenant(setUpRequest.getTenant());
                     GrpcConnection connection = new GrpcConnection(metaInfo, responseObserver,
-                            GrpcServerConstants.CONTEXT_KEY_CHANNEL.get());
+                            GrpcServerConstants.CONTEXT_KEY_CHANNEL.get(), pushQueueCapacity);
+                    connectionRef.set(connection);
                     // null if supported
                     if (setUpRequest.getAbilityTable() != null) {
                         // map to table
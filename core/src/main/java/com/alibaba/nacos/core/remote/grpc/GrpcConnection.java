@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.core.remote.grpc;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
 import com.alibaba.nacos.api.grpc.auto.Payload;
@@ -25,11 +26,15 @@ import com.alibaba.nacos.api.remote.RequestFuture;
 import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.codec.PayloadCodec;
+import com.alibaba.nacos.common.remote.codec.PayloadCodecManager;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.common.remote.exception.ConnectionBusyException;
+import com.alibaba.nacos.core.monitor.MetricsMonitor;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
 import com.alibaba.nacos.core.remote.RpcAckCallbackSynchronizer;
+import com.alibaba.nacos.core.remote.SharedPushRequest;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.plugin.control.ControlManagerCenter;
 import com.alibaba.nacos.plugin.control.tps.TpsControlManager;
@@ -39,12 +44,23 @@ import io.grpc.netty.shaded.io.netty.channel.Channel;
 import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * grpc connection.
  *
+ * <p>Requests to client are buffered by a bounded push queue and written on the event loop of channel when the stream
+ * is ready, so pushing threads never wait for slow clients.
+ *
  * @author liuzunfei
  * @version $Id: GrpcConnection.java, v 0.1 2020年07月13日 7:26 PM liuzunfei Exp $
  */
@@ -56,75 +72,169 @@ public class GrpcConnection extends Connection {
     
     private static TpsControlManager tpsControlManager;
     
+    private final int pushQueueCapacity;
+    
+    private final Queue<PendingPush> pushQueue = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicInteger pushQueueSize = new AtomicInteger();
+    
+    private final AtomicLong pendingPushBytes = new AtomicLong();
+    
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    
     public GrpcConnection(ConnectionMeta metaInfo, StreamObserver streamObserver, Channel channel) {
+        this(metaInfo, streamObserver, channel, GrpcServerConstants.GrpcConfig.DEFAULT_PUSH_QUEUE_CAPACITY);
+    }
+    
+    public GrpcConnection(ConnectionMeta metaInfo, StreamObserver streamObserver, Channel channel,
+            int pushQueueCapacity) {
         super(metaInfo);
         this.streamObserver = streamObserver;
         this.channel = channel;
+        this.pushQueueCapacity = pushQueueCapacity;
     }
     
     /**
      * send request without ack.
      *
      * @param request request data.
-     * @throws NacosException NacosException
+     * @return future completed when the request is written to the stream.
+     * @throws ConnectionBusyException if the push queue of this connection is full.
      */
-    public void sendRequestNoAck(Request request) throws NacosException {
-        sendQueueBlockCheck();
-        Future<Boolean> executeFuture = this.channel.eventLoop().submit(() -> {
-            //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
-            synchronized (streamObserver) {
-                try {
-                    Payload payload = GrpcUtils.convert(request);
-                    traceIfNecessary(payload);
-                    streamObserver.onNext(payload);
-                    return true;
-                } catch (Throwable e) {
-                    if (e instanceof StatusRuntimeException) {
-                        throw new ConnectionAlreadyClosedException(e);
-                    } else if (e instanceof IllegalStateException) {
-                        throw new ConnectionAlreadyClosedException(e);
-                    }
-                    throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
+    public CompletableFuture<Void> sendRequestNoAck(Request request) {
+        return sendPayloadNoAck(GrpcUtils.convert(request, payloadCodec()));
+    }
+    
+    /**
+     * Binary codec is used after the client announces the support in its abilities.
+     */
+    private PayloadCodec payloadCodec() {
+        Map<String, Boolean> abilityTable = getAbilityTable();
+        if (null != abilityTable && Boolean.TRUE.equals(
+                abilityTable.get(AbilityKey.SDK_CLIENT_SUPPORT_BINARY_PAYLOAD_CODEC.getName()))) {
+            return PayloadCodecManager.getBinaryCodec();
+        }
+        return PayloadCodecManager.getDefaultCodec();
+    }
+    
+    /**
+     * Queue the payload and write it on the event loop of channel when the stream is ready, the caller never waits
+     * for the write.
+     */
+    private CompletableFuture<Void> sendPayloadNoAck(Payload payload) {
+        if (pushQueueSize.incrementAndGet() > pushQueueCapacity) {
+            pushQueueSize.decrementAndGet();
+            recordPushQueueBlock();
+            throw new ConnectionBusyException("too much pushes on sending queue of this stream.");
+        }
+        PendingPush push = new PendingPush(payload);
+        updatePendingPushBytes(push.size);
+        pushQueue.offer(push);
+        scheduleDrain();
+        return push.future;
+    }
+    
+    private void recordPushQueueBlock() {
+        if (tpsControlManager == null) {
+            synchronized (GrpcConnection.class.getClass()) {
+                if (tpsControlManager == null) {
+                    tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
+                    tpsControlManager.registerTpsPoint("SERVER_PUSH_BLOCK");
                 }
             }
-        });
+        }
+        TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("SERVER_PUSH_BLOCK",
+                this.getMetaInfo().getConnectionId(), this.getMetaInfo().getClientIp());
+        //record block only.
+        tpsControlManager.check(tpsCheckRequest);
+        getMetaInfo().recordPushQueueBlockTimes();
+    }
+    
+    /**
+     * Resume writing the pushes queued while the stream is not ready, called by the on ready handler of stream.
+     */
+    void onStreamReady() {
+        if (!pushQueue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+    
+    private void scheduleDrain() {
+        if (!drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            executeFuture.get();
-        } catch (Throwable throwable) {
-            if (throwable instanceof ExecutionException && throwable.getCause() != null
-                    && throwable.getCause() instanceof NacosRuntimeException) {
-                throw (NacosRuntimeException) throwable.getCause();
-            }
-            throw new NacosRuntimeException(NacosException.SERVER_ERROR, throwable);
+            channel.eventLoop().execute(this::drainPushQueue);
+        } catch (Throwable e) {
+            drainScheduled.set(false);
+            failPendingPushes(new ConnectionAlreadyClosedException(e));
         }
     }
     
-    private void sendQueueBlockCheck() {
-        if (streamObserver instanceof ServerCallStreamObserver) {
-            // if bytes on queue is greater than  32k ,isReady will return false.
-            // queue type: grpc write queue,flowed controller queue etc.
-            // this 32k threshold is fixed with static final.
-            // see io.grpc.internal.AbstractStream.TransportState.DEFAULT_ONREADY_THRESHOLD
-            boolean ready = ((ServerCallStreamObserver<?>) streamObserver).isReady();
-            if (!ready) {
-                if (tpsControlManager == null) {
-                    synchronized (GrpcConnection.class.getClass()) {
-                        if (tpsControlManager == null) {
-                            tpsControlManager = ControlManagerCenter.getInstance().getTpsControlManager();
-                            tpsControlManager.registerTpsPoint("SERVER_PUSH_BLOCK");
-                        }
+    /**
+     * Write the queued pushes in one task of event loop, so that grpc flushes them to the channel together.
+     */
+    private void drainPushQueue() {
+        //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
+        synchronized (streamObserver) {
+            PendingPush push;
+            while (isStreamReady() && null != (push = pushQueue.poll())) {
+                dequeue(push);
+                try {
+                    traceIfNecessary(push.payload);
+                    streamObserver.onNext(push.payload);
+                    getMetaInfo().clearPushQueueBlockTimes();
+                    push.future.complete(null);
+                } catch (Throwable e) {
+                    if (e instanceof StatusRuntimeException || e instanceof IllegalStateException) {
+                        ConnectionAlreadyClosedException closedException = new ConnectionAlreadyClosedException(e);
+                        push.future.completeExceptionally(closedException);
+                        failPendingPushes(closedException);
+                    } else {
+                        push.future.completeExceptionally(new NacosRuntimeException(NacosException.SERVER_ERROR, e));
                     }
                 }
-                TpsCheckRequest tpsCheckRequest = new TpsCheckRequest("SERVER_PUSH_BLOCK",
-                        this.getMetaInfo().getConnectionId(), this.getMetaInfo().getClientIp());
-                //record block only.
-                tpsControlManager.check(tpsCheckRequest);
-                getMetaInfo().recordPushQueueBlockTimes();
-                throw new ConnectionBusyException("too much bytes on sending queue of this stream.");
-            } else {
-                getMetaInfo().clearPushQueueBlockTimes();
             }
         }
+        drainScheduled.set(false);
+        // pushes queued after the last poll can't schedule a drain while this one is running.
+        if (!pushQueue.isEmpty() && isStreamReady()) {
+            scheduleDrain();
+        }
+    }
+    
+    private boolean isStreamReady() {
+        // if bytes on queue is greater than  32k ,isReady will return false.
+        // queue type: grpc write queue,flowed controller queue etc.
+        // this 32k threshold is fixed with static final.
+        // see io.grpc.internal.AbstractStream.TransportState.DEFAULT_ONREADY_THRESHOLD
+        return !(streamObserver instanceof ServerCallStreamObserver) || ((ServerCallStreamObserver<?>) streamObserver)
+                .isReady();
+    }
+    
+    private void dequeue(PendingPush push) {
+        pushQueueSize.decrementAndGet();
+        updatePendingPushBytes(-push.size);
+        long delayNanos = System.nanoTime() - push.queuedNanos;
+        MetricsMonitor.getGrpcPushQueueDelay().record(delayNanos, TimeUnit.NANOSECONDS);
+        getMetaInfo().setPushQueueDelay(TimeUnit.NANOSECONDS.toMillis(delayNanos));
+    }
+    
+    private void updatePendingPushBytes(long delta) {
+        getMetaInfo().setPendingPushBytes(pendingPushBytes.addAndGet(delta));
+        MetricsMonitor.getGrpcPushPendingBytes().addAndGet(delta);
+    }
+    
+    private void failPendingPushes(Exception exception) {
+        PendingPush push;
+        while (null != (push = pushQueue.poll())) {
+            dequeue(push);
+            push.future.completeExceptionally(exception);
+        }
+    }
+    
+    public int getPushQueueSize() {
+        return pushQueueSize.get();
     }
     
     private void traceIfNecessary(Payload payload) {
@@ -133,7 +243,7 @@ public class GrpcConnection extends Connection {
             try {
                 connectionId = getMetaInfo().getConnectionId();
                 Loggers.REMOTE_DIGEST.info("[{}]Send request to client ,payload={}", connectionId,
-                        payload.toByteString().toStringUtf8());
+                        PayloadTraceRender.payload(payload));
             } catch (Throwable throwable) {
                 Loggers.REMOTE_DIGEST.warn("[{}]Send request to client trace error, ,error={}", connectionId,
                         throwable);
@@ -144,24 +254,66 @@ public class GrpcConnection extends Connection {
     private DefaultRequestFuture sendRequestInner(Request request, RequestCallBack callBack) throws NacosException {
         final String requestId = String.valueOf(PushAckIdGenerator.getNextId());
         request.setRequestId(requestId);
-        
+        DefaultRequestFuture defaultPushFuture = registerRequestFuture(requestId, callBack);
+        sendPayloadWithFuture(GrpcUtils.convert(request, payloadCodec()), defaultPushFuture);
+        return defaultPushFuture;
+    }
+    
+    private DefaultRequestFuture registerRequestFuture(String requestId, RequestCallBack callBack)
+            throws NacosException {
         DefaultRequestFuture defaultPushFuture = new DefaultRequestFuture(getMetaInfo().getConnectionId(), requestId,
                 callBack, () -> RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId));
-        
         RpcAckCallbackSynchronizer.syncCallback(getMetaInfo().getConnectionId(), requestId, defaultPushFuture);
-        sendRequestNoAck(request);
         return defaultPushFuture;
     }
     
+    /**
+     * The request future fails if the payload can't be written, the ack of client will never come.
+     */
+    private void sendPayloadWithFuture(Payload payload, DefaultRequestFuture requestFuture) {
+        CompletableFuture<Void> sendFuture;
+        try {
+            sendFuture = sendPayloadNoAck(payload);
+        } catch (RuntimeException e) {
+            RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestFuture.getRequestId());
+            throw e;
+        }
+        sendFuture.whenComplete((result, throwable) -> {
+            if (null != throwable) {
+                RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestFuture.getRequestId());
+                requestFuture.setFailResult(throwable instanceof Exception ? (Exception) throwable
+                        : new NacosRuntimeException(NacosException.SERVER_ERROR, throwable));
+            }
+        });
+    }
+    
     @Override
     public Response request(Request request, long timeoutMills) throws NacosException {
-        DefaultRequestFuture pushFuture = sendRequestInner(request, null);
+        final String requestId = String.valueOf(PushAckIdGenerator.getNextId());
+        request.setRequestId(requestId);
+        DefaultRequestFuture pushFuture = registerRequestFuture(requestId, null);
         try {
-            return pushFuture.get(timeoutMills);
+            long deadline = System.currentTimeMillis() + timeoutMills;
+            awaitSent(sendRequestNoAck(request), timeoutMills);
+            return pushFuture.get(Math.max(1L, deadline - System.currentTimeMillis()));
+        } catch (NacosRuntimeException e) {
+            throw e;
         } catch (Exception e) {
             throw new NacosException(NacosException.SERVER_ERROR, e);
         } finally {
-            RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), pushFuture.getRequestId());
+            RpcAckCallbackSynchronizer.clearFuture(getMetaInfo().getConnectionId(), requestId);
+        }
+    }
+    
+    private void awaitSent(CompletableFuture<Void> sendFuture, long timeoutMills)
+            throws InterruptedException, TimeoutException {
+        try {
+            sendFuture.get(timeoutMills, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NacosRuntimeException) {
+                throw (NacosRuntimeException) e.getCause();
+            }
+            throw new NacosRuntimeException(NacosException.SERVER_ERROR, e.getCause());
         }
     }
     
@@ -175,6 +327,14 @@ public class GrpcConnection extends Connection {
         sendRequestInner(request, requestCallBack);
     }
     
+    @Override
+    public void asyncRequest(SharedPushRequest request, RequestCallBack requestCallBack) throws NacosException {
+        GrpcPayloadTemplate template = request.getEncodedData(GrpcPayloadTemplate::new);
+        final String requestId = String.valueOf(PushAckIdGenerator.getNextId());
+        DefaultRequestFuture requestFuture = registerRequestFuture(requestId, requestCallBack);
+        sendPayloadWithFuture(template.build(requestId), requestFuture);
+    }
+    
     @Override
     public void close() {
         String connectionId = null;
@@ -192,6 +352,7 @@ public class GrpcConnection extends Connection {
                 Loggers.REMOTE_DIGEST.warn("[{}] connection  close bi stream exception  : {}", connectionId, e);
             }
             channel.close();
+            failPendingPushes(new ConnectionAlreadyClosedException("connection is closed."));
             
         } catch (Exception e) {
             Loggers.REMOTE_DIGEST.warn("[{}] connection  close exception  : {}", connectionId, e);
@@ -211,4 +372,20 @@ public class GrpcConnection extends Connection {
     public boolean isConnected() {
         return channel != null && channel.isOpen() && channel.isActive();
     }
+    
+    private static class PendingPush {
+        
+        private final Payload payload;
+        
+        private final int size;
+        
+        private final long queuedNanos = System.nanoTime();
+        
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        
+        private PendingPush(Payload payload) {
+            this.payload = payload;
+            this.size = payload.getSerializedSize();
+        }
+    }
 }
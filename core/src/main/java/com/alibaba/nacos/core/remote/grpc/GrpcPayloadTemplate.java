@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.grpc.auto.Metadata;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pre-encoded grpc payload of a request which can be reused by multiple connections.
+ *
+ * <p>The request is encoded once with a placeholder request id. Building a payload for a connection only splices the
+ * real request id between the shared prefix and suffix of the encoded body, the shared bytes are not copied.
+ *
+ * @author Nacos
+ */
+public class GrpcPayloadTemplate {
+    
+    private static final String REQUEST_ID_PLACEHOLDER = "@@NACOS_SHARED_REQUEST_ID@@";
+    
+    private final Metadata metadata;
+    
+    private final ByteString bodyPrefix;
+    
+    private final ByteString bodySuffix;
+    
+    /**
+     * Encode the request into a template, the request id of the request will be reset to {@code null}.
+     *
+     * @param request request to encode, should not be modified concurrently
+     */
+    public GrpcPayloadTemplate(Request request) {
+        request.setRequestId(REQUEST_ID_PLACEHOLDER);
+        Payload payload;
+        try {
+            payload = GrpcUtils.convert(request);
+        } finally {
+            request.setRequestId(null);
+        }
+        this.metadata = payload.getMetadata();
+        ByteString body = payload.getBody().getValue();
+        int index = indexOf(body, REQUEST_ID_PLACEHOLDER.getBytes(StandardCharsets.UTF_8));
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "Can't find request id in encoded request " + request.getClass().getSimpleName());
+        }
+        this.bodyPrefix = body.substring(0, index);
+        this.bodySuffix = body.substring(index + REQUEST_ID_PLACEHOLDER.length());
+    }
+    
+    /**
+     * Build payload with the request id.
+     *
+     * @param requestId request id for the target connection
+     * @return payload
+     */
+    public Payload build(String requestId) {
+        ByteString body = bodyPrefix.concat(ByteString.copyFromUtf8(requestId)).concat(bodySuffix);
+        return Payload.newBuilder().setMetadata(metadata).setBody(Any.newBuilder().setValue(body)).build();
+    }
+    
+    /**
+     * Get the shared bytes size of the encoded body.
+     *
+     * @return shared body size
+     */
+    public int getSharedBodySize() {
+        return bodyPrefix.size() + bodySuffix.size();
+    }
+    
+    private static int indexOf(ByteString source, byte[] target) {
+        int last = source.size() - target.length;
+        for (int i = 0; i <= last; i++) {
+            int j = 0;
+            while (j < target.length && source.byteAt(i + j) == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -40,10 +40,13 @@ import com.alibaba.nacos.core.remote.RequestHandler;
 import com.alibaba.nacos.core.remote.RequestHandlerRegistry;
 import com.alibaba.nacos.core.utils.Loggers;
 import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import io.grpc.Context;
 import io.grpc.stub.StreamObserver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -67,12 +70,12 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         try {
             if (connectionManager.traced(clientIp)) {
                 Loggers.REMOTE_DIGEST.info("[{}]Payload {},meta={},body={}", connectionId, receive ? "receive" : "send",
-                        grpcRequest.getMetadata().toByteString().toStringUtf8(),
-                        grpcRequest.getBody().toByteString().toStringUtf8());
+                        PayloadTraceRender.meta(grpcRequest),
+                        PayloadTraceRender.body(grpcRequest));
             }
         } catch (Throwable throwable) {
             Loggers.REMOTE_DIGEST.error("[{}]Monitor request error,payload={},error={}", connectionId, clientIp,
-                    grpcRequest.toByteString().toStringUtf8());
+                    PayloadTraceRender.payload(grpcRequest));
         }
         
     }
@@ -182,6 +185,31 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
         }
         
         Request request = (Request) parseObj;
+        Executor executor = requestHandlerRegistry.getExecutor(type);
+        if (null == executor) {
+            handleRequest(grpcRequest, responseObserver, requestHandler, request, startTime);
+            return;
+        }
+        try {
+            executor.execute(Context.current()
+                    .wrap(() -> handleRequest(grpcRequest, responseObserver, requestHandler, request, startTime)));
+        } catch (RejectedExecutionException e) {
+            Loggers.REMOTE_DIGEST.warn("[{}] Request executor of {} is busy, reject request from connection [{}]",
+                    "grpc", type, connectionId);
+            Payload payloadResponse = GrpcUtils.convert(
+                    ErrorResponse.build(NacosException.OVER_THRESHOLD, "Server is busy, please try later."));
+            traceIfNecessary(payloadResponse, false);
+            responseObserver.onNext(payloadResponse);
+            responseObserver.onCompleted();
+            MetricsMonitor.recordGrpcRequestEvent(type, false, NacosException.OVER_THRESHOLD,
+                    e.getClass().getSimpleName(), request.getModule(), System.nanoTime() - startTime);
+        }
+    }
+    
+    private void handleRequest(Payload grpcRequest, StreamObserver<Payload> responseObserver,
+            RequestHandler requestHandler, Request request, long startTime) {
+        String type = grpcRequest.getMetadata().getType();
+        String connectionId = GrpcServerConstants.CONTEXT_KEY_CONN_ID.get();
         try {
             Connection connection = connectionManager.getConnection(GrpcServerConstants.CONTEXT_KEY_CONN_ID.get());
             RequestMeta requestMeta = new RequestMeta();
@@ -193,7 +221,7 @@ public class GrpcRequestAcceptor extends RequestGrpc.RequestImplBase {
             connectionManager.refreshActiveTime(requestMeta.getConnectionId());
             prepareRequestContext(request, requestMeta, connection);
             Response response = requestHandler.handleRequest(request, requestMeta);
-            Payload payloadResponse = GrpcUtils.convert(response);
+            Payload payloadResponse = GrpcUtils.convert(response, GrpcUtils.getCodec(grpcRequest));
             traceIfNecessary(payloadResponse, false);
             if (response.getErrorCode() == NacosException.OVER_THRESHOLD) {
                 RpcScheduledExecutor.CONTROL_SCHEDULER.schedule(() -> {
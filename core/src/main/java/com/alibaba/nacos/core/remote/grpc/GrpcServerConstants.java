@@ -79,6 +79,8 @@ final class GrpcServerConstants {
         
         static final String SDK_PERMIT_KEEP_ALIVE_TIME = NACOS_REMOTE_SERVER_GRPC_SDK_PREFIX + "permit-keep-alive-time";
         
+        static final String PUSH_QUEUE_CAPACITY_PROPERTY = NACOS_REMOTE_SERVER_GRPC_PREFIX + "push-queue-capacity";
+        
         static final String CLUSTER_MAX_INBOUND_MSG_SIZE_PROPERTY =
                 NACOS_REMOTE_SERVER_GRPC_CLUSTER_PREFIX + "max-inbound-message-size";
         
@@ -93,6 +95,8 @@ final class GrpcServerConstants {
         
         static final int DEFAULT_GRPC_MAX_INBOUND_MSG_SIZE = 10 * 1024 * 1024;
         
+        static final int DEFAULT_PUSH_QUEUE_CAPACITY = 1024;
+        
         static final long DEFAULT_GRPC_KEEP_ALIVE_TIME = TimeUnit.NANOSECONDS.toMillis(GrpcUtil.DEFAULT_SERVER_KEEPALIVE_TIME_NANOS);
         
         static final long DEFAULT_GRPC_KEEP_ALIVE_TIMEOUT = TimeUnit.NANOSECONDS.toMillis(GrpcUtil.DEFAULT_SERVER_KEEPALIVE_TIMEOUT_NANOS);
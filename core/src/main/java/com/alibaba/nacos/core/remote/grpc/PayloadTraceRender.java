@@ -0,0 +1,66 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * Render payloads for trace logs lazily, the payload is only rendered when the log is actually written.
+ *
+ * <p>Bodies of binary codecs are rendered as the codec name and size instead of undecodable text.
+ *
+ * @author Nacos
+ */
+final class PayloadTraceRender {
+    
+    private final Supplier<String> render;
+    
+    private PayloadTraceRender(Supplier<String> render) {
+        this.render = render;
+    }
+    
+    static PayloadTraceRender meta(Payload payload) {
+        return new PayloadTraceRender(() -> payload.getMetadata().toByteString().toStringUtf8());
+    }
+    
+    static PayloadTraceRender body(Payload payload) {
+        return new PayloadTraceRender(() -> renderBody(payload));
+    }
+    
+    static PayloadTraceRender payload(Payload payload) {
+        return new PayloadTraceRender(() -> StringUtils.isEmpty(payload.getBody().getTypeUrl())
+                ? payload.toByteString().toStringUtf8()
+                : payload.getMetadata().toByteString().toStringUtf8() + renderBody(payload));
+    }
+    
+    private static String renderBody(Payload payload) {
+        String codec = payload.getBody().getTypeUrl();
+        if (StringUtils.isEmpty(codec)) {
+            return payload.getBody().getValue().toStringUtf8();
+        }
+        return "<" + codec + " " + payload.getBody().getValue().size() + " bytes>";
+    }
+    
+    @Override
+    public String toString() {
+        return render.get();
+    }
+}
@@ -104,6 +104,7 @@ class ConnectionManagerTest {
         Mockito.when(channel.isActive()).thenReturn(true);
         
         connectionMeta.clientIp = clientIp;
+        connectionMeta.appName = "app";
         Map<String, String> labels = new HashMap<>();
         labels.put("key", "value");
         labels.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_SDK);
@@ -139,6 +140,30 @@ class ConnectionManagerTest {
         assertEquals(1, connectionManager.getConnectionByIp(clientIp).size());
     }
     
+    @Test
+    void testGetConnectionsByApp() {
+        assertEquals(1, connectionManager.getConnectionsByApp("app").size());
+        assertTrue(connectionManager.getConnectionsByApp("other").isEmpty());
+    }
+    
+    @Test
+    void testUnregisterRemoveIndexes() {
+        connectionManager.unregister(connectId);
+        assertTrue(connectionManager.getConnectionByIp(clientIp).isEmpty());
+        assertTrue(connectionManager.getConnectionsByApp("app").isEmpty());
+        assertFalse(connectionManager.getConnectionForClientIp().containsKey(clientIp));
+        assertEquals(0, connectionManager.currentSdkClientCount());
+    }
+    
+    @Test
+    void testPollIdleConnections() {
+        assertEquals(1, connectionManager.pollIdleConnections(RuntimeConnectionEjector.KEEP_ALIVE_TIME).size());
+        // still idle connections are polled again.
+        assertEquals(1, connectionManager.pollIdleConnections(RuntimeConnectionEjector.KEEP_ALIVE_TIME).size());
+        connectionManager.unregister(connectId);
+        assertTrue(connectionManager.pollIdleConnections(RuntimeConnectionEjector.KEEP_ALIVE_TIME).isEmpty());
+    }
+    
     @Test
     void testGetCurrentConnectionCount() {
         assertEquals(1, connectionManager.getCurrentConnectionCount());
@@ -165,6 +190,10 @@ class ConnectionManagerTest {
         Map<String, String> labels = new HashMap<>();
         labels.put("key", "value");
         assertEquals(1, connectionManager.currentClientsCount(labels));
+        labels.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_SDK);
+        assertEquals(1, connectionManager.currentClientsCount(labels));
+        labels.put(RemoteConstants.LABEL_SOURCE, RemoteConstants.LABEL_SOURCE_CLUSTER);
+        assertEquals(0, connectionManager.currentClientsCount(labels));
     }
     
     @Test
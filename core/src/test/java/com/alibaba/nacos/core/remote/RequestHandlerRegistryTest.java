@@ -23,6 +23,7 @@ import com.alibaba.nacos.api.remote.request.ServerReloadRequest;
 import com.alibaba.nacos.core.remote.core.ServerReloaderRequestHandler;
 import com.alibaba.nacos.plugin.control.ControlManagerCenter;
 import com.alibaba.nacos.plugin.control.tps.TpsControlManager;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,12 +35,16 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.when;
 
 /**
@@ -68,8 +73,12 @@ class RequestHandlerRegistryTest {
     @Mock
     private TpsControlManager tpsControlManager;
     
+    private MockEnvironment environment;
+    
     @BeforeEach
     void setUp() {
+        environment = new MockEnvironment();
+        EnvUtil.setEnvironment(environment);
         controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
         controlManagerCenterMockedStatic.when(() -> ControlManagerCenter.getInstance())
                 .thenReturn(controlManagerCenter);
@@ -85,6 +94,7 @@ class RequestHandlerRegistryTest {
     
     @AfterEach
     public void after() {
+        registry.shutdown();
         controlManagerCenterMockedStatic.close();
     }
     
@@ -107,4 +117,32 @@ class RequestHandlerRegistryTest {
                 RemoteConstants.LABEL_SOURCE_SDK));
         
     }
+    
+    @Test
+    void testDefaultExecutorGroup() {
+        assertNull(registry.getExecutor(HealthCheckRequest.class.getSimpleName()));
+    }
+    
+    @Test
+    void testExecutorGroupFromConfig() {
+        environment.setProperty("nacos.remote.server.executor.group." + HealthCheckRequest.class.getSimpleName(),
+                "test");
+        environment.setProperty("nacos.remote.server.executor.group." + ServerReloadRequest.class.getSimpleName(),
+                "test");
+        environment.setProperty("nacos.remote.server.executor.test.threads", "1");
+        RequestHandlerRegistry registry = new RequestHandlerRegistry();
+        Map<String, Object> handlerMap = new HashMap<>();
+        handlerMap.put(HealthCheckRequestHandler.class.getSimpleName(), new HealthCheckRequestHandler());
+        handlerMap.put(ServerReloaderRequestHandler.class.getSimpleName(), new ServerReloaderRequestHandler());
+        Mockito.when(applicationContext.getBeansOfType(Mockito.any())).thenReturn(handlerMap);
+        try {
+            registry.onApplicationEvent(contextRefreshedEvent);
+            GroupRequestExecutor executor = (GroupRequestExecutor) registry.getExecutor(
+                    HealthCheckRequest.class.getSimpleName());
+            assertEquals("test", executor.getGroup());
+            assertSame(executor, registry.getExecutor(ServerReloadRequest.class.getSimpleName()));
+        } finally {
+            registry.shutdown();
+        }
+    }
 }
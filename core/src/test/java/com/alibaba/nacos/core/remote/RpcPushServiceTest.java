@@ -19,6 +19,8 @@ package com.alibaba.nacos.core.remote;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.core.remote.grpc.GrpcConnection;
 import org.junit.jupiter.api.Test;
@@ -80,25 +82,30 @@ class RpcPushServiceTest {
     }
     
     @Test
-    void testPushWithoutAck() {
+    void testPushWithoutAck() throws NacosException {
         Mockito.when(connectionManager.getConnection(Mockito.any())).thenReturn(grpcConnection);
-        try {
-            Mockito.when(grpcConnection.request(Mockito.any(), Mockito.eq(3000L))).thenThrow(ConnectionAlreadyClosedException.class);
-            rpcPushService.pushWithoutAck(connectId, null);
-            
-            Mockito.when(grpcConnection.request(Mockito.any(), Mockito.eq(3000L))).thenThrow(NacosException.class);
-            rpcPushService.pushWithoutAck(connectId, null);
-        } catch (Exception e) {
-            e.printStackTrace();
-            fail(e.getMessage());
-        }
+        Mockito.doThrow(ConnectionAlreadyClosedException.class).when(grpcConnection)
+                .asyncRequest(Mockito.<Request>any(), Mockito.any());
+        rpcPushService.pushWithoutAck(connectId, null);
+        Mockito.verify(connectionManager).unregister(connectId);
         
-        try {
-            Mockito.when(grpcConnection.request(Mockito.any(), Mockito.eq(3000L))).thenReturn(Mockito.any());
-            rpcPushService.pushWithoutAck(connectId, null);
-        } catch (Exception e) {
-            e.printStackTrace();
-            fail(e.getMessage());
-        }
+        Mockito.doThrow(NacosException.class).when(grpcConnection).asyncRequest(Mockito.<Request>any(), Mockito.any());
+        rpcPushService.pushWithoutAck(connectId, null);
+        
+        Mockito.doNothing().when(grpcConnection).asyncRequest(Mockito.<Request>any(), Mockito.any());
+        rpcPushService.pushWithoutAck(connectId, null);
+        Mockito.verify(connectionManager).unregister(connectId);
+    }
+    
+    @Test
+    void testPushWithoutAckClosedAfterQueued() throws NacosException {
+        Mockito.when(connectionManager.getConnection(Mockito.any())).thenReturn(grpcConnection);
+        Mockito.doAnswer(invocation -> {
+            RequestCallBack callBack = invocation.getArgument(1);
+            callBack.onException(new ConnectionAlreadyClosedException());
+            return null;
+        }).when(grpcConnection).asyncRequest(Mockito.<Request>any(), Mockito.any());
+        rpcPushService.pushWithoutAck(connectId, null);
+        Mockito.verify(connectionManager).unregister(connectId);
     }
 }
@@ -46,8 +46,13 @@ import org.mockito.quality.Strictness;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -177,34 +182,52 @@ class GrpcConnectionTest {
     }
     
     @Test
-    void testBusy() {
+    void testBusy() throws InterruptedException {
         controlManagerCenterMockedStatic = Mockito.mockStatic(ControlManagerCenter.class);
         Mockito.when(ControlManagerCenter.getInstance()).thenReturn(controlManagerCenter);
         Mockito.when(ControlManagerCenter.getInstance().getTpsControlManager()).thenReturn(tpsControlManager);
         Mockito.when(tpsControlManager.check(Mockito.any())).thenReturn(new TpsCheckResponse(true, 200, ""));
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
         Mockito.doReturn(false).when(streamObserver).isReady();
+        connection = new GrpcConnection(connection.getMetaInfo(), streamObserver, channel, 1);
         
-        try {
-            connection.request(new NotifySubscriberRequest(), 3000L);
-            assertTrue(false);
-        } catch (Exception e) {
-            assertTrue(e instanceof ConnectionBusyException);
-        }
+        CompletableFuture<Void> queued = connection.sendRequestNoAck(new NotifySubscriberRequest());
+        assertThrows(ConnectionBusyException.class, () -> connection.sendRequestNoAck(new NotifySubscriberRequest()));
+        Thread.sleep(150L);
+        assertThrows(ConnectionBusyException.class, () -> connection.request(new NotifySubscriberRequest(), 3000L));
         
-        try {
-            Thread.sleep(3001);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
-        try {
-            connection.request(new NotifySubscriberRequest(), 3000L);
-            assertTrue(false);
-        } catch (Exception e) {
-            assertTrue(e instanceof ConnectionBusyException);
-        }
+        assertTrue(connection.getMetaInfo().pushQueueBlockTimesLastOver(100));
+        assertFalse(queued.isDone());
+        assertEquals(1, connection.getPushQueueSize());
+        assertTrue(connection.getMetaInfo().getPendingPushBytes() > 0);
+        Mockito.verify(streamObserver, Mockito.never()).onNext(Mockito.any());
+    }
+    
+    @Test
+    void testResumeOnStreamReady() throws Exception {
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
+        Mockito.doReturn(false).when(streamObserver).isReady();
+        CompletableFuture<Void> queued = connection.sendRequestNoAck(new NotifySubscriberRequest());
         
-        assertTrue(connection.getMetaInfo().pushQueueBlockTimesLastOver(3000));
+        Mockito.doReturn(true).when(streamObserver).isReady();
+        connection.onStreamReady();
+        queued.get(3L, TimeUnit.SECONDS);
         
+        Mockito.verify(streamObserver).onNext(Mockito.any());
+        assertEquals(0, connection.getPushQueueSize());
+        assertEquals(0L, connection.getMetaInfo().getPendingPushBytes());
+    }
+    
+    @Test
+    void testCloseFailsPendingPushes() {
+        Mockito.doReturn(new DefaultEventLoop()).when(channel).eventLoop();
+        Mockito.doReturn(false).when(streamObserver).isReady();
+        CompletableFuture<Void> queued = connection.sendRequestNoAck(new NotifySubscriberRequest());
+        
+        connection.close();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(3L, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof ConnectionAlreadyClosedException);
+        assertEquals(0, connection.getPushQueueSize());
     }
     
     @Test
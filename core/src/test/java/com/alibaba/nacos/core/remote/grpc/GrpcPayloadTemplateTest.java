@@ -0,0 +1,63 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.remote.grpc;
+
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GrpcPayloadTemplateTest {
+    
+    @BeforeAll
+    static void setUpBeforeClass() {
+        PayloadRegistry.init();
+    }
+    
+    @Test
+    void testBuildPayloadWithRequestId() {
+        ServiceInfo serviceInfo = new ServiceInfo("G@@S");
+        Instance instance = new Instance();
+        instance.setIp("1.1.1.1");
+        instance.setPort(8848);
+        serviceInfo.setHosts(Collections.singletonList(instance));
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo);
+        request.putHeader("testKey", "testValue");
+        GrpcPayloadTemplate template = new GrpcPayloadTemplate(request);
+        assertNull(request.getRequestId());
+        
+        Payload payload1 = template.build("1");
+        Payload payload2 = template.build("123456");
+        assertEquals(NotifySubscriberRequest.class.getSimpleName(), payload1.getMetadata().getType());
+        assertEquals("testValue", payload1.getMetadata().getHeadersMap().get("testKey"));
+        NotifySubscriberRequest actual1 = (NotifySubscriberRequest) GrpcUtils.parse(payload1);
+        NotifySubscriberRequest actual2 = (NotifySubscriberRequest) GrpcUtils.parse(payload2);
+        assertEquals("1", actual1.getRequestId());
+        assertEquals("123456", actual2.getRequestId());
+        assertEquals(serviceInfo.getHosts(), actual1.getServiceInfo().getHosts());
+        assertEquals(serviceInfo.getHosts(), actual2.getServiceInfo().getHosts());
+    }
+}
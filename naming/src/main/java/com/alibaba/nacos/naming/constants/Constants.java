@@ -55,6 +55,17 @@ public final class Constants {
      */
     public static final String EXPIRED_METADATA_EXPIRED_TIME = "nacos.naming.clean.expired-metadata.expired-time";
     
+    /**
+     * Whether to execute naming tasks by work stealing engine. default: false.
+     */
+    public static final String EXECUTE_TASK_WORK_STEALING_ENABLED = "nacos.naming.execute-task.work-stealing.enabled";
+    
+    /**
+     * Whether to process push delay tasks by time ordered engine, queue age of push tasks is only recorded when
+     * enabled. default: false.
+     */
+    public static final String PUSH_DELAY_TASK_TIME_ORDERED_ENABLED = "nacos.naming.push.delay-task.time-ordered.enabled";
+    
     /**
      * default: false.
      */
@@ -43,4 +43,18 @@ public class PushConstants {
     public static final String PUSH_TASK_RETRY_DELAY = "nacos.naming.push.pushTaskRetryDelay";
     
     public static final long DEFAULT_PUSH_TASK_RETRY_DELAY = 1000L;
+    
+    /**
+     * Whether push changed instances only to the clients which support incremental push.
+     */
+    public static final String PUSH_DELTA_ENABLED = "nacos.naming.push.delta.enabled";
+    
+    public static final boolean DEFAULT_PUSH_DELTA_ENABLED = false;
+    
+    /**
+     * Max revisions of changes kept for each service for incremental push.
+     */
+    public static final String PUSH_DELTA_MAX_REVISIONS = "nacos.naming.push.delta.maxRevisions";
+    
+    public static final int DEFAULT_PUSH_DELTA_MAX_REVISIONS = 16;
 }
@@ -86,7 +86,11 @@ public class IpPortBasedClient extends AbstractClient {
     
     @Override
     public boolean addServiceInstance(Service service, InstancePublishInfo instancePublishInfo) {
-        return super.addServiceInstance(service, parseToHealthCheckInstance(instancePublishInfo));
+        boolean result = super.addServiceInstance(service, parseToHealthCheckInstance(instancePublishInfo));
+        if (null != beatCheckTask) {
+            HealthCheckReactor.refreshCheck(beatCheckTask);
+        }
+        return result;
     }
     
     @Override
@@ -46,6 +46,11 @@ public class ClientOperationEvent extends Event {
         return service;
     }
     
+    @Override
+    public Object partitionKey() {
+        return clientId;
+    }
+    
     /**
      * Client register service event.
      */
@@ -54,6 +54,11 @@ public class MetadataEvent extends Event {
         return expired;
     }
     
+    @Override
+    public Object partitionKey() {
+        return service;
+    }
+    
     public static class ServiceMetadataEvent extends MetadataEvent {
         
         private static final long serialVersionUID = -2888112042649967804L;
@@ -18,6 +18,7 @@ package com.alibaba.nacos.naming.core.v2.event.publisher;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.PartitionedEventDispatcher;
 import com.alibaba.nacos.common.notify.ShardedEventPublisher;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.common.utils.ThreadUtils;
@@ -154,7 +155,7 @@ public class NamingEventPublisher extends Thread implements ShardedEventPublishe
         while (!shutdown) {
             try {
                 final Event event = queue.take();
-                handleEvent(event);
+                PartitionedEventDispatcher.getInstance().dispatch(event, () -> handleEvent(event));
             } catch (InterruptedException e) {
                 Loggers.EVT_LOG.warn("Naming Event Publisher {} take event from queue failed:", this.publisherName, e);
                 // set the interrupted flag
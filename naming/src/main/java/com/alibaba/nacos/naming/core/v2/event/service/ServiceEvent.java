@@ -38,6 +38,11 @@ public class ServiceEvent extends Event {
         return service;
     }
     
+    @Override
+    public Object partitionKey() {
+        return service;
+    }
+    
     /**
      * Service data changed event.
      */
@@ -45,17 +50,46 @@ public class ServiceEvent extends Event {
         
         private static final long serialVersionUID = 2123694271992630822L;
         
+        /**
+         * Id of the client whose published instance changed, {@code null} if unknown.
+         */
+        private final String changedClientId;
+        
+        /**
+         * Id of the instance metadata which changed, {@code null} if unknown.
+         */
+        private final String changedMetadataId;
+        
         public ServiceChangedEvent(Service service) {
             this(service, false);
         }
         
         public ServiceChangedEvent(Service service, boolean incrementRevision) {
+            this(service, null, null, incrementRevision);
+        }
+        
+        public ServiceChangedEvent(Service service, String changedClientId, boolean incrementRevision) {
+            this(service, changedClientId, null, incrementRevision);
+        }
+        
+        public ServiceChangedEvent(Service service, String changedClientId, String changedMetadataId,
+                boolean incrementRevision) {
             super(service);
+            this.changedClientId = changedClientId;
+            this.changedMetadataId = changedMetadataId;
             service.renewUpdateTime();
             if (incrementRevision) {
                 service.incrementRevision();
             }
         }
+        
+        public String getChangedClientId() {
+            return changedClientId;
+        }
+        
+        public String getChangedMetadataId() {
+            return changedMetadataId;
+        }
     }
     
     /**
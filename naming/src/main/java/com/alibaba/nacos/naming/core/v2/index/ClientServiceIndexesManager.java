@@ -129,13 +129,13 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
     
     private void addPublisherIndexes(Service service, String clientId) {
         publisherIndexes.computeIfAbsent(service, key -> new ConcurrentHashSet<>()).add(clientId);
-        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, true));
+        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, clientId, true));
     }
     
     private void removePublisherIndexes(Service service, String clientId) {
         publisherIndexes.computeIfPresent(service, (s, ids) -> {
             ids.remove(clientId);
-            NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, true));
+            NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, clientId, true));
             return ids.isEmpty() ? null : ids;
         });
     }
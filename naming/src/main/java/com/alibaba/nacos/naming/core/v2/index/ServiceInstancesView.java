@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Materialized instances view of one service.
+ *
+ * <p>The view caches the parsed instances of each client which published the service, and only the clients marked
+ * dirty are parsed again when the view is refreshed. The instances list handed out is an immutable snapshot, which is
+ * rebuilt at most once per refresh and shared by all readers until the next change.
+ *
+ * <p>Marking is thread safe and lock free; refreshing and reading must hold the monitor of the view.
+ *
+ * @author Nacos
+ */
+class ServiceInstancesView {
+    
+    private final Set<String> dirtyClients = new ConcurrentHashSet<>();
+    
+    private final Set<String> dirtyMetadataIds = new ConcurrentHashSet<>();
+    
+    private volatile boolean fullRefresh = true;
+    
+    private long metadataSnapshotVersion;
+    
+    private final Map<String, ClientInstances> clientInstances = new HashMap<>();
+    
+    private final Map<String, Set<String>> metadataClients = new HashMap<>();
+    
+    private final Map<Instance, Integer> instanceCounts = new HashMap<>();
+    
+    private final Map<String, Integer> clusterCounts = new HashMap<>();
+    
+    private List<Instance> snapshot = Collections.emptyList();
+    
+    private boolean snapshotChanged;
+    
+    void markClientDirty(String clientId) {
+        dirtyClients.add(clientId);
+    }
+    
+    void markMetadataDirty(String metadataId) {
+        dirtyMetadataIds.add(metadataId);
+    }
+    
+    void markAllDirty() {
+        fullRefresh = true;
+    }
+    
+    /**
+     * Whether all clients of the view need to be parsed again.
+     *
+     * @param currentMetadataSnapshotVersion current version of instance metadata snapshot
+     * @return {@code true} if the view is never built, marked all dirty or instance metadata snapshot reloaded
+     */
+    boolean isFullRefreshNeeded(long currentMetadataSnapshotVersion) {
+        return fullRefresh || metadataSnapshotVersion != currentMetadataSnapshotVersion;
+    }
+    
+    /**
+     * Clear the view before parsing all clients again.
+     *
+     * @param currentMetadataSnapshotVersion current version of instance metadata snapshot
+     */
+    void reset(long currentMetadataSnapshotVersion) {
+        fullRefresh = false;
+        metadataSnapshotVersion = currentMetadataSnapshotVersion;
+        dirtyClients.clear();
+        dirtyMetadataIds.clear();
+        clientInstances.clear();
+        metadataClients.clear();
+        instanceCounts.clear();
+        clusterCounts.clear();
+        snapshotChanged = true;
+    }
+    
+    /**
+     * Drain the dirty clients, including the clients which use the dirty instance metadata.
+     *
+     * @return dirty client ids
+     */
+    Set<String> drainDirtyClients() {
+        Set<String> result = new HashSet<>();
+        drainTo(dirtyClients, result);
+        Set<String> metadataIds = new HashSet<>();
+        drainTo(dirtyMetadataIds, metadataIds);
+        for (String each : metadataIds) {
+            Set<String> clientIds = metadataClients.get(each);
+            if (null != clientIds) {
+                result.addAll(clientIds);
+            }
+        }
+        return result;
+    }
+    
+    private void drainTo(Set<String> source, Set<String> target) {
+        Iterator<String> iterator = source.iterator();
+        while (iterator.hasNext()) {
+            target.add(iterator.next());
+            iterator.remove();
+        }
+    }
+    
+    /**
+     * Replace the instances of client in view.
+     *
+     * @param clientId    client id
+     * @param instances   new parsed instances of client, empty if client doesn't publish the service any more
+     * @param metadataIds instance metadata ids used by the instances
+     */
+    void update(String clientId, List<Instance> instances, Collection<String> metadataIds) {
+        ClientInstances old = clientInstances.remove(clientId);
+        if (null != old) {
+            for (Instance each : old.instances) {
+                decrease(instanceCounts, each);
+                decrease(clusterCounts, each.getClusterName());
+            }
+            for (String each : old.metadataIds) {
+                Set<String> clientIds = metadataClients.get(each);
+                if (null != clientIds && clientIds.remove(clientId) && clientIds.isEmpty()) {
+                    metadataClients.remove(each);
+                }
+            }
+            snapshotChanged = true;
+        }
+        if (instances.isEmpty()) {
+            return;
+        }
+        clientInstances.put(clientId, new ClientInstances(instances, metadataIds));
+        for (Instance each : instances) {
+            instanceCounts.merge(each, 1, Integer::sum);
+            clusterCounts.merge(each.getClusterName(), 1, Integer::sum);
+        }
+        for (String each : metadataIds) {
+            metadataClients.computeIfAbsent(each, key -> new HashSet<>()).add(clientId);
+        }
+        snapshotChanged = true;
+    }
+    
+    private <K> void decrease(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+    
+    /**
+     * Get the immutable snapshot of instances, distinct instances published by several clients appear once.
+     *
+     * @return instances snapshot
+     */
+    List<Instance> getInstances() {
+        if (snapshotChanged) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(instanceCounts.keySet()));
+            snapshotChanged = false;
+        }
+        return snapshot;
+    }
+    
+    Set<String> getClusters() {
+        return new HashSet<>(clusterCounts.keySet());
+    }
+    
+    private static class ClientInstances {
+        
+        private final List<Instance> instances;
+        
+        private final Collection<String> metadataIds;
+        
+        private ClientInstances(List<Instance> instances, Collection<String> metadataIds) {
+            this.instances = instances;
+            this.metadataIds = metadataIds;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Short change log of the pushed instances of one service, keyed by revision.
+ *
+ * <p>Each recorded push data which is different from the previous one generates a new revision. The changes of the
+ * latest {@code maxRevisions} revisions are kept, so that an incremental push can be built for clients which have
+ * acked a recent base revision.
+ *
+ * <p>Only enabled instances are recorded, which is the same as the instances pushed by rpc.
+ *
+ * @author Nacos
+ */
+public class ServiceRevisionLog {
+    
+    private final int maxRevisions;
+    
+    private final LinkedList<RevisionEntry> entries = new LinkedList<>();
+    
+    /**
+     * client id -> revision acked by client.
+     */
+    private final ConcurrentMap<String, Long> ackedRevisions = new ConcurrentHashMap<>();
+    
+    private Map<String, Instance> snapshot;
+    
+    private volatile long revision;
+    
+    public ServiceRevisionLog(int maxRevisions) {
+        this.maxRevisions = Math.max(1, maxRevisions);
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    /**
+     * Record the current instances of service.
+     *
+     * @param instances current instances of service
+     * @return the revision of the instances
+     */
+    public synchronized long record(Collection<Instance> instances) {
+        Map<String, Instance> current = new HashMap<>(instances.size());
+        for (Instance each : instances) {
+            if (each.isEnabled()) {
+                current.put(NotifySubscriberDeltaRequest.buildInstanceKey(each), each);
+            }
+        }
+        if (null == snapshot) {
+            snapshot = current;
+            revision = 1L;
+            return revision;
+        }
+        Map<String, Instance> modified = new HashMap<>(4);
+        for (Map.Entry<String, Instance> entry : current.entrySet()) {
+            Instance old = snapshot.get(entry.getKey());
+            if (null == old || !old.equals(entry.getValue())) {
+                modified.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Map<String, Instance> removed = new HashMap<>(4);
+        for (Map.Entry<String, Instance> entry : snapshot.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                removed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        snapshot = current;
+        if (modified.isEmpty() && removed.isEmpty()) {
+            return revision;
+        }
+        entries.addLast(new RevisionEntry(revision + 1, modified, removed));
+        revision++;
+        while (entries.size() > maxRevisions) {
+            entries.removeFirst();
+        }
+        long oldestBaseRevision = getOldestBaseRevision();
+        ackedRevisions.values().removeIf(acked -> acked < oldestBaseRevision);
+        return revision;
+    }
+    
+    /**
+     * Get the changes from base revision to current revision.
+     *
+     * @param baseRevision base revision
+     * @return changes, or empty if the base revision is too old or the changes are not smaller than full data
+     */
+    public synchronized Optional<RevisionDelta> getDelta(long baseRevision) {
+        if (null == snapshot || baseRevision > revision || baseRevision < getOldestBaseRevision()) {
+            return Optional.empty();
+        }
+        Map<String, Instance> modified = new LinkedHashMap<>();
+        Map<String, Instance> removed = new LinkedHashMap<>();
+        Iterator<RevisionEntry> iterator = entries.descendingIterator();
+        while (iterator.hasNext()) {
+            RevisionEntry entry = iterator.next();
+            if (entry.revision <= baseRevision) {
+                break;
+            }
+            // newer revisions have been merged first, so only put instances not changed in newer revisions.
+            entry.modified.forEach((key, instance) -> {
+                if (!removed.containsKey(key)) {
+                    modified.putIfAbsent(key, instance);
+                }
+            });
+            entry.removed.forEach((key, instance) -> {
+                if (!modified.containsKey(key)) {
+                    removed.putIfAbsent(key, instance);
+                }
+            });
+        }
+        if (modified.size() + removed.size() > snapshot.size() / 2) {
+            return Optional.empty();
+        }
+        return Optional.of(new RevisionDelta(baseRevision, revision, new ArrayList<>(modified.values()),
+                new ArrayList<>(removed.values())));
+    }
+    
+    private long getOldestBaseRevision() {
+        return entries.isEmpty() ? revision : entries.getFirst().revision - 1;
+    }
+    
+    public void ack(String clientId, long ackedRevision) {
+        ackedRevisions.put(clientId, ackedRevision);
+    }
+    
+    public long getAckedRevision(String clientId) {
+        return ackedRevisions.getOrDefault(clientId, 0L);
+    }
+    
+    public void resetAck(String clientId) {
+        ackedRevisions.remove(clientId);
+    }
+    
+    private static class RevisionEntry {
+        
+        private final long revision;
+        
+        private final Map<String, Instance> modified;
+        
+        private final Map<String, Instance> removed;
+        
+        private RevisionEntry(long revision, Map<String, Instance> modified, Map<String, Instance> removed) {
+            this.revision = revision;
+            this.modified = modified;
+            this.removed = removed;
+        }
+    }
+    
+    /**
+     * Merged changes between two revisions.
+     */
+    public static class RevisionDelta {
+        
+        private final long baseRevision;
+        
+        private final long revision;
+        
+        private final List<Instance> modifiedInstances;
+        
+        private final List<Instance> removedInstances;
+        
+        public RevisionDelta(long baseRevision, long revision, List<Instance> modifiedInstances,
+                List<Instance> removedInstances) {
+            this.baseRevision = baseRevision;
+            this.revision = revision;
+            this.modifiedInstances = modifiedInstances;
+            this.removedInstances = removedInstances;
+        }
+        
+        public long getBaseRevision() {
+            return baseRevision;
+        }
+        
+        public long getRevision() {
+            return revision;
+        }
+        
+        public List<Instance> getModifiedInstances() {
+            return modifiedInstances;
+        }
+        
+        public List<Instance> getRemovedInstances() {
+            return removedInstances;
+        }
+    }
+}
@@ -18,10 +18,15 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.BatchInstancePublishInfo;
@@ -32,8 +37,8 @@ import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -43,10 +48,13 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Service storage.
  *
+ * <p>Instances of each service are kept in a {@link ServiceInstancesView}, which is patched by
+ * {@link ServiceEvent.ServiceChangedEvent} and only parses the changed clients when the service data is read.
+ *
  * @author xiweng.yy
  */
 @Component
-public class ServiceStorage {
+public class ServiceStorage extends Subscriber<ServiceEvent.ServiceChangedEvent> {
     
     private final ClientServiceIndexesManager serviceIndexesManager;
     
@@ -60,6 +68,10 @@ public class ServiceStorage {
     
     private final ConcurrentMap<Service, Set<String>> serviceClusterIndex;
     
+    private final ConcurrentMap<Service, ServiceRevisionLog> serviceRevisionLogs;
+    
+    private final ConcurrentMap<Service, ServiceInstancesView> serviceInstancesViews;
+    
     public ServiceStorage(ClientServiceIndexesManager serviceIndexesManager, ClientManagerDelegate clientManager,
             SwitchDomain switchDomain, NamingMetadataManager metadataManager) {
         this.serviceIndexesManager = serviceIndexesManager;
@@ -68,6 +80,9 @@ public class ServiceStorage {
         this.metadataManager = metadataManager;
         this.serviceDataIndexes = new ConcurrentHashMap<>();
         this.serviceClusterIndex = new ConcurrentHashMap<>();
+        this.serviceRevisionLogs = new ConcurrentHashMap<>();
+        this.serviceInstancesViews = new ConcurrentHashMap<>();
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
     
     public Set<String> getClusters(Service service) {
@@ -89,9 +104,42 @@ public class ServiceStorage {
         return result;
     }
     
+    /**
+     * Get the revision log of pushed data for service, create it if absent.
+     *
+     * @param service      service
+     * @param maxRevisions max revisions kept by the log
+     * @return revision log of service
+     */
+    public ServiceRevisionLog getRevisionLog(Service service, int maxRevisions) {
+        return serviceRevisionLogs.computeIfAbsent(service, key -> new ServiceRevisionLog(maxRevisions));
+    }
+    
     public void removeData(Service service) {
         serviceDataIndexes.remove(service);
         serviceClusterIndex.remove(service);
+        serviceRevisionLogs.remove(service);
+        serviceInstancesViews.remove(service);
+    }
+    
+    @Override
+    public void onEvent(ServiceEvent.ServiceChangedEvent event) {
+        ServiceInstancesView view = serviceInstancesViews.get(event.getService());
+        if (null == view) {
+            return;
+        }
+        if (null != event.getChangedClientId()) {
+            view.markClientDirty(event.getChangedClientId());
+        } else if (null != event.getChangedMetadataId()) {
+            view.markMetadataDirty(event.getChangedMetadataId());
+        } else {
+            view.markAllDirty();
+        }
+    }
+    
+    @Override
+    public Class<? extends Event> subscribeType() {
+        return ServiceEvent.ServiceChangedEvent.class;
     }
     
     private ServiceInfo emptyServiceInfo(Service service) {
@@ -104,44 +152,47 @@ public class ServiceStorage {
     }
     
     private List<Instance> getAllInstancesFromIndex(Service service) {
-        Set<Instance> result = new HashSet<>();
-        Set<String> clusters = new HashSet<>();
-        for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
-            Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
-            if (instancePublishInfo.isPresent()) {
-                InstancePublishInfo publishInfo = instancePublishInfo.get();
-                //If it is a BatchInstancePublishInfo type, it will be processed manually and added to the instance list
-                if (publishInfo instanceof BatchInstancePublishInfo) {
-                    BatchInstancePublishInfo batchInstancePublishInfo = (BatchInstancePublishInfo) publishInfo;
-                    List<Instance> batchInstance = parseBatchInstance(service, batchInstancePublishInfo, clusters);
-                    result.addAll(batchInstance);
-                } else {
-                    Instance instance = parseInstance(service, instancePublishInfo.get());
-                    result.add(instance);
-                    clusters.add(instance.getClusterName());
+        ServiceInstancesView view = serviceInstancesViews.computeIfAbsent(service, key -> new ServiceInstancesView());
+        synchronized (view) {
+            long metadataSnapshotVersion = metadataManager.getInstanceMetadataSnapshotVersion();
+            if (view.isFullRefreshNeeded(metadataSnapshotVersion)) {
+                view.reset(metadataSnapshotVersion);
+                for (String each : serviceIndexesManager.getAllClientsRegisteredService(service)) {
+                    refreshClientInstances(view, service, each);
+                }
+            } else {
+                for (String each : view.drainDirtyClients()) {
+                    refreshClientInstances(view, service, each);
                 }
             }
+            // cache clusters of this service
+            serviceClusterIndex.put(service, view.getClusters());
+            return view.getInstances();
         }
-        // cache clusters of this service
-        serviceClusterIndex.put(service, clusters);
-        return new LinkedList<>(result);
     }
     
-    /**
-     * Parse batch instance.
-     * @param service service
-     * @param batchInstancePublishInfo batchInstancePublishInfo
-     * @return batch instance list
-     */
-    private List<Instance> parseBatchInstance(Service service, BatchInstancePublishInfo batchInstancePublishInfo, Set<String> clusters) {
-        List<Instance> resultInstanceList = new ArrayList<>();
-        List<InstancePublishInfo> instancePublishInfos = batchInstancePublishInfo.getInstancePublishInfos();
-        for (InstancePublishInfo instancePublishInfo : instancePublishInfos) {
-            Instance instance = parseInstance(service, instancePublishInfo);
-            resultInstanceList.add(instance);
-            clusters.add(instance.getClusterName());
+    private void refreshClientInstances(ServiceInstancesView view, Service service, String clientId) {
+        Optional<InstancePublishInfo> instancePublishInfo = Optional.empty();
+        if (serviceIndexesManager.getAllClientsRegisteredService(service).contains(clientId)) {
+            instancePublishInfo = getInstanceInfo(clientId, service);
+        }
+        if (!instancePublishInfo.isPresent()) {
+            view.update(clientId, Collections.emptyList(), Collections.emptySet());
+            return;
+        }
+        InstancePublishInfo publishInfo = instancePublishInfo.get();
+        List<InstancePublishInfo> publishInfos = Collections.singletonList(publishInfo);
+        //If it is a BatchInstancePublishInfo type, it will be processed manually and added to the instance list
+        if (publishInfo instanceof BatchInstancePublishInfo) {
+            publishInfos = ((BatchInstancePublishInfo) publishInfo).getInstancePublishInfos();
+        }
+        List<Instance> instances = new ArrayList<>(publishInfos.size());
+        Set<String> metadataIds = new HashSet<>();
+        for (InstancePublishInfo each : publishInfos) {
+            instances.add(parseInstance(service, each));
+            metadataIds.add(each.getMetadataId());
         }
-        return resultInstanceList;
+        view.update(clientId, instances, metadataIds);
     }
     
     private Optional<InstancePublishInfo> getInstanceInfo(String clientId, Service service) {
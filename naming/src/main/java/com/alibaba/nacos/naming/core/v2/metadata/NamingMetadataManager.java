@@ -34,6 +34,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Nacos naming metadata manager.
@@ -51,10 +52,13 @@ public class NamingMetadataManager extends SmartSubscriber {
     
     private static final int INITIAL_CAPACITY = 1;
     
+    private final AtomicLong instanceMetadataSnapshotVersion;
+    
     public NamingMetadataManager() {
         serviceMetadataMap = new ConcurrentHashMap<>(1 << 10);
         instanceMetadataMap = new ConcurrentHashMap<>(1 << 10);
         expiredMetadataInfos = new ConcurrentHashSet<>();
+        instanceMetadataSnapshotVersion = new AtomicLong();
         NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
     
@@ -206,6 +210,16 @@ public class NamingMetadataManager extends SmartSubscriber {
         ConcurrentMap<Service, ConcurrentMap<String, InstanceMetadata>> oldSnapshot = instanceMetadataMap;
         instanceMetadataMap = snapshot;
         oldSnapshot.clear();
+        instanceMetadataSnapshotVersion.incrementAndGet();
+    }
+    
+    /**
+     * Get the version of instance metadata snapshot, it will be increased after each snapshot loaded.
+     *
+     * @return version of instance metadata snapshot
+     */
+    public long getInstanceMetadataSnapshotVersion() {
+        return instanceMetadataSnapshotVersion.get();
     }
     
     public Set<ExpiredMetadataInfo> getExpiredMetadataInfos() {
@@ -82,4 +82,13 @@ public class HealthCheckInstancePublishInfo extends InstancePublishInfo {
     public AtomicInteger getFailCount() {
         return healthCheckStatus.checkFailCount;
     }
+    
+    @JsonIgnore
+    public Object getCheckContext() {
+        return healthCheckStatus.checkContext;
+    }
+    
+    public void setCheckContext(Object checkContext) {
+        healthCheckStatus.checkContext = checkContext;
+    }
 }
@@ -17,6 +17,8 @@
 package com.alibaba.nacos.naming.healthcheck;
 
 import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
+import com.alibaba.nacos.naming.healthcheck.heartbeat.ClientBeatCheckTaskV2;
+import com.alibaba.nacos.naming.healthcheck.heartbeat.ClientBeatExpiryWheel;
 import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
@@ -54,6 +56,10 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void scheduleCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2 && ClientBeatExpiryWheel.getInstance().isEnabled()) {
+            ClientBeatExpiryWheel.getInstance().schedule((ClientBeatCheckTaskV2) task);
+            return;
+        }
         Runnable wrapperTask =
                 task instanceof NacosHealthCheckTask ? new HealthCheckTaskInterceptWrapper((NacosHealthCheckTask) task)
                         : task;
@@ -67,6 +73,10 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void cancelCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2 && ClientBeatExpiryWheel.getInstance().isEnabled()
+                && ClientBeatExpiryWheel.getInstance().cancel(task)) {
+            return;
+        }
         ScheduledFuture scheduledFuture = futureMap.get(task.taskKey());
         if (scheduledFuture == null) {
             return;
@@ -79,6 +89,17 @@ public class HealthCheckReactor {
         }
     }
     
+    /**
+     * Refresh the deadline of client beat check task after the instances of client changed.
+     *
+     * @param task client beat check task
+     */
+    public static void refreshCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2 && ClientBeatExpiryWheel.getInstance().isEnabled()) {
+            ClientBeatExpiryWheel.getInstance().refresh((ClientBeatCheckTaskV2) task);
+        }
+    }
+    
     /**
      * Schedule client beat check task without a delay.
      *
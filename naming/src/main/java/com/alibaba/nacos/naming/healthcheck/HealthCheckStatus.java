@@ -36,4 +36,9 @@ public class HealthCheckStatus implements Serializable {
     public AtomicInteger checkOkCount = new AtomicInteger(0);
     
     public long checkRt = -1L;
+    
+    /**
+     * Context of health check processor which is reused between check rounds, such as the probe target of tcp check.
+     */
+    public transient volatile Object checkContext;
 }
@@ -47,6 +47,10 @@ public class ClientBeatCheckTaskV2 extends AbstractExecuteTask implements BeatCh
         this.interceptorChain = InstanceBeatCheckTaskInterceptorChain.getInstance();
     }
     
+    public IpPortBasedClient getClient() {
+        return client;
+    }
+    
     public GlobalConfig getGlobalConfig() {
         return ApplicationUtils.getBean(GlobalConfig.class);
     }
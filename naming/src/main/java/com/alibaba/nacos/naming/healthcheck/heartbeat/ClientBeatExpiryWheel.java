@@ -0,0 +1,316 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
+import com.alibaba.nacos.naming.misc.GlobalConfig;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.misc.Loggers;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel for the heart beat expiry of ephemeral {@link IpPortBasedClient}.
+ *
+ * <p>Each client is kept in the wheel once, at the earliest deadline of its instances, which is the last beat time
+ * refreshed by {@link ClientBeatProcessorV2} plus the beat timeout or delete timeout of instance. The beat itself
+ * does not touch the wheel: when the deadline comes, the deadline is computed again from the current beat time, and
+ * only the clients which really missed the deadline run {@link ClientBeatCheckTaskV2}, so that
+ * {@link UnhealthyInstanceChecker} and {@link ExpiredInstanceChecker} are fed in batches. The other clients are moved
+ * to their new deadline.
+ *
+ * <p>The wheel is driven by one fixed delay task in {@link GlobalExecutor}, instead of one scheduled task per client.
+ * It is disabled by default, and enabled by {@code nacos.naming.health.beat-check-wheel.enabled=true}, which is read
+ * once when the wheel is created.
+ *
+ * @author Nacos
+ */
+public class ClientBeatExpiryWheel {
+    
+    private static final String ENABLED_PROPERTY = "nacos.naming.health.beat-check-wheel.enabled";
+    
+    private static final long TICK_MILLIS = 500L;
+    
+    private static final int WHEEL_SIZE = 128;
+    
+    private static final int BATCH_SIZE = 256;
+    
+    /**
+     * Delay to check the client again if it has no deadline, such as no instance or the checks are skipped, which is
+     * the same as the period of legacy beat check task.
+     */
+    private static final long IDLE_RECHECK_MILLIS = 5000L;
+    
+    private static final long CHECKING = -1L;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    private final Queue<Node> pendingNodes = new ConcurrentLinkedQueue<>();
+    
+    private final List<Node>[] buckets;
+    
+    private final UnhealthyInstanceChecker unhealthyChecker = new UnhealthyInstanceChecker();
+    
+    private final ExpiredInstanceChecker expiredChecker = new ExpiredInstanceChecker();
+    
+    private final boolean enabled;
+    
+    private long processedTick;
+    
+    @SuppressWarnings("unchecked")
+    ClientBeatExpiryWheel(long currentTimeMillis, boolean enabled) {
+        this.enabled = enabled;
+        buckets = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        processedTick = currentTimeMillis / TICK_MILLIS;
+    }
+    
+    public static ClientBeatExpiryWheel getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    static ClientBeatExpiryWheel newWheel(long currentTimeMillis) {
+        return new ClientBeatExpiryWheel(currentTimeMillis, EnvUtil.getProperty(ENABLED_PROPERTY, Boolean.class, false));
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Add the beat check task of client into wheel, the first check is delayed as the legacy beat check task.
+     *
+     * @param task beat check task of client
+     */
+    public void schedule(ClientBeatCheckTaskV2 task) {
+        Entry entry = new Entry(task);
+        if (null != entries.putIfAbsent(task.taskKey(), entry)) {
+            return;
+        }
+        addNode(entry, System.currentTimeMillis() + IDLE_RECHECK_MILLIS);
+    }
+    
+    /**
+     * Bring the deadline of client forward after its instances changed, so that a new instance with a shorter timeout
+     * is checked no later than the legacy beat check task does.
+     *
+     * @param task beat check task of client
+     */
+    public void refresh(ClientBeatCheckTaskV2 task) {
+        Entry entry = entries.get(task.taskKey());
+        if (null == entry) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + IDLE_RECHECK_MILLIS;
+        while (true) {
+            long current = entry.deadline.get();
+            if (CHECKING == current || deadline >= current) {
+                return;
+            }
+            if (entry.deadline.compareAndSet(current, deadline)) {
+                pendingNodes.offer(new Node(entry, deadline));
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Remove the beat check task from wheel.
+     *
+     * @param task beat check task
+     * @return {@code true} if the task is in the wheel
+     */
+    public boolean cancel(BeatCheckTask task) {
+        Entry entry = entries.remove(task.taskKey());
+        if (null == entry) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private void tick() {
+        try {
+            List<Entry> dueEntries = advance(System.currentTimeMillis());
+            for (int from = 0; from < dueEntries.size(); from += BATCH_SIZE) {
+                List<Entry> batch = dueEntries.subList(from, Math.min(from + BATCH_SIZE, dueEntries.size()));
+                GlobalExecutor.scheduleNamingHealth(() -> check(batch, System.currentTimeMillis()), 0,
+                        TimeUnit.MILLISECONDS);
+            }
+        } catch (Throwable e) {
+            Loggers.SRV_LOG.error("[BEAT-CHECK-WHEEL] tick failed.", e);
+        }
+    }
+    
+    /**
+     * Advance the wheel to the current time and take out the entries reaching their deadline.
+     *
+     * <p>Only called by the single tick task, so the buckets are not shared between threads.
+     *
+     * @param currentTimeMillis current time
+     * @return entries reaching deadline
+     */
+    List<Entry> advance(long currentTimeMillis) {
+        Node node;
+        while (null != (node = pendingNodes.poll())) {
+            long tick = Math.max(node.deadline / TICK_MILLIS, processedTick + 1);
+            buckets[(int) (tick & (WHEEL_SIZE - 1))].add(node);
+        }
+        List<Entry> result = new ArrayList<>();
+        long currentTick = currentTimeMillis / TICK_MILLIS;
+        while (processedTick < currentTick) {
+            processedTick++;
+            Iterator<Node> iterator = buckets[(int) (processedTick & (WHEEL_SIZE - 1))].iterator();
+            while (iterator.hasNext()) {
+                Node each = iterator.next();
+                if (each.isStale()) {
+                    iterator.remove();
+                } else if (each.deadline / TICK_MILLIS <= processedTick) {
+                    iterator.remove();
+                    if (each.entry.deadline.compareAndSet(each.deadline, CHECKING)) {
+                        result.add(each.entry);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Check the entries reaching deadline, run beat check task for the clients missed deadline and schedule them to
+     * the next deadline.
+     *
+     * @param batch             entries reaching deadline
+     * @param currentTimeMillis current time
+     */
+    void check(List<Entry> batch, long currentTimeMillis) {
+        for (Entry each : batch) {
+            if (each.cancelled) {
+                continue;
+            }
+            try {
+                IpPortBasedClient client = each.task.getClient();
+                long deadline = nextDeadline(client, currentTimeMillis);
+                if (deadline < currentTimeMillis) {
+                    new HealthCheckTaskInterceptWrapper(each.task).run();
+                    deadline = nextDeadline(client, currentTimeMillis);
+                }
+                addNode(each, deadline < currentTimeMillis ? currentTimeMillis + IDLE_RECHECK_MILLIS : deadline);
+            } catch (Throwable e) {
+                Loggers.SRV_LOG.warn("[BEAT-CHECK-WHEEL] check client {} failed.", each.task.taskKey(), e);
+                addNode(each, currentTimeMillis + IDLE_RECHECK_MILLIS);
+            }
+        }
+    }
+    
+    private void addNode(Entry entry, long deadline) {
+        entry.deadline.set(deadline);
+        pendingNodes.offer(new Node(entry, deadline));
+    }
+    
+    /**
+     * Compute the earliest deadline of client, the instance is unhealthy or deleted after the deadline without beat.
+     */
+    private long nextDeadline(IpPortBasedClient client, long currentTimeMillis) {
+        long result = Long.MAX_VALUE;
+        boolean expireInstance = ApplicationUtils.getBean(GlobalConfig.class).isExpireInstance();
+        for (Service each : client.getAllPublishedService()) {
+            InstancePublishInfo instance = client.getInstancePublishInfo(each);
+            if (!(instance instanceof HealthCheckInstancePublishInfo)) {
+                continue;
+            }
+            HealthCheckInstancePublishInfo healthCheckInstance = (HealthCheckInstancePublishInfo) instance;
+            long timeout;
+            if (healthCheckInstance.isHealthy()) {
+                timeout = unhealthyChecker.getTimeout(each, healthCheckInstance);
+            } else if (expireInstance) {
+                timeout = expiredChecker.getTimeout(each, healthCheckInstance);
+            } else {
+                continue;
+            }
+            result = Math.min(result, healthCheckInstance.getLastHeartBeatTime() + timeout);
+        }
+        return Long.MAX_VALUE == result ? currentTimeMillis + IDLE_RECHECK_MILLIS : result;
+    }
+    
+    static class Entry {
+        
+        private final ClientBeatCheckTaskV2 task;
+        
+        private final AtomicLong deadline = new AtomicLong(CHECKING);
+        
+        private volatile boolean cancelled;
+        
+        private Entry(ClientBeatCheckTaskV2 task) {
+            this.task = task;
+        }
+        
+        ClientBeatCheckTaskV2 getTask() {
+            return task;
+        }
+    }
+    
+    private static class Node {
+        
+        private final Entry entry;
+        
+        private final long deadline;
+        
+        private Node(Entry entry, long deadline) {
+            this.entry = entry;
+            this.deadline = deadline;
+        }
+        
+        private boolean isStale() {
+            return entry.cancelled || entry.deadline.get() != deadline;
+        }
+    }
+    
+    private static class Holder {
+        
+        private static final ClientBeatExpiryWheel INSTANCE = newStartedWheel();
+        
+        private static ClientBeatExpiryWheel newStartedWheel() {
+            ClientBeatExpiryWheel result = newWheel(System.currentTimeMillis());
+            if (result.isEnabled()) {
+                GlobalExecutor.scheduleNamingHealth(result::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return result;
+        }
+    }
+}
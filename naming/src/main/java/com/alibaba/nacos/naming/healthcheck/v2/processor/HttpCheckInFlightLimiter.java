@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.naming.monitor.MetricsMonitor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits of in-flight http health checks, globally and per cluster.
+ *
+ * <p>Acquiring never blocks, a check which can't get both permits should be skipped in this round. The counter of
+ * a cluster is removed once it has no in-flight check, so removed clusters don't leave anything behind.
+ *
+ * @author Nacos
+ */
+class HttpCheckInFlightLimiter {
+    
+    private final Semaphore globalPermits;
+    
+    private final int clusterLimit;
+    
+    private final Map<String, Integer> clusterInFlight = new ConcurrentHashMap<>();
+    
+    HttpCheckInFlightLimiter(int globalLimit, int clusterLimit) {
+        this.globalPermits = new Semaphore(globalLimit);
+        this.clusterLimit = clusterLimit;
+    }
+    
+    /**
+     * Try to acquire permits for one check of the cluster.
+     *
+     * @param clusterKey key of the cluster
+     * @return {@code true} if acquired, the permits must be released by {@link #release(String)} after check finished
+     */
+    boolean tryAcquire(String clusterKey) {
+        if (!globalPermits.tryAcquire()) {
+            return false;
+        }
+        final boolean[] acquired = new boolean[1];
+        clusterInFlight.compute(clusterKey, (key, count) -> {
+            int current = null == count ? 0 : count;
+            if (current >= clusterLimit) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        if (!acquired[0]) {
+            globalPermits.release();
+            return false;
+        }
+        MetricsMonitor.getHttpHealthCheckInFlight().incrementAndGet();
+        return true;
+    }
+    
+    /**
+     * Release the permits acquired by {@link #tryAcquire(String)}.
+     *
+     * @param clusterKey key of the cluster
+     */
+    void release(String clusterKey) {
+        clusterInFlight.computeIfPresent(clusterKey, (key, count) -> count > 1 ? count - 1 : null);
+        globalPermits.release();
+        MetricsMonitor.getHttpHealthCheckInFlight().decrementAndGet();
+    }
+    
+    int getInFlight(String clusterKey) {
+        Integer result = clusterInFlight.get(clusterKey);
+        return null == result ? 0 : result;
+    }
+}
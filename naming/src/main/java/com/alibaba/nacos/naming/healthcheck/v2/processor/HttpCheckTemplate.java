@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.api.naming.pojo.healthcheck.AbstractHealthChecker;
+import com.alibaba.nacos.api.naming.pojo.healthcheck.impl.Http;
+import com.alibaba.nacos.common.http.param.Header;
+import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import static com.alibaba.nacos.common.constant.RequestUrlConstants.HTTP_PREFIX;
+
+/**
+ * Precomputed http health check request of one cluster.
+ *
+ * <p>The custom headers of {@link Http} checker are parsed once and the built header is shared by all checks of the
+ * cluster, so it must not be modified after built. Template is bound to the checker instance, a cluster metadata
+ * replaced or updated with a new checker gets a new template.
+ *
+ * @author Nacos
+ */
+class HttpCheckTemplate {
+    
+    private final AbstractHealthChecker healthChecker;
+    
+    private final boolean useInstancePortForCheck;
+    
+    private final int healthyCheckPort;
+    
+    private final String path;
+    
+    private final Header header;
+    
+    HttpCheckTemplate(ClusterMetadata metadata) {
+        Http http = (Http) metadata.getHealthChecker();
+        this.healthChecker = http;
+        this.useInstancePortForCheck = metadata.isUseInstancePortForCheck();
+        this.healthyCheckPort = metadata.getHealthyCheckPort();
+        this.path = http.getPath();
+        this.header = Header.newInstance();
+        this.header.addAll(http.getCustomHeaders());
+    }
+    
+    /**
+     * Whether the template is built from current check settings of the cluster metadata.
+     *
+     * @param metadata cluster metadata
+     * @return {@code true} if the template can be used for the cluster metadata
+     */
+    boolean matches(ClusterMetadata metadata) {
+        return healthChecker == metadata.getHealthChecker()
+                && useInstancePortForCheck == metadata.isUseInstancePortForCheck()
+                && healthyCheckPort == metadata.getHealthyCheckPort();
+    }
+    
+    /**
+     * Build the check url of instance, same as resolving check path against the instance host.
+     *
+     * @param ip           instance ip
+     * @param instancePort instance port
+     * @return check url
+     * @throws MalformedURLException if host or path is illegal
+     */
+    String buildUrl(String ip, int instancePort) throws MalformedURLException {
+        int checkPort = useInstancePortForCheck ? instancePort : healthyCheckPort;
+        URL host = new URL(HTTP_PREFIX + ip + ":" + checkPort);
+        return new URL(host, path).toString();
+    }
+    
+    Header getHeader() {
+        return header;
+    }
+}
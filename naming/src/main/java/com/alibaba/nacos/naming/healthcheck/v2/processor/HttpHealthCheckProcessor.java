@@ -17,28 +17,31 @@
 package com.alibaba.nacos.naming.healthcheck.v2.processor;
 
 import com.alibaba.nacos.api.naming.pojo.healthcheck.HealthCheckType;
-import com.alibaba.nacos.api.naming.pojo.healthcheck.impl.Http;
 import com.alibaba.nacos.common.http.Callback;
 import com.alibaba.nacos.common.http.HttpUtils;
 import com.alibaba.nacos.common.http.client.NacosAsyncRestTemplate;
-import com.alibaba.nacos.common.http.param.Header;
 import com.alibaba.nacos.common.http.param.Query;
 import com.alibaba.nacos.common.model.RestResult;
 import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.misc.HttpClientManager;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.monitor.MetricsMonitor;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.springframework.stereotype.Component;
 
 import java.net.ConnectException;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.Collections;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import static com.alibaba.nacos.common.constant.RequestUrlConstants.HTTP_PREFIX;
 import static com.alibaba.nacos.naming.misc.Loggers.SRV_LOG;
 
 /**
@@ -46,6 +49,11 @@ import static com.alibaba.nacos.naming.misc.Loggers.SRV_LOG;
  *
  * <p>Current health check logic is same as v1.x. TODO refactor health check for v2.x.
  *
+ * <p>Check requests are built from a template precomputed per cluster and the url cached per instance, sent over the
+ * keep-alive connections pooled per target by the processor http client. In-flight checks are limited globally and
+ * per cluster, a check over limits is skipped in this round, and each check is delayed by a small random jitter so
+ * that checks scheduled together don't hit targets in the same millisecond.
+ *
  * @author xiweng.yy
  */
 @Component
@@ -56,13 +64,32 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
     private static final NacosAsyncRestTemplate ASYNC_REST_TEMPLATE = HttpClientManager
             .getProcessorNacosAsyncRestTemplate();
     
+    private static final String MAX_IN_FLIGHT_PROPERTY = "nacos.naming.health.http.max-in-flight";
+    
+    private static final String MAX_CLUSTER_IN_FLIGHT_PROPERTY = "nacos.naming.health.http.max-in-flight-per-cluster";
+    
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+    
+    private static final int DEFAULT_MAX_CLUSTER_IN_FLIGHT = 256;
+    
+    private static final long MAX_JITTER_MILLIS = 100L;
+    
+    private static final int JITTER_RATIO = 10;
+    
     private final HealthCheckCommonV2 healthCheckCommon;
     
     private final SwitchDomain switchDomain;
     
+    private final HttpCheckInFlightLimiter inFlightLimiter;
+    
+    private final Map<ClusterMetadata, HttpCheckTemplate> templates = Collections.synchronizedMap(new WeakHashMap<>());
+    
     public HttpHealthCheckProcessor(HealthCheckCommonV2 healthCheckCommon, SwitchDomain switchDomain) {
         this.healthCheckCommon = healthCheckCommon;
         this.switchDomain = switchDomain;
+        this.inFlightLimiter = new HttpCheckInFlightLimiter(
+                EnvUtil.getProperty(MAX_IN_FLIGHT_PROPERTY, Integer.class, DEFAULT_MAX_IN_FLIGHT),
+                EnvUtil.getProperty(MAX_CLUSTER_IN_FLIGHT_PROPERTY, Integer.class, DEFAULT_MAX_CLUSTER_IN_FLIGHT));
     }
     
     @Override
@@ -81,26 +108,75 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
                         .reEvaluateCheckRT(task.getCheckRtNormalized() * 2, task, switchDomain.getHttpHealthParams());
                 return;
             }
-            
-            Http healthChecker = (Http) metadata.getHealthChecker();
-            int ckPort = metadata.isUseInstancePortForCheck() ? instance.getPort() : metadata.getHealthyCheckPort();
-            URL host = new URL(HTTP_PREFIX + instance.getIp() + ":" + ckPort);
-            URL target = new URL(host, healthChecker.getPath());
-            Map<String, String> customHeaders = healthChecker.getCustomHeaders();
-            Header header = Header.newInstance();
-            header.addAll(customHeaders);
-            
-            ASYNC_REST_TEMPLATE.get(target.toString(), header, Query.EMPTY, String.class,
-                    new HttpHealthCheckCallback(instance, task, service));
+            HttpProbeTarget target = getProbeTarget(instance, service, metadata);
+            if (!inFlightLimiter.tryAcquire(target.getClusterKey())) {
+                MetricsMonitor.getHttpHealthCheckRejected().incrementAndGet();
+                if (SRV_LOG.isDebugEnabled()) {
+                    SRV_LOG.debug("http check skipped by in-flight limits, service: {} : {} : {}:{}",
+                            service.getGroupedServiceName(), instance.getCluster(), instance.getIp(),
+                            instance.getPort());
+                }
+                instance.finishCheck();
+                healthCheckCommon
+                        .reEvaluateCheckRT(task.getCheckRtNormalized() * 2, task, switchDomain.getHttpHealthParams());
+                return;
+            }
+            long jitter = ThreadLocalRandom.current()
+                    .nextLong(Math.min(MAX_JITTER_MILLIS, task.getCheckRtNormalized() / JITTER_RATIO) + 1);
+            if (jitter <= 0) {
+                send(target, instance, task, service);
+                return;
+            }
+            try {
+                GlobalExecutor.scheduleNamingHealth(() -> send(target, instance, task, service), jitter,
+                        TimeUnit.MILLISECONDS);
+            } catch (Throwable e) {
+                inFlightLimiter.release(target.getClusterKey());
+                throw e;
+            }
+        } catch (Throwable e) {
+            onSendFailed(instance, task, service, e);
+        }
+    }
+    
+    private HttpProbeTarget getProbeTarget(HealthCheckInstancePublishInfo instance, Service service,
+            ClusterMetadata metadata) throws Exception {
+        Object context = instance.getCheckContext();
+        if (context instanceof HttpProbeTarget && ((HttpProbeTarget) context).getTemplate().matches(metadata)) {
+            return (HttpProbeTarget) context;
+        }
+        HttpCheckTemplate template = templates.get(metadata);
+        if (null == template || !template.matches(metadata)) {
+            template = new HttpCheckTemplate(metadata);
+            templates.put(metadata, template);
+        }
+        String clusterKey = service.getNameSpaceGroupedServiceName() + "#" + instance.getCluster();
+        HttpProbeTarget result = new HttpProbeTarget(template, template.buildUrl(instance.getIp(), instance.getPort()),
+                clusterKey);
+        instance.setCheckContext(result);
+        return result;
+    }
+    
+    private void send(HttpProbeTarget target, HealthCheckInstancePublishInfo instance, HealthCheckTaskV2 task,
+            Service service) {
+        try {
+            ASYNC_REST_TEMPLATE.get(target.getUrl(), target.getTemplate().getHeader(), Query.EMPTY, String.class,
+                    new HttpHealthCheckCallback(instance, task, service, target.getClusterKey()));
             MetricsMonitor.getHttpHealthCheckMonitor().incrementAndGet();
         } catch (Throwable e) {
-            instance.setCheckRt(switchDomain.getHttpHealthParams().getMax());
-            healthCheckCommon.checkFail(task, service, "http:error:" + e.getMessage());
-            healthCheckCommon.reEvaluateCheckRT(switchDomain.getHttpHealthParams().getMax(), task,
-                    switchDomain.getHttpHealthParams());
+            inFlightLimiter.release(target.getClusterKey());
+            onSendFailed(instance, task, service, e);
         }
     }
     
+    private void onSendFailed(HealthCheckInstancePublishInfo instance, HealthCheckTaskV2 task, Service service,
+            Throwable e) {
+        instance.setCheckRt(switchDomain.getHttpHealthParams().getMax());
+        healthCheckCommon.checkFail(task, service, "http:error:" + e.getMessage());
+        healthCheckCommon.reEvaluateCheckRT(switchDomain.getHttpHealthParams().getMax(), task,
+                switchDomain.getHttpHealthParams());
+    }
+    
     @Override
     public String getType() {
         return TYPE;
@@ -114,17 +190,37 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         
         private final HealthCheckInstancePublishInfo instance;
         
+        private final String clusterKey;
+        
+        private final AtomicBoolean completed = new AtomicBoolean();
+        
         private long startTime = System.currentTimeMillis();
         
         public HttpHealthCheckCallback(HealthCheckInstancePublishInfo instance, HealthCheckTaskV2 task,
                 Service service) {
+            this(instance, task, service, null);
+        }
+        
+        HttpHealthCheckCallback(HealthCheckInstancePublishInfo instance, HealthCheckTaskV2 task, Service service,
+                String clusterKey) {
             this.instance = instance;
             this.task = task;
             this.service = service;
+            this.clusterKey = clusterKey;
+        }
+        
+        /**
+         * Release in-flight permits once, a failure in handling the response may be reported again by onError.
+         */
+        private void releasePermits() {
+            if (null != clusterKey && completed.compareAndSet(false, true)) {
+                inFlightLimiter.release(clusterKey);
+            }
         }
         
         @Override
         public void onReceive(RestResult<String> result) {
+            releasePermits();
             instance.setCheckRt(System.currentTimeMillis() - startTime);
             int httpCode = result.getCode();
             if (HttpURLConnection.HTTP_OK == httpCode) {
@@ -147,6 +243,7 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         
         @Override
         public void onError(Throwable throwable) {
+            releasePermits();
             Throwable cause = throwable;
             instance.setCheckRt(System.currentTimeMillis() - startTime);
             int maxStackDepth = 50;
@@ -172,7 +269,7 @@ public class HttpHealthCheckProcessor implements HealthCheckProcessorV2 {
         
         @Override
         public void onCancel() {
-        
+            releasePermits();
         }
     }
 }
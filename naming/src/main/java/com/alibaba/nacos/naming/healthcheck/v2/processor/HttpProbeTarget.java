@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+/**
+ * Reusable http health check state of one instance, kept in the check status of instance.
+ *
+ * <p>The check url and in-flight limit key are computed once and reused by following rounds until the check settings
+ * of the cluster changed.
+ *
+ * @author Nacos
+ */
+class HttpProbeTarget {
+    
+    private final HttpCheckTemplate template;
+    
+    private final String url;
+    
+    private final String clusterKey;
+    
+    HttpProbeTarget(HttpCheckTemplate template, String url, String clusterKey) {
+        this.template = template;
+        this.url = url;
+        this.clusterKey = clusterKey;
+    }
+    
+    HttpCheckTemplate getTemplate() {
+        return template;
+    }
+    
+    String getUrl() {
+        return url;
+    }
+    
+    String getClusterKey() {
+        return clusterKey;
+    }
+}
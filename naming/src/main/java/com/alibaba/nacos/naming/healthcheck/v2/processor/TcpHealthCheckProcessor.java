@@ -17,45 +17,45 @@
 package com.alibaba.nacos.naming.healthcheck.v2.processor;
 
 import com.alibaba.nacos.api.naming.pojo.healthcheck.HealthCheckType;
+import com.alibaba.nacos.common.task.engine.TaskQueueAgeHistogram;
 import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
-import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.springframework.stereotype.Component;
 
 import java.net.ConnectException;
-import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
-import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.alibaba.nacos.naming.misc.Loggers.SRV_LOG;
 
 /**
  * TCP health check processor for v2.x.
  *
- * <p>Current health check logic is same as v1.x. TODO refactor health check for v2.x.
+ * <p>Probes are sharded by target to several selector threads. Each selector connects its targets without blocking,
+ * handles the connect results inline, expires the timed out probes in batches by a timing wheel, and limits the
+ * concurrent probes adaptively. The results are handed to {@link HealthCheckCommonV2} in batches, because changing
+ * the health status of persistent instance may block.
  *
  * @author xiweng.yy
  */
 @Component
-public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable {
+public class TcpHealthCheckProcessor implements HealthCheckProcessorV2 {
     
     public static final String TYPE = HealthCheckType.TCP.name();
     
@@ -66,27 +66,49 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
      */
     private static final int NIO_THREAD_COUNT = EnvUtil.getAvailableProcessors(0.5);
     
+    private static final long TIMEOUT_TICK_MILLIS = 50L;
+    
+    /**
+     * Span of timeout wheel is 1600ms, larger than {@link #CONNECT_TIMEOUT_MS}, so each slot expires as a whole.
+     */
+    private static final int TIMEOUT_WHEEL_SIZE = 32;
+    
+    private static final int INITIAL_CONCURRENCY = 256;
+    
+    private static final int MIN_CONCURRENCY = 16;
+    
+    private static final int MAX_CONCURRENCY = 4096;
+    
     /**
-     * because some hosts doesn't support keep-alive connections, disabled temporarily.
+     * The round waited longer than this means this server may be no longer responsible for the instance.
      */
-    private static final long TCP_KEEP_ALIVE_MILLIS = 0;
+    private static final long STALE_ROUND_MILLIS = TimeUnit.SECONDS.toMillis(30L);
+    
+    private static final long STATS_INTERVAL_MILLIS = 1000L;
     
     private final HealthCheckCommonV2 healthCheckCommon;
     
     private final SwitchDomain switchDomain;
     
-    private final Map<String, BeatKey> keyMap = new ConcurrentHashMap<>();
+    private final ProbeSelector[] selectors;
     
-    private final BlockingQueue<Beat> taskQueue = new LinkedBlockingQueue<>();
+    private final AtomicLong finishedProbes = new AtomicLong();
     
-    private final Selector selector;
+    private final TaskQueueAgeHistogram roundLag = new TaskQueueAgeHistogram();
     
     public TcpHealthCheckProcessor(HealthCheckCommonV2 healthCheckCommon, SwitchDomain switchDomain) {
         this.healthCheckCommon = healthCheckCommon;
         this.switchDomain = switchDomain;
         try {
-            selector = Selector.open();
-            GlobalExecutor.submitTcpCheck(this);
+            selectors = new ProbeSelector[Math.max(1, NIO_THREAD_COUNT)];
+            for (int i = 0; i < selectors.length; i++) {
+                selectors[i] = new ProbeSelector(i);
+            }
+            for (ProbeSelector each : selectors) {
+                each.start();
+            }
+            GlobalExecutor.scheduleNamingHealth(this::reportStats, STATS_INTERVAL_MILLIS, STATS_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             throw new IllegalStateException("Error while initializing SuperSense(TM).");
         }
@@ -107,282 +129,168 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
                     .reEvaluateCheckRT(task.getCheckRtNormalized() * 2, task, switchDomain.getTcpHealthParams());
             return;
         }
-        taskQueue.add(new Beat(task, service, metadata, instance));
+        TcpProbeTarget target = getProbeTarget(instance);
+        target.newRound(task, service, metadata, System.currentTimeMillis());
+        selectors[target.getShard()].submit(target);
         MetricsMonitor.getTcpHealthCheckMonitor().incrementAndGet();
     }
     
+    private TcpProbeTarget getProbeTarget(HealthCheckInstancePublishInfo instance) {
+        Object context = instance.getCheckContext();
+        if (context instanceof TcpProbeTarget) {
+            return (TcpProbeTarget) context;
+        }
+        int shard = (Objects.hash(instance.getIp(), instance.getPort()) & Integer.MAX_VALUE) % selectors.length;
+        TcpProbeTarget result = new TcpProbeTarget(instance, shard);
+        instance.setCheckContext(result);
+        return result;
+    }
+    
     @Override
     public String getType() {
         return TYPE;
     }
     
-    private void processTask() throws Exception {
-        Collection<Callable<Void>> tasks = new LinkedList<>();
-        do {
-            Beat beat = taskQueue.poll(CONNECT_TIMEOUT_MS / 2, TimeUnit.MILLISECONDS);
-            if (beat == null) {
-                return;
-            }
-            
-            tasks.add(new TaskProcessor(beat));
-        } while (taskQueue.size() > 0 && tasks.size() < NIO_THREAD_COUNT * 64);
-        
-        for (Future<?> f : GlobalExecutor.invokeAllTcpSuperSenseTask(tasks)) {
-            f.get();
-        }
+    private void reportStats() {
+        MetricsMonitor.getTcpHealthCheckProbesPerSecond()
+                .set(finishedProbes.getAndSet(0L) * 1000L / STATS_INTERVAL_MILLIS);
+        MetricsMonitor.getTcpHealthCheckRoundLag().set(roundLag.getPercentile(99D));
+        roundLag.reset();
     }
     
-    @Override
-    public void run() {
-        while (true) {
+    private void handleResults(List<TcpProbeTarget> results) {
+        for (TcpProbeTarget each : results) {
             try {
-                processTask();
-                
-                int readyCount = selector.selectNow();
-                if (readyCount <= 0) {
-                    continue;
-                }
-                
-                Iterator<SelectionKey> iter = selector.selectedKeys().iterator();
-                while (iter.hasNext()) {
-                    SelectionKey key = iter.next();
-                    iter.remove();
-                    
-                    GlobalExecutor.executeTcpSuperSense(new PostProcessor(key));
+                if (each.isSuccess()) {
+                    healthCheckCommon.checkOk(each.getTask(), each.getService(), each.getMessage());
+                } else if (each.isFailNow()) {
+                    healthCheckCommon.checkFailNow(each.getTask(), each.getService(), each.getMessage());
+                } else {
+                    healthCheckCommon.checkFail(each.getTask(), each.getService(), each.getMessage());
                 }
+                healthCheckCommon.reEvaluateCheckRT(each.getRt(), each.getTask(), switchDomain.getTcpHealthParams());
             } catch (Throwable e) {
-                SRV_LOG.error("[HEALTH-CHECK-V2] error while processing NIO task", e);
+                SRV_LOG.error("[HEALTH-CHECK-V2] error while handling tcp check result of {}", each.getAddress(), e);
             }
         }
     }
     
-    public class PostProcessor implements Runnable {
+    private static class TimeoutEntry {
         
-        SelectionKey key;
+        private final TcpProbeTarget target;
         
-        public PostProcessor(SelectionKey key) {
-            this.key = key;
-        }
+        private final long probeId;
         
-        @Override
-        public void run() {
-            Beat beat = (Beat) key.attachment();
-            SocketChannel channel = (SocketChannel) key.channel();
-            try {
-                if (!beat.isHealthy()) {
-                    //invalid beat means this server is no longer responsible for the current service
-                    key.cancel();
-                    key.channel().close();
-                    
-                    beat.finishCheck();
-                    return;
-                }
-                
-                if (key.isValid() && key.isConnectable()) {
-                    //connected
-                    channel.finishConnect();
-                    beat.finishCheck(true, false, System.currentTimeMillis() - beat.getTask().getStartTime(),
-                            "tcp:ok+");
-                }
-                
-                if (key.isValid() && key.isReadable()) {
-                    //disconnected
-                    ByteBuffer buffer = ByteBuffer.allocate(128);
-                    if (channel.read(buffer) == -1) {
-                        key.cancel();
-                        key.channel().close();
-                    } else {
-                        // not terminate request, ignore
-                        SRV_LOG.warn(
-                                "Tcp check ok, but the connected server responses some msg. Connection won't be closed.");
-                    }
-                }
-            } catch (ConnectException e) {
-                // unable to connect, possibly port not opened
-                beat.finishCheck(false, true, switchDomain.getTcpHealthParams().getMax(),
-                        "tcp:unable2connect:" + e.getMessage());
-            } catch (Exception e) {
-                beat.finishCheck(false, false, switchDomain.getTcpHealthParams().getMax(),
-                        "tcp:error:" + e.getMessage());
-                
-                try {
-                    key.cancel();
-                    key.channel().close();
-                } catch (Exception ignore) {
-                }
-            }
+        private TimeoutEntry(TcpProbeTarget target, long probeId) {
+            this.target = target;
+            this.probeId = probeId;
         }
     }
     
-    private class Beat {
-        
-        private final HealthCheckTaskV2 task;
+    private class ProbeSelector extends Thread {
         
-        private final Service service;
+        private final Selector selector;
         
-        private final ClusterMetadata metadata;
+        private final Queue<TcpProbeTarget> submitted = new ConcurrentLinkedQueue<>();
         
-        private final HealthCheckInstancePublishInfo instance;
+        private final Queue<TcpProbeTarget> waiting = new ArrayDeque<>();
         
-        long startTime = System.currentTimeMillis();
+        private final List<TimeoutEntry>[] timeoutWheel;
         
-        public Beat(HealthCheckTaskV2 task, Service service, ClusterMetadata metadata,
-                HealthCheckInstancePublishInfo instance) {
-            this.task = task;
-            this.service = service;
-            this.metadata = metadata;
-            this.instance = instance;
-        }
-        
-        public void setStartTime(long time) {
-            startTime = time;
-        }
+        private final TcpProbeConcurrencyLimiter limiter = new TcpProbeConcurrencyLimiter(INITIAL_CONCURRENCY,
+                MIN_CONCURRENCY, MAX_CONCURRENCY);
         
-        public long getStartTime() {
-            return startTime;
-        }
+        private List<TcpProbeTarget> finished = new ArrayList<>();
         
-        public HealthCheckTaskV2 getTask() {
-            return task;
-        }
-        
-        public Service getService() {
-            return service;
-        }
-        
-        public ClusterMetadata getMetadata() {
-            return metadata;
-        }
-        
-        public HealthCheckInstancePublishInfo getInstance() {
-            return instance;
-        }
-        
-        public boolean isHealthy() {
-            return System.currentTimeMillis() - startTime < TimeUnit.SECONDS.toMillis(30L);
-        }
-        
-        /**
-         * finish check only, no ip state will be changed.
-         */
-        public void finishCheck() {
-            instance.finishCheck();
-        }
-        
-        public void finishCheck(boolean success, boolean now, long rt, String msg) {
-            if (success) {
-                healthCheckCommon.checkOk(task, service, msg);
-            } else {
-                if (now) {
-                    healthCheckCommon.checkFailNow(task, service, msg);
-                } else {
-                    healthCheckCommon.checkFail(task, service, msg);
-                }
-                
-                keyMap.remove(toString());
-            }
-            
-            healthCheckCommon.reEvaluateCheckRT(rt, task, switchDomain.getTcpHealthParams());
-        }
+        private long processedTick;
         
-        @Override
-        public String toString() {
-            return service.getNameSpaceGroupedServiceName() + ":" + instance.getCluster() + ":" + instance.getIp() + ":"
-                    + instance.getPort();
-        }
-        
-        @Override
-        public int hashCode() {
-            return toString().hashCode();
-        }
-        
-        @Override
-        public boolean equals(Object obj) {
-            if (!(obj instanceof Beat)) {
-                return false;
+        @SuppressWarnings("unchecked")
+        ProbeSelector(int index) throws Exception {
+            selector = Selector.open();
+            timeoutWheel = new List[TIMEOUT_WHEEL_SIZE];
+            for (int i = 0; i < TIMEOUT_WHEEL_SIZE; i++) {
+                timeoutWheel[i] = new ArrayList<>();
             }
-            
-            return this.toString().equals(obj.toString());
+            processedTick = System.currentTimeMillis() / TIMEOUT_TICK_MILLIS;
+            setName("com.alibaba.nacos.naming.tcp.check.selector-" + index);
+            setDaemon(true);
         }
-    }
-    
-    private static class BeatKey {
-        
-        public SelectionKey key;
         
-        public long birthTime;
-        
-        public BeatKey(SelectionKey key) {
-            this.key = key;
-            this.birthTime = System.currentTimeMillis();
-        }
-    }
-    
-    private static class TimeOutTask implements Runnable {
-        
-        SelectionKey key;
-        
-        public TimeOutTask(SelectionKey key) {
-            this.key = key;
+        void submit(TcpProbeTarget target) {
+            submitted.offer(target);
         }
         
         @Override
         public void run() {
-            if (key != null && key.isValid()) {
-                SocketChannel channel = (SocketChannel) key.channel();
-                Beat beat = (Beat) key.attachment();
-                
-                if (channel.isConnected()) {
-                    return;
-                }
-                
+            while (true) {
                 try {
-                    channel.finishConnect();
-                } catch (Exception ignore) {
+                    selector.select(TIMEOUT_TICK_MILLIS);
+                    long now = System.currentTimeMillis();
+                    handleSelectedKeys(now);
+                    expireTimeouts(now);
+                    startProbes(now);
+                    flushFinished();
+                } catch (Throwable e) {
+                    SRV_LOG.error("[HEALTH-CHECK-V2] error while processing NIO task", e);
                 }
-                
+            }
+        }
+        
+        private void handleSelectedKeys(long now) {
+            Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                SelectionKey key = iterator.next();
+                iterator.remove();
+                TcpProbeTarget target = (TcpProbeTarget) key.attachment();
                 try {
-                    beat.finishCheck(false, false, beat.getTask().getCheckRtNormalized() * 2, "tcp:timeout");
-                    key.cancel();
-                    key.channel().close();
-                } catch (Exception ignore) {
+                    if (key.isValid() && key.isConnectable() && ((SocketChannel) key.channel()).finishConnect()) {
+                        limiter.onSuccess();
+                        finish(target, true, false, now - target.getSubmitTime(), "tcp:ok+", now);
+                    }
+                } catch (ConnectException e) {
+                    // unable to connect, possibly port not opened
+                    finish(target, false, true, getMaxRt(), "tcp:unable2connect:" + e.getMessage(), now);
+                } catch (Exception e) {
+                    finish(target, false, false, getMaxRt(), "tcp:error:" + e.getMessage(), now);
                 }
             }
         }
-    }
-    
-    private class TaskProcessor implements Callable<Void> {
-        
-        private static final int MAX_WAIT_TIME_MILLISECONDS = 500;
         
-        Beat beat;
+        private void expireTimeouts(long now) {
+            long currentTick = now / TIMEOUT_TICK_MILLIS;
+            while (processedTick < currentTick) {
+                processedTick++;
+                List<TimeoutEntry> slot = timeoutWheel[(int) (processedTick & (TIMEOUT_WHEEL_SIZE - 1))];
+                for (TimeoutEntry each : slot) {
+                    if (each.target.isProbing(each.probeId)) {
+                        limiter.onTimeout();
+                        finish(each.target, false, false, each.target.getTask().getCheckRtNormalized() * 2,
+                                "tcp:timeout", now);
+                    }
+                }
+                slot.clear();
+            }
+        }
         
-        public TaskProcessor(Beat beat) {
-            this.beat = beat;
+        private void startProbes(long now) {
+            TcpProbeTarget target;
+            while (null != (target = submitted.poll())) {
+                waiting.offer(target);
+            }
+            // cancelled keys of finished probes are removed from key set in the next select.
+            while (selector.keys().size() < limiter.getLimit() && null != (target = waiting.poll())) {
+                startProbe(target, now);
+            }
         }
         
-        @Override
-        public Void call() {
-            long waited = System.currentTimeMillis() - beat.getStartTime();
-            if (waited > MAX_WAIT_TIME_MILLISECONDS) {
-                Loggers.SRV_LOG.warn("beat task waited too long: " + waited + "ms");
+        private void startProbe(TcpProbeTarget target, long now) {
+            if (now - target.getSubmitTime() >= STALE_ROUND_MILLIS) {
+                // finish check only, no instance state will be changed.
+                target.getInstance().finishCheck();
+                return;
             }
-            
             SocketChannel channel = null;
             try {
-                HealthCheckInstancePublishInfo instance = beat.getInstance();
-                
-                BeatKey beatKey = keyMap.get(beat.toString());
-                if (beatKey != null && beatKey.key.isValid()) {
-                    if (System.currentTimeMillis() - beatKey.birthTime < TCP_KEEP_ALIVE_MILLIS) {
-                        instance.finishCheck();
-                        return null;
-                    }
-                    
-                    beatKey.key.cancel();
-                    beatKey.key.channel().close();
-                }
-                
                 channel = SocketChannel.open();
                 channel.configureBlocking(false);
                 // only by setting this can we make the socket close event asynchronous
@@ -390,32 +298,49 @@ public class TcpHealthCheckProcessor implements HealthCheckProcessorV2, Runnable
                 channel.socket().setReuseAddress(true);
                 channel.socket().setKeepAlive(true);
                 channel.socket().setTcpNoDelay(true);
-                
-                ClusterMetadata cluster = beat.getMetadata();
-                int port = cluster.isUseInstancePortForCheck() ? instance.getPort() : cluster.getHealthyCheckPort();
-                channel.connect(new InetSocketAddress(instance.getIp(), port));
-                
-                SelectionKey key = channel.register(selector, SelectionKey.OP_CONNECT | SelectionKey.OP_READ);
-                key.attach(beat);
-                keyMap.put(beat.toString(), new BeatKey(key));
-                
-                beat.setStartTime(System.currentTimeMillis());
-                
-                GlobalExecutor
-                        .scheduleTcpSuperSenseTask(new TimeOutTask(key), CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-                beat.finishCheck(false, false, switchDomain.getTcpHealthParams().getMax(),
-                        "tcp:error:" + e.getMessage());
-                
-                if (channel != null) {
-                    try {
-                        channel.close();
-                    } catch (Exception ignore) {
-                    }
+                long probeId = target.startProbe(channel, now);
+                if (channel.connect(target.getAddress())) {
+                    finish(target, true, false, now - target.getSubmitTime(), "tcp:ok+", now);
+                    return;
                 }
+                channel.register(selector, SelectionKey.OP_CONNECT, target);
+                long tick = Math.max((now + CONNECT_TIMEOUT_MS) / TIMEOUT_TICK_MILLIS, processedTick + 1);
+                timeoutWheel[(int) (tick & (TIMEOUT_WHEEL_SIZE - 1))].add(new TimeoutEntry(target, probeId));
+            } catch (Exception e) {
+                finish(target, false, false, getMaxRt(), "tcp:error:" + e.getMessage(), now);
+                closeQuietly(channel);
+            }
+        }
+        
+        private void finish(TcpProbeTarget target, boolean success, boolean failNow, long rt, String message,
+                long now) {
+            closeQuietly(target.finishProbe(success, failNow, rt, message));
+            finished.add(target);
+            finishedProbes.incrementAndGet();
+            roundLag.record(now - target.getSubmitTime());
+        }
+        
+        private void flushFinished() {
+            if (finished.isEmpty()) {
+                return;
+            }
+            List<TcpProbeTarget> results = finished;
+            finished = new ArrayList<>();
+            GlobalExecutor.executeTcpSuperSense(() -> handleResults(results));
+        }
+        
+        private long getMaxRt() {
+            return switchDomain.getTcpHealthParams().getMax();
+        }
+        
+        private void closeQuietly(SocketChannel channel) {
+            if (null == channel) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (Exception ignore) {
             }
-            
-            return null;
         }
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+/**
+ * Adaptive limit of concurrent tcp probes for one selector, additive increase and multiplicative decrease.
+ *
+ * <p>Each finished probe raises the limit by {@code 1 / limit}, so the limit grows by one after a full window of
+ * probes, and each probe timeout, which usually means the network or the local host is overloaded, cuts the limit to
+ * {@value #DECREASE_FACTOR} of itself. Refused connections are fast failures and don't change the limit.
+ *
+ * <p>Not thread safe, only used by the owner selector thread.
+ *
+ * @author Nacos
+ */
+class TcpProbeConcurrencyLimiter {
+    
+    private static final double DECREASE_FACTOR = 0.9D;
+    
+    private final int minLimit;
+    
+    private final int maxLimit;
+    
+    private double limit;
+    
+    TcpProbeConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    int getLimit() {
+        return (int) limit;
+    }
+    
+    void onSuccess() {
+        limit = Math.min(maxLimit, limit + 1.0D / limit);
+    }
+    
+    void onTimeout() {
+        limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+    }
+}
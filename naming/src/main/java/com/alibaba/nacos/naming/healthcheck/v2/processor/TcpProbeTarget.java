@@ -0,0 +1,158 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Tcp probe state of one instance, kept in the check context of instance and reused by every check round.
+ *
+ * <p>The round fields are set by the thread submitting the round, then handed to the selector thread and the result
+ * handler in turn. The instance can't start a new round before the result is handled, so there is no concurrent
+ * access.
+ *
+ * @author Nacos
+ */
+class TcpProbeTarget {
+    
+    private final HealthCheckInstancePublishInfo instance;
+    
+    private final int shard;
+    
+    private InetSocketAddress address;
+    
+    private HealthCheckTaskV2 task;
+    
+    private Service service;
+    
+    private long submitTime;
+    
+    private long probeId;
+    
+    private long probeStartTime;
+    
+    private SocketChannel channel;
+    
+    private boolean success;
+    
+    private boolean failNow;
+    
+    private long rt;
+    
+    private String message;
+    
+    TcpProbeTarget(HealthCheckInstancePublishInfo instance, int shard) {
+        this.instance = instance;
+        this.shard = shard;
+    }
+    
+    /**
+     * Prepare a new check round.
+     *
+     * @param task       health check task
+     * @param service    service of instance
+     * @param metadata   cluster metadata of instance
+     * @param submitTime time the round submitted
+     */
+    void newRound(HealthCheckTaskV2 task, Service service, ClusterMetadata metadata, long submitTime) {
+        this.task = task;
+        this.service = service;
+        this.submitTime = submitTime;
+        int port = metadata.isUseInstancePortForCheck() ? instance.getPort() : metadata.getHealthyCheckPort();
+        if (null == address || address.getPort() != port || !address.getHostString().equals(instance.getIp())) {
+            address = new InetSocketAddress(instance.getIp(), port);
+        }
+        channel = null;
+        message = null;
+    }
+    
+    long startProbe(SocketChannel channel, long now) {
+        this.channel = channel;
+        this.probeStartTime = now;
+        return ++probeId;
+    }
+    
+    boolean isProbing(long probeId) {
+        return null != channel && this.probeId == probeId;
+    }
+    
+    /**
+     * Record the result of the probe and detach the channel.
+     *
+     * @return channel of the probe, {@code null} if the probe has finished
+     */
+    SocketChannel finishProbe(boolean success, boolean failNow, long rt, String message) {
+        SocketChannel result = channel;
+        channel = null;
+        this.success = success;
+        this.failNow = failNow;
+        this.rt = rt;
+        this.message = message;
+        return result;
+    }
+    
+    HealthCheckInstancePublishInfo getInstance() {
+        return instance;
+    }
+    
+    int getShard() {
+        return shard;
+    }
+    
+    InetSocketAddress getAddress() {
+        return address;
+    }
+    
+    HealthCheckTaskV2 getTask() {
+        return task;
+    }
+    
+    Service getService() {
+        return service;
+    }
+    
+    long getSubmitTime() {
+        return submitTime;
+    }
+    
+    long getProbeStartTime() {
+        return probeStartTime;
+    }
+    
+    boolean isSuccess() {
+        return success;
+    }
+    
+    boolean isFailNow() {
+        return failNow;
+    }
+    
+    long getRt() {
+        return rt;
+    }
+    
+    String getMessage() {
+        return message;
+    }
+}
@@ -22,11 +22,7 @@ import com.alibaba.nacos.core.utils.ClassUtils;
 import com.alibaba.nacos.naming.NamingApp;
 import com.alibaba.nacos.sys.env.EnvUtil;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -55,10 +51,6 @@ public class GlobalExecutor {
             .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class), DEFAULT_THREAD_COUNT,
                     new NameThreadFactory("com.alibaba.nacos.naming.supersense.checker"));
     
-    private static final ExecutorService TCP_CHECK_EXECUTOR = ExecutorFactory.Managed
-            .newFixedExecutorService(ClassUtils.getCanonicalName(NamingApp.class), 2,
-                    new NameThreadFactory("com.alibaba.nacos.naming.tcp.check.worker"));
-    
     private static final ScheduledExecutorService NAMING_HEALTH_EXECUTOR = ExecutorFactory.Managed
             .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
                     Integer.max(Integer.getInteger("com.alibaba.nacos.naming.health.thread.num", DEFAULT_THREAD_COUNT),
@@ -95,23 +87,10 @@ public class GlobalExecutor {
         MYSQL_CHECK_EXECUTOR.execute(runnable);
     }
     
-    public static void submitTcpCheck(Runnable runnable) {
-        TCP_CHECK_EXECUTOR.submit(runnable);
-    }
-    
-    public static <T> List<Future<T>> invokeAllTcpSuperSenseTask(Collection<? extends Callable<T>> tasks)
-            throws InterruptedException {
-        return TCP_SUPER_SENSE_EXECUTOR.invokeAll(tasks);
-    }
-    
     public static void executeTcpSuperSense(Runnable runnable) {
         TCP_SUPER_SENSE_EXECUTOR.execute(runnable);
     }
     
-    public static void scheduleTcpSuperSenseTask(Runnable runnable, long delay, TimeUnit unit) {
-        TCP_SUPER_SENSE_EXECUTOR.schedule(runnable, delay, unit);
-    }
-    
     public static ScheduledFuture<?> scheduleNamingHealth(Runnable command, long delay, TimeUnit unit) {
         return NAMING_HEALTH_EXECUTOR.schedule(command, delay, unit);
     }
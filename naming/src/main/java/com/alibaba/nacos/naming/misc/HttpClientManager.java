@@ -49,6 +49,19 @@ public class HttpClientManager {
     
     private static final int CON_TIME_OUT_MILLIS = 5000;
     
+    /**
+     * Keep-alive health check connections pooled for each target, at most one check of a target is in flight.
+     */
+    private static final int PROCESSOR_MAX_CONN_PER_ROUTE = 2;
+    
+    /**
+     * Idle health check connections are closed before the common keep-alive timeout of servers, so that a check won't
+     * be sent on a connection which is being closed by the target.
+     */
+    private static final long PROCESSOR_IDLE_CONN_TIME_OUT_MILLIS = 10000L;
+    
+    private static final long PROCESSOR_POOL_CLEAN_INTERVAL_SECONDS = 5L;
+    
     private static final HttpClientFactory SYNC_HTTP_CLIENT_FACTORY = new SyncHttpClientFactory();
     
     private static final HttpClientFactory ASYNC_HTTP_CLIENT_FACTORY = new AsyncHttpClientFactory();
@@ -167,7 +180,8 @@ public class HttpClientManager {
         protected HttpClientConfig buildHttpClientConfig() {
             return HttpClientConfig.builder().setConnectionRequestTimeout(500).setReadTimeOutMillis(500)
                     .setConTimeOutMillis(500).setIoThreadCount(1).setContentCompressionEnabled(false).setMaxRedirects(0)
-                    .setMaxConnTotal(5000).setMaxConnPerRoute(-1).setUserAgent("VIPServer").build();
+                    .setMaxConnTotal(5000).setMaxConnPerRoute(PROCESSOR_MAX_CONN_PER_ROUTE).setUserAgent("VIPServer")
+                    .build();
         }
         
         @Override
@@ -177,7 +191,8 @@ public class HttpClientManager {
         
         @Override
         protected void monitorAndExtension(NHttpClientConnectionManager connectionManager) {
-            GlobalExecutor.scheduleMonitorHealthCheckPool(new MonitorHealthCheckPool(connectionManager), 60, 60, TimeUnit.SECONDS);
+            GlobalExecutor.scheduleMonitorHealthCheckPool(new MonitorHealthCheckPool(connectionManager),
+                    PROCESSOR_POOL_CLEAN_INTERVAL_SECONDS, PROCESSOR_POOL_CLEAN_INTERVAL_SECONDS, TimeUnit.SECONDS);
         }
     }
     
@@ -216,7 +231,7 @@ public class HttpClientManager {
         private void closeExpiredAndIdleConnections() {
             try {
                 connectionManager.closeExpiredConnections();
-                connectionManager.closeIdleConnections(CON_TIME_OUT_MILLIS * 10, TimeUnit.SECONDS);
+                connectionManager.closeIdleConnections(PROCESSOR_IDLE_CONN_TIME_OUT_MILLIS, TimeUnit.MILLISECONDS);
             } catch (Exception e) {
                 SRV_LOG.warn("MonitorHealthCheckPool clean warn", e);
             }
@@ -18,6 +18,10 @@ package com.alibaba.nacos.naming.misc;
 
 import com.alibaba.nacos.common.task.AbstractExecuteTask;
 import com.alibaba.nacos.common.task.engine.NacosExecuteTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosWorkStealingTaskExecuteEngine;
+import com.alibaba.nacos.naming.constants.Constants;
+import com.alibaba.nacos.naming.push.v2.task.PushExecuteTask;
 import com.alibaba.nacos.sys.env.EnvUtil;
 
 /**
@@ -29,10 +33,15 @@ public class NamingExecuteTaskDispatcher {
     
     private static final NamingExecuteTaskDispatcher INSTANCE = new NamingExecuteTaskDispatcher();
     
-    private final NacosExecuteTaskExecuteEngine executeEngine;
+    private final NacosTaskExecuteEngine<AbstractExecuteTask> executeEngine;
     
     private NamingExecuteTaskDispatcher() {
-        executeEngine = new NacosExecuteTaskExecuteEngine(EnvUtil.FUNCTION_MODE_NAMING, Loggers.SRV_LOG);
+        if (EnvUtil.getProperty(Constants.EXECUTE_TASK_WORK_STEALING_ENABLED, Boolean.class, false)) {
+            executeEngine = new NacosWorkStealingTaskExecuteEngine(EnvUtil.FUNCTION_MODE_NAMING, Loggers.SRV_LOG,
+                    NamingExecuteTaskDispatcher::handleRejectedTask);
+        } else {
+            executeEngine = new NacosExecuteTaskExecuteEngine(EnvUtil.FUNCTION_MODE_NAMING, Loggers.SRV_LOG);
+        }
     }
     
     public static NamingExecuteTaskDispatcher getInstance() {
@@ -43,8 +52,33 @@ public class NamingExecuteTaskDispatcher {
         executeEngine.addTask(dispatchTag, task);
     }
     
+    /**
+     * Keep the task rejected by full execute engine, push task is retried later by push delay engine and the others
+     * are executed in the caller thread.
+     *
+     * @param dispatchTag dispatch tag of task
+     * @param task        rejected task
+     */
+    static void handleRejectedTask(Object dispatchTag, AbstractExecuteTask task) {
+        if (task instanceof PushExecuteTask) {
+            Loggers.SRV_LOG.warn("[TASK-REJECTED] execute engine is full, retry push task of {} later", dispatchTag);
+            ((PushExecuteTask) task).retryLater();
+            return;
+        }
+        Loggers.SRV_LOG.warn("[TASK-REJECTED] execute engine is full, execute task of {} in caller", dispatchTag);
+        task.run();
+    }
+    
+    /**
+     * Get workers status of execute engine.
+     *
+     * @return workers status string
+     */
     public String workersStatus() {
-        return executeEngine.workersStatus();
+        if (executeEngine instanceof NacosWorkStealingTaskExecuteEngine) {
+            return ((NacosWorkStealingTaskExecuteEngine) executeEngine).workersStatus();
+        }
+        return ((NacosExecuteTaskExecuteEngine) executeEngine).workersStatus();
     }
     
     public void destroy() throws Exception {
@@ -49,6 +49,26 @@ public class MetricsMonitor {
     
     private final AtomicInteger tcpHealthCheck = new AtomicInteger();
     
+    /**
+     * Tcp health check probes finished in the last second.
+     */
+    private final AtomicLong tcpHealthCheckProbesPerSecond = new AtomicLong();
+    
+    /**
+     * P99 lag in milliseconds from tcp health check round submitted to its probe finished, in the last second.
+     */
+    private final AtomicLong tcpHealthCheckRoundLag = new AtomicLong();
+    
+    /**
+     * Http health check requests sent and not completed yet.
+     */
+    private final AtomicInteger httpHealthCheckInFlight = new AtomicInteger();
+    
+    /**
+     * Http health check rounds skipped because of the in-flight limits.
+     */
+    private final AtomicLong httpHealthCheckRejected = new AtomicLong();
+    
     private final AtomicInteger serviceCount = new AtomicInteger();
     
     private final AtomicInteger ipCount = new AtomicInteger();
@@ -77,6 +97,26 @@ public class MetricsMonitor {
     
     private final AtomicInteger pushPendingTaskCount = new AtomicInteger();
     
+    /**
+     * P50 queue age of push delay tasks in milliseconds, from the task created or merged to processed.
+     */
+    private final AtomicLong pushPendingTaskQueueAgeP50 = new AtomicLong();
+    
+    /**
+     * P99 queue age of push delay tasks in milliseconds.
+     */
+    private final AtomicLong pushPendingTaskQueueAgeP99 = new AtomicLong();
+    
+    /**
+     * Count of subscribers pushed, used to compare with {@link #totalPushView}.
+     */
+    private final AtomicLong totalPushSubscriber = new AtomicLong();
+    
+    /**
+     * Count of distinct push views, subscribers with the same view share one filtered and encoded push data.
+     */
+    private final AtomicLong totalPushView = new AtomicLong();
+    
     /**
      * version -> naming subscriber count.
      */
@@ -146,6 +186,22 @@ public class MetricsMonitor {
         return INSTANCE.tcpHealthCheck;
     }
     
+    public static AtomicLong getTcpHealthCheckProbesPerSecond() {
+        return INSTANCE.tcpHealthCheckProbesPerSecond;
+    }
+    
+    public static AtomicLong getTcpHealthCheckRoundLag() {
+        return INSTANCE.tcpHealthCheckRoundLag;
+    }
+    
+    public static AtomicInteger getHttpHealthCheckInFlight() {
+        return INSTANCE.httpHealthCheckInFlight;
+    }
+    
+    public static AtomicLong getHttpHealthCheckRejected() {
+        return INSTANCE.httpHealthCheckRejected;
+    }
+    
     public static AtomicInteger getDomCountMonitor() {
         return INSTANCE.serviceCount;
     }
@@ -198,6 +254,22 @@ public class MetricsMonitor {
         return INSTANCE.pushPendingTaskCount;
     }
     
+    public static AtomicLong getPushPendingTaskQueueAgeP50() {
+        return INSTANCE.pushPendingTaskQueueAgeP50;
+    }
+    
+    public static AtomicLong getPushPendingTaskQueueAgeP99() {
+        return INSTANCE.pushPendingTaskQueueAgeP99;
+    }
+    
+    public static AtomicLong getTotalPushSubscriber() {
+        return INSTANCE.totalPushSubscriber;
+    }
+    
+    public static AtomicLong getTotalPushView() {
+        return INSTANCE.totalPushView;
+    }
+    
     public static AtomicLong getTotalPushCostForAvg() {
         return INSTANCE.totalPushCostForAvg;
     }
@@ -222,6 +294,17 @@ public class MetricsMonitor {
         INSTANCE.totalPush.incrementAndGet();
     }
     
+    /**
+     * Record the subscribers and distinct views of one push task.
+     *
+     * @param subscriberCount count of subscribers pushed
+     * @param viewCount       count of distinct views of the subscribers
+     */
+    public static void recordPushViews(int subscriberCount, int viewCount) {
+        INSTANCE.totalPushSubscriber.addAndGet(subscriberCount);
+        INSTANCE.totalPushView.addAndGet(viewCount);
+    }
+    
     public static void incrementPushCost(long costTime) {
         INSTANCE.totalPushCountForAvg.incrementAndGet();
         INSTANCE.totalPushCostForAvg.addAndGet(costTime);
@@ -318,5 +401,7 @@ public class MetricsMonitor {
         getTotalPushCountForAvg().set(0);
         getMaxPushCostMonitor().set(-1);
         getAvgPushCostMonitor().set(-1);
+        getTotalPushSubscriber().set(0);
+        getTotalPushView().set(0);
     }
 }
@@ -45,6 +45,9 @@ public class PushPendingTaskCountMetricsCollector {
     public PushPendingTaskCountMetricsCollector(NamingSubscriberServiceV2Impl namingSubscriberServiceV2) {
         executorService.scheduleWithFixedDelay(() -> {
             MetricsMonitor.getPushPendingTaskCount().set(namingSubscriberServiceV2.getPushPendingTaskCount());
+            long[] queueAges = namingSubscriberServiceV2.drainPushPendingTaskQueueAge(50D, 99D);
+            MetricsMonitor.getPushPendingTaskQueueAgeP50().set(queueAges[0]);
+            MetricsMonitor.getPushPendingTaskQueueAgeP99().set(queueAges[1]);
         }, DELAY_SECONDS, DELAY_SECONDS, TimeUnit.SECONDS);
     }
 }
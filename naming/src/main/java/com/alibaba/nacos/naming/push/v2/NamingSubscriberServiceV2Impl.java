@@ -136,4 +136,19 @@ public class NamingSubscriberServiceV2Impl extends SmartSubscriber implements Na
     public int getPushPendingTaskCount() {
         return delayTaskEngine.size();
     }
+    
+    /**
+     * Get the queue age percentile of push delay tasks, and restart the statistics.
+     *
+     * @param percentiles percentiles, such as {@code 50} and {@code 99}
+     * @return queue ages in milliseconds, in the order of percentiles
+     */
+    public long[] drainPushPendingTaskQueueAge(double... percentiles) {
+        long[] result = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            result[i] = delayTaskEngine.getQueueAgePercentile(percentiles[i]);
+        }
+        delayTaskEngine.resetQueueAge();
+        return result;
+    }
 }
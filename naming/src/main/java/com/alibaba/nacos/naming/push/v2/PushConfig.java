@@ -37,6 +37,10 @@ public class PushConfig extends AbstractDynamicConfig {
     
     private long pushTaskRetryDelay = PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY;
     
+    private boolean deltaPushEnabled = PushConstants.DEFAULT_PUSH_DELTA_ENABLED;
+    
+    private int deltaPushMaxRevisions = PushConstants.DEFAULT_PUSH_DELTA_MAX_REVISIONS;
+    
     private PushConfig() {
         super(PUSH);
         resetConfig();
@@ -50,12 +54,17 @@ public class PushConfig extends AbstractDynamicConfig {
                 .getProperty(PushConstants.PUSH_TASK_TIMEOUT, Long.class, PushConstants.DEFAULT_PUSH_TASK_TIMEOUT);
         pushTaskRetryDelay = EnvUtil.getProperty(PushConstants.PUSH_TASK_RETRY_DELAY, Long.class,
                 PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY);
+        deltaPushEnabled = EnvUtil.getProperty(PushConstants.PUSH_DELTA_ENABLED, Boolean.class,
+                PushConstants.DEFAULT_PUSH_DELTA_ENABLED);
+        deltaPushMaxRevisions = EnvUtil.getProperty(PushConstants.PUSH_DELTA_MAX_REVISIONS, Integer.class,
+                PushConstants.DEFAULT_PUSH_DELTA_MAX_REVISIONS);
     }
     
     @Override
     protected String printConfig() {
         return "PushConfig{" + "pushTaskDelay=" + pushTaskDelay + ", pushTaskTimeout=" + pushTaskTimeout
-                + ", pushTaskRetryDelay=" + pushTaskRetryDelay + '}';
+                + ", pushTaskRetryDelay=" + pushTaskRetryDelay + ", deltaPushEnabled=" + deltaPushEnabled
+                + ", deltaPushMaxRevisions=" + deltaPushMaxRevisions + '}';
     }
     
     public static PushConfig getInstance() {
@@ -73,4 +82,12 @@ public class PushConfig extends AbstractDynamicConfig {
     public long getPushTaskRetryDelay() {
         return pushTaskRetryDelay;
     }
+    
+    public boolean isDeltaPushEnabled() {
+        return deltaPushEnabled;
+    }
+    
+    public int getDeltaPushMaxRevisions() {
+        return deltaPushMaxRevisions;
+    }
 }
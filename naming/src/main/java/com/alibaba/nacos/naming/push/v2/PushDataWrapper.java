@@ -17,6 +17,7 @@
 package com.alibaba.nacos.naming.push.v2;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.index.ServiceRevisionLog;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 
 import java.util.HashMap;
@@ -36,9 +37,20 @@ public class PushDataWrapper {
     
     private final Map<String, Object> processedDatum;
     
+    private final ServiceRevisionLog revisionLog;
+    
+    private final long revision;
+    
     public PushDataWrapper(ServiceMetadata serviceMetadata, ServiceInfo originalData) {
+        this(serviceMetadata, originalData, null, 0L);
+    }
+    
+    public PushDataWrapper(ServiceMetadata serviceMetadata, ServiceInfo originalData, ServiceRevisionLog revisionLog,
+            long revision) {
         this.serviceMetadata = serviceMetadata;
         this.originalData = originalData;
+        this.revisionLog = revisionLog;
+        this.revision = revision;
         processedDatum = new HashMap<>(1);
     }
     
@@ -50,6 +62,24 @@ public class PushDataWrapper {
         return serviceMetadata;
     }
     
+    /**
+     * Get the revision log of service, only exists when incremental push is enabled.
+     *
+     * @return revision log, maybe {@code null}
+     */
+    public ServiceRevisionLog getRevisionLog() {
+        return revisionLog;
+    }
+    
+    /**
+     * Get the revision of {@link #originalData}, {@code 0} means no revision.
+     *
+     * @return revision of original data
+     */
+    public long getRevision() {
+        return revision;
+    }
+    
     public <T> Optional<T> getProcessedPushData(String key) {
         return Optional.ofNullable((T) processedDatum.get(key));
     }
@@ -57,4 +87,13 @@ public class PushDataWrapper {
     public void addProcessedPushData(String key, Object processedData) {
         processedDatum.put(key, processedData);
     }
+    
+    /**
+     * Get the count of distinct processed push data, such as the distinct views of subscribers for one push.
+     *
+     * @return count of processed push data
+     */
+    public int getProcessedPushDataCount() {
+        return processedDatum.size();
+    }
 }
@@ -16,16 +16,34 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.core.remote.SharedPushRequest;
+import com.alibaba.nacos.naming.core.v2.index.ServiceRevisionLog;
+import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.naming.push.v2.task.NamingPushCallback;
+import com.alibaba.nacos.naming.selector.NoneSelector;
 import com.alibaba.nacos.naming.utils.ServiceUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Push execute service for rpc.
  *
@@ -34,10 +52,19 @@ import org.springframework.stereotype.Component;
 @Component
 public class PushExecutorRpcImpl implements PushExecutor {
     
+    private static final String RPC_VIEW_KEY_PREFIX = "rpc@@";
+    
+    private static final String DELTA_VIEW_KEY_PREFIX = "delta@@";
+    
+    private static final String VIEW_KEY_SEPARATOR = "@@";
+    
     private final RpcPushService pushService;
     
-    public PushExecutorRpcImpl(RpcPushService pushService) {
+    private final ConnectionManager connectionManager;
+    
+    public PushExecutorRpcImpl(RpcPushService pushService, ConnectionManager connectionManager) {
         this.pushService = pushService;
+        this.connectionManager = connectionManager;
     }
     
     @Override
@@ -49,10 +76,57 @@ public class PushExecutorRpcImpl implements PushExecutor {
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data,
             NamingPushCallback callBack) {
-        ServiceInfo actualServiceInfo = getServiceInfo(data, subscriber);
-        callBack.setActualServiceInfo(actualServiceInfo);
-        pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildNotifySubscriberRequest(actualServiceInfo),
-                callBack, GlobalExecutor.getCallbackExecutor());
+        RpcPushView pushView = getPushView(data, subscriber);
+        callBack.setActualServiceInfo(pushView.serviceInfo);
+        NamingPushCallback actualCallBack = callBack;
+        SharedPushRequest request = pushView.request;
+        ServiceRevisionLog revisionLog = data.getRevisionLog();
+        if (null != revisionLog) {
+            actualCallBack = new RevisionAckCallback(clientId, data.getRevision(), revisionLog, callBack);
+            if (isSupportDeltaPush(clientId)) {
+                request = getDeltaPushRequest(clientId, subscriber, data, pushView).orElse(request);
+            }
+        }
+        pushService.pushWithCallback(clientId, request, actualCallBack, GlobalExecutor.getCallbackExecutor());
+    }
+    
+    /**
+     * Get the push view of subscriber. Subscribers with the same view will get the same filtered service info and the
+     * same request, so the filtering and encoding only be done once for each view of one push.
+     */
+    private RpcPushView getPushView(PushDataWrapper data, Subscriber subscriber) {
+        String viewKey = buildViewKey(data, subscriber);
+        Optional<RpcPushView> cached = data.getProcessedPushData(viewKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        ServiceInfo serviceInfo = getServiceInfo(data, subscriber);
+        RpcPushView result = new RpcPushView(viewKey, serviceInfo, new SharedPushRequest(
+                NotifySubscriberRequest.buildNotifySubscriberRequest(serviceInfo, data.getRevision())));
+        data.addProcessedPushData(viewKey, result);
+        return result;
+    }
+    
+    /**
+     * The view of subscriber is decided by subscribed clusters, and also the subscriber ip if the selector of service
+     * may select instances by consumer.
+     */
+    private String buildViewKey(PushDataWrapper data, Subscriber subscriber) {
+        String cluster = getCluster(subscriber);
+        if (isConsumerIndependent(data)) {
+            return RPC_VIEW_KEY_PREFIX + cluster;
+        }
+        return RPC_VIEW_KEY_PREFIX + cluster + VIEW_KEY_SEPARATOR + subscriber.getIp();
+    }
+    
+    private boolean isConsumerIndependent(PushDataWrapper data) {
+        ServiceMetadata serviceMetadata = data.getServiceMetadata();
+        return null == serviceMetadata || null == serviceMetadata.getSelector()
+                || serviceMetadata.getSelector() instanceof NoneSelector;
+    }
+    
+    private String getCluster(Subscriber subscriber) {
+        return null == subscriber.getCluster() ? StringUtils.EMPTY : subscriber.getCluster();
     }
     
     private ServiceInfo getServiceInfo(PushDataWrapper data, Subscriber subscriber) {
@@ -60,4 +134,117 @@ public class PushExecutorRpcImpl implements PushExecutor {
                 .selectInstancesWithHealthyProtection(data.getOriginalData(), data.getServiceMetadata(), false, true,
                         subscriber);
     }
+    
+    private boolean isSupportDeltaPush(String clientId) {
+        Connection connection = connectionManager.getConnection(clientId);
+        if (null == connection || null == connection.getAbilityTable()) {
+            return false;
+        }
+        Map<String, Boolean> abilityTable = connection.getAbilityTable();
+        return Boolean.TRUE.equals(abilityTable.get(AbilityKey.SDK_CLIENT_SUPPORT_NAMING_DELTA_PUSH.getName()));
+    }
+    
+    /**
+     * Build incremental push request from the revision acked by the client. Incremental push is only used when the
+     * pushed instances are not changed by selector or protect threshold, otherwise the full push request is used.
+     */
+    private Optional<SharedPushRequest> getDeltaPushRequest(String clientId, Subscriber subscriber,
+            PushDataWrapper data, RpcPushView pushView) {
+        long baseRevision = data.getRevisionLog().getAckedRevision(clientId);
+        if (baseRevision <= 0 || !isConsumerIndependent(data) || pushView.serviceInfo.isReachProtectionThreshold()) {
+            return Optional.empty();
+        }
+        String deltaKey = DELTA_VIEW_KEY_PREFIX + baseRevision + VIEW_KEY_SEPARATOR + pushView.viewKey;
+        Optional<Optional<SharedPushRequest>> cached = data.getProcessedPushData(deltaKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Optional<SharedPushRequest> result = data.getRevisionLog().getDelta(baseRevision)
+                .map(delta -> new SharedPushRequest(buildDeltaRequest(delta, pushView.serviceInfo, subscriber)));
+        data.addProcessedPushData(deltaKey, result);
+        return result;
+    }
+    
+    private NotifySubscriberDeltaRequest buildDeltaRequest(ServiceRevisionLog.RevisionDelta delta,
+            ServiceInfo serviceInfo, Subscriber subscriber) {
+        String cluster = getCluster(subscriber);
+        Set<String> clusters = StringUtils.isBlank(cluster) ? null : new HashSet<>(Arrays.asList(cluster.split(",")));
+        NotifySubscriberDeltaRequest result = new NotifySubscriberDeltaRequest();
+        result.setServiceName(serviceInfo.getName());
+        result.setGroupName(serviceInfo.getGroupName());
+        result.setClusters(serviceInfo.getClusters());
+        result.setCacheMillis(serviceInfo.getCacheMillis());
+        result.setBaseRevision(delta.getBaseRevision());
+        result.setRevision(delta.getRevision());
+        result.setModifiedInstances(filterCluster(delta.getModifiedInstances(), clusters));
+        result.setRemovedInstances(filterCluster(delta.getRemovedInstances(), clusters));
+        return result;
+    }
+    
+    private List<Instance> filterCluster(List<Instance> instances, Set<String> clusters) {
+        if (null == clusters) {
+            return instances;
+        }
+        return instances.stream().filter(each -> clusters.contains(each.getClusterName()))
+                .collect(Collectors.toList());
+    }
+    
+    private static class RpcPushView {
+        
+        private final String viewKey;
+        
+        private final ServiceInfo serviceInfo;
+        
+        private final SharedPushRequest request;
+        
+        private RpcPushView(String viewKey, ServiceInfo serviceInfo, SharedPushRequest request) {
+            this.viewKey = viewKey;
+            this.serviceInfo = serviceInfo;
+            this.request = request;
+        }
+    }
+    
+    /**
+     * Record the revision acked by client, which will be used as base revision for next incremental push.
+     */
+    private static class RevisionAckCallback implements NamingPushCallback {
+        
+        private final String clientId;
+        
+        private final long revision;
+        
+        private final ServiceRevisionLog revisionLog;
+        
+        private final NamingPushCallback delegate;
+        
+        private RevisionAckCallback(String clientId, long revision, ServiceRevisionLog revisionLog,
+                NamingPushCallback delegate) {
+            this.clientId = clientId;
+            this.revision = revision;
+            this.revisionLog = revisionLog;
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void setActualServiceInfo(ServiceInfo serviceInfo) {
+            delegate.setActualServiceInfo(serviceInfo);
+        }
+        
+        @Override
+        public long getTimeout() {
+            return delegate.getTimeout();
+        }
+        
+        @Override
+        public void onSuccess() {
+            revisionLog.ack(clientId, revision);
+            delegate.onSuccess();
+        }
+        
+        @Override
+        public void onFail(Throwable e) {
+            revisionLog.resetAck(clientId);
+            delegate.onFail(e);
+        }
+    }
 }
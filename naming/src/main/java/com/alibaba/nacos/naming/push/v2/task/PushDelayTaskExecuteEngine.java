@@ -18,7 +18,8 @@ package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
-import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import com.alibaba.nacos.common.task.engine.NacosTimedDelayTaskExecuteEngine;
+import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
@@ -28,13 +29,14 @@ import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.NamingExecuteTaskDispatcher;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
+import com.alibaba.nacos.sys.env.EnvUtil;
 
 /**
  * Nacos naming push delay task execute engine.
  *
  * @author xiweng.yy
  */
-public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
+public class PushDelayTaskExecuteEngine extends NacosTimedDelayTaskExecuteEngine {
     
     private final ClientManager clientManager;
     
@@ -51,7 +53,8 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     public PushDelayTaskExecuteEngine(ClientManager clientManager, ClientServiceIndexesManager indexesManager,
                                       ServiceStorage serviceStorage, NamingMetadataManager metadataManager,
                                       PushExecutor pushExecutor, SwitchDomain switchDomain) {
-        super(PushDelayTaskExecuteEngine.class.getSimpleName(), Loggers.PUSH);
+        super(PushDelayTaskExecuteEngine.class.getSimpleName(), Loggers.PUSH,
+                EnvUtil.getProperty(Constants.PUSH_DELAY_TASK_TIME_ORDERED_ENABLED, Boolean.class, false));
         this.clientManager = clientManager;
         this.indexesManager = indexesManager;
         this.serviceStorage = serviceStorage;
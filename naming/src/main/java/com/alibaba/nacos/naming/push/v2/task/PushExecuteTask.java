@@ -22,9 +22,11 @@ import com.alibaba.nacos.common.task.AbstractExecuteTask;
 import com.alibaba.nacos.common.trace.event.naming.PushServiceTraceEvent;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceRevisionLog;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.Loggers;
+import com.alibaba.nacos.naming.monitor.MetricsMonitor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.NoRequiredRetryException;
 import com.alibaba.nacos.naming.push.v2.PushConfig;
@@ -58,6 +60,7 @@ public class PushExecuteTask extends AbstractExecuteTask {
         try {
             PushDataWrapper wrapper = generatePushData();
             ClientManager clientManager = delayTaskEngine.getClientManager();
+            int subscriberCount = 0;
             for (String each : getTargetClientIds()) {
                 Client client = clientManager.getClient(each);
                 if (null == client) {
@@ -71,17 +74,40 @@ public class PushExecuteTask extends AbstractExecuteTask {
                 }
                 delayTaskEngine.getPushExecutor().doPushWithCallback(each, subscriber, wrapper,
                         new ServicePushCallback(each, subscriber, wrapper.getOriginalData(), delayTask.isPushToAll()));
+                subscriberCount++;
             }
+            MetricsMonitor.recordPushViews(subscriberCount, wrapper.getProcessedPushDataCount());
         } catch (Exception e) {
             Loggers.PUSH.error("Push task for service" + service.getGroupedServiceName() + " execute failed ", e);
             delayTaskEngine.addTask(service, new PushDelayTask(service, 1000L));
         }
     }
     
+    /**
+     * Push again after retry delay by the push delay engine, used when the task can't be executed now.
+     */
+    public void retryLater() {
+        long delay = PushConfig.getInstance().getPushTaskRetryDelay();
+        if (delayTask.isPushToAll()) {
+            delayTaskEngine.addTask(service, new PushDelayTask(service, delay));
+            return;
+        }
+        for (String each : delayTask.getTargetClients()) {
+            delayTaskEngine.addTask(service, new PushDelayTask(service, delay, each));
+        }
+    }
+    
     private PushDataWrapper generatePushData() {
         ServiceInfo serviceInfo = delayTaskEngine.getServiceStorage().getPushData(service);
         ServiceMetadata serviceMetadata = delayTaskEngine.getMetadataManager().getServiceMetadata(service).orElse(null);
-        return new PushDataWrapper(serviceMetadata, serviceInfo);
+        PushConfig pushConfig = PushConfig.getInstance();
+        if (!pushConfig.isDeltaPushEnabled()) {
+            return new PushDataWrapper(serviceMetadata, serviceInfo);
+        }
+        ServiceRevisionLog revisionLog = delayTaskEngine.getServiceStorage()
+                .getRevisionLog(service, pushConfig.getDeltaPushMaxRevisions());
+        long revision = revisionLog.record(serviceInfo.getHosts());
+        return new PushDataWrapper(serviceMetadata, serviceInfo, revisionLog, revision);
     }
     
     private Collection<String> getTargetClientIds() {
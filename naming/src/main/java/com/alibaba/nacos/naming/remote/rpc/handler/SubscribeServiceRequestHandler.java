@@ -31,6 +31,7 @@ import com.alibaba.nacos.core.context.RequestContextHolder;
 import com.alibaba.nacos.core.control.TpsControl;
 import com.alibaba.nacos.core.paramcheck.ExtractorManager;
 import com.alibaba.nacos.core.paramcheck.impl.SubscribeServiceRequestParamExtractor;
+import com.alibaba.nacos.core.remote.ExecutorGroup;
 import com.alibaba.nacos.core.remote.RequestHandler;
 import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
@@ -49,6 +50,7 @@ import org.springframework.stereotype.Component;
  * @author xiweng.yy
  */
 @Component
+@ExecutorGroup("naming-query")
 public class SubscribeServiceRequestHandler extends RequestHandler<SubscribeServiceRequest, SubscribeServiceResponse> {
     
     private final ServiceStorage serviceStorage;
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2024 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceRevisionLogTest {
+    
+    @Test
+    void testRecordWithoutChange() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(4);
+        List<Instance> instances = buildInstances(4);
+        assertEquals(1L, revisionLog.record(instances));
+        assertEquals(1L, revisionLog.record(buildInstances(4)));
+        Optional<ServiceRevisionLog.RevisionDelta> delta = revisionLog.getDelta(1L);
+        assertTrue(delta.isPresent());
+        assertTrue(delta.get().getModifiedInstances().isEmpty());
+        assertTrue(delta.get().getRemovedInstances().isEmpty());
+    }
+    
+    @Test
+    void testGetDeltaMergeRevisions() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(4);
+        revisionLog.record(buildInstances(10));
+        List<Instance> instances = buildInstances(10);
+        instances.get(0).setWeight(2.0);
+        assertEquals(2L, revisionLog.record(instances));
+        instances = buildInstances(9);
+        instances.get(0).setWeight(3.0);
+        assertEquals(3L, revisionLog.record(instances));
+        instances = buildInstances(9);
+        instances.get(0).setWeight(3.0);
+        instances.get(1).setEnabled(false);
+        assertEquals(4L, revisionLog.record(instances));
+        
+        ServiceRevisionLog.RevisionDelta delta = revisionLog.getDelta(1L).get();
+        assertEquals(1L, delta.getBaseRevision());
+        assertEquals(4L, delta.getRevision());
+        assertEquals(1, delta.getModifiedInstances().size());
+        assertEquals(3.0, delta.getModifiedInstances().get(0).getWeight());
+        assertEquals(2, delta.getRemovedInstances().size());
+        
+        delta = revisionLog.getDelta(3L).get();
+        assertTrue(delta.getModifiedInstances().isEmpty());
+        assertEquals(1, delta.getRemovedInstances().size());
+        assertEquals("1.1.1.1", delta.getRemovedInstances().get(0).getIp());
+    }
+    
+    @Test
+    void testGetDeltaForTooOldRevision() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(2);
+        revisionLog.record(buildInstances(10));
+        for (int i = 0; i < 3; i++) {
+            List<Instance> instances = buildInstances(10);
+            instances.get(0).setWeight(i + 2);
+            revisionLog.record(instances);
+        }
+        assertEquals(4L, revisionLog.getRevision());
+        assertFalse(revisionLog.getDelta(1L).isPresent());
+        assertTrue(revisionLog.getDelta(2L).isPresent());
+        assertFalse(revisionLog.getDelta(5L).isPresent());
+    }
+    
+    @Test
+    void testGetDeltaLargerThanHalf() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(4);
+        revisionLog.record(buildInstances(4));
+        revisionLog.record(buildInstances(1));
+        assertFalse(revisionLog.getDelta(1L).isPresent());
+    }
+    
+    @Test
+    void testAck() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(1);
+        revisionLog.record(buildInstances(4));
+        revisionLog.ack("client", 1L);
+        assertEquals(1L, revisionLog.getAckedRevision("client"));
+        revisionLog.resetAck("client");
+        assertEquals(0L, revisionLog.getAckedRevision("client"));
+        revisionLog.ack("client", 1L);
+        List<Instance> instances = buildInstances(4);
+        instances.get(0).setWeight(2.0);
+        revisionLog.record(instances);
+        instances = buildInstances(4);
+        instances.get(0).setWeight(3.0);
+        revisionLog.record(instances);
+        // acked revision is too old to build delta, removed.
+        assertEquals(0L, revisionLog.getAckedRevision("client"));
+    }
+    
+    private List<Instance> buildInstances(int size) {
+        List<Instance> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Instance instance = new Instance();
+            instance.setIp("1.1.1." + i);
+            instance.setPort(8848);
+            instance.setClusterName("DEFAULT");
+            result.add(instance);
+        }
+        return result;
+    }
+}
@@ -18,7 +18,11 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
@@ -33,6 +37,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -43,6 +48,9 @@ import java.util.concurrent.ConcurrentMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 class ServiceStorageTest {
@@ -69,6 +77,12 @@ class ServiceStorageTest {
     @Mock
     private InstancePublishInfo instancePublishInfo;
     
+    @Mock
+    private Client client1;
+    
+    @Mock
+    private Client client2;
+    
     private ServiceStorage serviceStorage;
     
     @BeforeEach
@@ -163,4 +177,72 @@ class ServiceStorageTest {
         assertNotNull(instance);
     }
     
-}
\ No newline at end of file
+    @Test
+    void testGetPushDataOnlyParseChangedClient() {
+        Service service = ServiceManager.getInstance()
+                .getSingleton(Service.newService("namespaceId", "groupName", "incrementalService"));
+        try {
+            InstancePublishInfo instance1 = new InstancePublishInfo("1.1.1.1", 8848);
+            instance1.setCluster(NACOS);
+            instance1.setHealthy(true);
+            InstancePublishInfo instance2 = new InstancePublishInfo("2.2.2.2", 8848);
+            instance2.setCluster(NACOS);
+            instance2.setHealthy(true);
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(new HashSet<>(Arrays.asList("client1", "client2")));
+            Mockito.when(clientManagerDelegate.getClient("client1")).thenReturn(client1);
+            Mockito.when(clientManagerDelegate.getClient("client2")).thenReturn(client2);
+            Mockito.when(client1.getInstancePublishInfo(service)).thenReturn(instance1);
+            Mockito.when(client2.getInstancePublishInfo(service)).thenReturn(instance2);
+            
+            List<Instance> hosts = serviceStorage.getPushData(service).getHosts();
+            assertEquals(2, hosts.size());
+            assertTrue(hosts.stream().allMatch(Instance::isHealthy));
+            assertThrows(UnsupportedOperationException.class, () -> hosts.add(new Instance()));
+            assertSame(hosts, serviceStorage.getPushData(service).getHosts());
+            
+            instance2.setHealthy(false);
+            serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(service, "client2", false));
+            List<Instance> changedHosts = serviceStorage.getPushData(service).getHosts();
+            assertEquals(2, changedHosts.size());
+            assertEquals(1, changedHosts.stream().filter(Instance::isHealthy).count());
+            assertEquals(Collections.singleton(NACOS), serviceStorage.getClusters(service));
+            Mockito.verify(clientManagerDelegate, Mockito.times(1)).getClient("client1");
+            Mockito.verify(clientManagerDelegate, Mockito.times(2)).getClient("client2");
+            
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(new HashSet<>(Collections.singletonList("client1")));
+            serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(service, "client2", true));
+            List<Instance> removedHosts = serviceStorage.getPushData(service).getHosts();
+            assertEquals(1, removedHosts.size());
+            assertEquals("1.1.1.1", removedHosts.get(0).getIp());
+        } finally {
+            ServiceManager.getInstance().removeSingleton(service);
+        }
+    }
+    
+    @Test
+    void testGetPushDataRefreshByInstanceMetadata() {
+        Service service = ServiceManager.getInstance()
+                .getSingleton(Service.newService("namespaceId", "groupName", "metadataService"));
+        try {
+            InstancePublishInfo instance1 = new InstancePublishInfo("1.1.1.1", 8848);
+            instance1.setCluster(NACOS);
+            Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(service))
+                    .thenReturn(new HashSet<>(Collections.singletonList("client1")));
+            Mockito.when(clientManagerDelegate.getClient("client1")).thenReturn(client1);
+            Mockito.when(client1.getInstancePublishInfo(service)).thenReturn(instance1);
+            
+            assertTrue(serviceStorage.getPushData(service).getHosts().get(0).isEnabled());
+            
+            InstanceMetadata metadata = new InstanceMetadata();
+            metadata.setEnabled(false);
+            Mockito.when(namingMetadataManager.getInstanceMetadata(service, instance1.getMetadataId()))
+                    .thenReturn(Optional.of(metadata));
+            serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(service, null, instance1.getMetadataId(), true));
+            assertFalse(serviceStorage.getPushData(service).getHosts().get(0).isEnabled());
+        } finally {
+            ServiceManager.getInstance().removeSingleton(service);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.common.utils.InternetAddressUtil;
+import com.alibaba.nacos.naming.core.DistroMapper;
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.GlobalConfig;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.misc.UtilsAndCommons;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClientBeatExpiryWheelTest {
+    
+    private static final String IP = "1.1.1.1";
+    
+    private static final int PORT = 10000;
+    
+    private static final String CLIENT_ID = IP + InternetAddressUtil.IP_PORT_SPLITER + PORT + "#true";
+    
+    @Mock
+    private NamingMetadataManager namingMetadataManager;
+    
+    @Mock
+    private GlobalConfig globalConfig;
+    
+    @Mock
+    private SwitchDomain switchDomain;
+    
+    @Mock
+    private DistroMapper distroMapper;
+    
+    @Mock
+    private ConfigurableApplicationContext applicationContext;
+    
+    private IpPortBasedClient client;
+    
+    private ClientBeatCheckTaskV2 beatCheckTask;
+    
+    private long now;
+    
+    private ClientBeatExpiryWheel wheel;
+    
+    @BeforeEach
+    void setUp() {
+        when(applicationContext.getBean(NamingMetadataManager.class)).thenReturn(namingMetadataManager);
+        when(applicationContext.getBean(GlobalConfig.class)).thenReturn(globalConfig);
+        when(applicationContext.getBean(SwitchDomain.class)).thenReturn(switchDomain);
+        when(applicationContext.getBean(DistroMapper.class)).thenReturn(distroMapper);
+        when(switchDomain.isHealthCheckEnabled()).thenReturn(true);
+        when(distroMapper.responsible(anyString())).thenReturn(true);
+        ApplicationUtils.injectContext(applicationContext);
+        client = new IpPortBasedClient(CLIENT_ID, true);
+        beatCheckTask = new ClientBeatCheckTaskV2(client);
+        now = System.currentTimeMillis();
+        wheel = new ClientBeatExpiryWheel(now, true);
+    }
+    
+    @Test
+    void testFirstCheckAfterIdleDelay() {
+        wheel.schedule(beatCheckTask);
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advance(now + 1000L).isEmpty());
+        List<ClientBeatExpiryWheel.Entry> due = wheel.advance(now + 6000L);
+        assertEquals(1, due.size());
+        assertSame(beatCheckTask, due.get(0).getTask());
+    }
+    
+    @Test
+    void testBeatRefreshedBeforeDeadline() {
+        HealthCheckInstancePublishInfo instance = injectInstance(now);
+        wheel.schedule(beatCheckTask);
+        wheel.check(wheel.advance(now + 6000L), now + 6000L);
+        // deadline is moved to the beat timeout, nothing due before it.
+        assertTrue(wheel.advance(now + 14000L).isEmpty());
+        instance.setLastHeartBeatTime(now + 10000L);
+        List<ClientBeatExpiryWheel.Entry> due = wheel.advance(now + 16000L);
+        assertEquals(1, due.size());
+        wheel.check(due, now + 16000L);
+        assertTrue(instance.isHealthy());
+        assertTrue(wheel.advance(now + 24000L).isEmpty());
+        assertEquals(1, wheel.advance(now + 26000L).size());
+    }
+    
+    @Test
+    void testMissedDeadlineRunBeatCheck() {
+        HealthCheckInstancePublishInfo instance = injectInstance(now - 20000L);
+        wheel.schedule(beatCheckTask);
+        wheel.check(wheel.advance(now + 6000L), now + 6000L);
+        assertFalse(instance.isHealthy());
+        // unhealthy instance without expiring is checked again after idle delay.
+        assertTrue(wheel.advance(now + 10000L).isEmpty());
+        assertEquals(1, wheel.advance(now + 12000L).size());
+    }
+    
+    @Test
+    void testCancel() {
+        wheel.schedule(beatCheckTask);
+        assertTrue(wheel.cancel(beatCheckTask));
+        assertFalse(wheel.cancel(beatCheckTask));
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(now + 6000L).isEmpty());
+    }
+    
+    @Test
+    void testDisabledByDefault() {
+        MockEnvironment environment = new MockEnvironment();
+        EnvUtil.setEnvironment(environment);
+        assertFalse(ClientBeatExpiryWheel.newWheel(now).isEnabled());
+        environment.setProperty("nacos.naming.health.beat-check-wheel.enabled", "true");
+        assertTrue(ClientBeatExpiryWheel.newWheel(now).isEnabled());
+    }
+    
+    private HealthCheckInstancePublishInfo injectInstance(long heartbeatTime) {
+        HealthCheckInstancePublishInfo instance = new HealthCheckInstancePublishInfo(IP, PORT);
+        instance.setHealthy(true);
+        instance.setLastHeartBeatTime(heartbeatTime);
+        instance.setCluster(UtilsAndCommons.DEFAULT_CLUSTER_NAME);
+        client.putServiceInstance(Service.newService("namespace", "group", "service"), instance);
+        return instance;
+    }
+}
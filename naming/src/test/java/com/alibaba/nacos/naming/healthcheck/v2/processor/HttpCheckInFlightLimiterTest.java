@@ -0,0 +1,66 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpCheckInFlightLimiterTest {
+    
+    @Test
+    void testClusterLimit() {
+        HttpCheckInFlightLimiter limiter = new HttpCheckInFlightLimiter(10, 2);
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+        assertEquals(2, limiter.getInFlight("a"));
+        limiter.release("a");
+        assertTrue(limiter.tryAcquire("a"));
+    }
+    
+    @Test
+    void testGlobalLimit() {
+        HttpCheckInFlightLimiter limiter = new HttpCheckInFlightLimiter(2, 2);
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+        assertFalse(limiter.tryAcquire("c"));
+        assertEquals(0, limiter.getInFlight("c"));
+        limiter.release("b");
+        assertTrue(limiter.tryAcquire("c"));
+    }
+    
+    @Test
+    void testRejectedByClusterNotHoldGlobalPermit() {
+        HttpCheckInFlightLimiter limiter = new HttpCheckInFlightLimiter(2, 1);
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+    }
+    
+    @Test
+    void testReleaseRemovesIdleCluster() {
+        HttpCheckInFlightLimiter limiter = new HttpCheckInFlightLimiter(2, 2);
+        assertTrue(limiter.tryAcquire("a"));
+        limiter.release("a");
+        assertEquals(0, limiter.getInFlight("a"));
+    }
+}
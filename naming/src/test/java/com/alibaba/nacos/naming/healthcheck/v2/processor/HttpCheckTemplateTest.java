@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.api.naming.pojo.healthcheck.impl.Http;
+import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpCheckTemplateTest {
+    
+    private ClusterMetadata metadata;
+    
+    private Http http;
+    
+    @BeforeEach
+    void setUp() {
+        http = new Http();
+        http.setPath("/health");
+        http.setHeaders("k1:v1|k2:v2");
+        metadata = new ClusterMetadata();
+        metadata.setHealthChecker(http);
+        metadata.setHealthyCheckPort(8080);
+    }
+    
+    @Test
+    void testBuildUrlWithInstancePort() throws Exception {
+        HttpCheckTemplate template = new HttpCheckTemplate(metadata);
+        assertEquals("http://1.1.1.1:80/health", template.buildUrl("1.1.1.1", 80));
+    }
+    
+    @Test
+    void testBuildUrlWithCheckPort() throws Exception {
+        metadata.setUseInstancePortForCheck(false);
+        HttpCheckTemplate template = new HttpCheckTemplate(metadata);
+        assertEquals("http://1.1.1.1:8080/health", template.buildUrl("1.1.1.1", 80));
+    }
+    
+    @Test
+    void testHeader() {
+        HttpCheckTemplate template = new HttpCheckTemplate(metadata);
+        assertEquals("v1", template.getHeader().getValue("k1"));
+        assertEquals("v2", template.getHeader().getValue("k2"));
+    }
+    
+    @Test
+    void testMatches() {
+        HttpCheckTemplate template = new HttpCheckTemplate(metadata);
+        assertTrue(template.matches(metadata));
+        metadata.setHealthyCheckPort(8081);
+        assertFalse(template.matches(metadata));
+        metadata.setHealthyCheckPort(8080);
+        metadata.setHealthChecker(new Http());
+        assertFalse(template.matches(metadata));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.api.naming.pojo.healthcheck.impl.Http;
+import com.alibaba.nacos.common.http.Callback;
+import com.alibaba.nacos.common.http.client.NacosAsyncRestTemplate;
+import com.alibaba.nacos.common.http.param.Header;
+import com.alibaba.nacos.common.http.param.Query;
+import com.alibaba.nacos.common.model.RestResult;
+import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
+import com.alibaba.nacos.naming.misc.HttpClientManager;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.alibaba.nacos.common.constant.RequestUrlConstants.HTTP_PREFIX;
+
+/**
+ * JMH benchmark of http health check against a local stub http server.
+ *
+ * <p>Each invocation sends one round of {@value #TARGETS} checks and waits until all responses received. {@code legacy}
+ * builds urls and headers for every check and sends all checks at once, {@code pooled} uses the cluster template with
+ * cached urls and sends under the in-flight limits.
+ * Run it by {@link #main(String[])} with the test classpath.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpHealthCheckBenchmark {
+    
+    private static final int TARGETS = 256;
+    
+    private static final byte[] RESPONSE = "ok".getBytes(StandardCharsets.UTF_8);
+    
+    @Param({"legacy", "pooled"})
+    private String mode;
+    
+    @Param({"64", "1024"})
+    private int maxInFlight;
+    
+    private HttpServer server;
+    
+    private ExecutorService serverExecutor;
+    
+    private NacosAsyncRestTemplate restTemplate;
+    
+    private ClusterMetadata metadata;
+    
+    private HttpCheckInFlightLimiter limiter;
+    
+    private HttpProbeTarget[] targets;
+    
+    /**
+     * Start the stub server and prepare targets.
+     *
+     * @throws IOException start stub server failed
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        EnvUtil.setEnvironment(new MockEnvironment());
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        server.setExecutor(serverExecutor);
+        server.start();
+        restTemplate = HttpClientManager.getProcessorNacosAsyncRestTemplate();
+        Http http = new Http();
+        http.setPath("/health");
+        http.setHeaders("User-Agent:benchmark|X-Check:1");
+        metadata = new ClusterMetadata();
+        metadata.setHealthChecker(http);
+        limiter = new HttpCheckInFlightLimiter(maxInFlight, maxInFlight);
+        HttpCheckTemplate template = new HttpCheckTemplate(metadata);
+        targets = new HttpProbeTarget[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = new HttpProbeTarget(template, template.buildUrl("127.0.0.1", server.getAddress().getPort()),
+                    "cluster");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+    
+    /**
+     * Send one round of checks and wait for all responses.
+     *
+     * @param blackhole blackhole
+     * @throws Exception build request failed or interrupted
+     */
+    @Benchmark
+    public void checkRound(Blackhole blackhole) throws Exception {
+        CountDownLatch latch = new CountDownLatch(TARGETS);
+        if ("legacy".equals(mode)) {
+            Http http = (Http) metadata.getHealthChecker();
+            int port = server.getAddress().getPort();
+            for (int i = 0; i < TARGETS; i++) {
+                URL host = new URL(HTTP_PREFIX + "127.0.0.1" + ":" + port);
+                URL target = new URL(host, http.getPath());
+                Header header = Header.newInstance();
+                header.addAll(http.getCustomHeaders());
+                restTemplate.get(target.toString(), header, Query.EMPTY, String.class,
+                        new LatchCallback(latch, blackhole, null));
+            }
+        } else {
+            int next = 0;
+            while (next < TARGETS) {
+                HttpProbeTarget target = targets[next];
+                if (!limiter.tryAcquire(target.getClusterKey())) {
+                    Thread.yield();
+                    continue;
+                }
+                restTemplate.get(target.getUrl(), target.getTemplate().getHeader(), Query.EMPTY, String.class,
+                        new LatchCallback(latch, blackhole, target.getClusterKey()));
+                next++;
+            }
+        }
+        latch.await();
+    }
+    
+    /**
+     * Run the benchmark.
+     *
+     * @param args ignored
+     * @throws RunnerException run benchmark failed
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(HttpHealthCheckBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+    
+    private class LatchCallback implements Callback<String> {
+        
+        private final CountDownLatch latch;
+        
+        private final Blackhole blackhole;
+        
+        private final String clusterKey;
+        
+        private LatchCallback(CountDownLatch latch, Blackhole blackhole, String clusterKey) {
+            this.latch = latch;
+            this.blackhole = blackhole;
+            this.clusterKey = clusterKey;
+        }
+        
+        @Override
+        public void onReceive(RestResult<String> result) {
+            blackhole.consume(result.getCode());
+            complete();
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            blackhole.consume(throwable);
+            complete();
+        }
+        
+        @Override
+        public void onCancel() {
+            complete();
+        }
+        
+        private void complete() {
+            if (null != clusterKey) {
+                limiter.release(clusterKey);
+            }
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.metadata.ClusterMetadata;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TcpHealthCheckProcessorTest {
+    
+    private static final String LOCALHOST = "127.0.0.1";
+    
+    @Mock
+    private HealthCheckCommonV2 healthCheckCommon;
+    
+    @Mock
+    private SwitchDomain switchDomain;
+    
+    @Mock
+    private HealthCheckTaskV2 task;
+    
+    @Mock
+    private IpPortBasedClient client;
+    
+    @Mock
+    private Service service;
+    
+    private TcpHealthCheckProcessor processor;
+    
+    @BeforeAll
+    static void setUpBeforeClass() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @BeforeEach
+    void setUp() {
+        when(switchDomain.getTcpHealthParams()).thenReturn(new SwitchDomain.TcpHealthParams());
+        when(task.getClient()).thenReturn(client);
+        when(task.getCheckRtNormalized()).thenReturn(2000L);
+        processor = new TcpHealthCheckProcessor(healthCheckCommon, switchDomain);
+    }
+    
+    @Test
+    void testGetType() {
+        assertEquals(TcpHealthCheckProcessor.TYPE, processor.getType());
+    }
+    
+    @Test
+    void testCheckOkAndReuseTarget() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getByName(LOCALHOST))) {
+            HealthCheckInstancePublishInfo instance = mockInstance(serverSocket.getLocalPort());
+            processor.process(task, service, new ClusterMetadata());
+            verify(healthCheckCommon, timeout(5000L)).checkOk(task, service, "tcp:ok+");
+            verify(healthCheckCommon, timeout(5000L)).reEvaluateCheckRT(anyLong(), eq(task), any());
+            Object target = instance.getCheckContext();
+            assertTrue(target instanceof TcpProbeTarget);
+            instance.finishCheck();
+            processor.process(task, service, new ClusterMetadata());
+            verify(healthCheckCommon, timeout(5000L).times(2)).checkOk(task, service, "tcp:ok+");
+            assertSame(target, instance.getCheckContext());
+        }
+    }
+    
+    @Test
+    void testCheckFailNowWhenRefused() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getByName(LOCALHOST))) {
+            port = serverSocket.getLocalPort();
+        }
+        mockInstance(port);
+        processor.process(task, service, new ClusterMetadata());
+        verify(healthCheckCommon, timeout(5000L)).checkFailNow(eq(task), eq(service), anyString());
+    }
+    
+    @Test
+    void testSkipWhenLastCheckNotFinished() {
+        HealthCheckInstancePublishInfo instance = mockInstance(80);
+        instance.tryStartCheck();
+        processor.process(task, service, new ClusterMetadata());
+        verify(healthCheckCommon).reEvaluateCheckRT(eq(4000L), eq(task), any());
+        assertNull(instance.getCheckContext());
+    }
+    
+    private HealthCheckInstancePublishInfo mockInstance(int port) {
+        HealthCheckInstancePublishInfo instance = new HealthCheckInstancePublishInfo(LOCALHOST, port);
+        instance.initHealthCheck();
+        when(client.getInstancePublishInfo(service)).thenReturn(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.healthcheck.v2.processor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TcpProbeConcurrencyLimiterTest {
+    
+    @Test
+    void testInitialLimitBounded() {
+        assertEquals(16, new TcpProbeConcurrencyLimiter(1, 16, 64).getLimit());
+        assertEquals(64, new TcpProbeConcurrencyLimiter(100, 16, 64).getLimit());
+    }
+    
+    @Test
+    void testIncreaseAfterWindow() {
+        TcpProbeConcurrencyLimiter limiter = new TcpProbeConcurrencyLimiter(16, 16, 64);
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(17, limiter.getLimit());
+        for (int i = 0; i < 10000; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(64, limiter.getLimit());
+    }
+    
+    @Test
+    void testDecreaseOnTimeout() {
+        TcpProbeConcurrencyLimiter limiter = new TcpProbeConcurrencyLimiter(100, 16, 200);
+        limiter.onTimeout();
+        assertEquals(90, limiter.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limiter.onTimeout();
+        }
+        assertEquals(16, limiter.getLimit());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.misc;
+
+import com.alibaba.nacos.common.task.AbstractExecuteTask;
+import com.alibaba.nacos.common.task.engine.NacosWorkStealingTaskExecuteEngine;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.push.v2.task.PushDelayTask;
+import com.alibaba.nacos.naming.push.v2.task.PushDelayTaskExecuteEngine;
+import com.alibaba.nacos.naming.push.v2.task.PushExecuteTask;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NamingExecuteTaskDispatcherTest {
+    
+    private final Service service = Service.newService("N", "G", "S");
+    
+    @Mock
+    private PushDelayTaskExecuteEngine delayTaskEngine;
+    
+    @BeforeEach
+    void setUp() {
+        EnvUtil.setEnvironment(new MockEnvironment());
+    }
+    
+    @Test
+    void testRejectedTaskExecutedInCaller() throws Exception {
+        NacosWorkStealingTaskExecuteEngine engine = new NacosWorkStealingTaskExecuteEngine("test", null, 1, 0,
+                NamingExecuteTaskDispatcher::handleRejectedTask);
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            engine.addTask("test", new AbstractExecuteTask() {
+                @Override
+                public void run() {
+                    executed.incrementAndGet();
+                }
+            });
+            assertEquals(1, executed.get());
+            assertEquals(0, engine.size());
+        } finally {
+            engine.shutdown();
+        }
+    }
+    
+    @Test
+    void testRejectedPushTaskRetryLater() {
+        PushExecuteTask task = new PushExecuteTask(service, delayTaskEngine, new PushDelayTask(service, 0L));
+        NamingExecuteTaskDispatcher.handleRejectedTask(service, task);
+        ArgumentCaptor<PushDelayTask> captor = ArgumentCaptor.forClass(PushDelayTask.class);
+        verify(delayTaskEngine).addTask(eq(service), captor.capture());
+        assertTrue(captor.getValue().isPushToAll());
+    }
+    
+    @Test
+    void testRejectedTargetPushTaskRetryLater() {
+        PushExecuteTask task = new PushExecuteTask(service, delayTaskEngine, new PushDelayTask(service, 0L, "client"));
+        NamingExecuteTaskDispatcher.handleRejectedTask(service, task);
+        ArgumentCaptor<PushDelayTask> captor = ArgumentCaptor.forClass(PushDelayTask.class);
+        verify(delayTaskEngine).addTask(eq(service), captor.capture());
+        assertFalse(captor.getValue().isPushToAll());
+        assertTrue(captor.getValue().getTargetClients().contains("client"));
+    }
+}
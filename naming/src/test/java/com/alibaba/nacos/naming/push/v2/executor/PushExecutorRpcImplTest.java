@@ -16,11 +16,17 @@
 
 package com.alibaba.nacos.naming.push.v2.executor;
 
+import com.alibaba.nacos.api.ability.constant.AbilityKey;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberDeltaRequest;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.core.remote.SharedPushRequest;
+import com.alibaba.nacos.naming.core.v2.index.ServiceRevisionLog;
 import com.alibaba.nacos.naming.core.v2.metadata.ServiceMetadata;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
@@ -32,6 +38,7 @@ import com.alibaba.nacos.sys.utils.ApplicationUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -39,13 +46,18 @@ import org.mockito.stubbing.Answer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.env.MockEnvironment;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,6 +69,12 @@ class PushExecutorRpcImplTest {
     @Mock
     private RpcPushService pushService;
     
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private Connection connection;
+    
     @Mock
     private Subscriber subscriber;
     
@@ -80,7 +98,7 @@ class PushExecutorRpcImplTest {
         EnvUtil.setEnvironment(new MockEnvironment());
         serviceMetadata = new ServiceMetadata();
         pushData = new PushDataWrapper(serviceMetadata, new ServiceInfo("G@@S"));
-        pushExecutor = new PushExecutorRpcImpl(pushService);
+        pushExecutor = new PushExecutorRpcImpl(pushService, connectionManager);
         EnvUtil.setEnvironment(new MockEnvironment());
         ApplicationUtils.injectContext(context);
         when(context.getBean(SelectorManager.class)).thenReturn(selectorManager);
@@ -97,17 +115,97 @@ class PushExecutorRpcImplTest {
     @Test
     void testDoPushWithCallback() {
         doAnswer(new CallbackAnswer()).when(pushService)
-                .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), eq(pushCallBack),
+                .pushWithCallback(eq(rpcClientId), any(SharedPushRequest.class), eq(pushCallBack),
                         eq(GlobalExecutor.getCallbackExecutor()));
         pushExecutor.doPushWithCallback(rpcClientId, subscriber, pushData, pushCallBack);
         verify(pushCallBack).onSuccess();
     }
     
+    @Test
+    void testDoPushWithCallbackShareSameView() {
+        Subscriber another = new Subscriber("1.1.1.1:1111", "Test", "unknown", "1.1.1.1", "public", "G@@S", 0);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, pushData, pushCallBack);
+        pushExecutor.doPushWithCallback("another", another, pushData, pushCallBack);
+        ArgumentCaptor<SharedPushRequest> captor = ArgumentCaptor.forClass(SharedPushRequest.class);
+        verify(pushService, times(2)).pushWithCallback(any(), captor.capture(), eq(pushCallBack),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        assertSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+        assertEquals(1, pushData.getProcessedPushDataCount());
+    }
+    
+    @Test
+    void testDoPushWithCallbackDifferentCluster() {
+        Subscriber another = new Subscriber("1.1.1.1:1111", "Test", "unknown", "1.1.1.1", "public", "G@@S", 0,
+                "c1");
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, pushData, pushCallBack);
+        pushExecutor.doPushWithCallback("another", another, pushData, pushCallBack);
+        assertEquals(2, pushData.getProcessedPushDataCount());
+    }
+    
+    @Test
+    void testDoPushWithCallbackDelta() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(16);
+        revisionLog.record(Arrays.asList(buildInstance("1.1.1.1", 1.0), buildInstance("1.1.1.2", 1.0),
+                buildInstance("1.1.1.3", 1.0)));
+        List<Instance> newInstances = Arrays.asList(buildInstance("1.1.1.1", 1.0), buildInstance("1.1.1.2", 1.0),
+                buildInstance("1.1.1.3", 2.0));
+        long revision = revisionLog.record(newInstances);
+        revisionLog.ack(rpcClientId, 1L);
+        ServiceInfo serviceInfo = new ServiceInfo("G@@S");
+        serviceInfo.setHosts(newInstances);
+        pushData = new PushDataWrapper(serviceMetadata, serviceInfo, revisionLog, revision);
+        when(connectionManager.getConnection(rpcClientId)).thenReturn(connection);
+        when(connection.getAbilityTable()).thenReturn(
+                Collections.singletonMap(AbilityKey.SDK_CLIENT_SUPPORT_NAMING_DELTA_PUSH.getName(), true));
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, pushData, pushCallBack);
+        ArgumentCaptor<SharedPushRequest> captor = ArgumentCaptor.forClass(SharedPushRequest.class);
+        ArgumentCaptor<PushCallBack> callBackCaptor = ArgumentCaptor.forClass(PushCallBack.class);
+        verify(pushService).pushWithCallback(eq(rpcClientId), captor.capture(), callBackCaptor.capture(),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        NotifySubscriberDeltaRequest actual = (NotifySubscriberDeltaRequest) captor.getValue().getRequest();
+        assertEquals(1L, actual.getBaseRevision());
+        assertEquals(revision, actual.getRevision());
+        assertEquals(1, actual.getModifiedInstances().size());
+        assertEquals(2.0, actual.getModifiedInstances().get(0).getWeight());
+        assertTrue(actual.getRemovedInstances().isEmpty());
+        callBackCaptor.getValue().onSuccess();
+        assertEquals(revision, revisionLog.getAckedRevision(rpcClientId));
+        verify(pushCallBack).onSuccess();
+    }
+    
+    @Test
+    void testDoPushWithCallbackFullWithoutAbility() {
+        ServiceRevisionLog revisionLog = new ServiceRevisionLog(16);
+        long revision = revisionLog.record(pushData.getOriginalData().getHosts());
+        revisionLog.ack(rpcClientId, revision);
+        pushData = new PushDataWrapper(serviceMetadata, pushData.getOriginalData(), revisionLog, revision);
+        pushExecutor.doPushWithCallback(rpcClientId, subscriber, pushData, pushCallBack);
+        ArgumentCaptor<SharedPushRequest> captor = ArgumentCaptor.forClass(SharedPushRequest.class);
+        ArgumentCaptor<PushCallBack> callBackCaptor = ArgumentCaptor.forClass(PushCallBack.class);
+        verify(pushService).pushWithCallback(eq(rpcClientId), captor.capture(), callBackCaptor.capture(),
+                eq(GlobalExecutor.getCallbackExecutor()));
+        NotifySubscriberRequest actual = (NotifySubscriberRequest) captor.getValue().getRequest();
+        assertEquals(revision, actual.getRevision());
+        callBackCaptor.getValue().onFail(new RuntimeException("test"));
+        assertEquals(0L, revisionLog.getAckedRevision(rpcClientId));
+        verify(pushCallBack).onFail(any());
+    }
+    
+    private Instance buildInstance(String ip, double weight) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8848);
+        result.setWeight(weight);
+        result.setClusterName("DEFAULT");
+        return result;
+    }
+    
     private class CallbackAnswer implements Answer<Void> {
         
         @Override
         public Void answer(InvocationOnMock invocationOnMock) throws Throwable {
-            NotifySubscriberRequest pushRequest = invocationOnMock.getArgument(1);
+            NotifySubscriberRequest pushRequest = (NotifySubscriberRequest) ((SharedPushRequest) invocationOnMock
+                    .getArgument(1)).getRequest();
             assertEquals(pushData.getOriginalData().toString(), pushRequest.getServiceInfo().toString());
             PushCallBack callBack = invocationOnMock.getArgument(2);
             callBack.onSuccess();
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.naming.constants.Constants;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
@@ -27,16 +28,19 @@ import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
 import com.alibaba.nacos.naming.push.v2.executor.PushExecutor;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
@@ -77,11 +81,9 @@ class PushDelayTaskExecuteEngineTest {
     
     @BeforeEach
     void setUp() throws Exception {
-        when(serviceStorage.getPushData(service)).thenReturn(new ServiceInfo("G@@S"));
-        when(indexesManager.getAllClientsSubscribeService(service)).thenReturn(Collections.singletonList(clientId));
-        when(clientManager.getClient(clientId)).thenReturn(client);
-        when(client.getSubscriber(service)).thenReturn(subscriber);
-        when(switchDomain.isPushEnabled()).thenReturn(true);
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(Constants.PUSH_DELAY_TASK_TIME_ORDERED_ENABLED, "true");
+        EnvUtil.setEnvironment(environment);
         executeEngine = new PushDelayTaskExecuteEngine(clientManager, indexesManager, serviceStorage, metadataManager, pushExecutor,
                 switchDomain);
     }
@@ -93,10 +95,26 @@ class PushDelayTaskExecuteEngineTest {
     
     @Test
     void testAddTask() throws InterruptedException {
+        when(serviceStorage.getPushData(service)).thenReturn(new ServiceInfo("G@@S"));
+        when(indexesManager.getAllClientsSubscribeService(service)).thenReturn(Collections.singletonList(clientId));
+        when(clientManager.getClient(clientId)).thenReturn(client);
+        when(client.getSubscriber(service)).thenReturn(subscriber);
+        when(switchDomain.isPushEnabled()).thenReturn(true);
         PushDelayTask pushDelayTask = new PushDelayTask(service, 0L);
         executeEngine.addTask(service, pushDelayTask);
         TimeUnit.MILLISECONDS.sleep(200L);
         verify(pushExecutor).doPushWithCallback(anyString(), any(Subscriber.class), any(PushDataWrapper.class),
                 any(NamingPushCallback.class));
     }
+    
+    @Test
+    void testAddTaskWhenPushDisabled() throws InterruptedException {
+        when(switchDomain.isPushEnabled()).thenReturn(false);
+        for (int i = 0; i < 1000; i++) {
+            executeEngine.addTask(service, new PushDelayTask(service, 0L));
+        }
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertEquals(1, executeEngine.size());
+        assertEquals(1, executeEngine.getDueTaskCount());
+    }
 }
@@ -31,7 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * For Understand this test case, Please Read
- * {@link com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine#addTask(Object, AbstractDelayTask)}.
+ * {@link com.alibaba.nacos.common.task.engine.NacosTimedDelayTaskExecuteEngine#addTask(Object, AbstractDelayTask)}.
  *
  * @author xiweng.yy
  */
@@ -453,6 +453,32 @@ public interface ConfigInfoMapper extends Mapper {
         return new MapperResult(sql.toString(), paramList);
     }
     
+    /**
+     * find ConfigInfo with content and dump fields by ids. <br/>The default sql: <br/>SELECT
+     * id,data_id,group_id,tenant_id,app_name,content,md5,gmt_modified,type,encrypted_data_key FROM config_info WHERE id
+     * IN (...)
+     *
+     * @param context the size of ids.
+     * @return find ConfigInfo for dump by ids.
+     */
+    default MapperResult findConfigInfoForDumpByIds(MapperContext context) {
+        List<Long> ids = (List<Long>) context.getWhereParameter(FieldConstant.IDS);
+        StringBuilder sql = new StringBuilder("SELECT id,data_id,group_id,tenant_id,app_name,content,md5,gmt_modified,"
+                + "type,encrypted_data_key FROM config_info WHERE ");
+        sql.append("id IN (");
+        ArrayList<Object> paramList = new ArrayList<>();
+        
+        for (int i = 0; i < ids.size(); i++) {
+            if (i != 0) {
+                sql.append(", ");
+            }
+            sql.append('?');
+            paramList.add(ids.get(i));
+        }
+        sql.append(") ");
+        return new MapperResult(sql.toString(), paramList);
+    }
+    
     /**
      * Remove configuration; database atomic operation, minimum SQL action, no business encapsulation.
      *
@@ -290,6 +290,14 @@ class ConfigInfoMapperByMySqlTest {
         assertArrayEquals(mapperResult.getParamList().toArray(), ids.toArray());
     }
     
+    @Test
+    void testFindConfigInfoForDumpByIds() {
+        MapperResult mapperResult = configInfoMapperByMySql.findConfigInfoForDumpByIds(context);
+        assertEquals("SELECT id,data_id,group_id,tenant_id,app_name,content,md5,gmt_modified,type,encrypted_data_key FROM config_info "
+                + "WHERE id IN (?, ?, ?, ?, ?) ", mapperResult.getSql());
+        assertArrayEquals(mapperResult.getParamList().toArray(), ids.toArray());
+    }
+    
     @Test
     void testRemoveConfigInfoByIdsAtomic() {
         MapperResult mapperResult = configInfoMapperByMySql.removeConfigInfoByIdsAtomic(context);